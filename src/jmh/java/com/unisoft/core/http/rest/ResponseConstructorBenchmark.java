@@ -0,0 +1,94 @@
+package com.unisoft.core.http.rest;
+
+import com.unisoft.core.http.HttpHeaders;
+import com.unisoft.core.http.HttpMethod;
+import com.unisoft.core.http.HttpRequest;
+import com.unisoft.core.http.HttpResponse;
+import com.unisoft.core.http.MockHttpResponse;
+import com.unisoft.core.http.exception.HttpResponseException;
+import com.unisoft.core.http.impl.UnexpectedExceptionInformation;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the creation of typed responses and of the exceptions for unexpected responses by the constructors bound
+ * by {@link ConstructorLambdas} with their {@link MethodHandle} and with {@link Constructor#newInstance(Object...)}.
+ *
+ * @author omar.H.Ajmi
+ * @since 17/10/2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResponseConstructorBenchmark {
+    private final HttpRequest request = new HttpRequest(HttpMethod.GET, "http://localhost/benchmark");
+    private final HttpHeaders headers = new HttpHeaders().put("Content-Type", "application/json");
+    private final HttpResponse response = new MockHttpResponse(request, 404, headers);
+    private final Object value = "value";
+
+    private Constructor<?> responseConstructor;
+    private MethodHandle responseHandle;
+    private ResponseConstructorsCache.BodyConstructor boundResponseConstructor;
+    private UnexpectedExceptionInformation exceptionInformation;
+    private ExceptionConstructorsCache exceptionConstructors;
+
+    @Setup
+    public void setup() throws ReflectiveOperationException {
+        this.responseConstructor = SimpleResponse.class.getConstructor(HttpRequest.class, int.class,
+                HttpHeaders.class, Object.class);
+        this.responseHandle = MethodHandles.lookup().unreflectConstructor(this.responseConstructor)
+                .asType(MethodType.methodType(Response.class, HttpRequest.class, int.class, HttpHeaders.class,
+                        Object.class));
+        this.boundResponseConstructor = ConstructorLambdas.bind(this.responseConstructor,
+                ResponseConstructorsCache.BodyConstructor.class, "create", this.responseHandle.type(),
+                handle -> {
+                    throw new IllegalStateException("SimpleResponse is expected to be bound by a spun class");
+                });
+        this.exceptionInformation = new UnexpectedExceptionInformation(HttpResponseException.class);
+        this.exceptionConstructors = new ExceptionConstructorsCache();
+    }
+
+    @Benchmark
+    public Object responseNewInstance() throws ReflectiveOperationException {
+        return this.responseConstructor.newInstance(this.request, 200, this.headers, this.value);
+    }
+
+    @Benchmark
+    public Response<?> responseMethodHandle() throws Throwable {
+        return (Response<?>) this.responseHandle.invokeExact(this.request, 200, this.headers, this.value);
+    }
+
+    @Benchmark
+    public Response<?> responseLambda() {
+        return this.boundResponseConstructor.create(this.request, 200, this.headers, this.value);
+    }
+
+    @Benchmark
+    public HttpResponseException exceptionNewInstance() throws ReflectiveOperationException {
+        // as resolved for every unexpected response before
+        return this.exceptionInformation.getExceptionType().getConstructor(String.class, HttpResponse.class,
+                this.exceptionInformation.getExceptionBodyType()).newInstance("message", this.response, this.value);
+    }
+
+    @Benchmark
+    public HttpResponseException exceptionLambda() throws NoSuchMethodException {
+        return this.exceptionConstructors.get(this.exceptionInformation).create("message", this.response, this.value);
+    }
+}
@@ -0,0 +1,128 @@
+package com.unisoft.core.http.rest;
+
+import com.unisoft.core.http.annotation.ExpectedResponses;
+import com.unisoft.core.http.annotation.Get;
+import com.unisoft.core.http.annotation.Host;
+import com.unisoft.core.http.annotation.HostParam;
+import com.unisoft.core.http.annotation.PathParam;
+import com.unisoft.core.http.annotation.ServiceInterface;
+import com.unisoft.core.http.serialize.JacksonAdapter;
+import com.unisoft.core.http.serialize.SerializerAdapter;
+import com.unisoft.core.http.util.UrlBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the expansion of the host and path templates of a Service method by the compiled {@link
+ * SubstitutionTemplate} with the former {@code String.replace} per substitution.
+ *
+ * @author omar.H.Ajmi
+ * @since 17/10/2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ServiceMethodParserBenchmark {
+    private static final SerializerAdapter SERIALIZER = JacksonAdapter.createDefaultSerializerAdapter();
+
+    @Param({"4", "6"})
+    private int pathParams;
+
+    private ServiceMethodParser parser;
+    private String rawHost;
+    private String relativePath;
+    private List<Substitution> hostSubstitutions;
+    private List<Substitution> pathSubstitutions;
+    private Object[] arguments;
+
+    @Setup
+    public void setup() throws NoSuchMethodException {
+        final Method method = pathParams == 4
+                ? Service.class.getMethod("fourPathParams", String.class, String.class, String.class, int.class,
+                String.class)
+                : Service.class.getMethod("sixPathParams", String.class, String.class, String.class, int.class,
+                String.class, String.class, String.class);
+        this.rawHost = Service.class.getAnnotation(Host.class).value();
+        this.relativePath = method.getAnnotation(Get.class).value();
+        this.parser = new ServiceMethodParser(method, this.rawHost, SERIALIZER);
+        this.hostSubstitutions = new ArrayList<>();
+        this.pathSubstitutions = new ArrayList<>();
+        final Annotation[][] annotations = method.getParameterAnnotations();
+        for (int i = 0; i < annotations.length; i++) {
+            for (Annotation annotation : annotations[i]) {
+                if (annotation instanceof HostParam) {
+                    this.hostSubstitutions.add(new Substitution(((HostParam) annotation).value(), i, false));
+                } else if (annotation instanceof PathParam) {
+                    this.pathSubstitutions.add(new Substitution(((PathParam) annotation).value(), i, true));
+                }
+            }
+        }
+        this.arguments = pathParams == 4
+                ? new Object[]{"account", "my container", "dir", 42, "blob.txt"}
+                : new Object[]{"account", "my container", "dir", 42, "blob.txt", "versions", "2026-10-17"};
+    }
+
+    @Benchmark
+    public String compiledTemplates() {
+        final UrlBuilder urlBuilder = new UrlBuilder();
+        this.parser.setSchemeAndHost(this.arguments, urlBuilder);
+        return urlBuilder.getHost() + this.parser.setPath(this.arguments);
+    }
+
+    @Benchmark
+    public String replacePerSubstitution() {
+        final UrlBuilder urlBuilder = new UrlBuilder();
+        final String host = replace(this.rawHost, this.hostSubstitutions, this.arguments);
+        final String[] hostParts = host.split("://");
+        urlBuilder.setScheme(hostParts[0]);
+        urlBuilder.setHost(hostParts[1]);
+        return urlBuilder.getHost() + replace(this.relativePath, this.pathSubstitutions, this.arguments);
+    }
+
+    private static String replace(String template, List<Substitution> substitutions, Object[] arguments) {
+        String result = template;
+        for (Substitution substitution : substitutions) {
+            String value = ServiceMethodParser.serialize(SERIALIZER, arguments[substitution.getMethodParameterIndex()]);
+            if (value != null && !value.isEmpty() && substitution.shouldEncode()) {
+                value = UrlEscapers.PATH_ESCAPER.escape(value);
+            }
+            result = result.replace("{" + substitution.getUrlParameterName() + "}", value == null ? "" : value);
+        }
+        return result;
+    }
+
+    @Host("https://{account}.unisoft.com")
+    @ServiceInterface(name = "benchmark")
+    interface Service {
+        @Get("containers/{container}/directories/{directory}/{depth}/blobs/{blob}")
+        @ExpectedResponses({200})
+        void fourPathParams(@HostParam("account") String account, @PathParam("container") String container,
+                            @PathParam("directory") String directory, @PathParam("depth") int depth,
+                            @PathParam("blob") String blob);
+
+        @Get("containers/{container}/directories/{directory}/{depth}/blobs/{blob}/{kind}/{version}")
+        @ExpectedResponses({200})
+        void sixPathParams(@HostParam("account") String account, @PathParam("container") String container,
+                           @PathParam("directory") String directory, @PathParam("depth") int depth,
+                           @PathParam("blob") String blob, @PathParam("kind") String kind,
+                           @PathParam("version") String version);
+    }
+}
@@ -1,5 +1,8 @@
 package com.unisoft.core.http;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.Objects;
 
 /**
@@ -8,7 +11,12 @@ import java.util.Objects;
  */
 public class Header {
     private final String name;
+    // the comma separated value, joined from the values once they change
     private String value;
+    // the values, split from the value once they are requested
+    private List<String> values;
+    // the token of the HttpHeaders that may change the header in place, see HttpHeaders#copy()
+    Object owner;
 
     /**
      * Create a Header instance using the provided name and value.
@@ -38,6 +46,9 @@ public class Header {
      * @return the value of this Header
      */
     public String getValue() {
+        if (this.value == null && this.values != null) {
+            this.value = String.join(",", this.values);
+        }
         return this.value;
     }
 
@@ -47,7 +58,23 @@ public class Header {
      * @return the values of this {@link Header} that are separated by a comma
      */
     public String[] getValues() {
-        return this.value == null ? null : this.value.split(",");
+        final List<String> values = getValuesList();
+        return values == null ? null : values.toArray(new String[0]);
+    }
+
+    /**
+     * Gets the comma separated value as a list, without copying it.
+     *
+     * @return the unmodifiable values of this {@link Header} that are separated by a comma, null if it has no value
+     */
+    public List<String> getValuesList() {
+        if (this.values == null) {
+            if (this.value == null) {
+                return null;
+            }
+            this.values = split(this.value);
+        }
+        return Collections.unmodifiableList(this.values);
     }
 
     /**
@@ -56,11 +83,17 @@ public class Header {
      * @param value the value to add
      */
     public void addValue(String value) {
-        if (Objects.isNull(this.value)) {
+        if (this.value == null && this.values == null) {
             this.value = value;
-        } else {
-            this.value += "," + value;
+            return;
+        }
+        if (this.values == null) {
+            this.values = new ArrayList<>(split(this.value));
+        } else if (!(this.values instanceof ArrayList)) {
+            this.values = new ArrayList<>(this.values);
         }
+        this.values.add(value);
+        this.value = null;
     }
 
     /**
@@ -70,6 +103,31 @@ public class Header {
      */
     @Override
     public String toString() {
-        return this.name + ":" + this.value;
+        return this.name + ":" + this.getValue();
+    }
+
+    /**
+     * Splits a value as {@code String.split(",")} does, trailing empty values being dropped.
+     * <p>
+     * The values are immutable, headers shared by {@link HttpHeaders#copy() copies} being safely split by any of them.
+     */
+    private static List<String> split(String value) {
+        int comma = value.indexOf(',');
+        if (comma < 0) {
+            return List.of(value);
+        }
+        final List<String> values = new ArrayList<>(4);
+        int start = 0;
+        while (comma >= 0) {
+            values.add(value.substring(start, comma));
+            start = comma + 1;
+            comma = value.indexOf(',', start);
+        }
+        values.add(value.substring(start));
+        int size = values.size();
+        while (size > 0 && values.get(size - 1).isEmpty()) {
+            values.remove(--size);
+        }
+        return List.copyOf(values);
     }
 }
@@ -14,4 +14,15 @@ public interface HttpClientProvider {
      * previously.
      */
     HttpClient createInstance();
+
+    /**
+     * Gets the priority of this provider, {@link HttpClient#createDefault()} using the provider with the highest
+     * priority found on the classpath. The providers shipped with this library have negative priorities so that any
+     * other provider takes precedence.
+     *
+     * @return the priority of this provider, 0 by default
+     */
+    default int getPriority() {
+        return 0;
+    }
 }
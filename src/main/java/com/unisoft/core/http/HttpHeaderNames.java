@@ -0,0 +1,109 @@
+package com.unisoft.core.http;
+
+import java.util.Locale;
+
+/**
+ * Well-known header names, interned once with their lower case form so that received headers with one of these names
+ * share its string rather than allocating their own.
+ *
+ * @author omar.H.Ajmi
+ * @since 17/10/2026
+ */
+public final class HttpHeaderNames {
+    public static final String ACCEPT = "Accept";
+    public static final String ACCEPT_ENCODING = "Accept-Encoding";
+    public static final String ACCEPT_RANGES = "Accept-Ranges";
+    public static final String AGE = "Age";
+    public static final String AUTHORIZATION = "Authorization";
+    public static final String CACHE_CONTROL = "Cache-Control";
+    public static final String CONNECTION = "Connection";
+    public static final String CONTENT_DISPOSITION = "Content-Disposition";
+    public static final String CONTENT_ENCODING = "Content-Encoding";
+    public static final String CONTENT_LANGUAGE = "Content-Language";
+    public static final String CONTENT_LENGTH = "Content-Length";
+    public static final String CONTENT_MD5 = "Content-MD5";
+    public static final String CONTENT_RANGE = "Content-Range";
+    public static final String CONTENT_TYPE = "Content-Type";
+    public static final String DATE = "Date";
+    public static final String ETAG = "ETag";
+    public static final String EXPIRES = "Expires";
+    public static final String HOST = "Host";
+    public static final String IF_MATCH = "If-Match";
+    public static final String IF_MODIFIED_SINCE = "If-Modified-Since";
+    public static final String IF_NONE_MATCH = "If-None-Match";
+    public static final String KEEP_ALIVE = "Keep-Alive";
+    public static final String LAST_MODIFIED = "Last-Modified";
+    public static final String LOCATION = "Location";
+    public static final String PRAGMA = "Pragma";
+    public static final String RANGE = "Range";
+    public static final String RETRY_AFTER = "Retry-After";
+    public static final String SERVER = "Server";
+    public static final String SET_COOKIE = "Set-Cookie";
+    public static final String TRANSFER_ENCODING = "Transfer-Encoding";
+    public static final String USER_AGENT = "User-Agent";
+    public static final String VARY = "Vary";
+    public static final String WWW_AUTHENTICATE = "WWW-Authenticate";
+    public static final String X_REQUEST_ID = "x-request-id";
+
+    private static final String[] NAMES = {ACCEPT, ACCEPT_ENCODING, ACCEPT_RANGES, AGE, AUTHORIZATION, CACHE_CONTROL,
+            CONNECTION, CONTENT_DISPOSITION, CONTENT_ENCODING, CONTENT_LANGUAGE, CONTENT_LENGTH, CONTENT_MD5,
+            CONTENT_RANGE, CONTENT_TYPE, DATE, ETAG, EXPIRES, HOST, IF_MATCH, IF_MODIFIED_SINCE, IF_NONE_MATCH,
+            KEEP_ALIVE, LAST_MODIFIED, LOCATION, PRAGMA, RANGE, RETRY_AFTER, SERVER, SET_COOKIE, TRANSFER_ENCODING,
+            USER_AGENT, VARY, WWW_AUTHENTICATE, X_REQUEST_ID};
+    // the names and their lower case forms open-addressed by their case-insensitive hash, at most half full
+    private static final String[] TABLE = new String[Integer.highestOneBit(NAMES.length * 8)];
+
+    static {
+        for (String name : NAMES) {
+            add(name);
+            final String lowerCase = name.toLowerCase(Locale.ROOT);
+            if (!lowerCase.equals(name)) {
+                add(lowerCase);
+            }
+        }
+    }
+
+    private HttpHeaderNames() {
+    }
+
+    private static void add(String name) {
+        final int mask = TABLE.length - 1;
+        int slot = HttpHeaders.hash(name) & mask;
+        while (TABLE[slot] != null) {
+            slot = (slot + 1) & mask;
+        }
+        TABLE[slot] = name;
+    }
+
+    /**
+     * Gets the well-known name matching an ISO-8859-1 encoded header name exactly, with the same case.
+     *
+     * @param bytes the bytes holding the name
+     * @param start the index of the first byte of the name
+     * @param end   the index after the last byte of the name
+     * @return the interned name, null if the name is not a well-known one
+     */
+    public static String intern(byte[] bytes, int start, int end) {
+        int hash = 0;
+        for (int i = start; i < end; i++) {
+            hash = 31 * hash + HttpHeaders.toLowerCase((char) (bytes[i] & 0xFF));
+        }
+        final int mask = TABLE.length - 1;
+        for (int slot = hash & mask; TABLE[slot] != null; slot = (slot + 1) & mask) {
+            final String name = TABLE[slot];
+            if (name.length() == end - start && matches(name, bytes, start)) {
+                return name;
+            }
+        }
+        return null;
+    }
+
+    private static boolean matches(String name, byte[] bytes, int start) {
+        for (int i = 0; i < name.length(); i++) {
+            if (name.charAt(i) != (char) (bytes[start + i] & 0xFF)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
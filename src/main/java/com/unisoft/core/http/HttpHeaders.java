@@ -1,20 +1,45 @@
 package com.unisoft.core.http;
 
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
 import java.util.HashMap;
 import java.util.Iterator;
-import java.util.Locale;
 import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * A collection of headers on an HTTP request or response.
+ * <p>
+ * The headers are kept in insertion order and indexed by an open-addressed table keyed by their case-insensitive
+ * name, so that looking a header up or replacing it compares the names in place rather than lower casing them.
+ * <p>
+ * {@link #copy() Copies} share their storage with the instance they were copied from, the one changed first copies it
+ * then. The {@link HttpHeader headers} are shared as well until either collection returns or changes one of them, it
+ * then replaces the header by its own copy, so that changing a header returned by a collection never changes another
+ * one.
  *
  * @author omar.H.Ajmi
  * @since 18/10/2020
  */
 public class HttpHeaders implements Iterable<HttpHeader> {
-    private final Map<String, HttpHeader> headers = new HashMap<>();
+    private static final int INITIAL_CAPACITY = 8;
+
+    // the headers in insertion order
+    private HttpHeader[] entries = new HttpHeader[INITIAL_CAPACITY];
+    // the index + 1 in entries of the headers, by the hash of their name, 0 for an empty slot; at most half full
+    private int[] slots = new int[INITIAL_CAPACITY * 2];
+    private int size;
+    private int modCount;
+    // the entries and slots are shared with a copy and must be copied before being changed
+    private boolean shared;
+    // the token of the headers owned by this collection, the others may be shared with a copy and are replaced by a
+    // copy of their own before being returned or changed
+    private Object owner = this;
 
     /**
      * Create an empty HttpHeaders instance.
@@ -55,7 +80,59 @@ public class HttpHeaders implements Iterable<HttpHeader> {
      * @return The updated HttpHeaders object
      */
     public HttpHeaders put(String name, String value) {
-        this.headers.put(this.formatKey(name), new HttpHeader(name, value));
+        this.put(this.own(new HttpHeader(name, value)));
+        return this;
+    }
+
+    /**
+     * Sets all the {@link HttpHeader headers} of another collection, overwriting the headers with the same names.
+     * <p>
+     * When this collection is empty its storage is shared with the other one, as by {@link #copy()}.
+     *
+     * @param headers the headers to set
+     * @return The updated HttpHeaders object
+     */
+    public HttpHeaders putAll(HttpHeaders headers) {
+        if (this.size == 0 && headers.size > 0) {
+            headers.share(this);
+            this.modCount++;
+            return this;
+        }
+        for (int i = 0; i < headers.size; i++) {
+            this.put(headers.entries[i]);
+        }
+        if (headers.size > 0) {
+            // both collections hold the same headers now, neither owns them
+            headers.owner = new Object();
+        }
+        return this;
+    }
+
+    /**
+     * Creates a copy of this collection in constant time, the storage being shared until either of them is changed.
+     *
+     * @return the copy
+     */
+    public HttpHeaders copy() {
+        final HttpHeaders copy = new HttpHeaders();
+        this.share(copy);
+        return copy;
+    }
+
+    /**
+     * Adds a value to the {@link HttpHeader header} with the given name, creating the header if it doesn't exist.
+     *
+     * @param name  the name
+     * @param value the value to add
+     * @return The updated HttpHeaders object
+     */
+    public HttpHeaders add(String name, String value) {
+        final int slot = this.findSlot(name);
+        if (this.slots[slot] != 0) {
+            this.owned(this.slots[slot] - 1).addValue(value);
+        } else {
+            this.append(slot, this.own(new HttpHeader(name, value)));
+        }
         return this;
     }
 
@@ -67,7 +144,8 @@ public class HttpHeaders implements Iterable<HttpHeader> {
      * @return the header if found, null otherwise.
      */
     public HttpHeader get(String name) {
-        return this.headers.get(this.formatKey(name));
+        final int index = this.slots[this.findSlot(name)];
+        return index == 0 ? null : this.owned(index - 1);
     }
 
     /**
@@ -78,11 +156,18 @@ public class HttpHeaders implements Iterable<HttpHeader> {
      * @return the header if removed, null otherwise.
      */
     public HttpHeader remove(String name) {
-        return this.headers.remove(this.formatKey(name));
-    }
-
-    private String formatKey(String name) {
-        return name.toLowerCase(Locale.ROOT);
+        final int index = this.slots[this.findSlot(name)];
+        if (index == 0) {
+            return null;
+        }
+        this.ensureOwned();
+        final HttpHeader removed = this.owned(index - 1);
+        System.arraycopy(this.entries, index, this.entries, index - 1, this.size - index);
+        this.entries[--this.size] = null;
+        this.modCount++;
+        // the indexes after the removed header moved, removals being rare the index is rebuilt
+        this.rehash(this.slots.length);
+        return removed;
     }
 
     /**
@@ -91,7 +176,7 @@ public class HttpHeaders implements Iterable<HttpHeader> {
      * @return the number of headers in this collection.
      */
     public int getSize() {
-        return this.headers.size();
+        return this.size;
     }
 
     /**
@@ -101,8 +186,8 @@ public class HttpHeaders implements Iterable<HttpHeader> {
      */
     public Map<String, String> toMap() {
         Map<String, String> result = new HashMap<>();
-        for (final Header header : this.headers.values()) {
-            result.put(header.getName(), header.getValue());
+        for (int i = 0; i < this.size; i++) {
+            result.put(this.entries[i].getName(), this.entries[i].getValue());
         }
         return result;
     }
@@ -114,8 +199,8 @@ public class HttpHeaders implements Iterable<HttpHeader> {
      * @return the value of the header, or null if the header isn't found
      */
     public String getValue(String name) {
-        final HttpHeader httpHeader = this.get(name);
-        return httpHeader == null ? null : httpHeader.getValue();
+        final int index = this.slots[this.findSlot(name)];
+        return index == 0 ? null : this.entries[index - 1].getValue();
     }
 
     /**
@@ -127,8 +212,8 @@ public class HttpHeaders implements Iterable<HttpHeader> {
      * @return the values of the header, or null if the header isn't found
      */
     public String[] getValues(String name) {
-        final HttpHeader httpHeader = this.get(name);
-        return httpHeader == null ? null : httpHeader.getValues();
+        final int index = this.slots[this.findSlot(name)];
+        return index == 0 ? null : this.entries[index - 1].getValues();
     }
 
     /**
@@ -136,7 +221,44 @@ public class HttpHeaders implements Iterable<HttpHeader> {
      */
     @Override
     public Iterator<HttpHeader> iterator() {
-        return this.headers.values().iterator();
+        return new Iterator<HttpHeader>() {
+            private int expectedModCount = HttpHeaders.this.modCount;
+            private int next;
+            // the index of the header last returned, -1 once removed
+            private int last = -1;
+
+            @Override
+            public boolean hasNext() {
+                return this.next < HttpHeaders.this.size;
+            }
+
+            @Override
+            public HttpHeader next() {
+                if (HttpHeaders.this.modCount != this.expectedModCount) {
+                    throw new ConcurrentModificationException();
+                }
+                if (this.next >= HttpHeaders.this.size) {
+                    throw new NoSuchElementException();
+                }
+                this.last = this.next;
+                return HttpHeaders.this.owned(this.next++);
+            }
+
+            @Override
+            public void remove() {
+                if (this.last < 0) {
+                    throw new IllegalStateException();
+                }
+                if (HttpHeaders.this.modCount != this.expectedModCount) {
+                    throw new ConcurrentModificationException();
+                }
+                HttpHeaders.this.remove(HttpHeaders.this.entries[this.last].getName());
+                // the headers after the removed one moved back by one
+                this.next = this.last;
+                this.last = -1;
+                this.expectedModCount = HttpHeaders.this.modCount;
+            }
+        };
     }
 
     /**
@@ -145,13 +267,126 @@ public class HttpHeaders implements Iterable<HttpHeader> {
      * @return A {@link Stream} of all header values in this instance.
      */
     public Stream<HttpHeader> stream() {
-        return this.headers.values().stream();
+        return StreamSupport.stream(Spliterators.spliterator(this.iterator(), this.size,
+                Spliterator.ORDERED | Spliterator.NONNULL), false);
     }
 
     @Override
     public String toString() {
-        return this.stream()
+        return Arrays.stream(this.entries, 0, this.size)
                 .map(header -> header.getName() + "=" + header.getValue())
                 .collect(Collectors.joining(", "));
     }
+
+    /**
+     * @return the slot of the header with the name, or the empty slot where it would be indexed
+     */
+    private int findSlot(String name) {
+        final int mask = this.slots.length - 1;
+        int slot = spread(hash(name)) & mask;
+        int index;
+        while ((index = this.slots[slot]) != 0 && !this.entries[index - 1].getName().equalsIgnoreCase(name)) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void put(HttpHeader header) {
+        final int slot = this.findSlot(header.getName());
+        if (this.slots[slot] != 0) {
+            this.ensureOwned();
+            this.entries[this.slots[slot] - 1] = header;
+        } else {
+            this.append(slot, header);
+        }
+    }
+
+    private void share(HttpHeaders copy) {
+        this.shared = true;
+        // the headers are owned by neither collection now, the copy's own token being a new one
+        this.owner = new Object();
+        copy.entries = this.entries;
+        copy.slots = this.slots;
+        copy.size = this.size;
+        copy.shared = true;
+    }
+
+    private HttpHeader own(HttpHeader header) {
+        header.owner = this.owner;
+        return header;
+    }
+
+    /**
+     * @return the header at the index, replaced by a copy owned by this collection if it may be shared
+     */
+    private HttpHeader owned(int index) {
+        final HttpHeader header = this.entries[index];
+        if (header.owner == this.owner) {
+            return header;
+        }
+        this.ensureOwned();
+        final HttpHeader copy = this.own(new HttpHeader(header.getName(), header.getValue()));
+        this.entries[index] = copy;
+        return copy;
+    }
+
+    private void ensureOwned() {
+        if (this.shared) {
+            this.entries = this.entries.clone();
+            this.slots = this.slots.clone();
+            this.shared = false;
+        }
+    }
+
+    private void append(int slot, HttpHeader header) {
+        this.ensureOwned();
+        if (this.size == this.entries.length) {
+            this.entries = Arrays.copyOf(this.entries, this.size * 2);
+        }
+        this.entries[this.size++] = header;
+        this.modCount++;
+        if (this.size * 2 > this.slots.length) {
+            this.rehash(this.slots.length * 2);
+        } else {
+            this.slots[slot] = this.size;
+        }
+    }
+
+    private void rehash(int capacity) {
+        this.slots = new int[capacity];
+        final int mask = capacity - 1;
+        for (int i = 0; i < this.size; i++) {
+            int slot = spread(hash(this.entries[i].getName())) & mask;
+            while (this.slots[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            this.slots[slot] = i + 1;
+        }
+    }
+
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+
+    /**
+     * Hashes a header name ignoring its case, as {@link String#equalsIgnoreCase(String)} compares it, without creating
+     * its lower case form.
+     *
+     * @param name the header name
+     * @return the case-insensitive hash of the name
+     */
+    static int hash(String name) {
+        int hash = 0;
+        for (int i = 0; i < name.length(); i++) {
+            hash = 31 * hash + toLowerCase(name.charAt(i));
+        }
+        return hash;
+    }
+
+    static char toLowerCase(char c) {
+        if (c < 0x80) {
+            return c >= 'A' && c <= 'Z' ? (char) (c + ('a' - 'A')) : c;
+        }
+        return Character.toLowerCase(Character.toUpperCase(c));
+    }
 }
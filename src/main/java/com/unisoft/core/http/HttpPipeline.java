@@ -1,5 +1,6 @@
 package com.unisoft.core.http;
 
+import com.unisoft.core.http.buffer.ByteBufferAllocator;
 import com.unisoft.core.http.policy.HttpPipelinePolicy;
 import com.unisoft.core.util.Context;
 import reactor.core.publisher.Mono;
@@ -20,6 +21,7 @@ import java.util.Objects;
 public final class HttpPipeline {
     private final HttpClient httpClient;
     private final HttpPipelinePolicy[] pipelinePolicies;
+    private final ByteBufferAllocator byteBufferAllocator;
 
     /**
      * Creates a HttpPipeline holding array of policies that gets applied to all request initiated through {@link
@@ -28,12 +30,16 @@ public final class HttpPipeline {
      * @param httpClient       the http client to write request to wire and receive response from wire.
      * @param pipelinePolicies pipeline policies in the order they need to applied, a copy of this array will be made
      *                         hence changing the original array after the creation of pipeline will not  mutate the pipeline
+     * @param byteBufferAllocator the allocator of the buffers holding request and response bodies
      */
-    HttpPipeline(HttpClient httpClient, List<HttpPipelinePolicy> pipelinePolicies) {
+    HttpPipeline(HttpClient httpClient, List<HttpPipelinePolicy> pipelinePolicies,
+                 ByteBufferAllocator byteBufferAllocator) {
         Objects.requireNonNull(httpClient, "'httpClient' cannot be null.");
         Objects.requireNonNull(pipelinePolicies, "'pipelinePolicies' cannot be null.");
+        Objects.requireNonNull(byteBufferAllocator, "'byteBufferAllocator' cannot be null.");
         this.httpClient = httpClient;
         this.pipelinePolicies = pipelinePolicies.toArray(new HttpPipelinePolicy[0]);
+        this.byteBufferAllocator = byteBufferAllocator;
     }
 
     /**
@@ -64,6 +70,15 @@ public final class HttpPipeline {
         return this.httpClient;
     }
 
+    /**
+     * Get the {@link ByteBufferAllocator} holding the request and response bodies of the pipeline.
+     *
+     * @return the {@link ByteBufferAllocator} associated with the pipeline
+     */
+    public ByteBufferAllocator getByteBufferAllocator() {
+        return this.byteBufferAllocator;
+    }
+
     /**
      * Wraps the {@code request} in a context and sends it through pipeline.
      *
@@ -1,5 +1,6 @@
 package com.unisoft.core.http;
 
+import com.unisoft.core.http.buffer.ByteBufferAllocator;
 import com.unisoft.core.http.policy.HttpPipelinePolicy;
 
 import java.util.ArrayList;
@@ -31,12 +32,21 @@ import java.util.List;
  *     .build();
  * </pre>
  *
+ * <p>Create a pipeline recycling the buffers of request and response bodies</p>
+ *
+ * <pre>
+ * new HttpPipelineBuilder()
+ *     .byteBufferAllocator(new PooledByteBufferAllocator())
+ *     .build();
+ * </pre>
+ *
  * @author omar.H.Ajmi
  * @since 19/10/2020
  */
 public class HttpPipelineBuilder {
     private HttpClient httpClient;
     private List<HttpPipelinePolicy> pipelinePolicies;
+    private ByteBufferAllocator byteBufferAllocator;
 
     /**
      * Creates a new instance of HttpPipelineBuilder that can configure options for the {@link HttpPipeline} before
@@ -50,15 +60,19 @@ public class HttpPipelineBuilder {
      * Creates a {@link HttpPipeline} based on options set in the Builder. Every time {@code build()} is
      * called, a new instance of {@link HttpPipeline} is created.
      * <p>
-     * If HttpClient is not set then the {@link HttpClient#createDefault() default HttpClient} is used.
+     * If HttpClient is not set then the {@link HttpClient#createDefault() default HttpClient} is used. If
+     * ByteBufferAllocator is not set then the {@link ByteBufferAllocator#unpooled() unpooled allocator} is used.
      *
      * @return A HttpPipeline with the options set from the builder.
      */
     public HttpPipeline build() {
         List<HttpPipelinePolicy> policies = (pipelinePolicies == null) ? new ArrayList<>() : pipelinePolicies;
         HttpClient client = (httpClient == null) ? HttpClient.createDefault() : httpClient;
+        ByteBufferAllocator allocator = (byteBufferAllocator == null)
+                ? ByteBufferAllocator.unpooled()
+                : byteBufferAllocator;
 
-        return new HttpPipeline(client, policies);
+        return new HttpPipeline(client, policies, allocator);
     }
 
     /**
@@ -72,6 +86,18 @@ public class HttpPipelineBuilder {
         return this;
     }
 
+    /**
+     * Sets the ByteBufferAllocator holding the bodies of the requests serialized and the responses buffered by the
+     * pipeline users, such as {@link com.unisoft.core.http.rest.RestProxy}.
+     *
+     * @param byteBufferAllocator The allocator of the body buffers.
+     * @return The updated HttpPipelineBuilder object.
+     */
+    public HttpPipelineBuilder byteBufferAllocator(ByteBufferAllocator byteBufferAllocator) {
+        this.byteBufferAllocator = byteBufferAllocator;
+        return this;
+    }
+
     /**
      * Adds {@link HttpPipelinePolicy policies} to the set of policies that the pipeline will use
      * when sending requests.
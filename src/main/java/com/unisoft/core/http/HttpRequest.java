@@ -1,5 +1,6 @@
 package com.unisoft.core.http;
 
+import com.unisoft.core.http.util.ParsedUrl;
 import com.unisoft.core.util.log.LogUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -22,7 +23,15 @@ public class HttpRequest {
     private static final Logger log = LoggerFactory.getLogger(HttpRequest.class);
 
     private HttpMethod httpMethod;
+    // the target address, created from its parts when requested after they changed
     private URL url;
+    // the parts of the target address, split from the url when first requested or changed
+    private boolean split;
+    private String scheme;
+    private String host;
+    private int port = -1;
+    private String path;
+    private String query;
     private HttpHeaders headers;
     private Flux<ByteBuffer> body;
 
@@ -72,6 +81,56 @@ public class HttpRequest {
         this.body = body;
     }
 
+    /**
+     * Create a new HttpRequest instance from a parsed target address, without creating its {@link URL} until it is
+     * requested. A target address with user information is parsed by {@link URL} right away.
+     *
+     * @param httpMethod the HTTP request method
+     * @param url        the target address to send the request to
+     * @throws IllegalArgumentException if {@code url} has a port that isn't a number from 0 to 65535, or it has user
+     * information and cannot be parsed into a valid URL.
+     */
+    public HttpRequest(HttpMethod httpMethod, ParsedUrl url) {
+        this.httpMethod = httpMethod;
+        this.headers = new HttpHeaders();
+        final String host = url.getHost();
+        final String port = url.getPort();
+        if ((host != null && host.indexOf('@') >= 0) || (port != null && port.indexOf('@') >= 0)) {
+            // the parsed host and port are then split around the ':' of the user information
+            try {
+                this.url = new URL(url.toString());
+            } catch (MalformedURLException e) {
+                throw LogUtil.logExceptionAsError(log, new IllegalArgumentException("'url' must be a valid URL", e));
+            }
+            if (this.url.getPort() > 65535) {
+                throw LogUtil.logExceptionAsError(log, new IllegalArgumentException("'url' must have a valid port"));
+            }
+            return;
+        }
+        if (port != null && !port.isEmpty() && url.getPortNumber() == -1) {
+            throw LogUtil.logExceptionAsError(log, new IllegalArgumentException("'url' must have a valid port"));
+        }
+        this.split = true;
+        this.scheme = url.getScheme();
+        this.host = host;
+        this.port = url.getPortNumber();
+        this.path = url.getPath();
+        this.query = url.getQuery();
+    }
+
+    private HttpRequest(HttpRequest other, HttpHeaders headers) {
+        this.httpMethod = other.httpMethod;
+        this.url = other.url;
+        this.split = other.split;
+        this.scheme = other.scheme;
+        this.host = other.host;
+        this.port = other.port;
+        this.path = other.path;
+        this.query = other.query;
+        this.headers = headers;
+        this.body = other.body;
+    }
+
     /**
      * Get the request method.
      *
@@ -98,6 +157,15 @@ public class HttpRequest {
      * @return the target address
      */
     public URL getUrl() {
+        if (this.url == null && this.split) {
+            final String target = this.toUrlString();
+            try {
+                this.url = new URL(target);
+            } catch (MalformedURLException e) {
+                throw LogUtil.logExceptionAsError(log,
+                        new IllegalStateException("The request target '" + target + "' is not a valid URL", e));
+            }
+        }
         return this.url;
     }
 
@@ -109,6 +177,7 @@ public class HttpRequest {
      */
     public HttpRequest setUrl(URL url) {
         this.url = url;
+        this.split = false;
         return this;
     }
 
@@ -122,6 +191,7 @@ public class HttpRequest {
     public HttpRequest setUrl(String url) {
         try {
             this.url = new URL(url);
+            this.split = false;
         } catch (MalformedURLException e) {
             LogUtil.logExceptionAsWarn(log, () -> {
                 throw new IllegalArgumentException("'url' must be a valid URL", e);
@@ -130,6 +200,213 @@ public class HttpRequest {
         return this;
     }
 
+    /**
+     * Get the scheme of the target address.
+     *
+     * @return the scheme, such as {@code https}
+     */
+    public String getScheme() {
+        this.split();
+        return this.scheme;
+    }
+
+    /**
+     * Set the scheme of the target address.
+     *
+     * @param scheme the scheme, such as {@code https}, a trailing {@code ://} being ignored
+     * @return this HttpRequest
+     * @throws IllegalArgumentException if {@code scheme} is not a protocol supported by {@link URL}
+     */
+    public HttpRequest setScheme(String scheme) {
+        final String protocol = scheme != null && scheme.endsWith("://")
+                ? scheme.substring(0, scheme.length() - 3)
+                : scheme;
+        if (protocol != null && !isSupportedProtocol(protocol)) {
+            throw LogUtil.logExceptionAsError(log,
+                    new IllegalArgumentException("'scheme' must be a supported protocol"));
+        }
+        this.split();
+        this.scheme = protocol;
+        this.url = null;
+        return this;
+    }
+
+    /**
+     * Get the host of the target address.
+     *
+     * @return the host
+     */
+    public String getHost() {
+        this.split();
+        return this.host;
+    }
+
+    /**
+     * Set the host of the target address.
+     *
+     * @param host the host
+     * @return this HttpRequest
+     * @throws IllegalArgumentException if {@code host} is not a valid host name or address
+     */
+    public HttpRequest setHost(String host) {
+        if (host != null && !isValidHost(host)) {
+            throw LogUtil.logExceptionAsError(log, new IllegalArgumentException("'host' must be a valid host"));
+        }
+        this.split();
+        this.host = host;
+        this.url = null;
+        return this;
+    }
+
+    /**
+     * Get the port of the target address.
+     *
+     * @return the port, -1 if the target address doesn't have one, the default port of its scheme then applying
+     */
+    public int getPort() {
+        this.split();
+        return this.port;
+    }
+
+    /**
+     * Set the port of the target address.
+     *
+     * @param port the port, -1 to use the default port of the scheme
+     * @return this HttpRequest
+     * @throws IllegalArgumentException if {@code port} is not a valid port
+     */
+    public HttpRequest setPort(int port) {
+        if (port < -1 || port > 65535) {
+            throw LogUtil.logExceptionAsError(log, new IllegalArgumentException("'port' must be a valid port"));
+        }
+        this.split();
+        this.port = port;
+        this.url = null;
+        return this;
+    }
+
+    /**
+     * Get the path of the target address.
+     *
+     * @return the path, empty if the target address doesn't have one
+     */
+    public String getPath() {
+        this.split();
+        return this.path == null ? "" : this.path;
+    }
+
+    /**
+     * Set the path of the target address.
+     *
+     * @param path the path
+     * @return this HttpRequest
+     */
+    public HttpRequest setPath(String path) {
+        this.split();
+        this.path = path == null || path.isEmpty() || path.startsWith("/") ? path : "/" + path;
+        this.url = null;
+        return this;
+    }
+
+    /**
+     * Get the encoded query of the target address.
+     *
+     * @return the query, without the {@code ?}, null if the target address doesn't have one
+     */
+    public String getQuery() {
+        this.split();
+        return this.query;
+    }
+
+    /**
+     * Set the encoded query of the target address.
+     *
+     * @param query the query, without the {@code ?}, null to remove it
+     * @return this HttpRequest
+     */
+    public HttpRequest setQuery(String query) {
+        this.split();
+        this.query = query;
+        this.url = null;
+        return this;
+    }
+
+    /**
+     * Get the path and query to send the request to, without creating the {@link URL} of the target address.
+     *
+     * @return the path and query of the target address, {@code /} if it has neither
+     */
+    public String getPathAndQuery() {
+        this.split();
+        final String path = this.path == null || this.path.isEmpty() ? "/" : this.path;
+        final String pathAndQuery = this.query == null ? path : path + '?' + this.query;
+        // the fragment is not sent
+        final int fragment = pathAndQuery.indexOf('#');
+        return fragment < 0 ? pathAndQuery : pathAndQuery.substring(0, fragment);
+    }
+
+    private void split() {
+        if (!this.split) {
+            this.split = true;
+            if (this.url != null) {
+                this.scheme = this.url.getProtocol();
+                this.host = this.url.getHost();
+                this.port = this.url.getPort();
+                this.path = this.url.getPath();
+                this.query = this.url.getQuery();
+            }
+        }
+    }
+
+    private static boolean isSupportedProtocol(String protocol) {
+        if ("https".equals(protocol) || "http".equals(protocol)) {
+            return true;
+        }
+        try {
+            new URL(protocol, "localhost", -1, "");
+            return true;
+        } catch (MalformedURLException e) {
+            return false;
+        }
+    }
+
+    // a registered name or an IPv4 address as of RFC 3986, or an IP literal between brackets
+    private static boolean isValidHost(String host) {
+        final boolean literal = host.startsWith("[");
+        if (literal && (host.length() < 3 || !host.endsWith("]"))) {
+            return false;
+        }
+        for (int i = literal ? 1 : 0, end = literal ? host.length() - 1 : host.length(); i < end; i++) {
+            final char c = host.charAt(i);
+            final boolean valid = (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9')
+                    || (literal ? ":.%-_~".indexOf(c) >= 0 : "-._~!$&'()*+,;=%".indexOf(c) >= 0);
+            if (!valid) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private String toUrlString() {
+        final StringBuilder target = new StringBuilder();
+        if (this.scheme != null) {
+            target.append(this.scheme).append("://");
+        }
+        if (this.host != null) {
+            target.append(this.host);
+        }
+        if (this.port != -1) {
+            target.append(':').append(this.port);
+        }
+        if (this.path != null) {
+            target.append(this.path);
+        }
+        if (this.query != null) {
+            target.append('?').append(this.query);
+        }
+        return target.toString();
+    }
+
     /**
      * Get the request headers.
      *
@@ -219,7 +496,6 @@ public class HttpRequest {
      * @return a new HTTP request instance with cloned instances of all mutable properties.
      */
     public HttpRequest copy() {
-        final HttpHeaders bufferedHeaders = new HttpHeaders(this.headers);
-        return new HttpRequest(this.httpMethod, this.url, bufferedHeaders, this.body);
+        return new HttpRequest(this, this.headers.copy());
     }
 }
@@ -1,10 +1,13 @@
 package com.unisoft.core.http;
 
+import com.unisoft.core.http.buffer.ByteBufferAllocator;
 import com.unisoft.core.http.impl.BufferedHttpResponse;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.io.ByteArrayInputStream;
 import java.io.Closeable;
+import java.io.InputStream;
 import java.nio.ByteBuffer;
 import java.nio.charset.Charset;
 
@@ -80,6 +83,15 @@ public abstract class HttpResponse implements Closeable {
      */
     public abstract Mono<byte[]> getBodyAsByteArray();
 
+    /**
+     * Get the response content as a stream.
+     *
+     * @return this response content as an {@link InputStream}
+     */
+    public Mono<InputStream> getBodyAsInputStream() {
+        return this.getBodyAsByteArray().map(ByteArrayInputStream::new);
+    }
+
     /**
      * Get the response content as a string.
      *
@@ -114,6 +126,18 @@ public abstract class HttpResponse implements Closeable {
         return new BufferedHttpResponse(this);
     }
 
+    /**
+     * Get a new Response object wrapping this response with it's content
+     * buffered into a buffer of the {@code allocator}, given back when the
+     * new Response is closed.
+     *
+     * @param allocator the allocator of the buffer holding the content
+     * @return the new Response object
+     */
+    public HttpResponse buffer(ByteBufferAllocator allocator) {
+        return new BufferedHttpResponse(this, allocator);
+    }
+
     /**
      * Closes the response content stream, if any.
      */
@@ -74,7 +74,7 @@ public class MockHttpResponse extends HttpResponse {
 
     @Override
     public HttpHeaders getHeaders() {
-        return new HttpHeaders(this.headers);
+        return this.headers.copy();
     }
 
     @Override
@@ -0,0 +1,51 @@
+package com.unisoft.core.http.buffer;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Source of the {@link ByteBuffer ByteBuffers} holding request and response bodies, configured on a pipeline through
+ * {@link com.unisoft.core.http.HttpPipelineBuilder#byteBufferAllocator(ByteBufferAllocator)}.
+ * <p>
+ * A buffer handed out by {@link #allocate(int)} or {@link #allocateDirect(int)} belongs to the caller until it is
+ * given back through {@link #release(ByteBuffer)}. It must not be read or written once released, and must be
+ * released at most once.
+ *
+ * @author omar.H.Ajmi
+ * @since 17/10/2026
+ */
+public interface ByteBufferAllocator {
+
+    /**
+     * Gets the allocator handing out fresh heap buffers and ignoring releases.
+     *
+     * @return the unpooled allocator
+     */
+    static ByteBufferAllocator unpooled() {
+        return UnpooledByteBufferAllocator.INSTANCE;
+    }
+
+    /**
+     * Allocates a heap buffer.
+     *
+     * @param capacity the number of bytes needed
+     * @return a buffer positioned at 0 with its limit set to {@code capacity}, its capacity may be larger
+     * @throws IllegalArgumentException if {@code capacity} is negative
+     */
+    ByteBuffer allocate(int capacity);
+
+    /**
+     * Allocates a direct buffer.
+     *
+     * @param capacity the number of bytes needed
+     * @return a buffer positioned at 0 with its limit set to {@code capacity}, its capacity may be larger
+     * @throws IllegalArgumentException if {@code capacity} is negative
+     */
+    ByteBuffer allocateDirect(int capacity);
+
+    /**
+     * Gives back a buffer obtained from this allocator.
+     *
+     * @param buffer the buffer to release
+     */
+    void release(ByteBuffer buffer);
+}
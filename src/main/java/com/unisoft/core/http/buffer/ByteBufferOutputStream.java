@@ -0,0 +1,144 @@
+package com.unisoft.core.http.buffer;
+
+import com.unisoft.core.util.log.LogUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.Objects;
+
+/**
+ * {@link OutputStream} writing into a heap buffer of a {@link ByteBufferAllocator}, growing it by allocating a twice
+ * larger buffer and releasing the previous one.
+ * <p>
+ * {@link #close()} does nothing so that serializers closing their target leave the content readable, the buffer goes
+ * back to the allocator through {@link #release()}.
+ *
+ * @author omar.H.Ajmi
+ * @since 17/10/2026
+ */
+public final class ByteBufferOutputStream extends OutputStream {
+    private static final Logger log = LoggerFactory.getLogger(ByteBufferOutputStream.class);
+    private static final int DEFAULT_INITIAL_CAPACITY = 1024;
+
+    private final ByteBufferAllocator allocator;
+    private ByteBuffer buffer;
+    private boolean released;
+
+    /**
+     * Creates a ByteBufferOutputStream starting with a 1 KiB buffer.
+     *
+     * @param allocator the allocator providing the buffers
+     */
+    public ByteBufferOutputStream(ByteBufferAllocator allocator) {
+        this(allocator, DEFAULT_INITIAL_CAPACITY);
+    }
+
+    /**
+     * Creates a ByteBufferOutputStream.
+     *
+     * @param allocator       the allocator providing the buffers
+     * @param initialCapacity the capacity of the first buffer, the expected content length when known
+     */
+    public ByteBufferOutputStream(ByteBufferAllocator allocator, int initialCapacity) {
+        this.allocator = Objects.requireNonNull(allocator, "'allocator' cannot be null.");
+        this.buffer = allocator.allocate(Math.max(initialCapacity, 16));
+    }
+
+    @Override
+    public void write(int b) {
+        ensureRemaining(1).put((byte) b);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) {
+        Objects.checkFromIndexSize(off, len, b.length);
+        ensureRemaining(len).put(b, off, len);
+    }
+
+    /**
+     * Writes the remaining bytes of {@code source}, moving its position to its limit.
+     *
+     * @param source the bytes to write
+     */
+    public void write(ByteBuffer source) {
+        ensureRemaining(source.remaining()).put(source);
+    }
+
+    /**
+     * @return the number of bytes written
+     */
+    public int size() {
+        return this.released ? 0 : this.buffer.position();
+    }
+
+    /**
+     * Gets a read-only view of the bytes written so far, valid until the stream is released.
+     *
+     * @return a buffer positioned at 0 and limited to {@link #size()}
+     * @throws IllegalStateException if the stream was released
+     */
+    public ByteBuffer toByteBuffer() {
+        checkNotReleased();
+        final ByteBuffer view = this.buffer.asReadOnlyBuffer();
+        view.flip();
+        return view;
+    }
+
+    /**
+     * Copies the bytes written so far.
+     *
+     * @return the bytes written
+     * @throws IllegalStateException if the stream was released
+     */
+    public byte[] toByteArray() {
+        final ByteBuffer view = toByteBuffer();
+        final byte[] bytes = new byte[view.remaining()];
+        view.get(bytes);
+        return bytes;
+    }
+
+    /**
+     * Gives the buffer back to the allocator, further releases do nothing.
+     */
+    public void release() {
+        if (!this.released) {
+            this.released = true;
+            this.allocator.release(this.buffer);
+            this.buffer = null;
+        }
+    }
+
+    /**
+     * Does nothing, see {@link #release()}.
+     */
+    @Override
+    public void close() {
+        // the content outlives the serializer closing its target
+    }
+
+    private ByteBuffer ensureRemaining(int length) {
+        checkNotReleased();
+        if (this.buffer.remaining() < length) {
+            final int size = this.buffer.position();
+            if (size + length < 0) {
+                throw new OutOfMemoryError("Content larger than 2 GiB.");
+            }
+            final int capacity = (int) Math.min(Integer.MAX_VALUE - 8,
+                    Math.max((long) this.buffer.limit() << 1, (long) size + length));
+            final ByteBuffer grown = this.allocator.allocate(capacity);
+            this.buffer.flip();
+            grown.put(this.buffer);
+            this.allocator.release(this.buffer);
+            this.buffer = grown;
+        }
+        return this.buffer;
+    }
+
+    private void checkNotReleased() {
+        if (this.released) {
+            throw LogUtil.logExceptionAsError(log, new IllegalStateException("The stream was released."));
+        }
+    }
+}
@@ -0,0 +1,199 @@
+package com.unisoft.core.http.buffer;
+
+import com.unisoft.core.util.log.LogUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.ByteBuffer;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * {@link ByteBufferAllocator} recycling released buffers.
+ * <p>
+ * Requests are rounded up to a power of two size class, from 256 bytes to the maximum pooled size, each class keeping
+ * its released heap and direct buffers up to a byte budget. Larger requests are allocated and released unpooled.
+ * <p>
+ * With leak detection turned on the allocator remembers where each outstanding buffer was allocated, rejects double
+ * releases and reports the buffers never released through {@link #checkLeaks()}; it is meant for tests.
+ *
+ * @author omar.H.Ajmi
+ * @since 17/10/2026
+ */
+public final class PooledByteBufferAllocator implements ByteBufferAllocator {
+    private static final Logger log = LoggerFactory.getLogger(PooledByteBufferAllocator.class);
+    private static final int MIN_SIZE_CLASS_SHIFT = 8;
+    private static final int DEFAULT_MAX_POOLED_SIZE = 1024 * 1024;
+    private static final int DEFAULT_MAX_CACHED_BYTES_PER_SIZE_CLASS = 4 * 1024 * 1024;
+
+    private final int maxPooledSize;
+    private final SizeClass[] heapClasses;
+    private final SizeClass[] directClasses;
+    private final AtomicInteger outstanding = new AtomicInteger();
+    private final Map<ByteBuffer, Throwable> allocationSites;
+
+    /**
+     * Creates a PooledByteBufferAllocator pooling buffers up to 1 MiB, caching up to 4 MiB per size class, without
+     * leak detection.
+     */
+    public PooledByteBufferAllocator() {
+        this(DEFAULT_MAX_POOLED_SIZE, DEFAULT_MAX_CACHED_BYTES_PER_SIZE_CLASS, false);
+    }
+
+    /**
+     * Creates a PooledByteBufferAllocator.
+     *
+     * @param maxPooledSize              the largest pooled buffer, rounded up to a power of two
+     * @param maxCachedBytesPerSizeClass the bytes of released buffers each size class keeps, every class keeps at
+     *                                   least one buffer
+     * @param leakDetection              whether to track the outstanding buffers
+     * @throws IllegalArgumentException if {@code maxPooledSize} is not positive or larger than 1 GiB, or if
+     *                                  {@code maxCachedBytesPerSizeClass} is negative
+     */
+    public PooledByteBufferAllocator(int maxPooledSize, int maxCachedBytesPerSizeClass, boolean leakDetection) {
+        if (maxPooledSize <= 0 || maxPooledSize > (1 << 30)) {
+            throw LogUtil.logExceptionAsError(log,
+                    new IllegalArgumentException("'maxPooledSize' must be between 1 and 1 GiB."));
+        }
+        if (maxCachedBytesPerSizeClass < 0) {
+            throw LogUtil.logExceptionAsError(log,
+                    new IllegalArgumentException("'maxCachedBytesPerSizeClass' cannot be negative."));
+        }
+        final int maxShift = Math.max(MIN_SIZE_CLASS_SHIFT, 32 - Integer.numberOfLeadingZeros(maxPooledSize - 1));
+        this.maxPooledSize = 1 << maxShift;
+        this.heapClasses = new SizeClass[maxShift - MIN_SIZE_CLASS_SHIFT + 1];
+        this.directClasses = new SizeClass[this.heapClasses.length];
+        for (int i = 0; i < this.heapClasses.length; i++) {
+            final int size = 1 << (MIN_SIZE_CLASS_SHIFT + i);
+            final int maxCached = Math.max(1, maxCachedBytesPerSizeClass / size);
+            this.heapClasses[i] = new SizeClass(size, maxCached);
+            this.directClasses[i] = new SizeClass(size, maxCached);
+        }
+        this.allocationSites = leakDetection ? Collections.synchronizedMap(new IdentityHashMap<>()) : null;
+    }
+
+    @Override
+    public ByteBuffer allocate(int capacity) {
+        return allocate(capacity, false);
+    }
+
+    @Override
+    public ByteBuffer allocateDirect(int capacity) {
+        return allocate(capacity, true);
+    }
+
+    @Override
+    public void release(ByteBuffer buffer) {
+        if (buffer == null) {
+            return;
+        }
+        if (this.allocationSites != null && this.allocationSites.remove(buffer) == null) {
+            throw LogUtil.logExceptionAsError(log, new IllegalStateException(
+                    "Buffer " + buffer + " was already released or was not allocated by this allocator."));
+        }
+        this.outstanding.decrementAndGet();
+        final SizeClass sizeClass = sizeClass(buffer.capacity(), buffer.isDirect());
+        if (sizeClass != null && sizeClass.size == buffer.capacity() && !buffer.isReadOnly()) {
+            sizeClass.offer(buffer);
+        }
+    }
+
+    /**
+     * @return the number of buffers allocated and not released yet
+     */
+    public int getOutstandingBuffers() {
+        return this.outstanding.get();
+    }
+
+    /**
+     * @return the number of released buffers kept for reuse
+     */
+    public int getCachedBuffers() {
+        int cached = 0;
+        for (int i = 0; i < this.heapClasses.length; i++) {
+            cached += this.heapClasses[i].cached.get() + this.directClasses[i].cached.get();
+        }
+        return cached;
+    }
+
+    /**
+     * Checks every buffer allocated so far was released.
+     *
+     * @throws IllegalStateException if some buffers are outstanding, caused by the allocation of one of them when leak
+     *                               detection is on
+     */
+    public void checkLeaks() {
+        final int leaks = this.outstanding.get();
+        if (leaks == 0) {
+            return;
+        }
+        Throwable site = null;
+        if (this.allocationSites != null) {
+            synchronized (this.allocationSites) {
+                site = this.allocationSites.values().stream().findFirst().orElse(null);
+            }
+        }
+        throw LogUtil.logExceptionAsError(log,
+                new IllegalStateException(leaks + " buffer(s) allocated and never released.", site));
+    }
+
+    private ByteBuffer allocate(int capacity, boolean direct) {
+        if (capacity < 0) {
+            throw LogUtil.logExceptionAsError(log, new IllegalArgumentException("'capacity' cannot be negative."));
+        }
+        final SizeClass sizeClass = sizeClass(capacity, direct);
+        ByteBuffer buffer = sizeClass == null ? null : sizeClass.poll();
+        if (buffer == null) {
+            final int size = sizeClass == null ? capacity : sizeClass.size;
+            buffer = direct ? ByteBuffer.allocateDirect(size) : ByteBuffer.allocate(size);
+        }
+        buffer.clear().limit(capacity);
+        this.outstanding.incrementAndGet();
+        if (this.allocationSites != null) {
+            this.allocationSites.put(buffer, new Throwable("Allocation of a " + capacity + " bytes buffer"));
+        }
+        return buffer;
+    }
+
+    private SizeClass sizeClass(int capacity, boolean direct) {
+        if (capacity > this.maxPooledSize) {
+            return null;
+        }
+        final int shift = capacity <= (1 << MIN_SIZE_CLASS_SHIFT)
+                ? MIN_SIZE_CLASS_SHIFT
+                : 32 - Integer.numberOfLeadingZeros(capacity - 1);
+        return (direct ? this.directClasses : this.heapClasses)[shift - MIN_SIZE_CLASS_SHIFT];
+    }
+
+    private static final class SizeClass {
+        private final int size;
+        private final int maxCached;
+        private final Queue<ByteBuffer> free = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger cached = new AtomicInteger();
+
+        private SizeClass(int size, int maxCached) {
+            this.size = size;
+            this.maxCached = maxCached;
+        }
+
+        private ByteBuffer poll() {
+            final ByteBuffer buffer = this.free.poll();
+            if (buffer != null) {
+                this.cached.decrementAndGet();
+            }
+            return buffer;
+        }
+
+        private void offer(ByteBuffer buffer) {
+            if (this.cached.incrementAndGet() <= this.maxCached) {
+                this.free.offer(buffer);
+            } else {
+                this.cached.decrementAndGet();
+            }
+        }
+    }
+}
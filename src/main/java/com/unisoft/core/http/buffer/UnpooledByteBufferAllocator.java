@@ -0,0 +1,43 @@
+package com.unisoft.core.http.buffer;
+
+import com.unisoft.core.util.log.LogUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.ByteBuffer;
+
+/**
+ * {@link ByteBufferAllocator} leaving released buffers to the garbage collector.
+ *
+ * @author omar.H.Ajmi
+ * @since 17/10/2026
+ */
+final class UnpooledByteBufferAllocator implements ByteBufferAllocator {
+    static final UnpooledByteBufferAllocator INSTANCE = new UnpooledByteBufferAllocator();
+    private static final Logger log = LoggerFactory.getLogger(UnpooledByteBufferAllocator.class);
+
+    private UnpooledByteBufferAllocator() {
+    }
+
+    @Override
+    public ByteBuffer allocate(int capacity) {
+        return ByteBuffer.allocate(checkCapacity(capacity));
+    }
+
+    @Override
+    public ByteBuffer allocateDirect(int capacity) {
+        return ByteBuffer.allocateDirect(checkCapacity(capacity));
+    }
+
+    @Override
+    public void release(ByteBuffer buffer) {
+        // left to the garbage collector
+    }
+
+    private static int checkCapacity(int capacity) {
+        if (capacity < 0) {
+            throw LogUtil.logExceptionAsError(log, new IllegalArgumentException("'capacity' cannot be negative."));
+        }
+        return capacity;
+    }
+}
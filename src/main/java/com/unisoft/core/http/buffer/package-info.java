@@ -0,0 +1,5 @@
+/**
+ * Package containing the {@link com.unisoft.core.http.buffer.ByteBufferAllocator} used for request and response
+ * bodies, and the streams reading and writing its buffers.
+ */
+package com.unisoft.core.http.buffer;
@@ -2,31 +2,53 @@ package com.unisoft.core.http.impl;
 
 import com.unisoft.core.http.HttpHeaders;
 import com.unisoft.core.http.HttpResponse;
+import com.unisoft.core.http.buffer.ByteBufferAllocator;
+import com.unisoft.core.http.buffer.ByteBufferInputStream;
+import com.unisoft.core.http.buffer.ByteBufferOutputStream;
 import com.unisoft.core.util.CoreUtil;
-import com.unisoft.core.util.FluxUtil;
+import com.unisoft.core.util.log.LogUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.io.InputStream;
 import java.nio.ByteBuffer;
 import java.nio.charset.Charset;
 
 /**
  * HTTP response which will buffer the response's body when/if it is read.
+ * <p>
+ * The body is collected once into a buffer of a {@link ByteBufferAllocator}, sized after the Content-Length header
+ * when there is one, and given back to the allocator when the response is closed. Once closed, a response buffered
+ * by a pooling allocator only serves its body if it had been read as a byte array before.
  *
  * @author omar.H.Ajmi
  * @since 18/10/2020
  */
 public final class BufferedHttpResponse extends HttpResponse {
+    private static final int DEFAULT_INITIAL_CAPACITY = 1024;
+    private static final int MAX_INITIAL_CAPACITY = 8 * 1024 * 1024;
+    private final Logger log = LoggerFactory.getLogger(BufferedHttpResponse.class);
+
     private final HttpResponse innerHttpResponse;
-    private final Flux<ByteBuffer> cachedBody;
+    private final ByteBufferAllocator allocator;
+    private final boolean pooled;
+    private final Mono<ByteBuffer> cachedContent;
+    private ByteBufferOutputStream content;
+    private volatile byte[] contentBytes;
+    private boolean closed;
 
     public BufferedHttpResponse(HttpResponse httpResponse) {
+        this(httpResponse, ByteBufferAllocator.unpooled());
+    }
+
+    public BufferedHttpResponse(HttpResponse httpResponse, ByteBufferAllocator allocator) {
         super(httpResponse.getRequest());
         this.innerHttpResponse = httpResponse;
-        this.cachedBody = FluxUtil.collectBytesInByteBufferStream(httpResponse.getBody())
-                .map(ByteBuffer::wrap)
-                .flux()
-                .cache();
+        this.allocator = allocator;
+        this.pooled = allocator != ByteBufferAllocator.unpooled();
+        this.cachedContent = Mono.defer(this::collect).cache();
     }
 
     @Override
@@ -46,12 +68,25 @@ public final class BufferedHttpResponse extends HttpResponse {
 
     @Override
     public Flux<ByteBuffer> getBody() {
-        return this.cachedBody;
+        return Flux.defer(() -> {
+            final byte[] bytes = this.contentBytes;
+            return bytes != null
+                    ? Flux.just(ByteBuffer.wrap(bytes))
+                    : this.cachedContent.map(this::duplicate).flux();
+        });
     }
 
     @Override
     public Mono<byte[]> getBodyAsByteArray() {
-        return this.cachedBody.next().map(ByteBuffer::array);
+        return Mono.defer(() -> {
+            final byte[] bytes = this.contentBytes;
+            return bytes != null ? Mono.just(bytes) : this.cachedContent.map(this::toByteArray);
+        });
+    }
+
+    @Override
+    public Mono<InputStream> getBodyAsInputStream() {
+        return getBody().next().map(ByteBufferInputStream::new);
     }
 
     @Override
@@ -70,4 +105,83 @@ public final class BufferedHttpResponse extends HttpResponse {
     public HttpResponse buffer() {
         return this;
     }
+
+    @Override
+    public HttpResponse buffer(ByteBufferAllocator allocator) {
+        return this;
+    }
+
+    /**
+     * Gives the body buffer back to its allocator and closes the buffered response.
+     */
+    @Override
+    public void close() {
+        synchronized (this) {
+            if (this.closed) {
+                return;
+            }
+            this.closed = true;
+            if (this.content != null && this.pooled) {
+                this.content.release();
+            }
+        }
+        this.innerHttpResponse.close();
+    }
+
+    private Mono<ByteBuffer> collect() {
+        final ByteBufferOutputStream stream;
+        synchronized (this) {
+            checkReadable();
+            stream = new ByteBufferOutputStream(this.allocator, initialCapacity());
+            this.content = stream;
+        }
+        return this.innerHttpResponse.getBody()
+                .doOnNext(buffer -> {
+                    synchronized (this) {
+                        checkReadable();
+                        stream.write(buffer);
+                    }
+                })
+                .then(Mono.fromCallable(() -> {
+                    synchronized (this) {
+                        checkReadable();
+                        return stream.toByteBuffer();
+                    }
+                }));
+    }
+
+    private synchronized ByteBuffer duplicate(ByteBuffer content) {
+        checkReadable();
+        return content.duplicate();
+    }
+
+    private synchronized byte[] toByteArray(ByteBuffer content) {
+        if (this.contentBytes == null) {
+            checkReadable();
+            final ByteBuffer view = content.duplicate();
+            final byte[] bytes = new byte[view.remaining()];
+            view.get(bytes);
+            this.contentBytes = bytes;
+        }
+        return this.contentBytes;
+    }
+
+    private void checkReadable() {
+        if (this.closed && this.pooled) {
+            throw LogUtil.logExceptionAsError(log,
+                    new IllegalStateException("The response was closed and its buffered body released."));
+        }
+    }
+
+    private int initialCapacity() {
+        final String contentLength = this.innerHttpResponse.getHeaderValue("Content-Length");
+        if (contentLength != null) {
+            try {
+                return (int) Math.min(MAX_INITIAL_CAPACITY, Math.max(0, Long.parseLong(contentLength.trim())));
+            } catch (NumberFormatException ignored) {
+                // sized as it grows
+            }
+        }
+        return DEFAULT_INITIAL_CAPACITY;
+    }
 }
@@ -3,7 +3,6 @@ package com.unisoft.core.http.impl;
 import com.unisoft.core.http.HttpClient;
 import com.unisoft.core.http.HttpClientProvider;
 
-import java.util.Iterator;
 import java.util.ServiceLoader;
 
 /**
@@ -16,18 +15,30 @@ public final class HttpClientProviders {
     private static HttpClientProvider defaultProvider;
 
     static {
-        ServiceLoader<HttpClientProvider> serviceLoader = ServiceLoader.load(HttpClientProvider.class);
-
-        final Iterator<HttpClientProvider> iterator = serviceLoader.iterator();
-        while (iterator.hasNext()) {
-            defaultProvider = iterator.next();
-        }
+        defaultProvider = select(ServiceLoader.load(HttpClientProvider.class));
     }
 
     private HttpClientProviders() {
         // no-op
     }
 
+    /**
+     * Selects the provider with the highest {@link HttpClientProvider#getPriority() priority}, the first one found
+     * among providers of equal priority.
+     *
+     * @param providers the providers found on the classpath
+     * @return the selected provider, null if there is none
+     */
+    static HttpClientProvider select(Iterable<HttpClientProvider> providers) {
+        HttpClientProvider selected = null;
+        for (HttpClientProvider provider : providers) {
+            if (selected == null || provider.getPriority() > selected.getPriority()) {
+                selected = provider;
+            }
+        }
+        return selected;
+    }
+
     public static HttpClient createInstance() {
         if (defaultProvider != null) {
             return defaultProvider.createInstance();
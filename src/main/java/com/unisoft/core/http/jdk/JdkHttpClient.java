@@ -0,0 +1,105 @@
+package com.unisoft.core.http.jdk;
+
+import com.unisoft.core.http.HttpClient;
+import com.unisoft.core.http.HttpHeader;
+import com.unisoft.core.http.HttpHeaders;
+import com.unisoft.core.http.HttpRequest;
+import com.unisoft.core.http.HttpResponse;
+import reactor.adapter.JdkFlowAdapter;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.net.URISyntaxException;
+import java.net.http.HttpRequest.BodyPublisher;
+import java.net.http.HttpRequest.BodyPublishers;
+import java.net.http.HttpResponse.BodyHandlers;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Flow;
+
+/**
+ * {@link HttpClient} backed by the JDK {@link java.net.http.HttpClient}, which brings HTTP/2 multiplexing and JDK
+ * managed connection pooling.
+ * <p>
+ * Request and response bodies are bridged between reactor {@link Flux} and {@link Flow} publishers without
+ * copying the {@link ByteBuffer}s.
+ *
+ * <pre>
+ * HttpClient client = new JdkHttpClientBuilder()
+ *     .connectTimeout(Duration.ofSeconds(5))
+ *     .preferHttp2(true)
+ *     .build();
+ * </pre>
+ *
+ * @author omar.H.Ajmi
+ * @since 17/10/2026
+ */
+public final class JdkHttpClient implements HttpClient {
+    // headers the JDK client manages itself and rejects when set on a request
+    private static final Set<String> RESTRICTED_HEADERS = Set.of("connection", "content-length", "date", "expect",
+            "from", "host", "upgrade", "via", "warning");
+
+    private final java.net.http.HttpClient jdkHttpClient;
+
+    JdkHttpClient(java.net.http.HttpClient jdkHttpClient) {
+        this.jdkHttpClient = jdkHttpClient;
+    }
+
+    @Override
+    public Mono<HttpResponse> send(HttpRequest request) {
+        return Mono.defer(() -> {
+            final java.net.http.HttpRequest jdkRequest;
+            try {
+                jdkRequest = toJdkRequest(request);
+            } catch (URISyntaxException | IllegalArgumentException e) {
+                return Mono.error(e);
+            }
+            return Mono.fromFuture(this.jdkHttpClient.sendAsync(jdkRequest, BodyHandlers.ofPublisher()))
+                    .map(jdkResponse -> new JdkHttpResponse(request, jdkResponse.statusCode(),
+                            fromJdkHeaders(jdkResponse.headers()), toFlux(jdkResponse.body())));
+        });
+    }
+
+    private static java.net.http.HttpRequest toJdkRequest(HttpRequest request) throws URISyntaxException {
+        final java.net.http.HttpRequest.Builder builder = java.net.http.HttpRequest.newBuilder()
+                .uri(request.getUrl().toURI())
+                .method(request.getHttpMethod().name(), toBodyPublisher(request));
+        for (HttpHeader header : request.getHeaders()) {
+            if (header.getValue() != null
+                    && !RESTRICTED_HEADERS.contains(header.getName().toLowerCase(Locale.ROOT))) {
+                builder.header(header.getName(), header.getValue());
+            }
+        }
+        return builder.build();
+    }
+
+    private static BodyPublisher toBodyPublisher(HttpRequest request) {
+        final Flux<ByteBuffer> body = request.getBody();
+        if (body == null) {
+            return BodyPublishers.noBody();
+        }
+        final Flow.Publisher<ByteBuffer> publisher = JdkFlowAdapter.publisherToFlowPublisher(body);
+        final String contentLength = request.getHeaders().getValue("Content-Length");
+        if (contentLength == null) {
+            // sent with chunked transfer encoding, or as an HTTP/2 stream of unknown length
+            return BodyPublishers.fromPublisher(publisher);
+        }
+        final long length = Long.parseLong(contentLength.trim());
+        return length == 0 ? BodyPublishers.noBody() : BodyPublishers.fromPublisher(publisher, length);
+    }
+
+    private static HttpHeaders fromJdkHeaders(java.net.http.HttpHeaders jdkHeaders) {
+        final HttpHeaders headers = new HttpHeaders();
+        for (Map.Entry<String, List<String>> header : jdkHeaders.map().entrySet()) {
+            headers.put(header.getKey(), String.join(",", header.getValue()));
+        }
+        return headers;
+    }
+
+    private static Flux<ByteBuffer> toFlux(Flow.Publisher<List<ByteBuffer>> publisher) {
+        return JdkFlowAdapter.flowPublisherToFlux(publisher).flatMapIterable(buffers -> buffers);
+    }
+}
@@ -0,0 +1,123 @@
+package com.unisoft.core.http.jdk;
+
+import com.unisoft.core.util.log.LogUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.net.ssl.SSLContext;
+import java.net.http.HttpClient.Version;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+
+/**
+ * Fluent builder of {@link JdkHttpClient}, calling {@link JdkHttpClientBuilder#build() build} creates a client
+ * wrapping a new {@link java.net.http.HttpClient}.
+ * <p>
+ * The JDK client pool is sized by the {@code jdk.httpclient.connectionPoolSize} and
+ * {@code jdk.httpclient.keepalive.timeout} system properties, read once per JVM, so they are left to the application
+ * launch configuration.
+ *
+ * <p><strong>Code Samples</strong></p>
+ *
+ * <pre>
+ * new JdkHttpClientBuilder()
+ *     .connectTimeout(Duration.ofSeconds(5))
+ *     .executor(Executors.newFixedThreadPool(4))
+ *     .preferHttp2(false)
+ *     .build();
+ * </pre>
+ *
+ * @author omar.H.Ajmi
+ * @since 17/10/2026
+ */
+public class JdkHttpClientBuilder {
+    private static final Logger log = LoggerFactory.getLogger(JdkHttpClientBuilder.class);
+
+    private Duration connectTimeout;
+    private Executor executor;
+    private boolean preferHttp2 = true;
+    private SSLContext sslContext;
+
+    /**
+     * Creates a builder with the JDK client defaults.
+     */
+    public JdkHttpClientBuilder() {
+        // no-op
+    }
+
+    /**
+     * Sets the connect timeout. By default the JDK client waits for the operating system connect timeout.
+     *
+     * @param connectTimeout the connect timeout, must be positive
+     * @return the updated JdkHttpClientBuilder object
+     * @throws IllegalArgumentException if {@code connectTimeout} is not positive
+     */
+    public JdkHttpClientBuilder connectTimeout(Duration connectTimeout) {
+        this.connectTimeout = requirePositive(connectTimeout, "connectTimeout");
+        return this;
+    }
+
+    /**
+     * Sets the executor running the JDK client asynchronous tasks and body callbacks. By default the JDK client
+     * uses its own cached thread pool.
+     *
+     * @param executor the executor
+     * @return the updated JdkHttpClientBuilder object
+     */
+    public JdkHttpClientBuilder executor(Executor executor) {
+        this.executor = Objects.requireNonNull(executor, "'executor' cannot be null.");
+        return this;
+    }
+
+    /**
+     * Sets whether HTTP/2 is negotiated, falling back to HTTP/1.1 when the server doesn't support it. Defaults to
+     * true, false always uses HTTP/1.1.
+     *
+     * @param preferHttp2 whether to prefer HTTP/2
+     * @return the updated JdkHttpClientBuilder object
+     */
+    public JdkHttpClientBuilder preferHttp2(boolean preferHttp2) {
+        this.preferHttp2 = preferHttp2;
+        return this;
+    }
+
+    /**
+     * Sets the SSL context used for https connections. The JVM default context is used if none is set.
+     *
+     * @param sslContext the SSL context
+     * @return the updated JdkHttpClientBuilder object
+     */
+    public JdkHttpClientBuilder sslContext(SSLContext sslContext) {
+        this.sslContext = sslContext;
+        return this;
+    }
+
+    /**
+     * Creates a new {@link JdkHttpClient} based on the options set in the builder.
+     *
+     * @return a new JdkHttpClient
+     */
+    public JdkHttpClient build() {
+        final java.net.http.HttpClient.Builder builder = java.net.http.HttpClient.newBuilder()
+                .version(this.preferHttp2 ? Version.HTTP_2 : Version.HTTP_1_1);
+        if (this.connectTimeout != null) {
+            builder.connectTimeout(this.connectTimeout);
+        }
+        if (this.executor != null) {
+            builder.executor(this.executor);
+        }
+        if (this.sslContext != null) {
+            builder.sslContext(this.sslContext);
+        }
+        return new JdkHttpClient(builder.build());
+    }
+
+    private static Duration requirePositive(Duration duration, String name) {
+        Objects.requireNonNull(duration, "'" + name + "' cannot be null.");
+        if (duration.isNegative() || duration.isZero()) {
+            throw LogUtil.logExceptionAsError(log, new IllegalArgumentException("'" + name + "' must be positive."));
+        }
+        return duration;
+    }
+}
@@ -0,0 +1,24 @@
+package com.unisoft.core.http.jdk;
+
+import com.unisoft.core.http.HttpClient;
+import com.unisoft.core.http.HttpClientProvider;
+
+/**
+ * {@link HttpClientProvider} creating {@link JdkHttpClient}s with the default {@link JdkHttpClientBuilder}
+ * configuration, with the lowest priority of the shipped providers.
+ *
+ * @author omar.H.Ajmi
+ * @since 17/10/2026
+ */
+public final class JdkHttpClientProvider implements HttpClientProvider {
+
+    @Override
+    public HttpClient createInstance() {
+        return new JdkHttpClientBuilder().build();
+    }
+
+    @Override
+    public int getPriority() {
+        return -200;
+    }
+}
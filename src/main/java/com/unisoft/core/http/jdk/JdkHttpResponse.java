@@ -0,0 +1,80 @@
+package com.unisoft.core.http.jdk;
+
+import com.unisoft.core.http.HttpHeaders;
+import com.unisoft.core.http.HttpRequest;
+import com.unisoft.core.http.HttpResponse;
+import com.unisoft.core.util.CoreUtil;
+import com.unisoft.core.util.FluxUtil;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * {@link HttpResponse} received by the {@link JdkHttpClient}.
+ *
+ * @author omar.H.Ajmi
+ * @since 17/10/2026
+ */
+final class JdkHttpResponse extends HttpResponse {
+    private final int statusCode;
+    private final HttpHeaders headers;
+    private final Flux<ByteBuffer> body;
+    private final AtomicBoolean subscribed = new AtomicBoolean();
+
+    JdkHttpResponse(HttpRequest request, int statusCode, HttpHeaders headers, Flux<ByteBuffer> body) {
+        super(request);
+        this.statusCode = statusCode;
+        this.headers = headers;
+        this.body = body.doOnSubscribe(ignored -> this.subscribed.set(true));
+    }
+
+    @Override
+    public int getStatusCode() {
+        return this.statusCode;
+    }
+
+    @Override
+    public String getHeaderValue(String name) {
+        return this.headers.getValue(name);
+    }
+
+    @Override
+    public HttpHeaders getHeaders() {
+        return this.headers;
+    }
+
+    @Override
+    public Flux<ByteBuffer> getBody() {
+        return this.body;
+    }
+
+    @Override
+    public Mono<byte[]> getBodyAsByteArray() {
+        return FluxUtil.collectBytesInByteBufferStream(this.body);
+    }
+
+    @Override
+    public Mono<String> getBodyAsString() {
+        return this.getBodyAsByteArray()
+                .map(bytes -> CoreUtil.bomAwareToString(bytes, this.getHeaderValue("Content-Type")));
+    }
+
+    @Override
+    public Mono<String> getBodyAsString(Charset charset) {
+        return this.getBodyAsByteArray().map(bytes -> new String(bytes, charset));
+    }
+
+    /**
+     * The JDK client only releases the connection of a response whose body publisher was subscribed, an unread
+     * body is subscribed and cancelled right away.
+     */
+    @Override
+    public void close() {
+        if (!this.subscribed.get()) {
+            this.body.take(0).subscribe();
+        }
+    }
+}
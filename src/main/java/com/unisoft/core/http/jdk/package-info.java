@@ -0,0 +1,4 @@
+/**
+ * Package containing the {@link com.unisoft.core.http.HttpClient} adapter over the JDK {@code java.net.http} client.
+ */
+package com.unisoft.core.http.jdk;
@@ -0,0 +1,160 @@
+package com.unisoft.core.http.nio;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * HPACK header block decoder, keeping the dynamic table the peer encoder indexes fields into.
+ * <p>
+ * Every header block received on a connection must be decoded in order, even the ones of streams that were reset,
+ * or the dynamic table gets out of sync with the peer.
+ *
+ * @author omar.H.Ajmi
+ * @since 17/10/2026
+ */
+final class HpackDecoder {
+    private final int maxTableSizeLimit;
+    // oldest entry first, the most recent entry has dynamic index 1
+    private final List<String[]> table = new ArrayList<>();
+    private int maxTableSize;
+    private int tableSize;
+
+    /**
+     * @param maxTableSizeLimit the table size advertised through SETTINGS_HEADER_TABLE_SIZE
+     */
+    HpackDecoder(int maxTableSizeLimit) {
+        this.maxTableSizeLimit = maxTableSizeLimit;
+        this.maxTableSize = maxTableSizeLimit;
+    }
+
+    /**
+     * Decodes a complete header block.
+     *
+     * @param block the header block, consumed entirely
+     * @return the decoded fields, names and values alternating
+     * @throws IOException if the block is malformed, which is a connection error
+     */
+    List<String> decode(ByteBuffer block) throws IOException {
+        final List<String> fields = new ArrayList<>();
+        boolean fieldSeen = false;
+        while (block.hasRemaining()) {
+            final int b = block.get(block.position()) & 0xFF;
+            if ((b & 0x80) != 0) {
+                final String[] field = field(readInteger(block, 7));
+                fields.add(field[0]);
+                fields.add(field[1]);
+                fieldSeen = true;
+            } else if ((b & 0x40) != 0) {
+                final int nameIndex = readInteger(block, 6);
+                final String name = nameIndex == 0 ? readString(block) : field(nameIndex)[0];
+                final String value = readString(block);
+                add(name, value);
+                fields.add(name);
+                fields.add(value);
+                fieldSeen = true;
+            } else if ((b & 0x20) != 0) {
+                if (fieldSeen) {
+                    throw new IOException("HPACK dynamic table size update after a header field.");
+                }
+                final int size = readInteger(block, 5);
+                if (size > this.maxTableSizeLimit) {
+                    throw new IOException("HPACK dynamic table size " + size + " exceeds the limit of "
+                            + this.maxTableSizeLimit + ".");
+                }
+                this.maxTableSize = size;
+                evict(0);
+            } else {
+                // literal without indexing or never indexed, both 4 bit prefixed
+                final int nameIndex = readInteger(block, 4);
+                final String name = nameIndex == 0 ? readString(block) : field(nameIndex)[0];
+                fields.add(name);
+                fields.add(readString(block));
+                fieldSeen = true;
+            }
+        }
+        return fields;
+    }
+
+    /**
+     * @return the current size of the dynamic table
+     */
+    int getTableSize() {
+        return this.tableSize;
+    }
+
+    private String[] field(int index) throws IOException {
+        if (index <= 0) {
+            throw new IOException("Invalid HPACK index 0.");
+        }
+        if (index <= Hpack.STATIC_TABLE.length) {
+            return Hpack.STATIC_TABLE[index - 1];
+        }
+        final int dynamicIndex = index - Hpack.STATIC_TABLE.length;
+        if (dynamicIndex > this.table.size()) {
+            throw new IOException("HPACK index " + index + " is out of the table.");
+        }
+        return this.table.get(this.table.size() - dynamicIndex);
+    }
+
+    private void add(String name, String value) {
+        final int size = Hpack.entrySize(name, value);
+        evict(size);
+        // an entry larger than the table empties it and is not added
+        if (size <= this.maxTableSize) {
+            this.table.add(new String[]{name, value});
+            this.tableSize += size;
+        }
+    }
+
+    private void evict(int incoming) {
+        while (this.tableSize + incoming > this.maxTableSize && !this.table.isEmpty()) {
+            final String[] evicted = this.table.remove(0);
+            this.tableSize -= Hpack.entrySize(evicted[0], evicted[1]);
+        }
+    }
+
+    private static int readInteger(ByteBuffer block, int prefixBits) throws IOException {
+        final int maxPrefix = (1 << prefixBits) - 1;
+        int value = block.get() & maxPrefix;
+        if (value < maxPrefix) {
+            return value;
+        }
+        for (int shift = 0; ; shift += 7) {
+            if (!block.hasRemaining()) {
+                throw new IOException("Truncated HPACK integer.");
+            }
+            final int b = block.get() & 0xFF;
+            final long next = value + ((long) (b & 0x7F) << shift);
+            if (shift > 28 || next > Integer.MAX_VALUE) {
+                throw new IOException("HPACK integer overflow.");
+            }
+            value = (int) next;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+    }
+
+    private static String readString(ByteBuffer block) throws IOException {
+        if (!block.hasRemaining()) {
+            throw new IOException("Truncated HPACK string.");
+        }
+        final boolean huffman = (block.get(block.position()) & 0x80) != 0;
+        final int length = readInteger(block, 7);
+        if (length > block.remaining()) {
+            throw new IOException("Truncated HPACK string.");
+        }
+        final byte[] bytes = new byte[length];
+        block.get(bytes);
+        if (huffman) {
+            return Hpack.huffmanDecode(bytes, 0, length);
+        }
+        final char[] chars = new char[length];
+        for (int i = 0; i < length; i++) {
+            chars[i] = (char) (bytes[i] & 0xFF);
+        }
+        return new String(chars);
+    }
+}
@@ -0,0 +1,99 @@
+package com.unisoft.core.http.nio;
+
+import java.util.Arrays;
+
+/**
+ * HPACK header block encoder.
+ * <p>
+ * Fields are never added to the dynamic table, so the peer table size doesn't matter and a block can be encoded
+ * without coordinating with the blocks still waiting to be written. Fields matching a static table entry are sent
+ * as an index, the others as literals, Huffman coded whenever that is shorter.
+ *
+ * @author omar.H.Ajmi
+ * @since 17/10/2026
+ */
+final class HpackEncoder {
+    private byte[] block = new byte[256];
+    private int size;
+
+    /**
+     * Starts a new header block, discarding the previous one.
+     */
+    void reset() {
+        this.size = 0;
+    }
+
+    /**
+     * Appends a field to the current block.
+     *
+     * @param name  the lower case header name
+     * @param value the header value
+     */
+    void encode(String name, String value) {
+        final int fieldIndex = Hpack.staticFieldIndex(name, value);
+        if (fieldIndex > 0) {
+            putInteger(0x80, 7, fieldIndex);
+            return;
+        }
+        // credentials are flagged so intermediaries never index them either
+        final int representation = "authorization".equals(name) || "proxy-authorization".equals(name) ? 0x10 : 0x00;
+        final int nameIndex = Hpack.staticNameIndex(name);
+        putInteger(representation, 4, nameIndex);
+        if (nameIndex == 0) {
+            putString(name);
+        }
+        putString(value);
+    }
+
+    /**
+     * @return the encoded block, backed by an array reused by the next block
+     */
+    byte[] array() {
+        return this.block;
+    }
+
+    /**
+     * @return the size of the encoded block
+     */
+    int size() {
+        return this.size;
+    }
+
+    private void putString(String value) {
+        final int huffmanLength = Hpack.huffmanLength(value);
+        if (huffmanLength < value.length()) {
+            putInteger(0x80, 7, huffmanLength);
+            ensureCapacity(huffmanLength);
+            this.size = Hpack.huffmanEncode(value, this.block, this.size);
+        } else {
+            putInteger(0x00, 7, value.length());
+            ensureCapacity(value.length());
+            for (int i = 0; i < value.length(); i++) {
+                final char c = value.charAt(i);
+                this.block[this.size++] = c <= 0xFF ? (byte) c : (byte) '?';
+            }
+        }
+    }
+
+    private void putInteger(int representation, int prefixBits, int value) {
+        ensureCapacity(6);
+        final int maxPrefix = (1 << prefixBits) - 1;
+        if (value < maxPrefix) {
+            this.block[this.size++] = (byte) (representation | value);
+            return;
+        }
+        this.block[this.size++] = (byte) (representation | maxPrefix);
+        int remaining = value - maxPrefix;
+        while (remaining >= 0x80) {
+            this.block[this.size++] = (byte) ((remaining & 0x7F) | 0x80);
+            remaining >>>= 7;
+        }
+        this.block[this.size++] = (byte) remaining;
+    }
+
+    private void ensureCapacity(int additional) {
+        if (this.size + additional > this.block.length) {
+            this.block = Arrays.copyOf(this.block, Math.max(this.block.length * 2, this.size + additional));
+        }
+    }
+}
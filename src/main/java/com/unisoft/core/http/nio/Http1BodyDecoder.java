@@ -0,0 +1,225 @@
+package com.unisoft.core.http.nio;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * Incremental decoder of an HTTP/1.1 response body framing.
+ *
+ * @author omar.H.Ajmi
+ * @since 17/10/2026
+ */
+abstract class Http1BodyDecoder {
+
+    /**
+     * Creates the decoder matching the framing reported by {@link Http1ResponseHead#contentLength()}.
+     *
+     * @param contentLength the content length, {@code Long.MIN_VALUE} for chunked and -1 for until close
+     * @return the decoder
+     */
+    static Http1BodyDecoder of(long contentLength) {
+        if (contentLength == Long.MIN_VALUE) {
+            return new Chunked();
+        } else if (contentLength < 0) {
+            return new UntilClose();
+        } else {
+            return new ContentLength(contentLength);
+        }
+    }
+
+    /**
+     * Decodes the next slice of body content from the readable bytes of {@code in}, advancing it.
+     *
+     * @param in the received bytes, in read mode
+     * @return a view over the next content bytes, or null if more bytes must be received first
+     * @throws IOException if the framing is malformed
+     */
+    abstract ByteBuffer decode(ByteBuffer in) throws IOException;
+
+    /**
+     * @return true once the whole body has been decoded
+     */
+    abstract boolean isComplete();
+
+    /**
+     * Notifies the decoder the peer closed the connection.
+     *
+     * @throws IOException if the body was not complete yet
+     */
+    void onEndOfStream() throws IOException {
+        if (!isComplete()) {
+            throw new EOFException("Connection closed before the response body was fully received.");
+        }
+    }
+
+    /**
+     * @return true if the connection can carry another exchange once the body is complete
+     */
+    boolean isReusable() {
+        return true;
+    }
+
+    static ByteBuffer slice(ByteBuffer in, int length) {
+        final ByteBuffer slice = in.duplicate();
+        slice.limit(slice.position() + length);
+        in.position(in.position() + length);
+        return slice;
+    }
+
+    private static final class ContentLength extends Http1BodyDecoder {
+        private long remaining;
+
+        ContentLength(long length) {
+            this.remaining = length;
+        }
+
+        @Override
+        ByteBuffer decode(ByteBuffer in) {
+            if (this.remaining == 0 || !in.hasRemaining()) {
+                return null;
+            }
+            final int length = (int) Math.min(this.remaining, in.remaining());
+            this.remaining -= length;
+            return slice(in, length);
+        }
+
+        @Override
+        boolean isComplete() {
+            return this.remaining == 0;
+        }
+    }
+
+    private static final class UntilClose extends Http1BodyDecoder {
+        private boolean complete;
+
+        @Override
+        ByteBuffer decode(ByteBuffer in) {
+            return in.hasRemaining() ? slice(in, in.remaining()) : null;
+        }
+
+        @Override
+        boolean isComplete() {
+            return this.complete;
+        }
+
+        @Override
+        void onEndOfStream() {
+            this.complete = true;
+        }
+
+        @Override
+        boolean isReusable() {
+            return false;
+        }
+    }
+
+    private static final class Chunked extends Http1BodyDecoder {
+        private static final int SIZE = 0;
+        private static final int EXTENSION = 1;
+        private static final int SIZE_LF = 2;
+        private static final int DATA = 3;
+        private static final int DATA_CR = 4;
+        private static final int DATA_LF = 5;
+        private static final int TRAILER = 6;
+        private static final int DONE = 7;
+
+        private int state = SIZE;
+        private long chunkRemaining;
+        private boolean sizeDigits;
+        private int trailerLineLength;
+
+        @Override
+        ByteBuffer decode(ByteBuffer in) throws IOException {
+            while (in.hasRemaining() && this.state != DONE) {
+                if (this.state == DATA) {
+                    final int length = (int) Math.min(this.chunkRemaining, in.remaining());
+                    this.chunkRemaining -= length;
+                    if (this.chunkRemaining == 0) {
+                        this.state = DATA_CR;
+                    }
+                    return slice(in, length);
+                }
+                step(in.get());
+            }
+            return null;
+        }
+
+        private void step(byte b) throws IOException {
+            switch (this.state) {
+                case SIZE:
+                    final int digit = Character.digit(b, 16);
+                    if (digit >= 0) {
+                        if (this.chunkRemaining > (Long.MAX_VALUE >> 4)) {
+                            throw new IOException("Chunk size overflow.");
+                        }
+                        this.chunkRemaining = (this.chunkRemaining << 4) | digit;
+                        this.sizeDigits = true;
+                    } else if (b == ';' || b == ' ' || b == '\t') {
+                        this.state = EXTENSION;
+                    } else if (b == '\r') {
+                        this.state = SIZE_LF;
+                    } else if (b == '\n') {
+                        endOfSizeLine();
+                    } else {
+                        throw new IOException("Malformed chunk size.");
+                    }
+                    break;
+                case EXTENSION:
+                    if (b == '\r') {
+                        this.state = SIZE_LF;
+                    } else if (b == '\n') {
+                        endOfSizeLine();
+                    }
+                    break;
+                case SIZE_LF:
+                    expect(b, '\n');
+                    endOfSizeLine();
+                    break;
+                case DATA_CR:
+                    if (b == '\n') {
+                        this.state = SIZE;
+                    } else {
+                        expect(b, '\r');
+                        this.state = DATA_LF;
+                    }
+                    break;
+                case DATA_LF:
+                    expect(b, '\n');
+                    this.state = SIZE;
+                    break;
+                case TRAILER:
+                    if (b == '\n') {
+                        if (this.trailerLineLength == 0) {
+                            this.state = DONE;
+                        }
+                        this.trailerLineLength = 0;
+                    } else if (b != '\r') {
+                        this.trailerLineLength++;
+                    }
+                    break;
+                default:
+                    throw new IllegalStateException("Unexpected chunked decoder state " + this.state);
+            }
+        }
+
+        private void endOfSizeLine() throws IOException {
+            if (!this.sizeDigits) {
+                throw new IOException("Malformed chunk size.");
+            }
+            this.sizeDigits = false;
+            this.state = this.chunkRemaining == 0 ? TRAILER : DATA;
+        }
+
+        private static void expect(byte actual, char expected) throws IOException {
+            if (actual != expected) {
+                throw new IOException("Malformed chunked body, expected " + (int) expected + " got " + actual);
+            }
+        }
+
+        @Override
+        boolean isComplete() {
+            return this.state == DONE;
+        }
+    }
+}
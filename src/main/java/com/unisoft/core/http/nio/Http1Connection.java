@@ -0,0 +1,627 @@
+package com.unisoft.core.http.nio;
+
+import com.unisoft.core.http.HttpMethod;
+import com.unisoft.core.http.HttpRequest;
+import org.reactivestreams.Subscription;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.CoreSubscriber;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.FluxSink;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * A single HTTP/1.1 connection carrying one exchange at a time.
+ * <p>
+ * Every method is called on the event loop thread, reactive signals coming from other threads are handed over
+ * through {@link NioEventLoop#execute(Runnable)}.
+ *
+ * @author omar.H.Ajmi
+ * @since 17/10/2026
+ */
+final class Http1Connection implements NioConnection, NioEventLoop.ChannelHandler {
+    static final String PROTOCOL = "HTTP/1.1";
+    private static final Logger log = LoggerFactory.getLogger(Http1Connection.class);
+    private static final int MAX_HEAD_SIZE = 64 * 1024;
+
+    private enum State {
+        IDLE, READING_HEAD, READING_BODY, CLOSED
+    }
+
+    private final NioConnectionPool pool;
+    private final NioEventLoop loop;
+    private final NioConnectionPool.PoolKey key;
+    private final SelectionKey selectionKey;
+    private final NioTransport transport;
+    private final Deque<ByteBuffer> outbound = new ArrayDeque<>();
+    private final Http1RequestEncoder encoder = new Http1RequestEncoder();
+
+    private State state = State.IDLE;
+    private ByteBuffer inbound;
+    private boolean writePending;
+    private long idleSinceNanos = System.nanoTime();
+    private int exchangeCount;
+    private volatile int activeStreams;
+
+    private NioExchange exchange;
+    private boolean requestKeepAlive;
+    private boolean requestComplete;
+    private boolean responseStarted;
+    private BodyWriter bodyWriter;
+    private Http1ResponseHead head;
+    private ResponseBody body;
+
+    /**
+     * Takes over a connected channel, its transport handshake already completed.
+     *
+     * @param pool           the pool the connection belongs to
+     * @param loop           the event loop
+     * @param key            the origin
+     * @param selectionKey   the channel selection key, re-attached to this connection
+     * @param transport      the channel transport
+     * @param readBufferSize the initial size of the read buffer
+     */
+    Http1Connection(NioConnectionPool pool, NioEventLoop loop, NioConnectionPool.PoolKey key,
+                    SelectionKey selectionKey, NioTransport transport, int readBufferSize) {
+        this.pool = pool;
+        this.loop = loop;
+        this.key = key;
+        this.selectionKey = selectionKey;
+        this.transport = transport;
+        this.inbound = ByteBuffer.allocate(readBufferSize);
+        this.inbound.flip();
+        selectionKey.attach(this);
+    }
+
+    @Override
+    public NioConnectionPool.PoolKey getKey() {
+        return this.key;
+    }
+
+    @Override
+    public String getProtocol() {
+        return PROTOCOL;
+    }
+
+    @Override
+    public int getActiveStreams() {
+        return this.activeStreams;
+    }
+
+    @Override
+    public int getMaxConcurrentStreams() {
+        return 1;
+    }
+
+    /**
+     * @return the {@link System#nanoTime()} at which the connection was last released to the pool
+     */
+    @Override
+    public long getIdleSinceNanos() {
+        return this.idleSinceNanos;
+    }
+
+    @Override
+    public void onReady(SelectionKey key) {
+        try {
+            switch (this.state) {
+                case IDLE:
+                    onIdleReadable();
+                    break;
+                case READING_HEAD:
+                case READING_BODY:
+                    if (key.isWritable()) {
+                        flushOutbound();
+                    }
+                    if (key.isValid() && key.isReadable()) {
+                        onReadable();
+                    }
+                    break;
+                default:
+                    break;
+            }
+        } catch (IOException | RuntimeException e) {
+            fail(e);
+        }
+    }
+
+    /**
+     * Marks the connection idle, the socket is still watched so a close from the server is noticed.
+     */
+    void idle() {
+        this.state = State.IDLE;
+        this.idleSinceNanos = System.nanoTime();
+        this.selectionKey.interestOps(SelectionKey.OP_READ);
+    }
+
+    private void onIdleReadable() throws IOException {
+        final int read = readInbound();
+        if (read < 0) {
+            fail(new EOFException("Connection closed by the server while idle."));
+        } else if (read > 0) {
+            fail(new IOException("Unexpected data received on an idle connection."));
+        }
+        // read == 0, e.g. a TLS session ticket consumed by the transport
+    }
+
+    /**
+     * Starts sending the exchange request.
+     *
+     * @param exchange the exchange
+     */
+    @Override
+    public void start(NioExchange exchange) {
+        this.exchange = exchange;
+        this.exchangeCount++;
+        this.activeStreams = 1;
+        this.responseStarted = false;
+        this.head = null;
+        this.body = null;
+        exchange.bind(this);
+
+        final HttpRequest request = exchange.getRequest();
+        this.requestKeepAlive = !Http1ResponseHead.containsToken(request.getHeaders().getValue("Connection"), "close");
+        final Flux<ByteBuffer> requestBody = request.getBody();
+        final boolean chunked = requestBody != null && request.getHeaders().get("Content-Length") == null;
+        this.outbound.add(this.encoder.encodeHead(request, chunked));
+        this.state = State.READING_HEAD;
+        this.requestComplete = requestBody == null;
+
+        try {
+            flushOutbound();
+        } catch (IOException | RuntimeException e) {
+            fail(e);
+            return;
+        }
+        if (requestBody != null) {
+            this.bodyWriter = new BodyWriter(exchange, chunked);
+            requestBody.subscribe(this.bodyWriter);
+        }
+    }
+
+    private void flushOutbound() throws IOException {
+        while (!this.outbound.isEmpty()) {
+            final ByteBuffer buffer = this.outbound.peek();
+            this.transport.write(buffer);
+            if (buffer.hasRemaining()) {
+                break;
+            }
+            this.outbound.poll();
+        }
+        this.writePending = !this.outbound.isEmpty() || !this.transport.flush();
+        if (!this.writePending && this.bodyWriter != null) {
+            this.bodyWriter.onFlushed();
+        }
+        updateInterestOps();
+    }
+
+    private void updateInterestOps() {
+        if (this.state == State.CLOSED) {
+            return;
+        }
+        int ops = this.writePending ? SelectionKey.OP_WRITE : 0;
+        if (this.state == State.READING_HEAD || (this.state == State.READING_BODY && this.body.hasDemand())) {
+            ops |= SelectionKey.OP_READ;
+        }
+        this.selectionKey.interestOps(ops);
+    }
+
+    private void onReadable() throws IOException {
+        if (this.state == State.READING_HEAD) {
+            readHead();
+        } else if (this.state == State.READING_BODY) {
+            this.body.drain();
+        }
+    }
+
+    private int readInbound() throws IOException {
+        this.inbound.compact();
+        try {
+            if (!this.inbound.hasRemaining()) {
+                if (this.inbound.capacity() >= MAX_HEAD_SIZE) {
+                    throw new IOException("The response head exceeds " + MAX_HEAD_SIZE + " bytes.");
+                }
+                final ByteBuffer larger = ByteBuffer.allocate(this.inbound.capacity() * 2);
+                this.inbound.flip();
+                larger.put(this.inbound);
+                this.inbound = larger;
+            }
+            return this.transport.read(this.inbound);
+        } finally {
+            this.inbound.flip();
+        }
+    }
+
+    private void readHead() throws IOException {
+        while (this.state == State.READING_HEAD) {
+            final Http1ResponseHead responseHead = Http1ResponseHead.parse(this.inbound);
+            if (responseHead == null) {
+                final int read = readInbound();
+                if (read < 0) {
+                    throw new EOFException("Connection closed before the response head was received.");
+                } else if (read == 0) {
+                    return;
+                }
+                this.responseStarted = true;
+                continue;
+            }
+
+            final int statusCode = responseHead.getStatusCode();
+            if (statusCode >= 100 && statusCode < 200 && statusCode != 101) {
+                // interim response, the final one follows
+                continue;
+            }
+            onHead(responseHead);
+        }
+    }
+
+    private void onHead(Http1ResponseHead responseHead) throws IOException {
+        this.head = responseHead;
+        final int statusCode = responseHead.getStatusCode();
+        final boolean noBody = this.exchange.getRequest().getHttpMethod() == HttpMethod.HEAD
+                || statusCode == 101 || statusCode == 204 || statusCode == 304;
+        final ResponseBody responseBody = new ResponseBody(Http1BodyDecoder.of(noBody ? 0 : responseHead.contentLength()));
+        this.body = responseBody;
+        this.state = State.READING_BODY;
+
+        final byte[] buffered = responseBody.decodeBuffered();
+        final NioExchange current = this.exchange;
+        if (buffered != null) {
+            // the whole body was received with the head, hand the connection back straight away
+            final Flux<ByteBuffer> content = buffered.length == 0
+                    ? Flux.empty()
+                    : Flux.defer(() -> Flux.just(ByteBuffer.wrap(buffered)));
+            current.succeed(new NioHttpResponse(current.getRequest(), responseHead,
+                    content, () -> { }));
+            responseBody.complete = true;
+            finishExchange();
+        } else {
+            current.succeed(new NioHttpResponse(current.getRequest(), responseHead,
+                    Flux.create(sink -> this.loop.execute(() -> responseBody.subscribe(sink))),
+                    () -> this.loop.tryExecute(responseBody::close)));
+            updateInterestOps();
+        }
+    }
+
+    private void finishExchange() {
+        final boolean reusable = this.requestComplete
+                && !this.writePending
+                && this.requestKeepAlive
+                && this.head.isKeepAlive()
+                && this.body.decoder.isReusable()
+                && !this.inbound.hasRemaining();
+        this.exchange = null;
+        this.activeStreams = 0;
+        this.body = null;
+        this.head = null;
+        if (reusable) {
+            this.pool.release(this, true);
+        } else {
+            close();
+        }
+    }
+
+    /**
+     * Aborts the exchange if it is still the one carried by this connection.
+     *
+     * @param aborted the exchange being aborted
+     */
+    @Override
+    public void abort(NioExchange aborted) {
+        if (this.exchange == aborted) {
+            close();
+        }
+    }
+
+    /**
+     * Closes the connection without reporting an error and removes it from the pool.
+     */
+    @Override
+    public void close() {
+        if (this.state == State.CLOSED) {
+            return;
+        }
+        closeChannel();
+        this.pool.release(this, false);
+    }
+
+    /**
+     * Closes the connection, reporting the error to the exchange in flight.
+     *
+     * @param error the failure
+     */
+    @Override
+    public void fail(Throwable error) {
+        if (this.state == State.CLOSED) {
+            return;
+        }
+        final State failedState = this.state;
+        final NioExchange failedExchange = this.exchange;
+        final ResponseBody failedBody = this.body;
+        closeChannel();
+        this.pool.release(this, false);
+
+        if (failedExchange == null || failedExchange.isDone()) {
+            if (failedBody != null) {
+                failedBody.fail(error);
+            } else if (failedState != State.IDLE) {
+                log.debug("Connection to {} failed.", this.key, error);
+            }
+        } else if (!this.responseStarted && this.exchangeCount > 1 && failedExchange.tryConsumeRetry()) {
+            // a reused connection may have been closed by the server while idle, send the request again
+            log.debug("Retrying request on a new connection to {}.", this.key, error);
+            this.pool.acquire(failedExchange);
+        } else {
+            failedExchange.fail(error);
+        }
+    }
+
+    private void closeChannel() {
+        this.state = State.CLOSED;
+        this.activeStreams = 0;
+        if (this.bodyWriter != null) {
+            this.bodyWriter.cancel();
+            this.bodyWriter = null;
+        }
+        this.outbound.clear();
+        this.transport.close();
+    }
+
+    @Override
+    public String toString() {
+        return "Http1Connection{" + this.key + ", state=" + this.state + "}";
+    }
+
+    /**
+     * The body of the response in flight, emitted on demand of its single subscriber.
+     */
+    private final class ResponseBody {
+        private final Http1BodyDecoder decoder;
+        private final Deque<ByteBuffer> pending = new ArrayDeque<>();
+        private FluxSink<ByteBuffer> sink;
+        private Throwable error;
+        private boolean subscribed;
+        private boolean complete;
+
+        ResponseBody(Http1BodyDecoder decoder) {
+            this.decoder = decoder;
+        }
+
+        /**
+         * Decodes the body bytes received along with the head.
+         *
+         * @return the whole body if it was entirely received, otherwise null and the decoded bytes are kept pending
+         * @throws IOException if the framing is malformed
+         */
+        byte[] decodeBuffered() throws IOException {
+            final List<ByteBuffer> slices = new ArrayList<>();
+            int size = 0;
+            ByteBuffer slice;
+            while ((slice = this.decoder.decode(inbound)) != null) {
+                slices.add(slice);
+                size += slice.remaining();
+            }
+            if (!this.decoder.isComplete()) {
+                for (ByteBuffer buffered : slices) {
+                    this.pending.add(copy(buffered));
+                }
+                return null;
+            }
+            final byte[] bytes = new byte[size];
+            int offset = 0;
+            for (ByteBuffer buffered : slices) {
+                final int length = buffered.remaining();
+                buffered.get(bytes, offset, length);
+                offset += length;
+            }
+            return bytes;
+        }
+
+        boolean hasDemand() {
+            return this.sink != null && this.sink.requestedFromDownstream() > 0;
+        }
+
+        void subscribe(FluxSink<ByteBuffer> subscriber) {
+            if (this.subscribed) {
+                subscriber.error(new IllegalStateException("The response body can only be subscribed once."));
+                return;
+            }
+            this.subscribed = true;
+            if (this.complete) {
+                subscriber.error(this.error != null
+                        ? this.error
+                        : new IllegalStateException("The response was closed before its body was consumed."));
+                return;
+            }
+            this.sink = subscriber;
+            subscriber.onRequest(n -> loop.tryExecute(this::drain));
+            subscriber.onCancel(() -> loop.tryExecute(this::close));
+            drain();
+        }
+
+        /**
+         * Emits as much content as requested, reading from the socket when the received bytes run out.
+         */
+        void drain() {
+            if (this.complete || this.sink == null || body != this) {
+                return;
+            }
+            try {
+                while (true) {
+                    if (!this.pending.isEmpty()) {
+                        if (!hasDemand()) {
+                            break;
+                        }
+                        this.sink.next(this.pending.poll());
+                        continue;
+                    }
+                    if (this.decoder.isComplete()) {
+                        this.complete = true;
+                        this.sink.complete();
+                        finishExchange();
+                        return;
+                    }
+                    if (!hasDemand()) {
+                        break;
+                    }
+                    final ByteBuffer slice = this.decoder.decode(inbound);
+                    if (slice != null) {
+                        this.sink.next(copy(slice));
+                        continue;
+                    }
+                    if (this.decoder.isComplete()) {
+                        continue;
+                    }
+                    final int read = readInbound();
+                    if (read < 0) {
+                        this.decoder.onEndOfStream();
+                    } else if (read == 0) {
+                        break;
+                    }
+                }
+                updateInterestOps();
+            } catch (IOException | RuntimeException e) {
+                fail(e);
+            }
+        }
+
+        /**
+         * Stops the body before it is complete, the connection can't be reused.
+         */
+        void close() {
+            if (this.complete) {
+                return;
+            }
+            this.complete = true;
+            if (body == this) {
+                Http1Connection.this.close();
+            }
+        }
+
+        void fail(Throwable error) {
+            if (this.complete) {
+                return;
+            }
+            this.complete = true;
+            this.error = error;
+            if (this.sink != null) {
+                this.sink.error(error);
+            }
+        }
+
+        private ByteBuffer copy(ByteBuffer slice) {
+            final ByteBuffer copy = ByteBuffer.allocate(slice.remaining());
+            copy.put(slice);
+            copy.flip();
+            return copy;
+        }
+    }
+
+    /**
+     * Subscriber writing the request body, requesting one buffer at a time once the previous one was flushed.
+     */
+    private final class BodyWriter implements CoreSubscriber<ByteBuffer> {
+        private final NioExchange owner;
+        private final boolean chunked;
+        private volatile Subscription subscription;
+        private volatile boolean cancelled;
+        private boolean awaitingFlush;
+
+        BodyWriter(NioExchange owner, boolean chunked) {
+            this.owner = owner;
+            this.chunked = chunked;
+        }
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            this.subscription = subscription;
+            if (this.cancelled) {
+                subscription.cancel();
+            } else {
+                subscription.request(1);
+            }
+        }
+
+        @Override
+        public void onNext(ByteBuffer buffer) {
+            loop.tryExecute(() -> write(buffer));
+        }
+
+        @Override
+        public void onError(Throwable error) {
+            loop.tryExecute(() -> {
+                if (isCurrent()) {
+                    fail(error);
+                }
+            });
+        }
+
+        @Override
+        public void onComplete() {
+            loop.tryExecute(() -> {
+                if (!isCurrent()) {
+                    return;
+                }
+                if (this.chunked) {
+                    outbound.add(Http1RequestEncoder.lastChunk());
+                }
+                requestComplete = true;
+                bodyWriter = null;
+                try {
+                    flushOutbound();
+                } catch (IOException e) {
+                    fail(e);
+                }
+            });
+        }
+
+        private boolean isCurrent() {
+            return !this.cancelled && bodyWriter == this && exchange == this.owner;
+        }
+
+        private void write(ByteBuffer buffer) {
+            if (!isCurrent()) {
+                return;
+            }
+            if (buffer.hasRemaining()) {
+                final ByteBuffer content = buffer.duplicate();
+                if (this.chunked) {
+                    outbound.add(encoder.encodeChunkSize(content.remaining()));
+                    outbound.add(content);
+                    outbound.add(Http1RequestEncoder.chunkDelimiter());
+                } else {
+                    outbound.add(content);
+                }
+            }
+            this.awaitingFlush = true;
+            try {
+                flushOutbound();
+            } catch (IOException e) {
+                fail(e);
+            }
+        }
+
+        void onFlushed() {
+            if (this.awaitingFlush) {
+                this.awaitingFlush = false;
+                this.subscription.request(1);
+            }
+        }
+
+        void cancel() {
+            this.cancelled = true;
+            final Subscription current = this.subscription;
+            if (current != null) {
+                current.cancel();
+            }
+        }
+    }
+}
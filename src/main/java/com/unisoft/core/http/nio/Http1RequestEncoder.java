@@ -0,0 +1,159 @@
+package com.unisoft.core.http.nio;
+
+import com.unisoft.core.http.HttpHeader;
+import com.unisoft.core.http.HttpHeaders;
+import com.unisoft.core.http.HttpMethod;
+import com.unisoft.core.http.HttpRequest;
+
+import java.nio.ByteBuffer;
+
+/**
+ * HTTP/1.1 request head and chunk framing encoder writing straight into buffers owned by a connection.
+ * <p>
+ * A connection carries a single exchange at a time and a buffer is only encoded again once its previous content
+ * was flushed, so the same buffers are reused for every request instead of building strings.
+ *
+ * @author omar.H.Ajmi
+ * @since 17/10/2026
+ */
+final class Http1RequestEncoder {
+    private static final int INITIAL_HEAD_CAPACITY = 1024;
+    private static final byte[] HTTP_1_1 = {' ', 'H', 'T', 'T', 'P', '/', '1', '.', '1', '\r', '\n'};
+    private static final byte[] HEADER_SEPARATOR = {':', ' '};
+    private static final byte[] CRLF = {'\r', '\n'};
+    private static final ByteBuffer CHUNK_DELIMITER = ByteBuffer.wrap(CRLF).asReadOnlyBuffer();
+    private static final ByteBuffer LAST_CHUNK =
+            ByteBuffer.wrap(new byte[]{'0', '\r', '\n', '\r', '\n'}).asReadOnlyBuffer();
+    private static final byte[] HEX_DIGITS = "0123456789abcdef".getBytes();
+
+    private ByteBuffer head = ByteBuffer.allocateDirect(INITIAL_HEAD_CAPACITY);
+    private final ByteBuffer chunkSize = ByteBuffer.allocateDirect(10);
+
+    /**
+     * Encodes the request line and headers of the request.
+     *
+     * @param request the request
+     * @param chunked whether the body is sent with chunked transfer encoding
+     * @return the encoded head, valid until the next call
+     */
+    ByteBuffer encodeHead(HttpRequest request, boolean chunked) {
+        this.head.clear();
+        putAscii(request.getHttpMethod().name());
+        put((byte) ' ');
+        putAscii(request.getPathAndQuery());
+        put(HTTP_1_1);
+
+        final HttpHeaders headers = request.getHeaders();
+        if (headers.get("Host") == null) {
+            putHeaderName("Host");
+            putAscii(request.getHost());
+            final int port = request.getPort();
+            if (port != -1 && port != NioConnectionPool.PoolKey.defaultPort(request.getScheme())) {
+                put((byte) ':');
+                putDecimal(port);
+            }
+            put(CRLF);
+        }
+        for (HttpHeader header : headers) {
+            if (header.getValue() != null) {
+                putHeaderName(header.getName());
+                putAscii(header.getValue());
+                put(CRLF);
+            }
+        }
+        if (chunked && headers.get("Transfer-Encoding") == null) {
+            putHeaderName("Transfer-Encoding");
+            putAscii("chunked");
+            put(CRLF);
+        } else if (request.getBody() == null && headers.get("Content-Length") == null && expectsBody(request)) {
+            putHeaderName("Content-Length");
+            put((byte) '0');
+            put(CRLF);
+        }
+        put(CRLF);
+        this.head.flip();
+        return this.head;
+    }
+
+    /**
+     * Encodes the size line of a body chunk.
+     *
+     * @param size the chunk size
+     * @return the encoded size line, valid until the next call
+     */
+    ByteBuffer encodeChunkSize(int size) {
+        this.chunkSize.clear();
+        final int digits = Math.max(1, (Integer.SIZE - Integer.numberOfLeadingZeros(size) + 3) / 4);
+        for (int shift = (digits - 1) * 4; shift >= 0; shift -= 4) {
+            this.chunkSize.put(HEX_DIGITS[(size >>> shift) & 0xF]);
+        }
+        this.chunkSize.put(CRLF);
+        this.chunkSize.flip();
+        return this.chunkSize;
+    }
+
+    /**
+     * @return the CRLF ending a chunk
+     */
+    static ByteBuffer chunkDelimiter() {
+        return CHUNK_DELIMITER.duplicate();
+    }
+
+    /**
+     * @return the last chunk, with no trailers
+     */
+    static ByteBuffer lastChunk() {
+        return LAST_CHUNK.duplicate();
+    }
+
+    private void putHeaderName(String name) {
+        putAscii(name);
+        put(HEADER_SEPARATOR);
+    }
+
+    private void putAscii(String value) {
+        final int length = value.length();
+        ensureCapacity(length);
+        for (int i = 0; i < length; i++) {
+            final char c = value.charAt(i);
+            // header values are ISO-8859-1, anything outside of it can't be put on the wire as is
+            this.head.put(c <= 0xFF ? (byte) c : (byte) '?');
+        }
+    }
+
+    private void putDecimal(int value) {
+        int divisor = 1;
+        while (value / divisor >= 10) {
+            divisor *= 10;
+        }
+        ensureCapacity(10);
+        for (; divisor > 0; divisor /= 10) {
+            this.head.put((byte) ('0' + (value / divisor) % 10));
+        }
+    }
+
+    private void put(byte b) {
+        ensureCapacity(1);
+        this.head.put(b);
+    }
+
+    private void put(byte[] bytes) {
+        ensureCapacity(bytes.length);
+        this.head.put(bytes);
+    }
+
+    private void ensureCapacity(int additional) {
+        if (this.head.remaining() < additional) {
+            final ByteBuffer larger = ByteBuffer.allocateDirect(
+                    Math.max(this.head.capacity() * 2, this.head.position() + additional));
+            this.head.flip();
+            larger.put(this.head);
+            this.head = larger;
+        }
+    }
+
+    private static boolean expectsBody(HttpRequest request) {
+        final HttpMethod method = request.getHttpMethod();
+        return method == HttpMethod.POST || method == HttpMethod.PUT || method == HttpMethod.PATCH;
+    }
+}
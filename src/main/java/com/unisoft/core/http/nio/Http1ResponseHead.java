@@ -0,0 +1,307 @@
+package com.unisoft.core.http.nio;
+
+import com.unisoft.core.http.HttpHeaderNames;
+import com.unisoft.core.http.HttpHeaders;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * The status line and headers of an HTTP/1.x response.
+ * <p>
+ * Parsing only records where each header name and value starts and ends in a copy of the head bytes, the header
+ * strings are only created when a header is looked up and {@link HttpHeaders} only when all of them are requested.
+ *
+ * @author omar.H.Ajmi
+ * @since 17/10/2026
+ */
+final class Http1ResponseHead {
+    private static final int FIELDS_PER_HEADER = 4;
+
+    private final byte[] raw;
+    private final boolean http11;
+    private final int statusCode;
+    // nameStart, nameEnd, valueStart, valueEnd for each header
+    private final int[] offsets;
+    private final int headerCount;
+    private HttpHeaders headers;
+
+    private Http1ResponseHead(byte[] raw, boolean http11, int statusCode, int[] offsets, int headerCount) {
+        this.raw = raw;
+        this.http11 = http11;
+        this.statusCode = statusCode;
+        this.offsets = offsets;
+        this.headerCount = headerCount;
+    }
+
+    /**
+     * Parses the response head at the buffer position, advancing the buffer past it once it is complete.
+     *
+     * @param buffer the received bytes, in read mode
+     * @return the head, or null if the buffer doesn't hold a complete head yet, in which case it is left untouched
+     * @throws IOException if the head is malformed
+     */
+    static Http1ResponseHead parse(ByteBuffer buffer) throws IOException {
+        final int end = findEnd(buffer);
+        if (end < 0) {
+            return null;
+        }
+        final byte[] raw = new byte[end - buffer.position()];
+        buffer.get(raw);
+        return parse(raw);
+    }
+
+    /**
+     * @return the index right after the empty line ending the head, or -1 if the head is not complete
+     */
+    private static int findEnd(ByteBuffer buffer) {
+        final int start = buffer.position();
+        for (int i = start; i < buffer.limit(); i++) {
+            if (buffer.get(i) != '\n') {
+                continue;
+            }
+            if (i - 1 >= start && buffer.get(i - 1) == '\n') {
+                return i + 1;
+            }
+            if (i - 2 >= start && buffer.get(i - 1) == '\r' && buffer.get(i - 2) == '\n') {
+                return i + 1;
+            }
+        }
+        return -1;
+    }
+
+    private static Http1ResponseHead parse(byte[] raw) throws IOException {
+        // status line, HTTP/1.x SP 3DIGIT [SP reason-phrase]
+        int lineEnd = lineEnd(raw, 0);
+        if (lineEnd < 12 || !startsWith(raw, "HTTP/1.") || !isDigit(raw[7]) || raw[8] != ' '
+                || !isDigit(raw[9]) || !isDigit(raw[10]) || !isDigit(raw[11])
+                || (lineEnd > 12 && raw[12] != ' ')) {
+            throw new IOException("Malformed HTTP status line: " + new String(raw, 0, lineEnd,
+                    StandardCharsets.ISO_8859_1));
+        }
+        final boolean http11 = raw[7] != '0';
+        final int statusCode = (raw[9] - '0') * 100 + (raw[10] - '0') * 10 + (raw[11] - '0');
+
+        int[] offsets = new int[16 * FIELDS_PER_HEADER];
+        int count = 0;
+        int lineStart = nextLine(raw, lineEnd);
+        while (lineStart < raw.length) {
+            lineEnd = lineEnd(raw, lineStart);
+            if (lineEnd == lineStart) {
+                break;
+            }
+            final int colon = indexOf(raw, lineStart, lineEnd, (byte) ':');
+            if (colon <= lineStart || !isToken(raw, lineStart, colon)) {
+                throw new IOException("Malformed HTTP header line: " + new String(raw, lineStart,
+                        lineEnd - lineStart, StandardCharsets.ISO_8859_1));
+            }
+            int valueStart = colon + 1;
+            int valueEnd = lineEnd;
+            while (valueStart < valueEnd && isWhitespace(raw[valueStart])) {
+                valueStart++;
+            }
+            while (valueEnd > valueStart && isWhitespace(raw[valueEnd - 1])) {
+                valueEnd--;
+            }
+
+            if ((count + 1) * FIELDS_PER_HEADER > offsets.length) {
+                offsets = Arrays.copyOf(offsets, offsets.length * 2);
+            }
+            final int base = count * FIELDS_PER_HEADER;
+            offsets[base] = lineStart;
+            offsets[base + 1] = colon;
+            offsets[base + 2] = valueStart;
+            offsets[base + 3] = valueEnd;
+            count++;
+            lineStart = nextLine(raw, lineEnd);
+        }
+        return new Http1ResponseHead(raw, http11, statusCode, offsets, count);
+    }
+
+    boolean isHttp11() {
+        return this.http11;
+    }
+
+    int getStatusCode() {
+        return this.statusCode;
+    }
+
+    /**
+     * Looks a header up without materializing the others. Repeated headers are joined with a comma.
+     *
+     * @param name the header name, compared ignoring case
+     * @return the header value or null if the header is not present
+     */
+    String getHeaderValue(String name) {
+        String value = null;
+        for (int i = 0; i < this.headerCount; i++) {
+            final int base = i * FIELDS_PER_HEADER;
+            if (nameEquals(this.offsets[base], this.offsets[base + 1], name)) {
+                final String current = new String(this.raw, this.offsets[base + 2],
+                        this.offsets[base + 3] - this.offsets[base + 2], StandardCharsets.ISO_8859_1);
+                value = value == null ? current : value + "," + current;
+            }
+        }
+        return value;
+    }
+
+    /**
+     * @return all the headers, created on first call
+     */
+    HttpHeaders getHeaders() {
+        if (this.headers == null) {
+            final HttpHeaders all = new HttpHeaders();
+            for (int i = 0; i < this.headerCount; i++) {
+                final int base = i * FIELDS_PER_HEADER;
+                String name = HttpHeaderNames.intern(this.raw, this.offsets[base], this.offsets[base + 1]);
+                if (name == null) {
+                    name = new String(this.raw, this.offsets[base], this.offsets[base + 1] - this.offsets[base],
+                            StandardCharsets.ISO_8859_1);
+                }
+                all.add(name, new String(this.raw, this.offsets[base + 2],
+                        this.offsets[base + 3] - this.offsets[base + 2], StandardCharsets.ISO_8859_1));
+            }
+            this.headers = all;
+        }
+        return this.headers;
+    }
+
+    /**
+     * @return true if the server allows the connection to be reused after this response
+     */
+    boolean isKeepAlive() {
+        final String connection = getHeaderValue("Connection");
+        return this.http11
+                ? !containsToken(connection, "close")
+                : containsToken(connection, "keep-alive");
+    }
+
+    /**
+     * @return the body framing of the response, {@code Long.MIN_VALUE} for chunked, -1 for until close
+     * @throws IOException if the framing headers are invalid
+     */
+    long contentLength() throws IOException {
+        if (containsToken(getHeaderValue("Transfer-Encoding"), "chunked")) {
+            return Long.MIN_VALUE;
+        }
+        final String contentLength = getHeaderValue("Content-Length");
+        if (contentLength == null) {
+            return -1;
+        }
+        try {
+            final long length = Long.parseLong(contentLength);
+            if (length < 0) {
+                throw new IOException("Invalid Content-Length: " + contentLength);
+            }
+            return length;
+        } catch (NumberFormatException e) {
+            throw new IOException("Invalid Content-Length: " + contentLength, e);
+        }
+    }
+
+    /**
+     * @param value the header value, may be null
+     * @param token the token to look for
+     * @return true if the comma separated header value contains the token, ignoring case
+     */
+    static boolean containsToken(String value, String token) {
+        if (value == null) {
+            return false;
+        }
+        int start = 0;
+        while (start <= value.length()) {
+            int end = value.indexOf(',', start);
+            if (end < 0) {
+                end = value.length();
+            }
+            int elementStart = start;
+            int elementEnd = end;
+            while (elementStart < elementEnd && value.charAt(elementStart) <= ' ') {
+                elementStart++;
+            }
+            while (elementEnd > elementStart && value.charAt(elementEnd - 1) <= ' ') {
+                elementEnd--;
+            }
+            if (elementEnd - elementStart == token.length()
+                    && value.regionMatches(true, elementStart, token, 0, token.length())) {
+                return true;
+            }
+            start = end + 1;
+        }
+        return false;
+    }
+
+    private boolean nameEquals(int start, int end, String name) {
+        if (end - start != name.length()) {
+            return false;
+        }
+        for (int i = 0; i < name.length(); i++) {
+            final int actual = this.raw[start + i];
+            final int expected = name.charAt(i);
+            if (actual != expected && toLowerAscii(actual) != toLowerAscii(expected)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int toLowerAscii(int c) {
+        return c >= 'A' && c <= 'Z' ? c + ('a' - 'A') : c;
+    }
+
+    private static int lineEnd(byte[] raw, int start) {
+        int i = start;
+        while (i < raw.length && raw[i] != '\n') {
+            i++;
+        }
+        return i > start && raw[i - 1] == '\r' ? i - 1 : i;
+    }
+
+    private static int nextLine(byte[] raw, int lineEnd) {
+        int i = lineEnd;
+        if (i < raw.length && raw[i] == '\r') {
+            i++;
+        }
+        return i + 1;
+    }
+
+    private static int indexOf(byte[] raw, int start, int end, byte b) {
+        for (int i = start; i < end; i++) {
+            if (raw[i] == b) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean startsWith(byte[] raw, String prefix) {
+        for (int i = 0; i < prefix.length(); i++) {
+            if (raw[i] != prefix.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isToken(byte[] raw, int start, int end) {
+        for (int i = start; i < end; i++) {
+            final byte b = raw[i];
+            if (b <= ' ' || b >= 127 || b == '"' || b == '(' || b == ')' || b == ',' || b == '/' || b == ':'
+                    || b == ';' || b == '<' || b == '=' || b == '>' || b == '?' || b == '@' || b == '['
+                    || b == '\\' || b == ']' || b == '{' || b == '}') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isDigit(byte b) {
+        return b >= '0' && b <= '9';
+    }
+
+    private static boolean isWhitespace(byte b) {
+        return b == ' ' || b == '\t';
+    }
+}
@@ -0,0 +1,1183 @@
+package com.unisoft.core.http.nio;
+
+import com.unisoft.core.http.HttpHeader;
+import com.unisoft.core.http.HttpHeaders;
+import com.unisoft.core.http.HttpMethod;
+import com.unisoft.core.http.HttpRequest;
+import org.reactivestreams.Subscription;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.CoreSubscriber;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.FluxSink;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * An HTTP/2 connection multiplexing exchanges as concurrent streams.
+ * <p>
+ * HTTP/2 flow control doubles as backpressure for response bodies: the window of a stream is only credited back to
+ * the server once its body subscriber consumed the data, so at most one window worth of data is buffered per
+ * stream, while the connection window is credited back as soon as data is received so one slow stream doesn't
+ * stall the others. Request bodies are sent within the windows granted by the server.
+ * <p>
+ * The connection sends a PING when nothing was received during a {@link NioHttpClientBuilder#pingInterval(
+ * java.time.Duration) ping interval}, and is closed if the PING is still not acknowledged at the next one.
+ * Every method but the metric getters is called on the event loop thread.
+ *
+ * @author omar.H.Ajmi
+ * @since 17/10/2026
+ */
+final class Http2Connection implements NioConnection, NioEventLoop.ChannelHandler {
+    static final String PROTOCOL = "HTTP/2";
+    private static final Logger log = LoggerFactory.getLogger(Http2Connection.class);
+
+    static final byte[] PREFACE = "PRI * HTTP/2.0\r\n\r\nSM\r\n\r\n".getBytes(StandardCharsets.US_ASCII);
+    static final int FRAME_HEADER_SIZE = 9;
+    static final int DEFAULT_MAX_FRAME_SIZE = 16384;
+    static final int DEFAULT_WINDOW_SIZE = 65535;
+    static final int HEADER_TABLE_SIZE = 4096;
+    /**
+     * Window granted to each stream, the most response data buffered for a body that isn't consumed.
+     */
+    static final int STREAM_WINDOW_SIZE = 256 * 1024;
+    static final int CONNECTION_WINDOW_SIZE = 16 * STREAM_WINDOW_SIZE;
+    private static final int MAX_HEADER_BLOCK_SIZE = 64 * 1024;
+
+    static final int TYPE_DATA = 0x0;
+    static final int TYPE_HEADERS = 0x1;
+    static final int TYPE_PRIORITY = 0x2;
+    static final int TYPE_RST_STREAM = 0x3;
+    static final int TYPE_SETTINGS = 0x4;
+    static final int TYPE_PUSH_PROMISE = 0x5;
+    static final int TYPE_PING = 0x6;
+    static final int TYPE_GOAWAY = 0x7;
+    static final int TYPE_WINDOW_UPDATE = 0x8;
+    static final int TYPE_CONTINUATION = 0x9;
+
+    static final int FLAG_END_STREAM = 0x1;
+    static final int FLAG_ACK = 0x1;
+    static final int FLAG_END_HEADERS = 0x4;
+    static final int FLAG_PADDED = 0x8;
+    static final int FLAG_PRIORITY = 0x20;
+
+    static final int SETTINGS_HEADER_TABLE_SIZE = 0x1;
+    static final int SETTINGS_ENABLE_PUSH = 0x2;
+    static final int SETTINGS_MAX_CONCURRENT_STREAMS = 0x3;
+    static final int SETTINGS_INITIAL_WINDOW_SIZE = 0x4;
+    static final int SETTINGS_MAX_FRAME_SIZE = 0x5;
+
+    static final int NO_ERROR = 0x0;
+    static final int PROTOCOL_ERROR = 0x1;
+    static final int FLOW_CONTROL_ERROR = 0x3;
+    static final int FRAME_SIZE_ERROR = 0x6;
+    static final int REFUSED_STREAM = 0x7;
+    static final int CANCEL = 0x8;
+    static final int COMPRESSION_ERROR = 0x9;
+
+    // headers tied to a single HTTP/1.1 connection, forbidden in HTTP/2
+    private static final String[] CONNECTION_HEADERS = {
+        "connection", "keep-alive", "proxy-connection", "transfer-encoding", "upgrade", "host"
+    };
+
+    private final NioConnectionPool pool;
+    private final NioEventLoop loop;
+    private final NioConnector connector;
+    private final NioConnectionPool.PoolKey key;
+    private final SelectionKey selectionKey;
+    private final NioTransport transport;
+    private final long pingIntervalMillis;
+    private final Deque<ByteBuffer> outbound = new ArrayDeque<>();
+    private final Map<Integer, Stream> streams = new HashMap<>();
+    private final HpackEncoder encoder = new HpackEncoder();
+    private final HpackDecoder decoder = new HpackDecoder(HEADER_TABLE_SIZE);
+
+    private ByteBuffer inbound;
+    private boolean writePending;
+    private boolean ready;
+    private boolean goingAway;
+    private boolean closed;
+    private int nextStreamId = 1;
+    private long idleSinceNanos = System.nanoTime();
+    private volatile int activeStreams;
+    private volatile int peerMaxConcurrentStreams = Integer.MAX_VALUE;
+    private int peerInitialWindowSize = DEFAULT_WINDOW_SIZE;
+    private int peerMaxFrameSize = DEFAULT_MAX_FRAME_SIZE;
+    private long sendWindow = DEFAULT_WINDOW_SIZE;
+    private int receiveUnacked;
+
+    private int continuationStreamId;
+    private boolean continuationEndStream;
+    private ByteBuffer headerBlock;
+
+    private NioEventLoop.ScheduledTask pingTask;
+    private boolean receivedSinceLastPing;
+    private boolean pingOutstanding;
+
+    /**
+     * Takes over a connected channel, its transport handshake already completed.
+     *
+     * @param pool          the pool the connection belongs to
+     * @param loop          the event loop
+     * @param connector     the connector notified once the server SETTINGS are received
+     * @param selectionKey  the channel selection key, re-attached to this connection
+     * @param transport     the channel transport
+     * @param configuration the client configuration
+     */
+    Http2Connection(NioConnectionPool pool, NioEventLoop loop, NioConnector connector, SelectionKey selectionKey,
+                    NioTransport transport, NioConfiguration configuration) {
+        this.pool = pool;
+        this.loop = loop;
+        this.connector = connector;
+        this.key = connector.getKey();
+        this.selectionKey = selectionKey;
+        this.transport = transport;
+        this.pingIntervalMillis = configuration.getPingIntervalMillis();
+        this.inbound = ByteBuffer.allocate(Math.max(configuration.getReadBufferSize(), FRAME_HEADER_SIZE));
+        this.inbound.flip();
+        selectionKey.attach(this);
+    }
+
+    /**
+     * Sends the connection preface along with the client settings.
+     */
+    void open() {
+        final ByteBuffer preface = ByteBuffer.allocate(PREFACE.length + FRAME_HEADER_SIZE + 12
+                + FRAME_HEADER_SIZE + 4);
+        preface.put(PREFACE);
+        putFrameHeader(preface, 12, TYPE_SETTINGS, 0, 0);
+        preface.putShort((short) SETTINGS_ENABLE_PUSH).putInt(0);
+        preface.putShort((short) SETTINGS_INITIAL_WINDOW_SIZE).putInt(STREAM_WINDOW_SIZE);
+        putFrameHeader(preface, 4, TYPE_WINDOW_UPDATE, 0, 0);
+        preface.putInt(CONNECTION_WINDOW_SIZE - DEFAULT_WINDOW_SIZE);
+        preface.flip();
+        this.outbound.add(preface);
+        this.pingTask = this.loop.schedule(this::ping, this.pingIntervalMillis);
+        try {
+            flushOutbound();
+        } catch (IOException | RuntimeException e) {
+            fail(e);
+        }
+    }
+
+    @Override
+    public NioConnectionPool.PoolKey getKey() {
+        return this.key;
+    }
+
+    @Override
+    public String getProtocol() {
+        return PROTOCOL;
+    }
+
+    @Override
+    public int getActiveStreams() {
+        return this.activeStreams;
+    }
+
+    @Override
+    public int getMaxConcurrentStreams() {
+        return this.peerMaxConcurrentStreams;
+    }
+
+    /**
+     * @return the {@link System#nanoTime()} at which the last stream completed
+     */
+    @Override
+    public long getIdleSinceNanos() {
+        return this.idleSinceNanos;
+    }
+
+    /**
+     * @return true if the connection can open another stream right away
+     */
+    boolean hasCapacity() {
+        return this.ready && !this.goingAway && !this.closed && this.streams.size() < this.peerMaxConcurrentStreams
+                && this.nextStreamId > 0;
+    }
+
+    /**
+     * Opens a stream and starts sending the exchange request.
+     *
+     * @param exchange the exchange
+     */
+    @Override
+    public void start(NioExchange exchange) {
+        final int streamId = this.nextStreamId;
+        this.nextStreamId += 2;
+        final Stream stream = new Stream(streamId, exchange);
+        this.streams.put(streamId, stream);
+        this.activeStreams = this.streams.size();
+        exchange.bind(this);
+
+        final HttpRequest request = exchange.getRequest();
+        final Flux<ByteBuffer> requestBody = request.getBody();
+        writeHeaders(streamId, encodeHeaders(request), requestBody == null);
+        stream.localClosed = requestBody == null;
+        try {
+            flushOutbound();
+        } catch (IOException | RuntimeException e) {
+            fail(e);
+            return;
+        }
+        if (requestBody != null) {
+            stream.writer = new BodyWriter(stream);
+            requestBody.subscribe(stream.writer);
+        }
+    }
+
+    @Override
+    public void abort(NioExchange exchange) {
+        for (Stream stream : this.streams.values()) {
+            if (stream.exchange == exchange) {
+                resetStream(stream, CANCEL);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Closes the connection, failing the streams in flight.
+     */
+    @Override
+    public void close() {
+        if (this.closed) {
+            return;
+        }
+        if (this.ready) {
+            writeGoAway(NO_ERROR);
+        }
+        fail(new IOException("The HTTP/2 connection to " + this.key + " was closed."));
+    }
+
+    @Override
+    public void fail(Throwable error) {
+        if (this.closed) {
+            return;
+        }
+        this.closed = true;
+        this.activeStreams = 0;
+        if (this.pingTask != null) {
+            this.pingTask.cancel();
+        }
+        final List<Stream> failed = new ArrayList<>(this.streams.values());
+        this.streams.clear();
+        for (Stream stream : failed) {
+            stream.cancelWriter();
+        }
+        try {
+            // best effort, e.g. the GOAWAY of close
+            flushOutbound();
+        } catch (IOException | RuntimeException ignored) {
+            // the connection is going away anyway
+        }
+        this.outbound.clear();
+        this.transport.close();
+
+        if (!this.ready) {
+            this.connector.fail(error);
+            return;
+        }
+        this.pool.release(this, false);
+        if (failed.isEmpty()) {
+            log.debug("HTTP/2 connection to {} closed.", this.key, error);
+        }
+        for (Stream stream : failed) {
+            stream.fail(error);
+        }
+    }
+
+    @Override
+    public void onReady(SelectionKey key) {
+        try {
+            if (key.isWritable()) {
+                flushOutbound();
+            }
+            if (key.isValid() && key.isReadable()) {
+                onReadable();
+            }
+        } catch (IOException | RuntimeException e) {
+            fail(e);
+        }
+    }
+
+    private void onReadable() throws IOException {
+        while (!this.closed) {
+            this.inbound.compact();
+            final int read;
+            try {
+                if (!this.inbound.hasRemaining()) {
+                    final ByteBuffer larger = ByteBuffer.allocate(Math.min(this.inbound.capacity() * 2,
+                            FRAME_HEADER_SIZE + DEFAULT_MAX_FRAME_SIZE));
+                    this.inbound.flip();
+                    larger.put(this.inbound);
+                    this.inbound = larger;
+                }
+                read = this.transport.read(this.inbound);
+            } finally {
+                this.inbound.flip();
+            }
+            if (read < 0) {
+                throw new EOFException("HTTP/2 connection closed by the server.");
+            } else if (read == 0) {
+                break;
+            }
+            this.receivedSinceLastPing = true;
+            readFrames();
+        }
+        if (!this.closed) {
+            flushOutbound();
+        }
+    }
+
+    private void readFrames() throws IOException {
+        while (!this.closed && this.inbound.remaining() >= FRAME_HEADER_SIZE) {
+            final int position = this.inbound.position();
+            final int length = (this.inbound.get(position) & 0xFF) << 16
+                    | (this.inbound.get(position + 1) & 0xFF) << 8
+                    | (this.inbound.get(position + 2) & 0xFF);
+            if (length > DEFAULT_MAX_FRAME_SIZE) {
+                throw connectionError(FRAME_SIZE_ERROR, "Frame of " + length + " bytes exceeds the maximum size.");
+            }
+            if (this.inbound.remaining() < FRAME_HEADER_SIZE + length) {
+                // the buffer grows up to the maximum frame size on the next read
+                return;
+            }
+            final int type = this.inbound.get(position + 3) & 0xFF;
+            final int flags = this.inbound.get(position + 4) & 0xFF;
+            final int streamId = this.inbound.getInt(position + 5) & 0x7FFFFFFF;
+            final ByteBuffer payload = this.inbound.duplicate();
+            payload.position(position + FRAME_HEADER_SIZE).limit(position + FRAME_HEADER_SIZE + length);
+            this.inbound.position(position + FRAME_HEADER_SIZE + length);
+            onFrame(type, flags, streamId, payload);
+        }
+    }
+
+    private void onFrame(int type, int flags, int streamId, ByteBuffer payload) throws IOException {
+        if (this.headerBlock != null && (type != TYPE_CONTINUATION || streamId != this.continuationStreamId)) {
+            throw connectionError(PROTOCOL_ERROR, "Expected a CONTINUATION frame for stream "
+                    + this.continuationStreamId + ".");
+        }
+        if (!this.ready && type != TYPE_SETTINGS) {
+            throw connectionError(PROTOCOL_ERROR, "The server preface must start with a SETTINGS frame.");
+        }
+        switch (type) {
+            case TYPE_DATA:
+                onData(flags, streamId, payload);
+                break;
+            case TYPE_HEADERS:
+                onHeaders(flags, streamId, payload);
+                break;
+            case TYPE_CONTINUATION:
+                if (this.headerBlock == null) {
+                    throw connectionError(PROTOCOL_ERROR, "Unexpected CONTINUATION frame.");
+                }
+                appendHeaderBlock(payload, (flags & FLAG_END_HEADERS) != 0);
+                break;
+            case TYPE_RST_STREAM:
+                requireStream(streamId, "RST_STREAM");
+                requireLength(payload, 4, "RST_STREAM");
+                onReset(streamId, payload.getInt());
+                break;
+            case TYPE_SETTINGS:
+                onSettings(flags, streamId, payload);
+                break;
+            case TYPE_PING:
+                onPing(flags, streamId, payload);
+                break;
+            case TYPE_GOAWAY:
+                if (streamId != 0 || payload.remaining() < 8) {
+                    throw connectionError(PROTOCOL_ERROR, "Malformed GOAWAY frame.");
+                }
+                onGoAway(payload.getInt() & 0x7FFFFFFF, payload.getInt());
+                break;
+            case TYPE_WINDOW_UPDATE:
+                requireLength(payload, 4, "WINDOW_UPDATE");
+                onWindowUpdate(streamId, payload.getInt() & 0x7FFFFFFF);
+                break;
+            case TYPE_PUSH_PROMISE:
+                throw connectionError(PROTOCOL_ERROR, "PUSH_PROMISE received while push is disabled.");
+            default:
+                // PRIORITY and unknown frame types are ignored
+                break;
+        }
+    }
+
+    private void onData(int flags, int streamId, ByteBuffer payload) throws IOException {
+        requireStream(streamId, "DATA");
+        final int frameLength = payload.remaining();
+        final int padding = (flags & FLAG_PADDED) != 0 ? readPadding(payload) : 0;
+
+        // the connection window is credited back straight away, buffering is bounded per stream
+        this.receiveUnacked += frameLength;
+        if (this.receiveUnacked >= CONNECTION_WINDOW_SIZE / 2) {
+            writeWindowUpdate(0, this.receiveUnacked);
+            this.receiveUnacked = 0;
+        }
+
+        final Stream stream = this.streams.get(streamId);
+        if (stream == null || stream.remoteClosed) {
+            checkIdle(streamId);
+            return;
+        }
+        stream.receiveWindow -= frameLength;
+        if (stream.receiveWindow < 0) {
+            failStream(stream, FLOW_CONTROL_ERROR, new IOException("The server exceeded the flow control window"
+                    + " of stream " + streamId + "."));
+            return;
+        }
+        if (!stream.headersReceived) {
+            failStream(stream, PROTOCOL_ERROR, new IOException("DATA received before the response headers."));
+            return;
+        }
+        // padding is never consumed by the subscriber, credit it back right away
+        stream.consumed(frameLength - payload.remaining() + padding);
+        if (payload.remaining() > padding) {
+            final ByteBuffer data = ByteBuffer.allocate(payload.remaining() - padding);
+            payload.limit(payload.limit() - padding);
+            data.put(payload).flip();
+            stream.pending.add(data);
+        }
+        if ((flags & FLAG_END_STREAM) != 0) {
+            stream.remoteClosed = true;
+        }
+        stream.drain();
+    }
+
+    private void onHeaders(int flags, int streamId, ByteBuffer payload) throws IOException {
+        if (streamId == 0) {
+            throw connectionError(PROTOCOL_ERROR, "HEADERS frame on stream 0.");
+        }
+        final int padding = (flags & FLAG_PADDED) != 0 ? readPadding(payload) : 0;
+        if ((flags & FLAG_PRIORITY) != 0) {
+            if (payload.remaining() - padding < 5) {
+                throw connectionError(FRAME_SIZE_ERROR, "HEADERS frame too short for its priority.");
+            }
+            payload.position(payload.position() + 5);
+        }
+        payload.limit(payload.limit() - padding);
+        this.continuationStreamId = streamId;
+        this.continuationEndStream = (flags & FLAG_END_STREAM) != 0;
+        this.headerBlock = ByteBuffer.allocate(Math.max(payload.remaining(), 256));
+        appendHeaderBlock(payload, (flags & FLAG_END_HEADERS) != 0);
+    }
+
+    private void appendHeaderBlock(ByteBuffer fragment, boolean endHeaders) throws IOException {
+        if (this.headerBlock.remaining() < fragment.remaining()) {
+            final int required = this.headerBlock.position() + fragment.remaining();
+            if (required > MAX_HEADER_BLOCK_SIZE) {
+                throw connectionError(PROTOCOL_ERROR, "The response headers exceed " + MAX_HEADER_BLOCK_SIZE
+                        + " bytes.");
+            }
+            final ByteBuffer larger = ByteBuffer.allocate(Math.max(required, this.headerBlock.capacity() * 2));
+            this.headerBlock.flip();
+            larger.put(this.headerBlock);
+            this.headerBlock = larger;
+        }
+        this.headerBlock.put(fragment);
+        if (!endHeaders) {
+            return;
+        }
+
+        final ByteBuffer block = this.headerBlock;
+        this.headerBlock = null;
+        block.flip();
+        final List<String> fields;
+        try {
+            // always decoded, even for a reset stream, to keep the dynamic table in sync
+            fields = this.decoder.decode(block);
+        } catch (IOException e) {
+            throw connectionError(COMPRESSION_ERROR, e.getMessage());
+        }
+        final Stream stream = this.streams.get(this.continuationStreamId);
+        if (stream == null || stream.remoteClosed) {
+            checkIdle(this.continuationStreamId);
+            return;
+        }
+        stream.onHeaders(fields, this.continuationEndStream);
+    }
+
+    private void onReset(int streamId, int errorCode) {
+        final Stream stream = this.streams.get(streamId);
+        if (stream == null) {
+            return;
+        }
+        removeStream(stream);
+        if (errorCode == REFUSED_STREAM && !stream.exchange.isDone() && stream.exchange.tryConsumeRetry()) {
+            // the server guarantees it didn't process a refused stream
+            log.debug("Stream {} refused by {}, retrying.", streamId, this.key);
+            this.pool.acquire(stream.exchange);
+        } else {
+            stream.fail(new IOException("Stream " + streamId + " reset by the server with error code "
+                    + errorCode + "."));
+        }
+    }
+
+    private void onSettings(int flags, int streamId, ByteBuffer payload) throws IOException {
+        if (streamId != 0) {
+            throw connectionError(PROTOCOL_ERROR, "SETTINGS frame on stream " + streamId + ".");
+        }
+        if ((flags & FLAG_ACK) != 0) {
+            return;
+        }
+        if (payload.remaining() % 6 != 0) {
+            throw connectionError(FRAME_SIZE_ERROR, "Malformed SETTINGS frame.");
+        }
+        while (payload.hasRemaining()) {
+            final int identifier = payload.getShort() & 0xFFFF;
+            final long value = payload.getInt() & 0xFFFFFFFFL;
+            switch (identifier) {
+                case SETTINGS_MAX_CONCURRENT_STREAMS:
+                    this.peerMaxConcurrentStreams = (int) Math.min(value, Integer.MAX_VALUE);
+                    break;
+                case SETTINGS_INITIAL_WINDOW_SIZE:
+                    if (value > Integer.MAX_VALUE) {
+                        throw connectionError(FLOW_CONTROL_ERROR, "Invalid initial window size " + value + ".");
+                    }
+                    final int delta = (int) value - this.peerInitialWindowSize;
+                    this.peerInitialWindowSize = (int) value;
+                    for (Stream stream : this.streams.values()) {
+                        stream.sendWindow += delta;
+                    }
+                    break;
+                case SETTINGS_MAX_FRAME_SIZE:
+                    if (value < DEFAULT_MAX_FRAME_SIZE || value > 0xFFFFFF) {
+                        throw connectionError(PROTOCOL_ERROR, "Invalid max frame size " + value + ".");
+                    }
+                    this.peerMaxFrameSize = (int) value;
+                    break;
+                default:
+                    // the encoder never indexes so the header table size doesn't matter, others are advisory
+                    break;
+            }
+        }
+        final ByteBuffer ack = ByteBuffer.allocate(FRAME_HEADER_SIZE);
+        putFrameHeader(ack, 0, TYPE_SETTINGS, FLAG_ACK, 0);
+        ack.flip();
+        this.outbound.add(ack);
+
+        if (!this.ready) {
+            this.ready = true;
+            this.connector.established(this);
+        } else {
+            writeBlockedStreams();
+            // a larger stream limit may let waiting exchanges in
+            this.pool.release(this, true);
+        }
+    }
+
+    private void onPing(int flags, int streamId, ByteBuffer payload) throws IOException {
+        if (streamId != 0) {
+            throw connectionError(PROTOCOL_ERROR, "PING frame on stream " + streamId + ".");
+        }
+        requireLength(payload, 8, "PING");
+        if ((flags & FLAG_ACK) != 0) {
+            this.pingOutstanding = false;
+            return;
+        }
+        final ByteBuffer ack = ByteBuffer.allocate(FRAME_HEADER_SIZE + 8);
+        putFrameHeader(ack, 8, TYPE_PING, FLAG_ACK, 0);
+        ack.put(payload).flip();
+        this.outbound.add(ack);
+    }
+
+    private void onGoAway(int lastStreamId, int errorCode) {
+        this.goingAway = true;
+        // no new stream goes to this connection anymore, the ones the server processes still complete
+        this.pool.release(this, false);
+        final List<Stream> unprocessed = new ArrayList<>();
+        for (Stream stream : this.streams.values()) {
+            if (stream.id > lastStreamId) {
+                unprocessed.add(stream);
+            }
+        }
+        for (Stream stream : unprocessed) {
+            removeStream(stream);
+            stream.cancelWriter();
+            if (!stream.exchange.isDone() && stream.exchange.tryConsumeRetry()) {
+                this.pool.acquire(stream.exchange);
+            } else {
+                stream.fail(new IOException("The server closed the HTTP/2 connection with error code " + errorCode
+                        + " before processing stream " + stream.id + "."));
+            }
+        }
+        if (this.streams.isEmpty()) {
+            close();
+        }
+    }
+
+    private void onWindowUpdate(int streamId, int increment) throws IOException {
+        if (streamId == 0) {
+            if (increment == 0) {
+                throw connectionError(PROTOCOL_ERROR, "WINDOW_UPDATE with a zero increment.");
+            }
+            this.sendWindow += increment;
+            if (this.sendWindow > Integer.MAX_VALUE) {
+                throw connectionError(FLOW_CONTROL_ERROR, "Connection send window overflow.");
+            }
+            writeBlockedStreams();
+            return;
+        }
+        final Stream stream = this.streams.get(streamId);
+        if (stream == null) {
+            checkIdle(streamId);
+            return;
+        }
+        if (increment == 0) {
+            failStream(stream, PROTOCOL_ERROR, new IOException("WINDOW_UPDATE with a zero increment."));
+            return;
+        }
+        stream.sendWindow += increment;
+        if (stream.sendWindow > Integer.MAX_VALUE) {
+            failStream(stream, FLOW_CONTROL_ERROR, new IOException("Stream send window overflow."));
+            return;
+        }
+        stream.writeData();
+    }
+
+    private void ping() {
+        if (this.closed) {
+            return;
+        }
+        if (this.pingOutstanding) {
+            fail(new IOException("The HTTP/2 connection to " + this.key + " did not answer a PING within "
+                    + this.pingIntervalMillis + "ms."));
+            return;
+        }
+        if (!this.receivedSinceLastPing) {
+            final ByteBuffer ping = ByteBuffer.allocate(FRAME_HEADER_SIZE + 8);
+            putFrameHeader(ping, 8, TYPE_PING, 0, 0);
+            ping.putLong(System.nanoTime()).flip();
+            this.outbound.add(ping);
+            this.pingOutstanding = true;
+            try {
+                flushOutbound();
+            } catch (IOException | RuntimeException e) {
+                fail(e);
+                return;
+            }
+        }
+        this.receivedSinceLastPing = false;
+        this.pingTask = this.loop.schedule(this::ping, this.pingIntervalMillis);
+    }
+
+    private ByteBuffer encodeHeaders(HttpRequest request) {
+        this.encoder.reset();
+        this.encoder.encode(":method", request.getHttpMethod().name());
+        this.encoder.encode(":scheme", this.key.isSecure() ? "https" : "http");
+        final String host = request.getHeaders().getValue("Host");
+        if (host != null) {
+            this.encoder.encode(":authority", host);
+        } else {
+            final int port = request.getPort();
+            final boolean defaultPort = port == -1 || port == NioConnectionPool.PoolKey.defaultPort(request.getScheme());
+            this.encoder.encode(":authority", defaultPort ? request.getHost() : request.getHost() + ':' + port);
+        }
+        this.encoder.encode(":path", request.getPathAndQuery());
+        for (HttpHeader header : request.getHeaders()) {
+            if (header.getValue() == null) {
+                continue;
+            }
+            final String name = header.getName().toLowerCase(Locale.ROOT);
+            if (isConnectionHeader(name) || ("te".equals(name) && !"trailers".equals(header.getValue()))) {
+                continue;
+            }
+            this.encoder.encode(name, header.getValue());
+        }
+        if (request.getBody() == null && request.getHeaders().get("Content-Length") == null
+                && (request.getHttpMethod() == HttpMethod.POST || request.getHttpMethod() == HttpMethod.PUT
+                || request.getHttpMethod() == HttpMethod.PATCH)) {
+            this.encoder.encode("content-length", "0");
+        }
+        return ByteBuffer.wrap(this.encoder.array(), 0, this.encoder.size());
+    }
+
+    private void writeHeaders(int streamId, ByteBuffer block, boolean endStream) {
+        int type = TYPE_HEADERS;
+        do {
+            final int length = Math.min(block.remaining(), this.peerMaxFrameSize);
+            final boolean last = length == block.remaining();
+            int flags = last ? FLAG_END_HEADERS : 0;
+            if (type == TYPE_HEADERS && endStream) {
+                flags |= FLAG_END_STREAM;
+            }
+            // the encoder block is reused, the frame owns a copy
+            final ByteBuffer frame = ByteBuffer.allocate(FRAME_HEADER_SIZE + length);
+            putFrameHeader(frame, length, type, flags, streamId);
+            final ByteBuffer fragment = block.duplicate();
+            fragment.limit(fragment.position() + length);
+            frame.put(fragment).flip();
+            block.position(block.position() + length);
+            this.outbound.add(frame);
+            type = TYPE_CONTINUATION;
+        } while (block.hasRemaining());
+    }
+
+    private void writeWindowUpdate(int streamId, int increment) {
+        final ByteBuffer frame = ByteBuffer.allocate(FRAME_HEADER_SIZE + 4);
+        putFrameHeader(frame, 4, TYPE_WINDOW_UPDATE, 0, streamId);
+        frame.putInt(increment).flip();
+        this.outbound.add(frame);
+    }
+
+    private void writeReset(int streamId, int errorCode) {
+        final ByteBuffer frame = ByteBuffer.allocate(FRAME_HEADER_SIZE + 4);
+        putFrameHeader(frame, 4, TYPE_RST_STREAM, 0, streamId);
+        frame.putInt(errorCode).flip();
+        this.outbound.add(frame);
+    }
+
+    private void writeGoAway(int errorCode) {
+        final ByteBuffer frame = ByteBuffer.allocate(FRAME_HEADER_SIZE + 8);
+        putFrameHeader(frame, 8, TYPE_GOAWAY, 0, 0);
+        // the client never accepts server initiated streams
+        frame.putInt(0).putInt(errorCode).flip();
+        this.outbound.add(frame);
+    }
+
+    private void writeBlockedStreams() {
+        for (Stream stream : new ArrayList<>(this.streams.values())) {
+            if (this.sendWindow <= 0) {
+                return;
+            }
+            stream.writeData();
+        }
+    }
+
+    private void flushOutbound() throws IOException {
+        while (!this.outbound.isEmpty()) {
+            final ByteBuffer buffer = this.outbound.peek();
+            this.transport.write(buffer);
+            if (buffer.hasRemaining()) {
+                break;
+            }
+            this.outbound.poll();
+        }
+        this.writePending = !this.outbound.isEmpty() || !this.transport.flush();
+        if (this.closed) {
+            return;
+        }
+        this.selectionKey.interestOps(this.writePending
+                ? SelectionKey.OP_READ | SelectionKey.OP_WRITE
+                : SelectionKey.OP_READ);
+        if (!this.writePending) {
+            for (Stream stream : new ArrayList<>(this.streams.values())) {
+                if (stream.writer != null) {
+                    stream.writer.onFlushed();
+                }
+            }
+        }
+    }
+
+    private void flushLater() {
+        try {
+            flushOutbound();
+        } catch (IOException | RuntimeException e) {
+            fail(e);
+        }
+    }
+
+    private void resetStream(Stream stream, int errorCode) {
+        if (this.streams.get(stream.id) != stream) {
+            return;
+        }
+        removeStream(stream);
+        stream.cancelWriter();
+        writeReset(stream.id, errorCode);
+        flushLater();
+    }
+
+    private void failStream(Stream stream, int errorCode, Throwable error) {
+        resetStream(stream, errorCode);
+        stream.fail(error);
+    }
+
+    private void removeStream(Stream stream) {
+        if (this.streams.remove(stream.id) == null) {
+            return;
+        }
+        this.activeStreams = this.streams.size();
+        if (this.streams.isEmpty()) {
+            this.idleSinceNanos = System.nanoTime();
+            if (this.goingAway) {
+                this.loop.execute(this::close);
+                return;
+            }
+        }
+        if (!this.closed) {
+            this.pool.release(this, true);
+        }
+    }
+
+    private void checkIdle(int streamId) throws IOException {
+        if (streamId >= this.nextStreamId || (streamId & 1) == 0) {
+            throw connectionError(PROTOCOL_ERROR, "Frame received on idle stream " + streamId + ".");
+        }
+        // otherwise a stream that was reset or completed, the frame was in flight
+    }
+
+    private static void requireStream(int streamId, String frame) throws IOException {
+        if (streamId == 0) {
+            throw new IOException(frame + " frame on stream 0.");
+        }
+    }
+
+    private static void requireLength(ByteBuffer payload, int length, String frame) throws IOException {
+        if (payload.remaining() != length) {
+            throw new IOException("Malformed " + frame + " frame of " + payload.remaining() + " bytes.");
+        }
+    }
+
+    private static int readPadding(ByteBuffer payload) throws IOException {
+        if (!payload.hasRemaining()) {
+            throw new IOException("Padded frame without a pad length.");
+        }
+        final int padding = payload.get() & 0xFF;
+        if (padding > payload.remaining()) {
+            throw new IOException("Frame padding exceeds the payload.");
+        }
+        return padding;
+    }
+
+    private IOException connectionError(int errorCode, String message) {
+        writeGoAway(errorCode);
+        return new IOException("HTTP/2 connection error " + errorCode + ": " + message);
+    }
+
+    private static boolean isConnectionHeader(String name) {
+        for (String connectionHeader : CONNECTION_HEADERS) {
+            if (connectionHeader.equals(name)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    static void putFrameHeader(ByteBuffer buffer, int length, int type, int flags, int streamId) {
+        buffer.put((byte) (length >>> 16)).put((byte) (length >>> 8)).put((byte) length)
+                .put((byte) type).put((byte) flags).putInt(streamId);
+    }
+
+    @Override
+    public String toString() {
+        return "Http2Connection{" + this.key + ", streams=" + this.streams.size() + "}";
+    }
+
+    /**
+     * A request/response exchange carried by the connection, also acting as the source of the response body.
+     */
+    private final class Stream {
+        private final int id;
+        private final NioExchange exchange;
+        private final Deque<ByteBuffer> pending = new ArrayDeque<>();
+        private final Deque<ByteBuffer> outgoing = new ArrayDeque<>();
+        private long sendWindow = peerInitialWindowSize;
+        private int receiveWindow = STREAM_WINDOW_SIZE;
+        private int consumedUnacked;
+        private BodyWriter writer;
+        private boolean bodyComplete;
+        private boolean localClosed;
+        private boolean remoteClosed;
+        private boolean headersReceived;
+
+        private FluxSink<ByteBuffer> sink;
+        private Throwable error;
+        private boolean subscribed;
+        private boolean complete;
+
+        Stream(int id, NioExchange exchange) {
+            this.id = id;
+            this.exchange = exchange;
+        }
+
+        void onHeaders(List<String> fields, boolean endStream) {
+            if (this.headersReceived) {
+                // trailers, not exposed
+                if (!endStream) {
+                    failStream(this, PROTOCOL_ERROR, new IOException("Trailers without END_STREAM."));
+                    return;
+                }
+                this.remoteClosed = true;
+                drain();
+                return;
+            }
+            int status = -1;
+            final HttpHeaders headers = new HttpHeaders();
+            for (int i = 0; i < fields.size(); i += 2) {
+                final String name = fields.get(i);
+                final String value = fields.get(i + 1);
+                if (":status".equals(name)) {
+                    status = parseStatus(value);
+                } else if (name.startsWith(":")) {
+                    status = -1;
+                    break;
+                } else {
+                    headers.add(name, value);
+                }
+            }
+            if (status < 0) {
+                failStream(this, PROTOCOL_ERROR, new IOException("Malformed HTTP/2 response headers."));
+                return;
+            }
+            if (status >= 100 && status < 200) {
+                // interim response, the final one follows
+                return;
+            }
+            this.headersReceived = true;
+            this.remoteClosed = endStream;
+            final boolean noBody = endStream || this.exchange.getRequest().getHttpMethod() == HttpMethod.HEAD;
+            final Flux<ByteBuffer> content = noBody
+                    ? Flux.empty()
+                    : Flux.create(subscriber -> loop.execute(() -> subscribe(subscriber)));
+            this.exchange.succeed(new NioHttpResponse(this.exchange.getRequest(), status, headers, content,
+                    () -> loop.tryExecute(this::close)));
+            if (noBody) {
+                this.complete = true;
+                if (endStream) {
+                    finish();
+                } else {
+                    close();
+                }
+            }
+        }
+
+        void subscribe(FluxSink<ByteBuffer> subscriber) {
+            if (this.subscribed) {
+                subscriber.error(new IllegalStateException("The response body can only be subscribed once."));
+                return;
+            }
+            this.subscribed = true;
+            if (this.complete) {
+                subscriber.error(this.error != null
+                        ? this.error
+                        : new IllegalStateException("The response was closed before its body was consumed."));
+                return;
+            }
+            this.sink = subscriber;
+            subscriber.onRequest(n -> loop.tryExecute(this::drain));
+            subscriber.onCancel(() -> loop.tryExecute(this::close));
+            drain();
+        }
+
+        /**
+         * Emits as much received data as requested, crediting the consumed bytes back to the server.
+         */
+        void drain() {
+            if (this.complete || this.sink == null) {
+                return;
+            }
+            while (!this.pending.isEmpty() && this.sink.requestedFromDownstream() > 0) {
+                final ByteBuffer data = this.pending.poll();
+                consumed(data.remaining());
+                this.sink.next(data);
+            }
+            if (this.pending.isEmpty() && this.remoteClosed && !this.complete) {
+                this.complete = true;
+                this.sink.complete();
+                finish();
+                return;
+            }
+            flushLater();
+        }
+
+        void consumed(int bytes) {
+            this.consumedUnacked += bytes;
+            if (!this.remoteClosed && this.consumedUnacked >= STREAM_WINDOW_SIZE / 2) {
+                writeWindowUpdate(this.id, this.consumedUnacked);
+                this.receiveWindow += this.consumedUnacked;
+                this.consumedUnacked = 0;
+            }
+        }
+
+        /**
+         * The response was entirely received.
+         */
+        private void finish() {
+            if (this.localClosed) {
+                removeStream(this);
+            } else {
+                // the server answered without reading the whole request body
+                resetStream(this, NO_ERROR);
+            }
+        }
+
+        /**
+         * Stops the body before it is complete.
+         */
+        void close() {
+            if (!this.complete) {
+                this.complete = true;
+                this.pending.clear();
+            }
+            resetStream(this, CANCEL);
+        }
+
+        void fail(Throwable failure) {
+            if (!this.exchange.isDone()) {
+                this.exchange.fail(failure);
+                return;
+            }
+            if (this.complete) {
+                return;
+            }
+            this.complete = true;
+            this.error = failure;
+            this.pending.clear();
+            if (this.sink != null) {
+                this.sink.error(failure);
+            }
+        }
+
+        /**
+         * Frames the buffered request body data within the flow control windows.
+         */
+        void writeData() {
+            if (streams.get(this.id) != this || this.localClosed) {
+                return;
+            }
+            while (!this.outgoing.isEmpty()) {
+                final ByteBuffer buffer = this.outgoing.peek();
+                final int length = (int) Math.min(Math.min(buffer.remaining(), peerMaxFrameSize),
+                        Math.min(this.sendWindow, Http2Connection.this.sendWindow));
+                if (length <= 0) {
+                    if (!buffer.hasRemaining()) {
+                        this.outgoing.poll();
+                        continue;
+                    }
+                    // blocked until the server grants more window
+                    return;
+                }
+                final ByteBuffer header = ByteBuffer.allocate(FRAME_HEADER_SIZE);
+                putFrameHeader(header, length, TYPE_DATA, 0, this.id);
+                header.flip();
+                final ByteBuffer data = buffer.duplicate();
+                data.limit(data.position() + length);
+                buffer.position(buffer.position() + length);
+                outbound.add(header);
+                outbound.add(data);
+                this.sendWindow -= length;
+                Http2Connection.this.sendWindow -= length;
+                if (!buffer.hasRemaining()) {
+                    this.outgoing.poll();
+                }
+            }
+            if (this.bodyComplete) {
+                final ByteBuffer end = ByteBuffer.allocate(FRAME_HEADER_SIZE);
+                putFrameHeader(end, 0, TYPE_DATA, FLAG_END_STREAM, this.id);
+                end.flip();
+                outbound.add(end);
+                this.localClosed = true;
+                this.writer = null;
+            }
+            flushLater();
+        }
+
+        boolean isDrained() {
+            return this.outgoing.isEmpty();
+        }
+
+        void cancelWriter() {
+            if (this.writer != null) {
+                this.writer.cancel();
+                this.writer = null;
+            }
+        }
+
+        private int parseStatus(String value) {
+            if (value.length() != 3) {
+                return -1;
+            }
+            try {
+                return Integer.parseInt(value);
+            } catch (NumberFormatException e) {
+                return -1;
+            }
+        }
+    }
+
+    /**
+     * Subscriber buffering the request body of a stream, requesting one buffer at a time once the previous one was
+     * framed and flushed.
+     */
+    private final class BodyWriter implements CoreSubscriber<ByteBuffer> {
+        private final Stream stream;
+        private volatile Subscription subscription;
+        private volatile boolean cancelled;
+        private boolean awaitingFlush;
+
+        BodyWriter(Stream stream) {
+            this.stream = stream;
+        }
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            this.subscription = subscription;
+            if (this.cancelled) {
+                subscription.cancel();
+            } else {
+                subscription.request(1);
+            }
+        }
+
+        @Override
+        public void onNext(ByteBuffer buffer) {
+            loop.tryExecute(() -> {
+                if (!isCurrent()) {
+                    return;
+                }
+                this.stream.outgoing.add(buffer.duplicate());
+                this.awaitingFlush = true;
+                this.stream.writeData();
+            });
+        }
+
+        @Override
+        public void onError(Throwable error) {
+            loop.tryExecute(() -> {
+                if (isCurrent()) {
+                    failStream(this.stream, CANCEL, error);
+                }
+            });
+        }
+
+        @Override
+        public void onComplete() {
+            loop.tryExecute(() -> {
+                if (isCurrent()) {
+                    this.stream.bodyComplete = true;
+                    this.stream.writeData();
+                }
+            });
+        }
+
+        private boolean isCurrent() {
+            return !this.cancelled && this.stream.writer == this;
+        }
+
+        void onFlushed() {
+            if (this.awaitingFlush && this.stream.isDrained()) {
+                this.awaitingFlush = false;
+                this.subscription.request(1);
+            }
+        }
+
+        void cancel() {
+            this.cancelled = true;
+            final Subscription current = this.subscription;
+            if (current != null) {
+                current.cancel();
+            }
+        }
+    }
+}
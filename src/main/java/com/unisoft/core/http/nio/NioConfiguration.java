@@ -0,0 +1,80 @@
+package com.unisoft.core.http.nio;
+
+import javax.net.ssl.SSLContext;
+
+/**
+ * Immutable snapshot of the {@link NioHttpClientBuilder} options shared by the pool and its connections.
+ *
+ * @author omar.H.Ajmi
+ * @since 17/10/2026
+ */
+final class NioConfiguration {
+    private final int maxConnectionsPerHost;
+    private final int maxPendingAcquires;
+    private final long idleTimeoutMillis;
+    private final long connectTimeoutMillis;
+    private final int readBufferSize;
+    private final SSLContext sslContext;
+    private final boolean http2;
+    private final boolean http2PriorKnowledge;
+    private final long pingIntervalMillis;
+
+    NioConfiguration(int maxConnectionsPerHost, int maxPendingAcquires, long idleTimeoutMillis,
+                     long connectTimeoutMillis, int readBufferSize, SSLContext sslContext, boolean http2,
+                     boolean http2PriorKnowledge, long pingIntervalMillis) {
+        this.maxConnectionsPerHost = maxConnectionsPerHost;
+        this.maxPendingAcquires = maxPendingAcquires;
+        this.idleTimeoutMillis = idleTimeoutMillis;
+        this.connectTimeoutMillis = connectTimeoutMillis;
+        this.readBufferSize = readBufferSize;
+        this.sslContext = sslContext;
+        this.http2 = http2;
+        this.http2PriorKnowledge = http2PriorKnowledge;
+        this.pingIntervalMillis = pingIntervalMillis;
+    }
+
+    int getMaxConnectionsPerHost() {
+        return this.maxConnectionsPerHost;
+    }
+
+    int getMaxPendingAcquires() {
+        return this.maxPendingAcquires;
+    }
+
+    long getIdleTimeoutMillis() {
+        return this.idleTimeoutMillis;
+    }
+
+    long getConnectTimeoutMillis() {
+        return this.connectTimeoutMillis;
+    }
+
+    int getReadBufferSize() {
+        return this.readBufferSize;
+    }
+
+    /**
+     * @return the configured SSL context, null to use the JVM default one
+     */
+    SSLContext getSslContext() {
+        return this.sslContext;
+    }
+
+    /**
+     * @return whether h2 is offered through ALPN on https connections
+     */
+    boolean isHttp2() {
+        return this.http2;
+    }
+
+    /**
+     * @return whether clear text connections speak h2 straight away, without negotiation
+     */
+    boolean isHttp2PriorKnowledge() {
+        return this.http2PriorKnowledge;
+    }
+
+    long getPingIntervalMillis() {
+        return this.pingIntervalMillis;
+    }
+}
@@ -0,0 +1,64 @@
+package com.unisoft.core.http.nio;
+
+/**
+ * An established connection of the {@link NioConnectionPool}, carrying exchanges either one at a time
+ * ({@link Http1Connection}) or multiplexed as streams ({@link Http2Connection}).
+ * <p>
+ * Every method but the metric getters is called on the event loop thread.
+ *
+ * @author omar.H.Ajmi
+ * @since 17/10/2026
+ */
+interface NioConnection {
+
+    /**
+     * @return the origin the connection is bound to
+     */
+    NioConnectionPool.PoolKey getKey();
+
+    /**
+     * @return the protocol spoken on the connection, e.g. {@code HTTP/1.1}
+     */
+    String getProtocol();
+
+    /**
+     * @return the number of exchanges in flight, safe to call from any thread
+     */
+    int getActiveStreams();
+
+    /**
+     * @return the number of exchanges the connection may carry at once, safe to call from any thread
+     */
+    int getMaxConcurrentStreams();
+
+    /**
+     * @return the {@link System#nanoTime()} at which the last exchange completed
+     */
+    long getIdleSinceNanos();
+
+    /**
+     * Starts the exchange on this connection.
+     *
+     * @param exchange the exchange
+     */
+    void start(NioExchange exchange);
+
+    /**
+     * Aborts the exchange if it is still carried by this connection.
+     *
+     * @param exchange the exchange
+     */
+    void abort(NioExchange exchange);
+
+    /**
+     * Closes the connection without reporting an error and removes it from the pool.
+     */
+    void close();
+
+    /**
+     * Closes the connection, reporting the error to the exchanges in flight.
+     *
+     * @param error the failure
+     */
+    void fail(Throwable error);
+}
@@ -0,0 +1,56 @@
+package com.unisoft.core.http.nio;
+
+/**
+ * Snapshot of a connection pooled by a {@link NioHttpClient}, see {@link NioHttpClient#getConnectionMetrics()}.
+ *
+ * @author omar.H.Ajmi
+ * @since 17/10/2026
+ */
+public final class NioConnectionMetrics {
+    private final String origin;
+    private final String protocol;
+    private final int activeStreams;
+    private final int maxConcurrentStreams;
+
+    NioConnectionMetrics(String origin, String protocol, int activeStreams, int maxConcurrentStreams) {
+        this.origin = origin;
+        this.protocol = protocol;
+        this.activeStreams = activeStreams;
+        this.maxConcurrentStreams = maxConcurrentStreams;
+    }
+
+    /**
+     * @return the scheme, host and port the connection is bound to, e.g. {@code https://example.com:443}
+     */
+    public String getOrigin() {
+        return this.origin;
+    }
+
+    /**
+     * @return the protocol spoken on the connection, {@code HTTP/1.1} or {@code HTTP/2}
+     */
+    public String getProtocol() {
+        return this.protocol;
+    }
+
+    /**
+     * @return the number of exchanges in flight on the connection
+     */
+    public int getActiveStreams() {
+        return this.activeStreams;
+    }
+
+    /**
+     * @return the number of exchanges the connection may carry at once, 1 for HTTP/1.1 and the server
+     * SETTINGS_MAX_CONCURRENT_STREAMS for HTTP/2, {@link Integer#MAX_VALUE} if the server set no limit
+     */
+    public int getMaxConcurrentStreams() {
+        return this.maxConcurrentStreams;
+    }
+
+    @Override
+    public String toString() {
+        return "NioConnectionMetrics{origin=" + this.origin + ", protocol=" + this.protocol + ", activeStreams="
+                + this.activeStreams + ", maxConcurrentStreams=" + this.maxConcurrentStreams + "}";
+    }
+}
@@ -0,0 +1,438 @@
+package com.unisoft.core.http.nio;
+
+import com.unisoft.core.http.HttpRequest;
+import com.unisoft.core.util.log.LogUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import javax.net.ssl.SSLContext;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per host pool of {@link NioConnection}s.
+ * <p>
+ * Idle HTTP/1.1 connections are reused most recently released first so the least used ones age out, requests beyond
+ * the per host connection limit wait for a connection to be released. Once a host spoke h2, or may speak it, new
+ * connections are only opened when every HTTP/2 connection to it reached its concurrent streams limit, since a
+ * single one carries many exchanges. State is confined to the event loop thread, except the connection metrics.
+ *
+ * @author omar.H.Ajmi
+ * @since 17/10/2026
+ */
+final class NioConnectionPool {
+    private static final Logger log = LoggerFactory.getLogger(NioConnectionPool.class);
+    private static final long EVICTION_PERIOD_MILLIS = 1000;
+
+    private final NioEventLoop loop;
+    private final Map<PoolKey, HostPool> hosts = new HashMap<>();
+    // read by the metrics from any thread
+    private final Set<NioConnection> established = ConcurrentHashMap.newKeySet();
+    private final NioConfiguration configuration;
+    private final int maxConnectionsPerHost;
+    private final int maxPendingAcquires;
+    private final long idleTimeoutMillis;
+    private SSLContext sslContext;
+    private boolean closed;
+
+    NioConnectionPool(NioEventLoop loop, NioConfiguration configuration) {
+        this.loop = loop;
+        this.configuration = configuration;
+        this.maxConnectionsPerHost = configuration.getMaxConnectionsPerHost();
+        this.maxPendingAcquires = configuration.getMaxPendingAcquires();
+        this.idleTimeoutMillis = configuration.getIdleTimeoutMillis();
+        this.sslContext = configuration.getSslContext();
+        loop.execute(this::scheduleEviction);
+    }
+
+    /**
+     * @return the configured SSL context, or the JVM default one
+     * @throws IllegalStateException if no default SSL context is available
+     */
+    SSLContext getSslContext() {
+        if (this.sslContext == null) {
+            try {
+                this.sslContext = SSLContext.getDefault();
+            } catch (NoSuchAlgorithmException e) {
+                throw LogUtil.logExceptionAsError(log, new IllegalStateException(
+                        "No default SSLContext is available.", e));
+            }
+        }
+        return this.sslContext;
+    }
+
+    /**
+     * Safe to call from any thread.
+     *
+     * @return a snapshot of every established connection
+     */
+    List<NioConnectionMetrics> getConnectionMetrics() {
+        final List<NioConnectionMetrics> metrics = new ArrayList<>();
+        for (NioConnection connection : this.established) {
+            metrics.add(new NioConnectionMetrics(connection.getKey().toString(), connection.getProtocol(),
+                    connection.getActiveStreams(), connection.getMaxConcurrentStreams()));
+        }
+        return metrics;
+    }
+
+    /**
+     * Hands the exchange an HTTP/2 connection with room for another stream or an idle connection, opens a new one
+     * or queues the exchange until one is released.
+     *
+     * @param exchange the exchange
+     */
+    void acquire(NioExchange exchange) {
+        if (exchange.isDone()) {
+            return;
+        }
+        if (this.closed) {
+            exchange.fail(new IllegalStateException("The NioHttpClient is closed."));
+            return;
+        }
+
+        final PoolKey key;
+        try {
+            key = PoolKey.of(exchange.getRequest());
+        } catch (IllegalArgumentException e) {
+            exchange.fail(e);
+            return;
+        }
+        final HostPool host = this.hosts.computeIfAbsent(key, k -> new HostPool(k, mayMultiplex(k)));
+
+        for (Http2Connection connection : host.multiplexed) {
+            if (connection.hasCapacity()) {
+                connection.start(exchange);
+                return;
+            }
+        }
+        final Http1Connection idle = host.idle.pollFirst();
+        if (idle != null) {
+            idle.start(exchange);
+            return;
+        }
+        if (host.waiters.size() >= this.maxPendingAcquires) {
+            exchange.fail(new IllegalStateException("Too many requests are waiting for a connection to " + key
+                    + ", the limit is " + this.maxPendingAcquires + "."));
+            return;
+        }
+        host.waiters.addLast(exchange);
+        openForWaiters(host);
+    }
+
+    /**
+     * Called once a new connection is able to carry exchanges.
+     *
+     * @param connector  the connector that opened the connection
+     * @param connection the connection
+     */
+    void connected(NioConnector connector, NioConnection connection) {
+        final HostPool host = this.hosts.get(connector.getKey());
+        if (host == null || !host.connecting.remove(connector)) {
+            connection.close();
+            return;
+        }
+        host.connections.add(connection);
+        this.established.add(connection);
+        if (connection instanceof Http2Connection) {
+            host.multiplexed.add((Http2Connection) connection);
+        } else {
+            // the server doesn't speak h2, connections are opened for every waiter from now on
+            host.mayMultiplex = false;
+        }
+        dispatch(connection);
+        openForWaiters(host);
+    }
+
+    /**
+     * Called when a new connection failed to connect, the oldest waiting exchange is failed with the error.
+     *
+     * @param connector the connector that failed
+     * @param error     the failure
+     */
+    void connectFailed(NioConnector connector, Throwable error) {
+        final HostPool host = this.hosts.get(connector.getKey());
+        if (host == null) {
+            return;
+        }
+        host.connecting.remove(connector);
+        final NioExchange waiter = host.pollWaiter();
+        if (waiter != null) {
+            waiter.fail(error);
+        }
+        openForWaiters(host);
+    }
+
+    /**
+     * Returns a connection to the pool.
+     *
+     * @param connection the connection
+     * @param reusable   whether the connection can carry another exchange, otherwise it no longer accepts new
+     *                   exchanges and is removed from the pool, closed unless HTTP/2 streams are still completing
+     */
+    void release(NioConnection connection, boolean reusable) {
+        final HostPool host = this.hosts.get(connection.getKey());
+        if (host == null) {
+            if (reusable) {
+                connection.close();
+            }
+            return;
+        }
+        if (reusable && !this.closed) {
+            dispatch(connection);
+        } else {
+            host.idle.remove(connection);
+            host.multiplexed.remove(connection);
+            this.established.remove(connection);
+            if (host.connections.remove(connection)) {
+                if (reusable) {
+                    connection.close();
+                }
+                openForWaiters(host);
+            }
+        }
+    }
+
+    /**
+     * Fails every waiting exchange and closes every connection.
+     */
+    void close() {
+        this.closed = true;
+        for (HostPool host : this.hosts.values()) {
+            NioExchange waiter;
+            while ((waiter = host.pollWaiter()) != null) {
+                waiter.fail(new IllegalStateException("The NioHttpClient is closed."));
+            }
+            for (NioConnector connector : new ArrayList<>(host.connecting)) {
+                connector.fail(new IllegalStateException("The NioHttpClient is closed."));
+            }
+            for (NioConnection connection : new ArrayList<>(host.connections)) {
+                connection.fail(new IllegalStateException("The NioHttpClient is closed."));
+            }
+        }
+        this.hosts.clear();
+        this.established.clear();
+    }
+
+    private void dispatch(NioConnection connection) {
+        final HostPool host = this.hosts.get(connection.getKey());
+        if (connection instanceof Http2Connection) {
+            final Http2Connection multiplexed = (Http2Connection) connection;
+            NioExchange waiter;
+            while (multiplexed.hasCapacity() && (waiter = host.pollWaiter()) != null) {
+                multiplexed.start(waiter);
+            }
+            return;
+        }
+        final Http1Connection http1 = (Http1Connection) connection;
+        final NioExchange waiter = host.pollWaiter();
+        if (waiter != null) {
+            http1.start(waiter);
+        } else {
+            http1.idle();
+            host.idle.addFirst(http1);
+        }
+    }
+
+    private void openForWaiters(HostPool host) {
+        if (this.closed) {
+            return;
+        }
+        final int waiting = host.waiterCount();
+        if (host.mayMultiplex) {
+            // one connection carries every waiter until it turns out to be saturated or not to speak h2
+            if (waiting > 0 && host.connecting.isEmpty() && host.isSaturated()
+                    && host.size() < this.maxConnectionsPerHost) {
+                open(host);
+            }
+            return;
+        }
+        while (host.connecting.size() < waiting && host.size() < this.maxConnectionsPerHost) {
+            open(host);
+        }
+    }
+
+    private boolean mayMultiplex(PoolKey key) {
+        return this.configuration.isHttp2() && (key.isSecure() || this.configuration.isHttp2PriorKnowledge());
+    }
+
+    private void open(HostPool host) {
+        final NioConnector connector = new NioConnector(this, this.loop, host.key, this.configuration);
+        host.connecting.add(connector);
+        // name resolution may block, keep it off the event loop
+        Mono.fromCallable(() -> new InetSocketAddress(InetAddress.getByName(host.key.host), host.key.port))
+                .subscribeOn(Schedulers.boundedElastic())
+                .subscribe(address -> this.loop.tryExecute(() -> connector.connect(address)),
+                        error -> this.loop.tryExecute(() -> connector.fail(error)));
+    }
+
+    private void scheduleEviction() {
+        if (this.closed) {
+            return;
+        }
+        this.loop.schedule(() -> {
+            evictIdle();
+            scheduleEviction();
+        }, Math.min(EVICTION_PERIOD_MILLIS, this.idleTimeoutMillis));
+    }
+
+    private void evictIdle() {
+        final long now = System.nanoTime();
+        final long idleTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(this.idleTimeoutMillis);
+        final List<NioConnection> expired = new ArrayList<>();
+        for (HostPool host : this.hosts.values()) {
+            // the oldest idle connections are at the tail
+            final Iterator<Http1Connection> iterator = host.idle.descendingIterator();
+            while (iterator.hasNext()) {
+                final Http1Connection connection = iterator.next();
+                if (now - connection.getIdleSinceNanos() < idleTimeoutNanos) {
+                    break;
+                }
+                expired.add(connection);
+            }
+            for (Http2Connection connection : host.multiplexed) {
+                if (connection.getActiveStreams() == 0 && now - connection.getIdleSinceNanos() >= idleTimeoutNanos) {
+                    expired.add(connection);
+                }
+            }
+        }
+        for (NioConnection connection : expired) {
+            connection.close();
+        }
+        this.hosts.values().removeIf(HostPool::isEmpty);
+    }
+
+    /**
+     * The origin a connection is bound to.
+     */
+    static final class PoolKey {
+        private final String scheme;
+        private final String host;
+        private final int port;
+
+        private PoolKey(String scheme, String host, int port) {
+            this.scheme = scheme;
+            this.host = host;
+            this.port = port;
+        }
+
+        static PoolKey of(HttpRequest request) {
+            final String scheme = request.getScheme() == null ? null : request.getScheme().toLowerCase(Locale.ROOT);
+            if (!"http".equals(scheme) && !"https".equals(scheme)) {
+                throw new IllegalArgumentException("Unsupported URL scheme '" + scheme + "'.");
+            }
+            final String host = request.getHost();
+            if (host == null || host.isEmpty()) {
+                throw new IllegalArgumentException("The request URL has no host.");
+            }
+            final int port = request.getPort() == -1 ? defaultPort(scheme) : request.getPort();
+            return new PoolKey(scheme, host.toLowerCase(Locale.ROOT), port);
+        }
+
+        /**
+         * @return the port of the scheme, 443 for https and 80 otherwise
+         */
+        static int defaultPort(String scheme) {
+            return "https".equalsIgnoreCase(scheme) ? 443 : 80;
+        }
+
+        boolean isSecure() {
+            return "https".equals(this.scheme);
+        }
+
+        String getHost() {
+            return this.host;
+        }
+
+        int getPort() {
+            return this.port;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof PoolKey)) {
+                return false;
+            }
+            final PoolKey other = (PoolKey) o;
+            return this.port == other.port && this.scheme.equals(other.scheme) && this.host.equals(other.host);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(this.scheme, this.host, this.port);
+        }
+
+        @Override
+        public String toString() {
+            return this.scheme + "://" + this.host + ":" + this.port;
+        }
+    }
+
+    private static final class HostPool {
+        private final PoolKey key;
+        private final Set<NioConnector> connecting = new HashSet<>();
+        private final Set<NioConnection> connections = new HashSet<>();
+        private final Deque<Http1Connection> idle = new ArrayDeque<>();
+        private final List<Http2Connection> multiplexed = new ArrayList<>();
+        private final Deque<NioExchange> waiters = new ArrayDeque<>();
+        private boolean mayMultiplex;
+
+        HostPool(PoolKey key, boolean mayMultiplex) {
+            this.key = key;
+            this.mayMultiplex = mayMultiplex;
+        }
+
+        int size() {
+            return this.connecting.size() + this.connections.size();
+        }
+
+        /**
+         * @return true if no HTTP/2 connection can open another stream
+         */
+        boolean isSaturated() {
+            for (Http2Connection connection : this.multiplexed) {
+                if (connection.hasCapacity()) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        NioExchange pollWaiter() {
+            NioExchange waiter;
+            while ((waiter = this.waiters.pollFirst()) != null) {
+                if (!waiter.isDone()) {
+                    return waiter;
+                }
+            }
+            return null;
+        }
+
+        int waiterCount() {
+            this.waiters.removeIf(NioExchange::isDone);
+            return this.waiters.size();
+        }
+
+        boolean isEmpty() {
+            return this.connecting.isEmpty() && this.connections.isEmpty() && this.waiters.isEmpty();
+        }
+    }
+}
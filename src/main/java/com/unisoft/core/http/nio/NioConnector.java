@@ -0,0 +1,197 @@
+package com.unisoft.core.http.nio;
+
+import javax.net.ssl.SSLEngine;
+import javax.net.ssl.SSLParameters;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.SocketTimeoutException;
+import java.net.StandardSocketOptions;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.SocketChannel;
+
+/**
+ * Opens a connection of the {@link NioConnectionPool}: connects the socket, runs the TLS handshake and picks the
+ * protocol, then hands the channel over to an {@link Http1Connection} or an {@link Http2Connection}.
+ * <p>
+ * h2 is offered through ALPN on https connections and spoken straight away on clear text connections when the
+ * client is configured with prior knowledge. The connect timeout covers everything up to the connection being able
+ * to carry an exchange, including the first HTTP/2 SETTINGS frame. Every method is called on the event loop thread.
+ *
+ * @author omar.H.Ajmi
+ * @since 17/10/2026
+ */
+final class NioConnector implements NioEventLoop.ChannelHandler {
+    static final String HTTP_1_1 = "http/1.1";
+    static final String H2 = "h2";
+
+    private final NioConnectionPool pool;
+    private final NioEventLoop loop;
+    private final NioConnectionPool.PoolKey key;
+    private final NioConfiguration configuration;
+
+    private SocketChannel channel;
+    private SelectionKey selectionKey;
+    private NioTransport transport;
+    private NioEventLoop.ScheduledTask timeoutTask;
+    private NioConnection established;
+    private boolean handshaking;
+    private boolean done;
+
+    NioConnector(NioConnectionPool pool, NioEventLoop loop, NioConnectionPool.PoolKey key,
+                 NioConfiguration configuration) {
+        this.pool = pool;
+        this.loop = loop;
+        this.key = key;
+        this.configuration = configuration;
+    }
+
+    NioConnectionPool.PoolKey getKey() {
+        return this.key;
+    }
+
+    /**
+     * Opens the socket and starts connecting to the resolved address.
+     *
+     * @param address the resolved address
+     */
+    void connect(InetSocketAddress address) {
+        if (this.done) {
+            return;
+        }
+        final long timeoutMillis = this.configuration.getConnectTimeoutMillis();
+        try {
+            this.channel = SocketChannel.open();
+            this.channel.configureBlocking(false);
+            this.channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+            this.channel.setOption(StandardSocketOptions.SO_KEEPALIVE, true);
+            this.selectionKey = this.loop.register(this.channel, 0, this);
+            this.timeoutTask = this.loop.schedule(() -> timeout(timeoutMillis), timeoutMillis);
+            if (this.channel.connect(address)) {
+                onConnected();
+            } else {
+                this.selectionKey.interestOps(SelectionKey.OP_CONNECT);
+            }
+        } catch (IOException | RuntimeException e) {
+            fail(e);
+        }
+    }
+
+    @Override
+    public void onReady(SelectionKey key) {
+        try {
+            if (this.handshaking) {
+                handshake();
+            } else if (key.isConnectable() && this.channel.finishConnect()) {
+                onConnected();
+            }
+        } catch (IOException | RuntimeException e) {
+            fail(e);
+        }
+    }
+
+    private void onConnected() throws IOException {
+        if (this.key.isSecure()) {
+            final SSLEngine engine = this.pool.getSslContext()
+                    .createSSLEngine(this.key.getHost(), this.key.getPort());
+            engine.setUseClientMode(true);
+            final SSLParameters parameters = engine.getSSLParameters();
+            parameters.setEndpointIdentificationAlgorithm("HTTPS");
+            if (this.configuration.isHttp2()) {
+                parameters.setApplicationProtocols(new String[]{H2, HTTP_1_1});
+            }
+            engine.setSSLParameters(parameters);
+            this.transport = new TlsTransport(this.channel, engine);
+            this.handshaking = true;
+            handshake();
+        } else {
+            this.transport = new PlainTransport(this.channel);
+            onTransportReady();
+        }
+    }
+
+    private void handshake() throws IOException {
+        if (this.transport.handshake()) {
+            this.handshaking = false;
+            onTransportReady();
+        } else {
+            this.selectionKey.interestOps(this.transport.handshakeInterestOps());
+        }
+    }
+
+    private void onTransportReady() throws IOException {
+        final boolean http2 = this.key.isSecure()
+                ? H2.equals(this.transport.applicationProtocol())
+                : this.configuration.isHttp2PriorKnowledge();
+        if (http2) {
+            // the connection only becomes usable once the server SETTINGS are received, see established
+            final Http2Connection connection = new Http2Connection(this.pool, this.loop, this, this.selectionKey,
+                    this.transport, this.configuration);
+            this.established = connection;
+            connection.open();
+        } else {
+            established(new Http1Connection(this.pool, this.loop, this.key, this.selectionKey, this.transport,
+                    this.configuration.getReadBufferSize()));
+        }
+    }
+
+    /**
+     * Called once the connection taking the channel over is able to carry exchanges.
+     *
+     * @param connection the connection
+     */
+    void established(NioConnection connection) {
+        if (this.done) {
+            return;
+        }
+        this.done = true;
+        this.timeoutTask.cancel();
+        this.pool.connected(this, connection);
+    }
+
+    /**
+     * Abandons the connection attempt, closing the channel.
+     *
+     * @param error the failure
+     */
+    void fail(Throwable error) {
+        if (this.done) {
+            return;
+        }
+        this.done = true;
+        if (this.timeoutTask != null) {
+            this.timeoutTask.cancel();
+        }
+        if (this.established == null) {
+            closeChannel();
+        }
+        this.pool.connectFailed(this, error);
+    }
+
+    private void timeout(long timeoutMillis) {
+        final SocketTimeoutException error = new SocketTimeoutException(
+                "Connecting to " + this.key + " timed out after " + timeoutMillis + "ms.");
+        if (this.established != null) {
+            // reported back through fail once the connection is closed
+            this.established.fail(error);
+        } else {
+            fail(error);
+        }
+    }
+
+    private void closeChannel() {
+        if (this.transport != null) {
+            this.transport.close();
+        } else if (this.channel != null) {
+            try {
+                this.channel.close();
+            } catch (IOException ignored) {
+                // best effort
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "NioConnector{" + this.key + "}";
+    }
+}
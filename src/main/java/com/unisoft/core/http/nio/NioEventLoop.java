@@ -0,0 +1,265 @@
+package com.unisoft.core.http.nio;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.SelectableChannel;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.util.Iterator;
+import java.util.PriorityQueue;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Single threaded selector loop driving every channel of a {@link NioHttpClient}.
+ * <p>
+ * All channel, connection and pool state is confined to the loop thread, other threads hand work over through
+ * {@link #execute(Runnable)} so none of that state needs to be guarded.
+ *
+ * @author omar.H.Ajmi
+ * @since 17/10/2026
+ */
+final class NioEventLoop implements Closeable {
+    private static final Logger log = LoggerFactory.getLogger(NioEventLoop.class);
+    private static final AtomicInteger THREAD_COUNT = new AtomicInteger();
+
+    private final Selector selector;
+    private final Thread thread;
+    private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+    private final PriorityQueue<ScheduledTask> scheduledTasks = new PriorityQueue<>();
+    private final AtomicLong scheduledSequence = new AtomicLong();
+    private volatile boolean running = true;
+
+    /**
+     * Creates and starts the loop thread.
+     */
+    NioEventLoop() {
+        try {
+            this.selector = Selector.open();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to open the NIO selector.", e);
+        }
+        this.thread = new Thread(this::run, "unisoft-nio-http-" + THREAD_COUNT.incrementAndGet());
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    /**
+     * @return true if the caller is running on the loop thread
+     */
+    boolean inEventLoop() {
+        return Thread.currentThread() == this.thread;
+    }
+
+    /**
+     * Queues the task to run on the loop thread. Tasks always run after the current loop iteration, even when
+     * submitted from the loop thread itself, so callers never re-enter connection state.
+     *
+     * @param task the task to run
+     * @throws RejectedExecutionException if the loop is closed, the task would never run
+     */
+    void execute(Runnable task) {
+        if (!tryExecute(task)) {
+            throw new RejectedExecutionException("The NIO event loop is closed.");
+        }
+    }
+
+    /**
+     * Queues the task to run on the loop thread unless the loop is closed, for the tasks releasing resources that
+     * closing the loop released already.
+     *
+     * @param task the task to run
+     * @return false if the loop is closed and the task won't run
+     */
+    boolean tryExecute(Runnable task) {
+        if (!this.running) {
+            return false;
+        }
+        this.tasks.add(task);
+        // the loop may have been closed meanwhile, the task then either ran with the last tasks or is still queued
+        if (!this.running && this.tasks.remove(task)) {
+            return false;
+        }
+        if (!inEventLoop()) {
+            this.selector.wakeup();
+        }
+        return true;
+    }
+
+    /**
+     * Schedules the task to run on the loop thread once the delay has elapsed.
+     * Must be called from the loop thread.
+     *
+     * @param task        the task to run
+     * @param delayMillis the delay in milliseconds
+     * @return a handle that can be used to cancel the task
+     */
+    ScheduledTask schedule(Runnable task, long delayMillis) {
+        final ScheduledTask scheduledTask = new ScheduledTask(task, System.nanoTime() + delayMillis * 1_000_000L,
+                this.scheduledSequence.incrementAndGet());
+        this.scheduledTasks.add(scheduledTask);
+        return scheduledTask;
+    }
+
+    /**
+     * Registers the channel with the loop selector.
+     * Must be called from the loop thread.
+     *
+     * @param channel the non-blocking channel
+     * @param ops     the initial interest set
+     * @param handler the handler notified when the channel is ready
+     * @return the selection key
+     * @throws ClosedChannelException if the channel is closed
+     */
+    SelectionKey register(SelectableChannel channel, int ops, ChannelHandler handler) throws ClosedChannelException {
+        return channel.register(this.selector, ops, handler);
+    }
+
+    private void run() {
+        while (this.running) {
+            try {
+                final long timeoutMillis = nextTimeoutMillis();
+                if (timeoutMillis < 0) {
+                    this.selector.selectNow();
+                } else {
+                    this.selector.select(timeoutMillis);
+                }
+                processSelectedKeys();
+                runScheduledTasks();
+                runTasks();
+            } catch (Throwable t) {
+                log.error("Unexpected failure in the NIO event loop.", t);
+            }
+        }
+        // the tasks queued before the loop was closed still run, e.g. to fail the exchanges they were given
+        Runnable task;
+        while ((task = this.tasks.poll()) != null) {
+            safeRun(task);
+        }
+        closeSelector();
+    }
+
+    private long nextTimeoutMillis() {
+        if (!this.tasks.isEmpty()) {
+            return -1;
+        }
+        final ScheduledTask next = this.scheduledTasks.peek();
+        if (next == null) {
+            return 0;
+        }
+        final long remainingMillis = (next.deadlineNanos - System.nanoTime()) / 1_000_000L;
+        return remainingMillis <= 0 ? -1 : remainingMillis;
+    }
+
+    private void processSelectedKeys() {
+        final Iterator<SelectionKey> iterator = this.selector.selectedKeys().iterator();
+        while (iterator.hasNext()) {
+            final SelectionKey key = iterator.next();
+            iterator.remove();
+            if (key.isValid()) {
+                ((ChannelHandler) key.attachment()).onReady(key);
+            }
+        }
+    }
+
+    private void runScheduledTasks() {
+        final long now = System.nanoTime();
+        ScheduledTask next;
+        while ((next = this.scheduledTasks.peek()) != null && next.deadlineNanos - now <= 0) {
+            this.scheduledTasks.poll();
+            if (!next.cancelled) {
+                safeRun(next.task);
+            }
+        }
+    }
+
+    private void runTasks() {
+        Runnable task;
+        // only drain the tasks present when we started, tasks queued meanwhile run on the next iteration
+        for (int remaining = this.tasks.size(); remaining > 0 && (task = this.tasks.poll()) != null; remaining--) {
+            safeRun(task);
+        }
+    }
+
+    private static void safeRun(Runnable task) {
+        try {
+            task.run();
+        } catch (Throwable t) {
+            log.error("NIO event loop task failed.", t);
+        }
+    }
+
+    private void closeSelector() {
+        for (SelectionKey key : this.selector.keys()) {
+            try {
+                key.channel().close();
+            } catch (IOException ignored) {
+                // best effort
+            }
+        }
+        try {
+            this.selector.close();
+        } catch (IOException e) {
+            log.warn("Failed to close the NIO selector.", e);
+        }
+    }
+
+    /**
+     * Stops the loop and closes every channel still registered with it. Tasks can no longer be queued afterwards.
+     */
+    @Override
+    public void close() {
+        this.running = false;
+        this.selector.wakeup();
+    }
+
+    /**
+     * Handler notified by the loop when one of the operations its channel is interested in is ready.
+     */
+    @FunctionalInterface
+    interface ChannelHandler {
+        /**
+         * Invoked on the loop thread with the ready key.
+         *
+         * @param key the selection key
+         */
+        void onReady(SelectionKey key);
+    }
+
+    /**
+     * A task scheduled on the loop.
+     */
+    static final class ScheduledTask implements Comparable<ScheduledTask> {
+        private final Runnable task;
+        private final long deadlineNanos;
+        private final long sequence;
+        private boolean cancelled;
+
+        private ScheduledTask(Runnable task, long deadlineNanos, long sequence) {
+            this.task = task;
+            this.deadlineNanos = deadlineNanos;
+            this.sequence = sequence;
+        }
+
+        /**
+         * Cancels the task, must be called from the loop thread.
+         */
+        void cancel() {
+            this.cancelled = true;
+        }
+
+        @Override
+        public int compareTo(ScheduledTask other) {
+            final int byDeadline = Long.compare(this.deadlineNanos - other.deadlineNanos, 0);
+            return byDeadline != 0 ? byDeadline : Long.compare(this.sequence, other.sequence);
+        }
+    }
+}
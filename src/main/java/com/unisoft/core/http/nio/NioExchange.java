@@ -0,0 +1,88 @@
+package com.unisoft.core.http.nio;
+
+import com.unisoft.core.http.HttpRequest;
+import com.unisoft.core.http.HttpResponse;
+import reactor.core.publisher.MonoSink;
+
+/**
+ * A single request/response exchange, from the moment it waits for a connection until its response head is
+ * delivered. State is confined to the event loop thread.
+ *
+ * @author omar.H.Ajmi
+ * @since 17/10/2026
+ */
+final class NioExchange {
+    private final HttpRequest request;
+    private final MonoSink<HttpResponse> sink;
+    private NioConnection connection;
+    private boolean retryable = true;
+    private boolean done;
+
+    NioExchange(HttpRequest request, MonoSink<HttpResponse> sink) {
+        this.request = request;
+        this.sink = sink;
+    }
+
+    HttpRequest getRequest() {
+        return this.request;
+    }
+
+    /**
+     * @return true if the exchange was cancelled or already completed and must not be started
+     */
+    boolean isDone() {
+        return this.done;
+    }
+
+    /**
+     * Binds the exchange to the connection carrying it.
+     *
+     * @param connection the connection
+     */
+    void bind(NioConnection connection) {
+        this.connection = connection;
+    }
+
+    /**
+     * Retries are only attempted once and only for requests without a body, since the body publisher may not be
+     * replayable.
+     *
+     * @return true if the exchange can be transparently sent again on another connection
+     */
+    boolean tryConsumeRetry() {
+        if (this.retryable && this.request.getBody() == null && !this.done) {
+            this.retryable = false;
+            this.connection = null;
+            return true;
+        }
+        return false;
+    }
+
+    void succeed(HttpResponse response) {
+        if (!this.done) {
+            this.done = true;
+            this.sink.success(response);
+        }
+    }
+
+    void fail(Throwable error) {
+        if (!this.done) {
+            this.done = true;
+            this.sink.error(error);
+        }
+    }
+
+    /**
+     * Cancels the exchange. An exchange already written to a connection leaves that connection in an unknown state,
+     * so the connection is closed.
+     */
+    void cancel() {
+        if (this.done) {
+            return;
+        }
+        this.done = true;
+        if (this.connection != null) {
+            this.connection.abort(this);
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.unisoft.core.http.nio;
+
+import com.unisoft.core.http.HttpClient;
+import com.unisoft.core.http.HttpHeader;
+import com.unisoft.core.http.HttpRequest;
+import com.unisoft.core.http.HttpResponse;
+import reactor.core.publisher.Mono;
+
+import java.io.Closeable;
+import java.util.List;
+
+/**
+ * {@link HttpClient} built on a single NIO selector thread with per host connection pooling.
+ * <p>
+ * Connections are kept alive and reused across requests to the same scheme, host and port, up to
+ * {@link NioHttpClientBuilder#maxConnectionsPerHost(int) maxConnectionsPerHost} concurrent connections per host.
+ * HTTP/2 is negotiated through ALPN on https connections, a single HTTP/2 connection then carries concurrent
+ * requests as multiplexed streams. Response bodies are emitted on the selector thread and must not be blocked on.
+ *
+ * <pre>
+ * HttpClient client = new NioHttpClientBuilder()
+ *     .maxConnectionsPerHost(20)
+ *     .idleTimeout(Duration.ofSeconds(30))
+ *     .build();
+ * </pre>
+ *
+ * @author omar.H.Ajmi
+ * @since 17/10/2026
+ */
+public final class NioHttpClient implements HttpClient, Closeable {
+    private final NioEventLoop loop;
+    private final NioConnectionPool pool;
+
+    NioHttpClient(NioConfiguration configuration) {
+        this.loop = new NioEventLoop();
+        this.pool = new NioConnectionPool(this.loop, configuration);
+    }
+
+    @Override
+    public Mono<HttpResponse> send(HttpRequest request) {
+        final String invalid = findInvalidHead(request);
+        if (invalid != null) {
+            return Mono.error(new IllegalArgumentException(
+                    "The " + invalid + " of the request contains a CR, LF or NUL."));
+        }
+        return Mono.create(sink -> {
+            final NioExchange exchange = new NioExchange(request, sink);
+            sink.onCancel(() -> this.loop.tryExecute(exchange::cancel));
+            if (!this.loop.tryExecute(() -> this.pool.acquire(exchange))) {
+                sink.error(new IllegalStateException("The NioHttpClient is closed."));
+            }
+        });
+    }
+
+    /**
+     * Finds the part of the request head that cannot be put on the wire as is, a CR, LF or NUL in it would let a value
+     * end its line and inject headers, or a whole request, of its own over HTTP/1.1 or through a proxy downgrading
+     * HTTP/2.
+     *
+     * @return the invalid part of the head, null if there is none
+     */
+    private static String findInvalidHead(HttpRequest request) {
+        if (containsLineBreak(request.getPathAndQuery())) {
+            return "path";
+        }
+        for (HttpHeader header : request.getHeaders()) {
+            if (containsLineBreak(header.getName())) {
+                return "name of a header";
+            }
+            if (header.getValue() != null && containsLineBreak(header.getValue())) {
+                return "value of the header " + header.getName();
+            }
+        }
+        return null;
+    }
+
+    private static boolean containsLineBreak(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            final char c = value.charAt(i);
+            if (c == '\r' || c == '\n' || c == '\0') {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Gets a snapshot of the pooled connections, e.g. to check how many streams HTTP/2 connections multiplex
+     * against the limit set by the server.
+     *
+     * @return the metrics of every established connection
+     */
+    public List<NioConnectionMetrics> getConnectionMetrics() {
+        return this.pool.getConnectionMetrics();
+    }
+
+    /**
+     * Closes every pooled connection and stops the selector thread. Requests in flight fail.
+     */
+    @Override
+    public void close() {
+        this.loop.tryExecute(() -> {
+            this.pool.close();
+            this.loop.close();
+        });
+    }
+}
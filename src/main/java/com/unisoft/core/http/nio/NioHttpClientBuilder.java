@@ -0,0 +1,193 @@
+package com.unisoft.core.http.nio;
+
+import com.unisoft.core.util.log.LogUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.net.ssl.SSLContext;
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * Fluent builder of {@link NioHttpClient}, calling {@link NioHttpClientBuilder#build() build} creates a new client
+ * with its own selector thread and connection pool.
+ *
+ * <p><strong>Code Samples</strong></p>
+ *
+ * <pre>
+ * new NioHttpClientBuilder()
+ *     .maxConnectionsPerHost(10)
+ *     .connectTimeout(Duration.ofSeconds(5))
+ *     .build();
+ * </pre>
+ *
+ * @author omar.H.Ajmi
+ * @since 17/10/2026
+ */
+public class NioHttpClientBuilder {
+    private static final Logger log = LoggerFactory.getLogger(NioHttpClientBuilder.class);
+
+    private static final int DEFAULT_MAX_CONNECTIONS_PER_HOST = 20;
+    private static final int DEFAULT_MAX_PENDING_ACQUIRES = 1000;
+    private static final Duration DEFAULT_IDLE_TIMEOUT = Duration.ofSeconds(60);
+    private static final Duration DEFAULT_CONNECT_TIMEOUT = Duration.ofSeconds(10);
+    private static final int DEFAULT_READ_BUFFER_SIZE = 16 * 1024;
+    private static final Duration DEFAULT_PING_INTERVAL = Duration.ofSeconds(30);
+
+    private int maxConnectionsPerHost = DEFAULT_MAX_CONNECTIONS_PER_HOST;
+    private int maxPendingAcquires = DEFAULT_MAX_PENDING_ACQUIRES;
+    private Duration idleTimeout = DEFAULT_IDLE_TIMEOUT;
+    private Duration connectTimeout = DEFAULT_CONNECT_TIMEOUT;
+    private int readBufferSize = DEFAULT_READ_BUFFER_SIZE;
+    private SSLContext sslContext;
+    private boolean http2 = true;
+    private boolean http2PriorKnowledge;
+    private Duration pingInterval = DEFAULT_PING_INTERVAL;
+
+    /**
+     * Creates a builder with the default pool configuration.
+     */
+    public NioHttpClientBuilder() {
+        // no-op
+    }
+
+    /**
+     * Sets the maximum number of concurrent connections to a single scheme, host and port. Defaults to 20.
+     *
+     * @param maxConnectionsPerHost the connection limit, must be positive
+     * @return the updated NioHttpClientBuilder object
+     * @throws IllegalArgumentException if {@code maxConnectionsPerHost} is not positive
+     */
+    public NioHttpClientBuilder maxConnectionsPerHost(int maxConnectionsPerHost) {
+        if (maxConnectionsPerHost <= 0) {
+            throw LogUtil.logExceptionAsError(log,
+                    new IllegalArgumentException("'maxConnectionsPerHost' must be positive."));
+        }
+        this.maxConnectionsPerHost = maxConnectionsPerHost;
+        return this;
+    }
+
+    /**
+     * Sets the maximum number of requests waiting for a connection to a single host once the connection limit is
+     * reached, further requests fail right away. Defaults to 1000.
+     *
+     * @param maxPendingAcquires the waiting requests limit, must be positive
+     * @return the updated NioHttpClientBuilder object
+     * @throws IllegalArgumentException if {@code maxPendingAcquires} is not positive
+     */
+    public NioHttpClientBuilder maxPendingAcquires(int maxPendingAcquires) {
+        if (maxPendingAcquires <= 0) {
+            throw LogUtil.logExceptionAsError(log,
+                    new IllegalArgumentException("'maxPendingAcquires' must be positive."));
+        }
+        this.maxPendingAcquires = maxPendingAcquires;
+        return this;
+    }
+
+    /**
+     * Sets how long a connection may stay idle in the pool before it is closed. Defaults to 60 seconds.
+     *
+     * @param idleTimeout the idle timeout, must be positive
+     * @return the updated NioHttpClientBuilder object
+     * @throws IllegalArgumentException if {@code idleTimeout} is not positive
+     */
+    public NioHttpClientBuilder idleTimeout(Duration idleTimeout) {
+        this.idleTimeout = requirePositive(idleTimeout, "idleTimeout");
+        return this;
+    }
+
+    /**
+     * Sets the maximum time spent connecting, including the TLS handshake. Defaults to 10 seconds.
+     *
+     * @param connectTimeout the connect timeout, must be positive
+     * @return the updated NioHttpClientBuilder object
+     * @throws IllegalArgumentException if {@code connectTimeout} is not positive
+     */
+    public NioHttpClientBuilder connectTimeout(Duration connectTimeout) {
+        this.connectTimeout = requirePositive(connectTimeout, "connectTimeout");
+        return this;
+    }
+
+    /**
+     * Sets the initial size of the per connection read buffer. Defaults to 16KB.
+     *
+     * @param readBufferSize the buffer size in bytes, must be positive
+     * @return the updated NioHttpClientBuilder object
+     * @throws IllegalArgumentException if {@code readBufferSize} is not positive
+     */
+    public NioHttpClientBuilder readBufferSize(int readBufferSize) {
+        if (readBufferSize <= 0) {
+            throw LogUtil.logExceptionAsError(log,
+                    new IllegalArgumentException("'readBufferSize' must be positive."));
+        }
+        this.readBufferSize = readBufferSize;
+        return this;
+    }
+
+    /**
+     * Sets the SSL context used for https connections. The JVM default context is used if none is set.
+     *
+     * @param sslContext the SSL context
+     * @return the updated NioHttpClientBuilder object
+     */
+    public NioHttpClientBuilder sslContext(SSLContext sslContext) {
+        this.sslContext = sslContext;
+        return this;
+    }
+
+    /**
+     * Sets whether h2 is offered through ALPN on https connections, servers that don't pick it are spoken to
+     * with HTTP/1.1. Defaults to true.
+     *
+     * @param http2 whether to negotiate HTTP/2
+     * @return the updated NioHttpClientBuilder object
+     */
+    public NioHttpClientBuilder http2(boolean http2) {
+        this.http2 = http2;
+        return this;
+    }
+
+    /**
+     * Sets whether clear text http connections speak HTTP/2 straight away, for servers known to support h2c.
+     * Defaults to false.
+     *
+     * @param http2PriorKnowledge whether clear text connections use HTTP/2 without negotiation
+     * @return the updated NioHttpClientBuilder object
+     */
+    public NioHttpClientBuilder http2PriorKnowledge(boolean http2PriorKnowledge) {
+        this.http2PriorKnowledge = http2PriorKnowledge;
+        return this;
+    }
+
+    /**
+     * Sets how long an HTTP/2 connection may stay silent before a PING checks it is still alive, the connection is
+     * closed if the PING is not acknowledged within the same interval. Defaults to 30 seconds.
+     *
+     * @param pingInterval the ping interval, must be positive
+     * @return the updated NioHttpClientBuilder object
+     * @throws IllegalArgumentException if {@code pingInterval} is not positive
+     */
+    public NioHttpClientBuilder pingInterval(Duration pingInterval) {
+        this.pingInterval = requirePositive(pingInterval, "pingInterval");
+        return this;
+    }
+
+    /**
+     * Creates a new {@link NioHttpClient} based on the options set in the builder.
+     *
+     * @return a new NioHttpClient
+     */
+    public NioHttpClient build() {
+        return new NioHttpClient(new NioConfiguration(this.maxConnectionsPerHost, this.maxPendingAcquires,
+                this.idleTimeout.toMillis(), this.connectTimeout.toMillis(), this.readBufferSize, this.sslContext,
+                this.http2, this.http2PriorKnowledge, this.pingInterval.toMillis()));
+    }
+
+    private static Duration requirePositive(Duration duration, String name) {
+        Objects.requireNonNull(duration, "'" + name + "' cannot be null.");
+        if (duration.isNegative() || duration.isZero()) {
+            throw LogUtil.logExceptionAsError(log, new IllegalArgumentException("'" + name + "' must be positive."));
+        }
+        return duration;
+    }
+}
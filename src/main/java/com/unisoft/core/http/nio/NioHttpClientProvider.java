@@ -0,0 +1,25 @@
+package com.unisoft.core.http.nio;
+
+import com.unisoft.core.http.HttpClient;
+import com.unisoft.core.http.HttpClientProvider;
+
+/**
+ * {@link HttpClientProvider} registered through the {@link java.util.ServiceLoader} so
+ * {@link HttpClient#createDefault()} returns a {@link NioHttpClient} when no other provider is on the classpath, its
+ * priority being higher than the {@link com.unisoft.core.http.jdk.JdkHttpClientProvider JDK provider} one.
+ *
+ * @author omar.H.Ajmi
+ * @since 17/10/2026
+ */
+public final class NioHttpClientProvider implements HttpClientProvider {
+
+    @Override
+    public HttpClient createInstance() {
+        return new NioHttpClientBuilder().build();
+    }
+
+    @Override
+    public int getPriority() {
+        return -100;
+    }
+}
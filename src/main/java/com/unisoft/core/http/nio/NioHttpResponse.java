@@ -0,0 +1,91 @@
+package com.unisoft.core.http.nio;
+
+import com.unisoft.core.http.HttpHeaders;
+import com.unisoft.core.http.HttpRequest;
+import com.unisoft.core.http.HttpResponse;
+import com.unisoft.core.util.CoreUtil;
+import com.unisoft.core.util.FluxUtil;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+
+/**
+ * {@link HttpResponse} received by the {@link NioHttpClient}.
+ *
+ * @author omar.H.Ajmi
+ * @since 17/10/2026
+ */
+final class NioHttpResponse extends HttpResponse {
+    private final int statusCode;
+    // HTTP/1.x heads materialize their headers lazily, HTTP/2 ones are decoded along with the header block
+    private final Http1ResponseHead head;
+    private final HttpHeaders headers;
+    private final Flux<ByteBuffer> body;
+    private final Runnable onClose;
+
+    NioHttpResponse(HttpRequest request, Http1ResponseHead head, Flux<ByteBuffer> body, Runnable onClose) {
+        super(request);
+        this.statusCode = head.getStatusCode();
+        this.head = head;
+        this.headers = null;
+        this.body = body;
+        this.onClose = onClose;
+    }
+
+    NioHttpResponse(HttpRequest request, int statusCode, HttpHeaders headers, Flux<ByteBuffer> body,
+                    Runnable onClose) {
+        super(request);
+        this.statusCode = statusCode;
+        this.head = null;
+        this.headers = headers;
+        this.body = body;
+        this.onClose = onClose;
+    }
+
+    @Override
+    public int getStatusCode() {
+        return this.statusCode;
+    }
+
+    @Override
+    public String getHeaderValue(String name) {
+        return this.head != null ? this.head.getHeaderValue(name) : this.headers.getValue(name);
+    }
+
+    @Override
+    public HttpHeaders getHeaders() {
+        return this.head != null ? this.head.getHeaders() : this.headers;
+    }
+
+    @Override
+    public Flux<ByteBuffer> getBody() {
+        return this.body;
+    }
+
+    @Override
+    public Mono<byte[]> getBodyAsByteArray() {
+        return FluxUtil.collectBytesInByteBufferStream(this.body);
+    }
+
+    @Override
+    public Mono<String> getBodyAsString() {
+        return this.getBodyAsByteArray()
+                .map(bytes -> CoreUtil.bomAwareToString(bytes, this.getHeaderValue("Content-Type")));
+    }
+
+    @Override
+    public Mono<String> getBodyAsString(Charset charset) {
+        return this.getBodyAsByteArray().map(bytes -> new String(bytes, charset));
+    }
+
+    /**
+     * Releases the connection. If the body was not fully consumed the connection can no longer be reused and is
+     * closed.
+     */
+    @Override
+    public void close() {
+        this.onClose.run();
+    }
+}
@@ -0,0 +1,63 @@
+package com.unisoft.core.http.nio;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * The byte transport of a {@link NioConnection}, either the raw socket or a TLS session layered on top of it.
+ * <p>
+ * Every method is non-blocking and is only ever called from the event loop thread.
+ *
+ * @author omar.H.Ajmi
+ * @since 17/10/2026
+ */
+interface NioTransport {
+
+    /**
+     * Advances the transport handshake, if any.
+     *
+     * @return true once the transport is ready to carry application data
+     * @throws IOException if the handshake fails
+     */
+    boolean handshake() throws IOException;
+
+    /**
+     * @return the selector interest the handshake is waiting on
+     */
+    int handshakeInterestOps();
+
+    /**
+     * @return the protocol negotiated through ALPN during the handshake, or null if none was negotiated
+     */
+    String applicationProtocol();
+
+    /**
+     * Reads application bytes into {@code dst}.
+     *
+     * @param dst the buffer to fill
+     * @return the number of bytes read, 0 if none are available yet or -1 on end of stream
+     * @throws IOException if the read fails
+     */
+    int read(ByteBuffer dst) throws IOException;
+
+    /**
+     * Writes as many application bytes from {@code src} as the socket currently accepts.
+     *
+     * @param src the buffer to drain
+     * @throws IOException if the write fails
+     */
+    void write(ByteBuffer src) throws IOException;
+
+    /**
+     * Flushes bytes the transport buffered internally.
+     *
+     * @return true if nothing is left to flush
+     * @throws IOException if the write fails
+     */
+    boolean flush() throws IOException;
+
+    /**
+     * Closes the transport and its underlying channel.
+     */
+    void close();
+}
@@ -0,0 +1,59 @@
+package com.unisoft.core.http.nio;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.SocketChannel;
+
+/**
+ * Clear text transport writing straight to the socket.
+ *
+ * @author omar.H.Ajmi
+ * @since 17/10/2026
+ */
+final class PlainTransport implements NioTransport {
+    private final SocketChannel channel;
+
+    PlainTransport(SocketChannel channel) {
+        this.channel = channel;
+    }
+
+    @Override
+    public boolean handshake() {
+        return true;
+    }
+
+    @Override
+    public int handshakeInterestOps() {
+        return SelectionKey.OP_READ;
+    }
+
+    @Override
+    public String applicationProtocol() {
+        return null;
+    }
+
+    @Override
+    public int read(ByteBuffer dst) throws IOException {
+        return this.channel.read(dst);
+    }
+
+    @Override
+    public void write(ByteBuffer src) throws IOException {
+        this.channel.write(src);
+    }
+
+    @Override
+    public boolean flush() {
+        return true;
+    }
+
+    @Override
+    public void close() {
+        try {
+            this.channel.close();
+        } catch (IOException ignored) {
+            // best effort
+        }
+    }
+}
@@ -0,0 +1,241 @@
+package com.unisoft.core.http.nio;
+
+import javax.net.ssl.SSLEngine;
+import javax.net.ssl.SSLEngineResult;
+import javax.net.ssl.SSLException;
+import javax.net.ssl.SSLSession;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.SocketChannel;
+
+/**
+ * TLS transport driving an {@link SSLEngine} over a non-blocking socket.
+ * <p>
+ * {@code netIn} is kept in write mode and accumulates encrypted bytes read from the socket, {@code netOut} and
+ * {@code appIn} are kept in read mode and hold encrypted bytes waiting to be written and decrypted bytes waiting to
+ * be consumed respectively.
+ *
+ * @author omar.H.Ajmi
+ * @since 17/10/2026
+ */
+final class TlsTransport implements NioTransport {
+    private static final ByteBuffer EMPTY = ByteBuffer.allocate(0);
+
+    private final SocketChannel channel;
+    private final SSLEngine engine;
+    private ByteBuffer netIn;
+    private ByteBuffer netOut;
+    private ByteBuffer appIn;
+    private boolean handshakeStarted;
+    private boolean inboundClosed;
+
+    TlsTransport(SocketChannel channel, SSLEngine engine) {
+        this.channel = channel;
+        this.engine = engine;
+        final SSLSession session = engine.getSession();
+        this.netIn = ByteBuffer.allocate(session.getPacketBufferSize());
+        this.netOut = ByteBuffer.allocate(session.getPacketBufferSize());
+        this.netOut.flip();
+        this.appIn = ByteBuffer.allocate(session.getApplicationBufferSize());
+        this.appIn.flip();
+    }
+
+    @Override
+    public boolean handshake() throws IOException {
+        if (!this.handshakeStarted) {
+            this.engine.beginHandshake();
+            this.handshakeStarted = true;
+        }
+
+        while (true) {
+            if (!flush()) {
+                return false;
+            }
+
+            switch (this.engine.getHandshakeStatus()) {
+                case NEED_WRAP:
+                    wrap(EMPTY);
+                    break;
+                case NEED_UNWRAP:
+                case NEED_UNWRAP_AGAIN:
+                    if (unwrap() == SSLEngineResult.Status.BUFFER_UNDERFLOW) {
+                        final int read = readNet();
+                        if (read < 0) {
+                            throw new EOFException("Connection closed by the peer during the TLS handshake.");
+                        } else if (read == 0) {
+                            return false;
+                        }
+                    }
+                    break;
+                case NEED_TASK:
+                    runDelegatedTasks();
+                    break;
+                default:
+                    // FINISHED or NOT_HANDSHAKING
+                    return flush();
+            }
+        }
+    }
+
+    @Override
+    public int handshakeInterestOps() {
+        return this.netOut.hasRemaining() ? SelectionKey.OP_WRITE : SelectionKey.OP_READ;
+    }
+
+    @Override
+    public String applicationProtocol() {
+        final String protocol = this.engine.getApplicationProtocol();
+        return protocol == null || protocol.isEmpty() ? null : protocol;
+    }
+
+    @Override
+    public int read(ByteBuffer dst) throws IOException {
+        while (!this.appIn.hasRemaining()) {
+            if (this.inboundClosed) {
+                return -1;
+            }
+
+            final SSLEngineResult.Status status = unwrap();
+            if (status == SSLEngineResult.Status.CLOSED) {
+                this.inboundClosed = true;
+            } else if (status == SSLEngineResult.Status.BUFFER_UNDERFLOW) {
+                final int read = readNet();
+                if (read < 0) {
+                    this.inboundClosed = true;
+                } else if (read == 0) {
+                    return 0;
+                }
+            }
+
+            // post handshake messages, e.g. key updates, may require an answer
+            if (this.engine.getHandshakeStatus() == SSLEngineResult.HandshakeStatus.NEED_WRAP) {
+                wrap(EMPTY);
+                flush();
+            } else if (this.engine.getHandshakeStatus() == SSLEngineResult.HandshakeStatus.NEED_TASK) {
+                runDelegatedTasks();
+            }
+        }
+
+        final int count = Math.min(dst.remaining(), this.appIn.remaining());
+        final ByteBuffer slice = this.appIn.duplicate();
+        slice.limit(slice.position() + count);
+        dst.put(slice);
+        this.appIn.position(this.appIn.position() + count);
+        return count;
+    }
+
+    @Override
+    public void write(ByteBuffer src) throws IOException {
+        while (src.hasRemaining() && flush()) {
+            wrap(src);
+        }
+    }
+
+    @Override
+    public boolean flush() throws IOException {
+        while (this.netOut.hasRemaining()) {
+            if (this.channel.write(this.netOut) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public void close() {
+        try {
+            this.engine.closeOutbound();
+            wrap(EMPTY);
+            flush();
+        } catch (IOException ignored) {
+            // best effort close_notify
+        }
+        try {
+            this.channel.close();
+        } catch (IOException ignored) {
+            // best effort
+        }
+    }
+
+    /**
+     * Reads encrypted bytes from the socket into {@code netIn}.
+     *
+     * @return the number of bytes read, or -1 on end of stream
+     * @throws IOException if the read fails
+     */
+    private int readNet() throws IOException {
+        if (!this.netIn.hasRemaining()) {
+            this.netIn = enlarge(this.netIn, this.engine.getSession().getPacketBufferSize());
+        }
+        return this.channel.read(this.netIn);
+    }
+
+    private SSLEngineResult.Status unwrap() throws SSLException {
+        while (true) {
+            this.netIn.flip();
+            this.appIn.compact();
+            final SSLEngineResult result;
+            try {
+                result = this.engine.unwrap(this.netIn, this.appIn);
+            } finally {
+                this.netIn.compact();
+                this.appIn.flip();
+            }
+
+            if (result.getStatus() == SSLEngineResult.Status.BUFFER_OVERFLOW) {
+                this.appIn = enlargeReadable(this.appIn, this.engine.getSession().getApplicationBufferSize());
+            } else {
+                return result.getStatus();
+            }
+        }
+    }
+
+    private void wrap(ByteBuffer src) throws SSLException {
+        while (true) {
+            this.netOut.compact();
+            final SSLEngineResult result;
+            try {
+                result = this.engine.wrap(src, this.netOut);
+            } finally {
+                this.netOut.flip();
+            }
+
+            if (result.getStatus() == SSLEngineResult.Status.BUFFER_OVERFLOW) {
+                this.netOut = enlargeReadable(this.netOut, this.engine.getSession().getPacketBufferSize());
+            } else if (result.getStatus() == SSLEngineResult.Status.CLOSED && src.hasRemaining()) {
+                throw new SSLException("The TLS session is closed.");
+            } else {
+                return;
+            }
+        }
+    }
+
+    private void runDelegatedTasks() {
+        Runnable task;
+        while ((task = this.engine.getDelegatedTask()) != null) {
+            task.run();
+        }
+    }
+
+    /**
+     * Grows a buffer kept in write mode.
+     */
+    private static ByteBuffer enlarge(ByteBuffer buffer, int minimumCapacity) {
+        final ByteBuffer larger = ByteBuffer.allocate(Math.max(minimumCapacity, buffer.capacity() * 2));
+        buffer.flip();
+        larger.put(buffer);
+        return larger;
+    }
+
+    /**
+     * Grows a buffer kept in read mode.
+     */
+    private static ByteBuffer enlargeReadable(ByteBuffer buffer, int minimumCapacity) {
+        final ByteBuffer larger = ByteBuffer.allocate(Math.max(minimumCapacity, buffer.capacity() * 2));
+        larger.put(buffer);
+        larger.flip();
+        return larger;
+    }
+}
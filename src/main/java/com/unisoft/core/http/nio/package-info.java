@@ -0,0 +1,5 @@
+/**
+ * Package containing the non-blocking NIO {@link com.unisoft.core.http.HttpClient} implementation, speaking HTTP/1.1
+ * and HTTP/2.
+ */
+package com.unisoft.core.http.nio;
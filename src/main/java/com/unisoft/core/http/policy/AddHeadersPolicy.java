@@ -23,9 +23,7 @@ public class AddHeadersPolicy implements HttpPipelinePolicy {
 
     @Override
     public Mono<HttpResponse> process(HttpPipelineCallContext context, HttpPipelineNextPolicy next) {
-        for (HttpHeader header : headers) {
-            context.getHttpRequest().setHeader(header.getName(), header.getValue());
-        }
+        context.getHttpRequest().getHeaders().putAll(headers);
         return next.process();
     }
 }
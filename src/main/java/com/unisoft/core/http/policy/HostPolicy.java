@@ -3,14 +3,11 @@ package com.unisoft.core.http.policy;
 import com.unisoft.core.http.HttpPipelineCallContext;
 import com.unisoft.core.http.HttpPipelineNextPolicy;
 import com.unisoft.core.http.HttpResponse;
-import com.unisoft.core.http.util.UrlBuilder;
 import com.unisoft.core.util.log.LogUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import reactor.core.publisher.Mono;
 
-import java.net.MalformedURLException;
-
 /**
  * The pipeline policy that adds the given host to each HttpRequest.
  *
@@ -36,15 +33,11 @@ public class HostPolicy implements HttpPipelinePolicy {
     public Mono<HttpResponse> process(HttpPipelineCallContext context, HttpPipelineNextPolicy next) {
         LogUtil.info(log, "Setting host to " + host);
 
-        Mono<HttpResponse> result;
-        final UrlBuilder urlBuilder = UrlBuilder.parse(context.getHttpRequest().getUrl());
         try {
-            context.getHttpRequest().setUrl(urlBuilder.setHost(host).toUrl());
-            result = next.process();
-        } catch (MalformedURLException e) {
-            result = Mono.error(new RuntimeException(String.format("Host URL '%s' is invalid.",
-                    host), e));
+            context.getHttpRequest().setHost(host);
+        } catch (IllegalArgumentException e) {
+            return Mono.error(new RuntimeException(String.format("Host URL '%s' is invalid.", host), e));
         }
-        return result;
+        return next.process();
     }
 }
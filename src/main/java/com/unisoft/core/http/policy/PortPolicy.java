@@ -2,15 +2,13 @@ package com.unisoft.core.http.policy;
 
 import com.unisoft.core.http.HttpPipelineCallContext;
 import com.unisoft.core.http.HttpPipelineNextPolicy;
+import com.unisoft.core.http.HttpRequest;
 import com.unisoft.core.http.HttpResponse;
-import com.unisoft.core.http.util.UrlBuilder;
 import com.unisoft.core.util.log.LogUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import reactor.core.publisher.Mono;
 
-import java.net.MalformedURLException;
-
 /**
  * The pipeline policy that adds a given port to each {@link com.unisoft.core.http.HttpRequest}.
  *
@@ -36,13 +34,13 @@ public class PortPolicy implements HttpPipelinePolicy {
 
     @Override
     public Mono<HttpResponse> process(HttpPipelineCallContext context, HttpPipelineNextPolicy next) {
-        final UrlBuilder urlBuilder = UrlBuilder.parse(context.getHttpRequest().getUrl());
-        if (overwrite || urlBuilder.getPort() == null) {
+        final HttpRequest request = context.getHttpRequest();
+        if (overwrite || request.getPort() == -1) {
             LogUtil.info(log, "Changing port to " + port);
 
             try {
-                context.getHttpRequest().setUrl(urlBuilder.setPort(port).toUrl());
-            } catch (MalformedURLException e) {
+                request.setPort(port);
+            } catch (IllegalArgumentException e) {
                 return Mono.error(new RuntimeException(
                         String.format("Failed to set the HTTP request port to %d.", port), e));
             }
@@ -2,15 +2,13 @@ package com.unisoft.core.http.policy;
 
 import com.unisoft.core.http.HttpPipelineCallContext;
 import com.unisoft.core.http.HttpPipelineNextPolicy;
+import com.unisoft.core.http.HttpRequest;
 import com.unisoft.core.http.HttpResponse;
-import com.unisoft.core.http.util.UrlBuilder;
 import com.unisoft.core.util.log.LogUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import reactor.core.publisher.Mono;
 
-import java.net.MalformedURLException;
-
 /**
  * the pipeline policy that adds a given protocol to each HttpRequest.
  *
@@ -37,13 +35,13 @@ public class ProtocolPolicy implements HttpPipelinePolicy {
 
     @Override
     public Mono<HttpResponse> process(HttpPipelineCallContext context, HttpPipelineNextPolicy next) {
-        final UrlBuilder urlBuilder = UrlBuilder.parse(context.getHttpRequest().getUrl());
-        if (overwrite || urlBuilder.getScheme() == null) {
+        final HttpRequest request = context.getHttpRequest();
+        if (overwrite || request.getScheme() == null) {
             LogUtil.info(log, "Setting protocol to " + protocol);
 
             try {
-                context.getHttpRequest().setUrl(urlBuilder.setScheme(protocol).toUrl());
-            } catch (MalformedURLException e) {
+                request.setScheme(protocol);
+            } catch (IllegalArgumentException e) {
                 return Mono.error(new RuntimeException(
                         String.format("Failed to set the HTTP request protocol to %s.", protocol), e));
             }
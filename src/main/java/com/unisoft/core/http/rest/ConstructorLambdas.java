@@ -0,0 +1,103 @@
+package com.unisoft.core.http.rest;
+
+import com.unisoft.core.util.log.LogUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.util.function.Function;
+
+/**
+ * Binds constructors to functional interfaces once, so that an instance is created by a plain interface call rather
+ * than by {@link Constructor#newInstance(Object...)} with its argument array, boxing and access checks.
+ * <p>
+ * The constructor is called directly by a class spun by {@link LambdaMetafactory} when it is accessible from this
+ * package and the types of its parameters are visible from the class loader of this library, through its {@link
+ * MethodHandle} otherwise.
+ *
+ * @author omar.H.Ajmi
+ * @since 17/10/2026
+ */
+final class ConstructorLambdas {
+    private static final Logger log = LoggerFactory.getLogger(ConstructorLambdas.class);
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+    private ConstructorLambdas() {
+    }
+
+    /**
+     * Binds a constructor to the single method of a functional interface.
+     *
+     * @param constructor         the constructor to bind
+     * @param functionalInterface the functional interface
+     * @param methodName          the name of the method of the functional interface
+     * @param methodType          the type of the method of the functional interface, its parameters being the ones of
+     *                            the constructor or their super types
+     * @param fallback            binds the method handle of the constructor, adapted to {@code methodType}, to the
+     *                            functional interface
+     * @param <F>                 the type of the functional interface
+     * @return the functional interface creating instances with the constructor
+     * @throws IllegalStateException if the constructor cannot be accessed
+     */
+    static <F> F bind(Constructor<?> constructor, Class<F> functionalInterface, String methodName,
+                      MethodType methodType, Function<MethodHandle, F> fallback) {
+        final Class<?> declaringClass = constructor.getDeclaringClass();
+        final Class<?>[] parameterTypes = constructor.getParameterTypes();
+
+        MethodHandle handle;
+        boolean spinnable;
+        try {
+            handle = LOOKUP.findConstructor(declaringClass, MethodType.methodType(void.class, parameterTypes));
+            spinnable = isVisible(declaringClass);
+            for (Class<?> parameterType : parameterTypes) {
+                spinnable &= isVisible(parameterType);
+            }
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            handle = unreflect(constructor);
+            spinnable = false;
+        }
+
+        if (spinnable) {
+            try {
+                return functionalInterface.cast(LambdaMetafactory.metafactory(LOOKUP, methodName,
+                        MethodType.methodType(functionalInterface), methodType, handle,
+                        MethodType.methodType(declaringClass, parameterTypes)).getTarget().invoke());
+            } catch (Throwable e) {
+                // e.g. a primitive parameter the interface passes as an object, which the handle below unboxes
+                log.debug("Cannot spin a " + functionalInterface.getSimpleName() + " for " + constructor
+                        + ", using its method handle.", e);
+            }
+        }
+        return fallback.apply(handle.asType(methodType));
+    }
+
+    private static MethodHandle unreflect(Constructor<?> constructor) {
+        try {
+            constructor.setAccessible(true);
+            return LOOKUP.unreflectConstructor(constructor);
+        } catch (IllegalAccessException | RuntimeException e) {
+            throw LogUtil.logExceptionAsError(log, new IllegalStateException("Cannot access " + constructor, e));
+        }
+    }
+
+    /**
+     * @return whether the class resolves to the same class from the class loader of this library
+     */
+    private static boolean isVisible(Class<?> type) {
+        while (type.isArray()) {
+            type = type.getComponentType();
+        }
+        if (type.isPrimitive()) {
+            return true;
+        }
+        try {
+            return Class.forName(type.getName(), false, ConstructorLambdas.class.getClassLoader()) == type;
+        } catch (ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.unisoft.core.http.rest;
+
+import com.unisoft.core.http.HttpResponse;
+import com.unisoft.core.http.exception.HttpResponseException;
+import com.unisoft.core.http.impl.UnexpectedExceptionInformation;
+import reactor.core.Exceptions;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The (message, response, value) constructors of the exceptions for unexpected responses, bound once by {@link
+ * ConstructorLambdas}.
+ *
+ * @author omar.H.Ajmi
+ * @since 17/10/2026
+ */
+class ExceptionConstructorsCache {
+    private static final MethodType CONSTRUCTOR_TYPE =
+            MethodType.methodType(HttpResponseException.class, String.class, HttpResponse.class, Object.class);
+
+    private final Map<Class<?>, ExceptionConstructor> cache = new ConcurrentHashMap<>();
+
+    /**
+     * Identify the constructor of the exception for an unexpected response.
+     *
+     * @param exception the information on the exception
+     * @return the constructor taking the message, the response and its decoded body
+     * @throws NoSuchMethodException if the exception type has no such constructor
+     */
+    ExceptionConstructor get(UnexpectedExceptionInformation exception) throws NoSuchMethodException {
+        final Class<? extends HttpResponseException> exceptionType = exception.getExceptionType();
+        ExceptionConstructor constructor = this.cache.get(exceptionType);
+        if (constructor == null) {
+            final Constructor<? extends HttpResponseException> exceptionConstructor = exceptionType.getConstructor(
+                    String.class, HttpResponse.class, exception.getExceptionBodyType());
+            constructor = ConstructorLambdas.bind(exceptionConstructor, ExceptionConstructor.class, "create",
+                    CONSTRUCTOR_TYPE, ExceptionConstructorsCache::exceptionConstructor);
+            this.cache.putIfAbsent(exceptionType, constructor);
+        }
+        return constructor;
+    }
+
+    private static ExceptionConstructor exceptionConstructor(MethodHandle handle) {
+        return (message, response, value) -> {
+            try {
+                return (HttpResponseException) handle.invokeExact(message, response, value);
+            } catch (Throwable e) {
+                throw Exceptions.propagate(e);
+            }
+        };
+    }
+
+    /**
+     * (message, response, value)
+     */
+    @FunctionalInterface
+    interface ExceptionConstructor {
+        HttpResponseException create(String message, HttpResponse response, Object value);
+    }
+}
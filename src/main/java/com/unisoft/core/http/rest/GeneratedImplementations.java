@@ -0,0 +1,58 @@
+package com.unisoft.core.http.rest;
+
+import java.lang.reflect.Constructor;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Names and locates the Service interface implementations generated by {@link ServiceInterfaceProcessor}.
+ * <p>
+ * The implementation of {@code com.example.Outer$Service} is {@code com.example.Outer_ServiceImpl}, created with the
+ * {@link RestProxy} it delegates to.
+ *
+ * @author omar.H.Ajmi
+ * @since 17/10/2026
+ */
+final class GeneratedImplementations {
+    private static final String SUFFIX = "Impl";
+    private static final Map<Class<?>, Optional<Constructor<?>>> CONSTRUCTORS = new ConcurrentHashMap<>();
+
+    private GeneratedImplementations() {
+    }
+
+    /**
+     * Get the binary name of the implementation generated for a Service interface.
+     *
+     * @param serviceInterfaceName the binary name of the Service interface
+     * @return the binary name of its generated implementation
+     */
+    static String getName(String serviceInterfaceName) {
+        final int packageEnd = serviceInterfaceName.lastIndexOf('.');
+        return serviceInterfaceName.substring(0, packageEnd + 1)
+                + serviceInterfaceName.substring(packageEnd + 1).replace('$', '_') + SUFFIX;
+    }
+
+    /**
+     * Get the constructor of the implementation generated for a Service interface, looked up once per interface.
+     *
+     * @param serviceInterface the Service interface
+     * @return the constructor taking the {@link RestProxy} to delegate to, null if no implementation was generated
+     */
+    static Constructor<?> getConstructor(Class<?> serviceInterface) {
+        return CONSTRUCTORS.computeIfAbsent(serviceInterface, GeneratedImplementations::findConstructor).orElse(null);
+    }
+
+    private static Optional<Constructor<?>> findConstructor(Class<?> serviceInterface) {
+        try {
+            final Class<?> implementation = Class.forName(getName(serviceInterface.getName()), false,
+                    serviceInterface.getClassLoader());
+            if (!serviceInterface.isAssignableFrom(implementation)) {
+                return Optional.empty();
+            }
+            return Optional.of(implementation.getConstructor(RestProxy.class));
+        } catch (ClassNotFoundException | NoSuchMethodException | LinkageError e) {
+            return Optional.empty();
+        }
+    }
+}
@@ -5,11 +5,15 @@ import com.unisoft.core.util.log.LogUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.HashSet;
-import java.util.Set;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 
 /**
  * An escaper that escapes URL data through percent encoding.
+ * <p>
+ * Whether an ASCII character is safe is looked up in a table, strings with only safe characters being returned as
+ * they are.
  *
  * @author omar.H.Ajmi
  * @since 16/01/2021
@@ -25,7 +29,10 @@ public class PercentEscaper {
 
 
     private final boolean usePlusForSpace;
-    private final Set<Integer> safeCharacterPoints;
+    // whether each ASCII character is safe
+    private final boolean[] safeAsciiCharacters = new boolean[128];
+    // the sorted safe code points above ASCII, usually none
+    private final int[] safeNonAsciiCodePoints;
 
     /**
      * Creates a percent escaper.
@@ -41,11 +48,13 @@ public class PercentEscaper {
                     "' ' as a safe character with 'usePlusForSpace = true' is an invalid configuration."));
         }
 
-        this.safeCharacterPoints = new HashSet<>();
-        SAFE_CHARACTERS.codePoints().forEach(safeCharacterPoints::add);
-        if (!CoreUtil.isNullOrEmpty(safeCharacters)) {
-            safeCharacters.codePoints().forEach(safeCharacterPoints::add);
-        }
+        final String allSafeCharacters = CoreUtil.isNullOrEmpty(safeCharacters)
+                ? SAFE_CHARACTERS
+                : SAFE_CHARACTERS + safeCharacters;
+        allSafeCharacters.codePoints().filter(codePoint -> codePoint < 128)
+                .forEach(codePoint -> this.safeAsciiCharacters[codePoint] = true);
+        this.safeNonAsciiCodePoints = allSafeCharacters.codePoints().filter(codePoint -> codePoint >= 128)
+                .sorted().distinct().toArray();
     }
 
     /*
@@ -89,152 +98,263 @@ public class PercentEscaper {
             return original;
         }
 
-        StringBuilder escapedBuilder = new StringBuilder();
-        int index = 0;
-        int end = original.length();
+        final int unsafeIndex = nextUnsafeIndex(original);
+        if (unsafeIndex == original.length()) {
+            return original;
+        }
+        final StringBuilder escapedBuilder = new StringBuilder(original.length() + 16);
+        escapedBuilder.append(original, 0, unsafeIndex);
+        escape(original, unsafeIndex, escapedBuilder);
+        return escapedBuilder.toString();
+    }
 
-        /*
-         * When the UTF-8 character is more than one byte the bytes will be converted to hex in reverse order to allow
-         * for simpler logic being used. To make this easier a temporary character array will be used to keep track of
-         * the conversion.
-         */
+    /**
+     * Escapes a string with the current settings on the escaper, appending it to a builder rather than creating a
+     * string.
+     *
+     * @param original        the origin string to escape, nothing being appended when null
+     * @param escapedBuilder the builder to append the escaped string to
+     */
+    public void escape(String original, StringBuilder escapedBuilder) {
+        if (CoreUtil.isNullOrEmpty(original)) {
+            return;
+        }
+
+        final int unsafeIndex = nextUnsafeIndex(original);
+        escapedBuilder.append(original, 0, unsafeIndex);
+        if (unsafeIndex < original.length()) {
+            escape(original, unsafeIndex, escapedBuilder);
+        }
+    }
+
+    /**
+     * Escapes a string with the current settings on the escaper, writing it to a buffer as UTF-8 rather than creating
+     * a string.
+     *
+     * @param original    the origin string to escape, nothing being written when null
+     * @param destination the buffer to write the escaped string to
+     * @throws java.nio.BufferOverflowException if the escaped string doesn't fit in the buffer
+     */
+    public void escape(String original, ByteBuffer destination) {
+        if (CoreUtil.isNullOrEmpty(original)) {
+            return;
+        }
+
+        final char[] chars = new char[12];
+        int index = 0;
+        final int end = original.length();
         while (index < end) {
-            int codePoint = getCodePoint(original, index, end, log);
+            final char c = original.charAt(index);
+            if (c < 128 && this.safeAsciiCharacters[c]) {
+                destination.put((byte) c);
+                index++;
+                continue;
+            }
+            final int codePoint = getCodePoint(original, index, end, log);
+            final int charCount = Character.charCount(codePoint);
+            if (codePoint >= 128 && isSafeNonAscii(codePoint)) {
+                destination.put(original.substring(index, index + charCount).getBytes(StandardCharsets.UTF_8));
+            } else {
+                final int length = escape(codePoint, chars);
+                for (int i = 0; i < length; i++) {
+                    destination.put((byte) chars[i]);
+                }
+            }
+            index += charCount;
+        }
+    }
 
-            // Supplementary code points comprise of two characters in the string.
-            index += (Character.isSupplementaryCodePoint(codePoint)) ? 2 : 1;
+    /**
+     * @return the index of the first character to escape, the length of the string if there is none
+     */
+    private int nextUnsafeIndex(String original) {
+        final int end = original.length();
+        for (int index = 0; index < end; index++) {
+            final char c = original.charAt(index);
+            if (c < 128) {
+                if (!this.safeAsciiCharacters[c]) {
+                    return index;
+                }
+            } else if (this.safeNonAsciiCodePoints.length == 0
+                    || !isSafeNonAscii(getCodePoint(original, index, end, log))) {
+                return index;
+            } else if (Character.isHighSurrogate(c)) {
+                index++;
+            }
+        }
+        return end;
+    }
+
+    private boolean isSafeNonAscii(int codePoint) {
+        return this.safeNonAsciiCodePoints.length != 0
+                && Arrays.binarySearch(this.safeNonAsciiCodePoints, codePoint) >= 0;
+    }
 
-            if (safeCharacterPoints.contains(codePoint)) {
+    /**
+     * Escapes the string from the index, appending to the builder.
+     */
+    private void escape(String original, int index, StringBuilder escapedBuilder) {
+        final char[] chars = new char[12];
+        final int end = original.length();
+        while (index < end) {
+            final char c = original.charAt(index);
+            if (c < 128 && this.safeAsciiCharacters[c]) {
                 // This is a safe character, use it as is.
-                escapedBuilder.append(Character.toChars(codePoint));
-            } else if (usePlusForSpace && codePoint == ' ') {
-                // Character is a space and we are using '+' instead of "%20".
-                escapedBuilder.append('+');
-            } else if (codePoint <= 0x7F) {
-                // Character is one byte, use format '%xx'.
-                // Leading bit is always 0.
-                escapedBuilder.append('%');
-
-                // Shift 4 times to the right to get the leading 4 bits and get the corresponding hex character.
-                escapedBuilder.append(HEX_CHARACTERS[codePoint >>> 4]);
-
-                // Mask all but the last 4 bits and get the corresponding hex character.
-                escapedBuilder.append(HEX_CHARACTERS[codePoint & 0xF]);
-            } else if (codePoint <= 0x7FF) {
-                /*
-                 * Character is two bytes, use the format '%xx%xx'. Leading bits in the first byte are always 110 and
-                 * the leading bits in the second byte are always 10. The conversion will happen using the following
-                 * logic:
-                 *
-                 * 1. Mask with bits 1111 to get the last hex character.
-                 * 2. Shift right 4 times to move to the next hex quad bits.
-                 * 3. Mask with bits 11 and then bitwise or with bits 1000 to get the leading hex in the second byte.
-                 * 4. Shift right 2 times to move to the next hex quad bits.
-                 *   a. This is only shifted twice since the bits 10 are the encoded value but not in the code point.
-                 * 5. Mask with bits 1111 to get the second hex character in the first byte.
-                 * 6. Shift right 4 times to move to the next hex quad bits.
-                 * 7. Bitwise or with bits 1100 to get the leading hex character.
-                 */
-                char[] chars = new char[6];
-                chars[0] = '%';
-                chars[3] = '%';
-
-                chars[5] = HEX_CHARACTERS[codePoint & 0xF];
-
-                codePoint >>>= 4;
-                chars[4] = HEX_CHARACTERS[0x8 | (codePoint & 0x3)];
-
-                codePoint >>>= 2;
-                chars[2] = HEX_CHARACTERS[codePoint & 0xF];
-
-                codePoint >>>= 4;
-                chars[1] = HEX_CHARACTERS[codePoint | 0xC];
-
-                escapedBuilder.append(chars);
-            } else if (codePoint <= 0xFFFF) {
-                /*
-                 * Character is three bytes, use the format '%Ex%xx%xx'. Leading bits in the first byte are always
-                 * 1110 (hence it is '%Ex'), the leading bits in both the second and third byte are always 10. The
-                 * conversion will happen using the following logic:
-                 *
-                 * 1. Mask with bits 1111 to get the last hex character.
-                 * 2. Shift right 4 times to move to the next hex quad bits.
-                 * 3. Mask with bits 11 and then bitwise or with bits 1000 to get the leading hex in the third byte.
-                 * 4. Shift right 2 times to move to the next hex quad bits.
-                 *   a. This is only shifted twice since the bits 10 are the encoded value but not in the code point.
-                 * 5. Repeat steps 1-4 to convert the second byte.
-                 * 6. Mask with bits 1111 to get the second hex character in the first byte.
-                 *
-                 * Note: No work is needed for the leading hex character since it is always 'E'.
-                 */
-                char[] chars = new char[9];
-                chars[0] = '%';
-                chars[1] = 'E';
-                chars[3] = '%';
-                chars[6] = '%';
-
-                chars[8] = HEX_CHARACTERS[codePoint & 0xF];
-
-                codePoint >>>= 4;
-                chars[7] = HEX_CHARACTERS[0x8 | (codePoint & 0x3)];
-
-                codePoint >>>= 2;
-                chars[5] = HEX_CHARACTERS[codePoint & 0xF];
-
-                codePoint >>>= 4;
-                chars[4] = HEX_CHARACTERS[0x8 | (codePoint & 0x3)];
-
-                codePoint >>>= 2;
-                chars[2] = HEX_CHARACTERS[codePoint & 0xF];
-
-                escapedBuilder.append(chars);
-            } else if (codePoint <= 0x10FFFF) {
-                /*
-                 * Character is four bytes, use the format '%Fx%xx%xx%xx'. Leading bits in the first byte are always
-                 * 11110 (hence it is '%Fx'), the leading bits in the other bytes are always 10. The conversion will
-                 * happen using the following logic:
-                 *
-                 * 1. Mask with bits 1111 to get the last hex character.
-                 * 2. Shift right 4 times to move to the next hex quad bits.
-                 * 3. Mask with bits 11 and then bitwise or with bits 1000 to get the leading hex in the fourth byte.
-                 * 4. Shift right 2 times to move to the next hex quad bits.
-                 *   a. This is only shifted twice since the bits 10 are the encoded value but not in the code point.
-                 * 5. Repeat steps 1-4 to convert the second and third bytes.
-                 * 6. Mask with bits 111 to get the second hex character in the first byte.
-                 *
-                 * Note: No work is needed for the leading hex character since it is always 'F'.
-                 */
-                char[] chars = new char[12];
-                chars[0] = '%';
-                chars[1] = 'F';
-                chars[3] = '%';
-                chars[6] = '%';
-                chars[9] = '%';
-
-                chars[11] = HEX_CHARACTERS[codePoint & 0xF];
-
-                codePoint >>>= 4;
-                chars[10] = HEX_CHARACTERS[0x8 | (codePoint & 0x3)];
-
-                codePoint >>>= 2;
-                chars[8] = HEX_CHARACTERS[codePoint & 0xF];
-
-                codePoint >>>= 4;
-                chars[7] = HEX_CHARACTERS[0x8 | (codePoint & 0x3)];
-
-                codePoint >>>= 2;
-                chars[5] = HEX_CHARACTERS[codePoint & 0xF];
-
-                codePoint >>>= 4;
-                chars[4] = HEX_CHARACTERS[0x8 | (codePoint & 0x3)];
-
-                codePoint >>>= 2;
-                chars[2] = HEX_CHARACTERS[codePoint & 0x7];
-
-                escapedBuilder.append(chars);
+                escapedBuilder.append(c);
+                index++;
+                continue;
+            }
+            final int codePoint = getCodePoint(original, index, end, log);
+
+            // Supplementary code points comprise of two characters in the string.
+            final int charCount = Character.charCount(codePoint);
+            if (codePoint >= 128 && isSafeNonAscii(codePoint)) {
+                escapedBuilder.append(original, index, index + charCount);
+            } else {
+                escapedBuilder.append(chars, 0, escape(codePoint, chars));
             }
+            index += charCount;
         }
+    }
 
-        return escapedBuilder.toString();
+    /**
+     * Escapes a code point that isn't safe.
+     *
+     * @param codePoint the code point
+     * @param chars     receives the escaped code point, at least 12 characters long
+     * @return the number of characters of the escaped code point
+     */
+    private int escape(int codePoint, char[] chars) {
+        /*
+         * When the UTF-8 character is more than one byte the bytes will be converted to hex in reverse order to allow
+         * for simpler logic being used.
+         */
+        if (usePlusForSpace && codePoint == ' ') {
+            // Character is a space and we are using '+' instead of "%20".
+            chars[0] = '+';
+            return 1;
+        } else if (codePoint <= 0x7F) {
+            // Character is one byte, use format '%xx'.
+            // Leading bit is always 0.
+            chars[0] = '%';
+
+            // Shift 4 times to the right to get the leading 4 bits and get the corresponding hex character.
+            chars[1] = HEX_CHARACTERS[codePoint >>> 4];
+
+            // Mask all but the last 4 bits and get the corresponding hex character.
+            chars[2] = HEX_CHARACTERS[codePoint & 0xF];
+            return 3;
+        } else if (codePoint <= 0x7FF) {
+            /*
+             * Character is two bytes, use the format '%xx%xx'. Leading bits in the first byte are always 110 and
+             * the leading bits in the second byte are always 10. The conversion will happen using the following
+             * logic:
+             *
+             * 1. Mask with bits 1111 to get the last hex character.
+             * 2. Shift right 4 times to move to the next hex quad bits.
+             * 3. Mask with bits 11 and then bitwise or with bits 1000 to get the leading hex in the second byte.
+             * 4. Shift right 2 times to move to the next hex quad bits.
+             *   a. This is only shifted twice since the bits 10 are the encoded value but not in the code point.
+             * 5. Mask with bits 1111 to get the second hex character in the first byte.
+             * 6. Shift right 4 times to move to the next hex quad bits.
+             * 7. Bitwise or with bits 1100 to get the leading hex character.
+             */
+            chars[0] = '%';
+            chars[3] = '%';
+
+            chars[5] = HEX_CHARACTERS[codePoint & 0xF];
+
+            codePoint >>>= 4;
+            chars[4] = HEX_CHARACTERS[0x8 | (codePoint & 0x3)];
+
+            codePoint >>>= 2;
+            chars[2] = HEX_CHARACTERS[codePoint & 0xF];
+
+            codePoint >>>= 4;
+            chars[1] = HEX_CHARACTERS[codePoint | 0xC];
+
+            return 6;
+        } else if (codePoint <= 0xFFFF) {
+            /*
+             * Character is three bytes, use the format '%Ex%xx%xx'. Leading bits in the first byte are always
+             * 1110 (hence it is '%Ex'), the leading bits in both the second and third byte are always 10. The
+             * conversion will happen using the following logic:
+             *
+             * 1. Mask with bits 1111 to get the last hex character.
+             * 2. Shift right 4 times to move to the next hex quad bits.
+             * 3. Mask with bits 11 and then bitwise or with bits 1000 to get the leading hex in the third byte.
+             * 4. Shift right 2 times to move to the next hex quad bits.
+             *   a. This is only shifted twice since the bits 10 are the encoded value but not in the code point.
+             * 5. Repeat steps 1-4 to convert the second byte.
+             * 6. Mask with bits 1111 to get the second hex character in the first byte.
+             *
+             * Note: No work is needed for the leading hex character since it is always 'E'.
+             */
+            chars[0] = '%';
+            chars[1] = 'E';
+            chars[3] = '%';
+            chars[6] = '%';
+
+            chars[8] = HEX_CHARACTERS[codePoint & 0xF];
+
+            codePoint >>>= 4;
+            chars[7] = HEX_CHARACTERS[0x8 | (codePoint & 0x3)];
+
+            codePoint >>>= 2;
+            chars[5] = HEX_CHARACTERS[codePoint & 0xF];
+
+            codePoint >>>= 4;
+            chars[4] = HEX_CHARACTERS[0x8 | (codePoint & 0x3)];
+
+            codePoint >>>= 2;
+            chars[2] = HEX_CHARACTERS[codePoint & 0xF];
+
+            return 9;
+        } else if (codePoint <= 0x10FFFF) {
+            /*
+             * Character is four bytes, use the format '%Fx%xx%xx%xx'. Leading bits in the first byte are always
+             * 11110 (hence it is '%Fx'), the leading bits in the other bytes are always 10. The conversion will
+             * happen using the following logic:
+             *
+             * 1. Mask with bits 1111 to get the last hex character.
+             * 2. Shift right 4 times to move to the next hex quad bits.
+             * 3. Mask with bits 11 and then bitwise or with bits 1000 to get the leading hex in the fourth byte.
+             * 4. Shift right 2 times to move to the next hex quad bits.
+             *   a. This is only shifted twice since the bits 10 are the encoded value but not in the code point.
+             * 5. Repeat steps 1-4 to convert the second and third bytes.
+             * 6. Mask with bits 111 to get the second hex character in the first byte.
+             *
+             * Note: No work is needed for the leading hex character since it is always 'F'.
+             */
+            chars[0] = '%';
+            chars[1] = 'F';
+            chars[3] = '%';
+            chars[6] = '%';
+            chars[9] = '%';
+
+            chars[11] = HEX_CHARACTERS[codePoint & 0xF];
+
+            codePoint >>>= 4;
+            chars[10] = HEX_CHARACTERS[0x8 | (codePoint & 0x3)];
+
+            codePoint >>>= 2;
+            chars[8] = HEX_CHARACTERS[codePoint & 0xF];
+
+            codePoint >>>= 4;
+            chars[7] = HEX_CHARACTERS[0x8 | (codePoint & 0x3)];
+
+            codePoint >>>= 2;
+            chars[5] = HEX_CHARACTERS[codePoint & 0xF];
+
+            codePoint >>>= 4;
+            chars[4] = HEX_CHARACTERS[0x8 | (codePoint & 0x3)];
+
+            codePoint >>>= 2;
+            chars[2] = HEX_CHARACTERS[codePoint & 0x7];
+
+            return 12;
+        }
+        // not a code point
+        return 0;
     }
 }
@@ -0,0 +1,317 @@
+package com.unisoft.core.http.rest;
+
+import com.unisoft.core.http.buffer.ByteBufferAllocator;
+import com.unisoft.core.http.buffer.ByteBufferOutputStream;
+import com.unisoft.core.http.serialize.SerializerAdapter;
+import com.unisoft.core.http.serialize.SerializerEncoding;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.FluxSink;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Serializes request bodies in a single pass, whole when they fit in one chunk or as a stream of fixed-size chunks
+ * otherwise.
+ * <p>
+ * The serializer writes on a {@link Schedulers#boundedElastic() bounded elastic} thread, first into a buffer of the
+ * pipeline allocator. A body ending within a chunk is copied to a buffer of its size and the pooled buffer released.
+ * Once the body outgrows a chunk, the bytes written so far start the first chunk of a streamed body and the serializer
+ * goes on waiting for the downstream demand before filling each next chunk, so that at most one chunk is being filled
+ * while the transport writes the previous ones. Chunks are plain heap buffers: they are handed to the transport, which
+ * gives no signal once they are written.
+ *
+ * @author omar.H.Ajmi
+ * @since 17/10/2026
+ */
+final class RequestBodySerializer {
+    static final int DEFAULT_CHUNK_SIZE = 32 * 1024;
+
+    private final SerializerAdapter serializer;
+    private final ByteBufferAllocator allocator;
+    private final int chunkSize;
+
+    RequestBodySerializer(SerializerAdapter serializer, ByteBufferAllocator allocator) {
+        this(serializer, allocator, DEFAULT_CHUNK_SIZE);
+    }
+
+    RequestBodySerializer(SerializerAdapter serializer, ByteBufferAllocator allocator, int chunkSize) {
+        this.serializer = serializer;
+        this.allocator = allocator;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Serializes the body, emitting it once it either ends within a chunk or outgrows it. A streamed body goes on
+     * being serialized as its first subscriber consumes it, later subscribers serializing it again.
+     *
+     * @param body     the body to serialize
+     * @param encoding the encoding to serialize the body with
+     * @return the serialized body, to dispose of once the exchange completes
+     */
+    Mono<SerializedBody> serialize(Object body, SerializerEncoding encoding) {
+        return Mono.defer(() -> {
+            final ChunkedOutputStream chunks = new ChunkedOutputStream(this.chunkSize);
+            return Mono.<ByteBuffer>create(whole -> {
+                whole.onCancel(chunks::dispose);
+                chunks.buffer(this.allocator, whole);
+                write(body, encoding, chunks);
+            }).map(SerializedBody::new).switchIfEmpty(Mono.fromSupplier(() -> {
+                final AtomicBoolean consumed = new AtomicBoolean();
+                return new SerializedBody(Flux.defer(() -> consumed.compareAndSet(false, true)
+                        ? Flux.<ByteBuffer>create(chunks::attach)
+                        : serializeStreaming(body, encoding)), chunks::abandon);
+            }));
+        });
+    }
+
+    /**
+     * Serializes the body as it is consumed, in chunks of at most the chunk size.
+     *
+     * @param body     the body to serialize
+     * @param encoding the encoding to serialize the body with
+     * @return the chunks of the serialized body, serialized again for every subscription
+     */
+    Flux<ByteBuffer> serializeStreaming(Object body, SerializerEncoding encoding) {
+        return Flux.create(sink -> {
+            final ChunkedOutputStream chunks = new ChunkedOutputStream(this.chunkSize);
+            chunks.attach(sink);
+            write(body, encoding, chunks);
+        });
+    }
+
+    private void write(Object body, SerializerEncoding encoding, ChunkedOutputStream chunks) {
+        Schedulers.boundedElastic().schedule(() -> {
+            try {
+                this.serializer.serialize(body, encoding, chunks);
+                chunks.complete();
+            } catch (IOException | RuntimeException e) {
+                chunks.error(e);
+            }
+        });
+    }
+
+    /**
+     * A serialized body, either whole with its length or streamed.
+     */
+    static final class SerializedBody {
+        private final long length;
+        private final Flux<ByteBuffer> content;
+        private final Runnable disposer;
+
+        private SerializedBody(ByteBuffer whole) {
+            this.length = whole.remaining();
+            this.content = Flux.defer(() -> Flux.just(whole.duplicate()));
+            this.disposer = () -> { };
+        }
+
+        private SerializedBody(Flux<ByteBuffer> chunks, Runnable disposer) {
+            this.length = -1;
+            this.content = chunks;
+            this.disposer = disposer;
+        }
+
+        /**
+         * @return the length of a whole body, -1 for a streamed one
+         */
+        long getLength() {
+            return this.length;
+        }
+
+        /**
+         * @return the content of the body
+         */
+        Flux<ByteBuffer> getContent() {
+            return this.content;
+        }
+
+        /**
+         * Stops serializing a streamed body that was never subscribed to.
+         */
+        void dispose() {
+            this.disposer.run();
+        }
+    }
+
+    /**
+     * Stream buffering the first chunk until the body either ends or outgrows it, then emitting full chunks to a sink,
+     * waiting for the sink demand.
+     */
+    private static final class ChunkedOutputStream extends OutputStream {
+        private final int chunkSize;
+        // the first chunk and the sink of the whole body while buffering, only used by the serializer thread
+        private ByteBufferOutputStream first;
+        private MonoSink<ByteBuffer> whole;
+        private ByteBuffer chunk;
+        private FluxSink<ByteBuffer> sink;
+        private Throwable error;
+        private long demand;
+        private boolean disposed;
+
+        private ChunkedOutputStream(int chunkSize) {
+            this.chunkSize = chunkSize;
+        }
+
+        private void buffer(ByteBufferAllocator allocator, MonoSink<ByteBuffer> whole) {
+            this.first = new ByteBufferOutputStream(allocator, Math.min(1024, this.chunkSize));
+            this.whole = whole;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            if (this.first != null) {
+                if (this.first.size() < this.chunkSize) {
+                    this.first.write(b);
+                    return;
+                }
+                overflow();
+            }
+            if (this.chunk == null) {
+                this.chunk = ByteBuffer.allocate(this.chunkSize);
+            }
+            this.chunk.put((byte) b);
+            if (!this.chunk.hasRemaining()) {
+                emit();
+            }
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            Objects.checkFromIndexSize(off, len, b.length);
+            if (this.first != null) {
+                if (this.first.size() + len <= this.chunkSize) {
+                    this.first.write(b, off, len);
+                    return;
+                }
+                overflow();
+            }
+            while (len > 0) {
+                if (this.chunk == null) {
+                    this.chunk = ByteBuffer.allocate(this.chunkSize);
+                }
+                final int written = Math.min(len, this.chunk.remaining());
+                this.chunk.put(b, off, written);
+                off += written;
+                len -= written;
+                if (!this.chunk.hasRemaining()) {
+                    emit();
+                }
+            }
+        }
+
+        private void overflow() {
+            this.chunk = ByteBuffer.allocate(this.chunkSize);
+            this.chunk.put(this.first.toByteBuffer());
+            this.first.release();
+            this.first = null;
+            final MonoSink<ByteBuffer> streamed = this.whole;
+            this.whole = null;
+            streamed.success();
+        }
+
+        private void complete() throws IOException {
+            if (this.first != null) {
+                final ByteBuffer content;
+                try {
+                    content = ByteBuffer.wrap(this.first.toByteArray()).asReadOnlyBuffer();
+                } finally {
+                    this.first.release();
+                    this.first = null;
+                }
+                this.whole.success(content);
+                return;
+            }
+            if (this.chunk != null && this.chunk.position() > 0) {
+                emit();
+            }
+            sink().complete();
+        }
+
+        private void error(Throwable e) {
+            if (this.first != null) {
+                this.first.release();
+                this.first = null;
+                this.whole.error(e);
+                return;
+            }
+            final FluxSink<ByteBuffer> sink;
+            synchronized (this) {
+                if (this.disposed) {
+                    return;
+                }
+                if (this.sink == null) {
+                    this.error = e;
+                    return;
+                }
+                sink = this.sink;
+            }
+            sink.error(e);
+        }
+
+        private void emit() throws IOException {
+            synchronized (this) {
+                while (this.demand == 0 && !this.disposed) {
+                    try {
+                        wait();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new InterruptedIOException("Interrupted while waiting for the body to be consumed.");
+                    }
+                }
+                if (this.disposed) {
+                    throw new IOException("The body subscription was cancelled.");
+                }
+                this.demand--;
+            }
+            final ByteBuffer full = this.chunk;
+            this.chunk = null;
+            full.flip();
+            sink().next(full);
+        }
+
+        private synchronized FluxSink<ByteBuffer> sink() {
+            return this.sink;
+        }
+
+        private void attach(FluxSink<ByteBuffer> sink) {
+            final Throwable error;
+            synchronized (this) {
+                if (this.disposed) {
+                    sink.error(new IllegalStateException("The exchange completed before the body was consumed."));
+                    return;
+                }
+                this.sink = sink;
+                error = this.error;
+            }
+            if (error != null) {
+                sink.error(error);
+                return;
+            }
+            sink.onRequest(this::request);
+            sink.onDispose(this::dispose);
+        }
+
+        private synchronized void abandon() {
+            if (this.sink == null) {
+                dispose();
+            }
+        }
+
+        private synchronized void request(long n) {
+            this.demand = this.demand + n < 0 ? Long.MAX_VALUE : this.demand + n;
+            notifyAll();
+        }
+
+        private synchronized void dispose() {
+            this.disposed = true;
+            notifyAll();
+        }
+    }
+}
@@ -7,10 +7,12 @@ import com.unisoft.core.http.serialize.impl.HttpResponseDecoder;
 import com.unisoft.core.util.log.LogUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import reactor.core.Exceptions;
 import reactor.core.publisher.Mono;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Constructor;
-import java.lang.reflect.InvocationTargetException;
 import java.util.Arrays;
 import java.util.Comparator;
 import java.util.Map;
@@ -25,7 +27,7 @@ import java.util.function.Supplier;
 public class ResponseConstructorsCache {
     private static final Logger log = LoggerFactory.getLogger(ResponseConstructorsCache.class);
 
-    private final Map<Class<?>, Constructor<? extends Response<?>>> cache = new ConcurrentHashMap<>();
+    private final Map<Class<?>, ResponseConstructor> cache = new ConcurrentHashMap<>();
 
     /**
      * Identify the suitable constructor for the given response class.
@@ -33,7 +35,7 @@ public class ResponseConstructorsCache {
      * @param responseClass the response class
      * @return identified constructor, null if there is no match
      */
-    Constructor<? extends Response<?>> get(Class<? extends Response<?>> responseClass) {
+    ResponseConstructor get(Class<? extends Response<?>> responseClass) {
         return this.cache.computeIfAbsent(responseClass, this::locateResponseConstructor);
     }
 
@@ -41,7 +43,7 @@ public class ResponseConstructorsCache {
      * Identify the most specific constructor for the given response class.
      * <p>
      * The most specific constructor is looked up following order:
-     * 1. (httpRequest, statusCode, headers, body, decodedHeaders)
+     * 1. (httpRequest, statusCode, decodedHeaders, headers, body)
      * 2. (httpRequest, statusCode, headers, body)
      * 3. (httpRequest, statusCode, headers)
      * <p>
@@ -53,19 +55,14 @@ public class ResponseConstructorsCache {
      * @param responseClass the response class
      * @return identified constructor, null if there is no match
      */
-    @SuppressWarnings("unchecked")
-    private Constructor<? extends Response<?>> locateResponseConstructor(Class<?> responseClass) {
+    private ResponseConstructor locateResponseConstructor(Class<?> responseClass) {
         Constructor<?>[] constructors = responseClass.getDeclaredConstructors();
         // Sort constructors in the "descending order" of parameter count.
         Arrays.sort(constructors, Comparator.comparing(Constructor::getParameterCount, (a, b) -> b - a));
         for (Constructor<?> constructor : constructors) {
             final int paramCount = constructor.getParameterCount();
             if (paramCount >= 3 && paramCount <= 5) {
-                try {
-                    return (Constructor<? extends Response<?>>) constructor;
-                } catch (Throwable t) {
-                    throw LogUtil.logExceptionAsError(log, new RuntimeException(t));
-                }
+                return new ResponseConstructor(constructor);
             }
         }
         return null;
@@ -79,7 +76,7 @@ public class ResponseConstructorsCache {
      * @param bodyAsObject    the http response content
      * @return an instance of a {@link Response} implementation
      */
-    Mono<Response<?>> invoke(final Constructor<? extends Response<?>> constructor,
+    Mono<Response<?>> invoke(final ResponseConstructor constructor,
                              final HttpResponseDecoder.HttpDecodedResponse decodedResponse,
                              final Object bodyAsObject) {
         final HttpResponse httpResponse = decodedResponse.getSourceResponse();
@@ -87,24 +84,23 @@ public class ResponseConstructorsCache {
         final int responseStatusCode = httpResponse.getStatusCode();
         final HttpHeaders responseHeaders = httpResponse.getHeaders();
 
-        final int paramCount = constructor.getParameterCount();
-        switch (paramCount) {
+        switch (constructor.getParameterCount()) {
             case 3:
                 try {
-                    return Mono.just(constructor.newInstance(httpRequest,
+                    return Mono.just(constructor.headersConstructor.create(httpRequest,
                             responseStatusCode,
                             responseHeaders));
-                } catch (IllegalAccessException | InvocationTargetException | InstantiationException e) {
+                } catch (RuntimeException e) {
                     throw LogUtil.logExceptionAsError(log, new RuntimeException("Failed to deserialize 3-parameter"
                             + " response. ", e));
                 }
             case 4:
                 try {
-                    return Mono.just(constructor.newInstance(httpRequest,
+                    return Mono.just(constructor.bodyConstructor.create(httpRequest,
                             responseStatusCode,
                             responseHeaders,
                             bodyAsObject));
-                } catch (IllegalAccessException | InvocationTargetException | InstantiationException e) {
+                } catch (RuntimeException e) {
                     throw LogUtil.logExceptionAsError(log, new RuntimeException("Failed to deserialize 4-parameter"
                             + " response. ", e));
                 }
@@ -112,24 +108,24 @@ public class ResponseConstructorsCache {
                 return decodedResponse.getDecodedHeaders()
                         .map((Function<Object, Response<?>>) decodedHeaders -> {
                             try {
-                                return constructor.newInstance(httpRequest,
+                                return constructor.decodedHeadersConstructor.create(httpRequest,
                                         responseStatusCode,
-                                        responseHeaders,
                                         decodedHeaders,
+                                        responseHeaders,
                                         bodyAsObject);
-                            } catch (IllegalAccessException | InvocationTargetException | InstantiationException e) {
+                            } catch (RuntimeException e) {
                                 throw LogUtil.logExceptionAsError(log, new RuntimeException("Failed to deserialize 5-parameter"
                                         + " response with decoded headers. ", e));
                             }
                         })
                         .switchIfEmpty(Mono.defer((Supplier<Mono<Response<?>>>) () -> {
                             try {
-                                return Mono.just(constructor.newInstance(httpRequest,
+                                return Mono.just(constructor.decodedHeadersConstructor.create(httpRequest,
                                         responseStatusCode,
-                                        responseHeaders,
                                         null,
+                                        responseHeaders,
                                         bodyAsObject));
-                            } catch (IllegalAccessException | InvocationTargetException | InstantiationException e) {
+                            } catch (RuntimeException e) {
                                 throw LogUtil.logExceptionAsError(log, new RuntimeException(
                                         "Failed to deserialize 5-parameter response without decoded headers.", e));
                             }
@@ -139,4 +135,98 @@ public class ResponseConstructorsCache {
                         new IllegalStateException("Response constructor with expected parameters not found."));
         }
     }
+
+    /**
+     * A {@link Response} constructor of 3 to 5 parameters, bound once by {@link ConstructorLambdas} to the functional
+     * interface of its parameter count.
+     */
+    static final class ResponseConstructor {
+        private final int parameterCount;
+        private final HeadersConstructor headersConstructor;
+        private final BodyConstructor bodyConstructor;
+        private final DecodedHeadersConstructor decodedHeadersConstructor;
+
+        ResponseConstructor(Constructor<?> constructor) {
+            this.parameterCount = constructor.getParameterCount();
+            this.headersConstructor = this.parameterCount == 3
+                    ? ConstructorLambdas.bind(constructor, HeadersConstructor.class, "create",
+                    MethodType.methodType(Response.class, HttpRequest.class, int.class, HttpHeaders.class),
+                    ResponseConstructor::headersConstructor)
+                    : null;
+            this.bodyConstructor = this.parameterCount == 4
+                    ? ConstructorLambdas.bind(constructor, BodyConstructor.class, "create",
+                    MethodType.methodType(Response.class, HttpRequest.class, int.class, HttpHeaders.class,
+                            Object.class),
+                    ResponseConstructor::bodyConstructor)
+                    : null;
+            this.decodedHeadersConstructor = this.parameterCount == 5
+                    ? ConstructorLambdas.bind(constructor, DecodedHeadersConstructor.class, "create",
+                    MethodType.methodType(Response.class, HttpRequest.class, int.class, Object.class,
+                            HttpHeaders.class, Object.class),
+                    ResponseConstructor::decodedHeadersConstructor)
+                    : null;
+        }
+
+        /**
+         * @return the number of parameters of the constructor, 3 to 5
+         */
+        int getParameterCount() {
+            return this.parameterCount;
+        }
+
+        private static HeadersConstructor headersConstructor(MethodHandle handle) {
+            return (request, statusCode, headers) -> {
+                try {
+                    return (Response<?>) handle.invokeExact(request, statusCode, headers);
+                } catch (Throwable e) {
+                    throw Exceptions.propagate(e);
+                }
+            };
+        }
+
+        private static BodyConstructor bodyConstructor(MethodHandle handle) {
+            return (request, statusCode, headers, body) -> {
+                try {
+                    return (Response<?>) handle.invokeExact(request, statusCode, headers, body);
+                } catch (Throwable e) {
+                    throw Exceptions.propagate(e);
+                }
+            };
+        }
+
+        private static DecodedHeadersConstructor decodedHeadersConstructor(MethodHandle handle) {
+            return (request, statusCode, decodedHeaders, headers, body) -> {
+                try {
+                    return (Response<?>) handle.invokeExact(request, statusCode, decodedHeaders, headers, body);
+                } catch (Throwable e) {
+                    throw Exceptions.propagate(e);
+                }
+            };
+        }
+    }
+
+    /**
+     * (httpRequest, statusCode, headers)
+     */
+    @FunctionalInterface
+    interface HeadersConstructor {
+        Response<?> create(HttpRequest request, int statusCode, HttpHeaders headers);
+    }
+
+    /**
+     * (httpRequest, statusCode, headers, body)
+     */
+    @FunctionalInterface
+    interface BodyConstructor {
+        Response<?> create(HttpRequest request, int statusCode, HttpHeaders headers, Object body);
+    }
+
+    /**
+     * (httpRequest, statusCode, decodedHeaders, headers, body), as {@link ResponseBase}
+     */
+    @FunctionalInterface
+    interface DecodedHeadersConstructor {
+        Response<?> create(HttpRequest request, int statusCode, Object decodedHeaders, HttpHeaders headers,
+                           Object body);
+    }
 }
@@ -2,15 +2,19 @@ package com.unisoft.core.http.rest;
 
 import com.unisoft.core.http.*;
 import com.unisoft.core.http.annotation.ResumeOperation;
+import com.unisoft.core.http.buffer.ByteBufferAllocator;
 import com.unisoft.core.http.exception.HttpResponseException;
 import com.unisoft.core.http.exception.UnexpectedLengthException;
+import com.unisoft.core.http.impl.BufferedHttpResponse;
 import com.unisoft.core.http.impl.UnexpectedExceptionInformation;
 import com.unisoft.core.http.policy.HttpPipelinePolicy;
 import com.unisoft.core.http.serialize.JacksonAdapter;
 import com.unisoft.core.http.serialize.SerializerAdapter;
 import com.unisoft.core.http.serialize.SerializerEncoding;
+import com.unisoft.core.http.serialize.impl.HttpResponseDecodePlan;
 import com.unisoft.core.http.serialize.impl.HttpResponseDecoder;
 import com.unisoft.core.http.serialize.impl.HttpResponseDecoder.HttpDecodedResponse;
+import com.unisoft.core.http.util.ParsedUrl;
 import com.unisoft.core.http.util.UrlBuilder;
 import com.unisoft.core.util.*;
 import com.unisoft.core.util.log.LogUtil;
@@ -20,10 +24,9 @@ import reactor.core.Exceptions;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.lang.reflect.*;
-import java.net.URL;
+import java.net.MalformedURLException;
 import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
@@ -31,8 +34,6 @@ import java.util.List;
 import java.util.function.Function;
 import java.util.function.Supplier;
 
-import static com.unisoft.core.http.serialize.impl.HttpResponseBodyDecoder.isReturnTypeDecodable;
-
 /**
  * Type to create a proxy implementation for an interface describing REST API methods.
  * <p>
@@ -46,11 +47,13 @@ public final class RestProxy implements InvocationHandler {
     private static final ByteBuffer VALIDATION_BUFFER = ByteBuffer.allocate(0);
     private static final String BODY_TOO_LARGE = "Request body emitted %d bytes, more than the expected %d bytes.";
     private static final String BODY_TOO_SMALL = "Request body emitted %d bytes, less than the expected %d bytes.";
+    private static final ExceptionConstructorsCache EXCEPTION_CONSTRUCTORS = new ExceptionConstructorsCache();
     private final Logger log = LoggerFactory.getLogger(RestProxy.class);
     private final HttpPipeline httpPipeline;
     private final SerializerAdapter serializer;
     private final ServiceInterfaceParser interfaceParser;
     private final HttpResponseDecoder decoder;
+    private final RequestBodySerializer bodySerializer;
 
     private final ResponseConstructorsCache responseConstructorsCache;
 
@@ -67,6 +70,7 @@ public final class RestProxy implements InvocationHandler {
         this.serializer = serializer;
         this.interfaceParser = interfaceParser;
         this.decoder = new HttpResponseDecoder(this.serializer);
+        this.bodySerializer = new RequestBodySerializer(this.serializer, httpPipeline.getByteBufferAllocator());
         this.responseConstructorsCache = new ResponseConstructorsCache();
     }
 
@@ -124,13 +128,11 @@ public final class RestProxy implements InvocationHandler {
 
         Exception result;
         try {
-            final Constructor<? extends HttpResponseException> exceptionConstructor =
-                    exception.getExceptionType().getConstructor(String.class, HttpResponse.class,
-                            exception.getExceptionBodyType());
-            result = exceptionConstructor.newInstance("Status code " + responseStatusCode + ", " + bodyRepresentation,
+            result = EXCEPTION_CONSTRUCTORS.get(exception).create(
+                    "Status code " + responseStatusCode + ", " + bodyRepresentation,
                     httpResponse,
                     responseDecodedContent);
-        } catch (ReflectiveOperationException e) {
+        } catch (NoSuchMethodException | RuntimeException e) {
             String message = "Status code " + responseStatusCode + ", but an instance of "
                     + exception.getExceptionType().getCanonicalName() + " cannot be created."
                     + " Response body: " + bodyRepresentation;
@@ -204,6 +206,9 @@ public final class RestProxy implements InvocationHandler {
 
     /**
      * Create a proxy implementation of the provided Service interface.
+     * <p>
+     * The implementation generated by {@link ServiceInterfaceProcessor} at compile time is used when there is one, a
+     * dynamic {@link Proxy} otherwise.
      *
      * @param serviceInterface the Service interface to provide a proxy implementation for
      * @param httpPipeline     the HttpPipelinePolicy and HttpClient pipeline that will be used to send Http requests
@@ -214,11 +219,39 @@ public final class RestProxy implements InvocationHandler {
     @SuppressWarnings("unchecked")
     public static <A> A create(Class<A> serviceInterface, HttpPipeline httpPipeline, SerializerAdapter serializer) {
         final ServiceInterfaceParser interfaceParser = new ServiceInterfaceParser(serviceInterface, serializer);
+        // the return types are planned and their deserialization prepared up front rather than on the first
+        // invocation of each method
+        for (Method method : serviceInterface.getMethods()) {
+            if (ServiceInterfaceParser.isServiceMethod(method)) {
+                final HttpResponseDecodePlan decodePlan = interfaceParser.getMethodParser(method).getDecodePlan();
+                if (decodePlan.isReturnTypeDecodable()) {
+                    final Type directWireResponseType = decodePlan.getDirectWireResponseType(serializer);
+                    serializer.warmUp(directWireResponseType == null
+                            ? decodePlan.getWireResponseType()
+                            : directWireResponseType);
+                }
+            }
+        }
         final RestProxy restProxy = new RestProxy(httpPipeline, serializer, interfaceParser);
+        final Constructor<?> generatedImplementation = GeneratedImplementations.getConstructor(serviceInterface);
+        if (generatedImplementation != null) {
+            return (A) restProxy.newGeneratedImplementation(generatedImplementation);
+        }
         return (A) Proxy.newProxyInstance(serviceInterface.getClassLoader(), new Class<?>[]{serviceInterface},
                 restProxy);
     }
 
+    private Object newGeneratedImplementation(Constructor<?> constructor) {
+        try {
+            return constructor.newInstance(this);
+        } catch (InvocationTargetException e) {
+            throw LogUtil.logExceptionAsError(log, Exceptions.propagate(e.getCause()));
+        } catch (ReflectiveOperationException e) {
+            throw LogUtil.logExceptionAsError(log, new IllegalStateException(
+                    "Cannot create the generated implementation " + constructor.getDeclaringClass().getName(), e));
+        }
+    }
+
     /**
      * Get the ServiceMethodParser for the provided method. The Method must exist on the Service interface that this
      * RestProxy was created to "implement".
@@ -230,6 +263,26 @@ public final class RestProxy implements InvocationHandler {
         return interfaceParser.getMethodParser(method);
     }
 
+    /**
+     * Get the ServiceMethodParser for a method of the Service interface, resolved once by the implementations
+     * generated by {@link ServiceInterfaceProcessor}.
+     *
+     * @param serviceInterface the Service interface that this RestProxy was created to "implement"
+     * @param methodName       the name of the method
+     * @param parameterTypes   the parameter types of the method
+     * @return the ServiceMethodParser for the method
+     * @throws IllegalArgumentException if the Service interface has no such method
+     */
+    public ServiceMethodParser getMethodParser(Class<?> serviceInterface, String methodName,
+                                               Class<?>... parameterTypes) {
+        try {
+            return getMethodParser(serviceInterface.getMethod(methodName, parameterTypes));
+        } catch (NoSuchMethodException e) {
+            throw LogUtil.logExceptionAsError(log, new IllegalArgumentException(
+                    serviceInterface.getName() + " has no method " + methodName, e));
+        }
+    }
+
     /**
      * Send the provided request asynchronously, applying any request policies provided to the HttpClient instance.
      *
@@ -243,40 +296,98 @@ public final class RestProxy implements InvocationHandler {
 
     @Override
     public Object invoke(Object proxy, final Method method, Object[] args) {
-        try {
-            if (method.isAnnotationPresent(ResumeOperation.class)) {
-                throw LogUtil.logExceptionAsError(log, Exceptions.propagate(
-                        new Exception("The resume operation isn't supported.")));
-            }
+        if (method.isAnnotationPresent(ResumeOperation.class)) {
+            throw LogUtil.logExceptionAsError(log, Exceptions.propagate(
+                    new Exception("The resume operation isn't supported.")));
+        }
+
+        return invoke(getMethodParser(method), args);
+    }
 
-            final ServiceMethodParser methodParser = getMethodParser(method);
+    /**
+     * Invoke a Service interface method with the provided arguments.
+     *
+     * @param methodParser the ServiceMethodParser of the invoked method
+     * @param args         the arguments of the invocation
+     * @return the value to return from the invoked method
+     */
+    public Object invoke(final ServiceMethodParser methodParser, Object[] args) {
+        try {
             final HttpRequest request = createHttpRequest(methodParser, args);
+            final Object bodyContentObject = methodParser.setBody(args);
+            final SerializerEncoding bodyEncoding = configRequest(request, methodParser, bodyContentObject);
+            // Headers from Service method arguments always take precedence over inferred headers from body types
+            methodParser.setHeaders(args, request.getHeaders());
+
+            // Flux<T> elements are decoded as the body is read
+            final ReturnTypePlan returnTypePlan = methodParser.getReturnTypePlan();
+            final boolean eagerlyReadResponse = methodParser.getDecodePlan().isReturnTypeDecodable()
+                    && returnTypePlan.getShape() != ReturnTypePlan.Shape.FLUX;
             Context context = methodParser.setContext(args)
                     .addData("caller-method", methodParser.getFullyQualifiedMethodName())
-                    .addData("unisoft-eagerly-read-response", isReturnTypeDecodable(methodParser.getReturnType()));
+                    .addData("unisoft-eagerly-read-response", eagerlyReadResponse);
             //TODO tracing?
 
-            if (request.getBody() != null) {
-                request.setBody(validateLength(request));
+            Mono<HttpResponse> asyncResponse;
+            if (bodyEncoding != null) {
+                asyncResponse = sendSerialized(request, bodyContentObject, bodyEncoding, context);
+            } else {
+                if (request.getBody() != null) {
+                    request.setBody(validateLength(request));
+                }
+                asyncResponse = send(request, context);
             }
 
-            final Mono<HttpResponse> asyncResponse = send(request, context);
+            if (eagerlyReadResponse) {
+                // expected bodies are decoded as they arrive, error bodies are buffered as they are read more than
+                // once; closed by handleDecodedResponse once decoded, giving the buffer back
+                final ByteBufferAllocator allocator = this.httpPipeline.getByteBufferAllocator();
+                asyncResponse = asyncResponse.map(response ->
+                        methodParser.isExpectedResponseStatusCode(response.getStatusCode())
+                                ? response
+                                : response.buffer(allocator));
+            }
 
             Mono<HttpDecodedResponse> asyncDecodedResponse = this.decoder.decode(asyncResponse, methodParser);
 
-            return handleRestReturnType(asyncDecodedResponse, methodParser, methodParser.getReturnType(), context);
+            return handleRestReturnType(asyncDecodedResponse, methodParser, returnTypePlan);
         } catch (IOException e) {
             throw LogUtil.logExceptionAsError(log, Exceptions.propagate(e));
         }
     }
 
+    /**
+     * Send the provided request with its serialized body, serialized once as it is sent. A body fitting in a chunk is
+     * sent whole with its Content-Length. A larger body is streamed in chunks as it is serialized, with chunked
+     * transfer unless a Content-Length header was given, and serialized again when the request is retried.
+     *
+     * @param request     the HTTP request to send
+     * @param body        the body to serialize
+     * @param encoding    the encoding to serialize the body with
+     * @param contextData the context
+     * @return a {@link Mono} that emits HttpResponse asynchronously
+     */
+    private Mono<HttpResponse> sendSerialized(final HttpRequest request, final Object body,
+                                              final SerializerEncoding encoding, final Context contextData) {
+        return this.bodySerializer.serialize(body, encoding).flatMap(serialized -> {
+            if (serialized.getLength() >= 0 && request.getHeaders().getValue("Content-Length") == null) {
+                request.setHeader("Content-Length", String.valueOf(serialized.getLength()));
+            }
+            request.setBody(serialized.getContent());
+            if (request.getHeaders().getValue("Content-Length") != null) {
+                request.setBody(validateLength(request));
+            }
+            return send(request, contextData).doFinally(signal -> serialized.dispose());
+        });
+    }
+
     /**
      * Create a HttpRequest for the provided Service method using the provided arguments.
      *
      * @param methodParser the Service method parser to use
      * @param args         the arguments to use to populate the method's annotation values
      * @return a HttpRequest
-     * @throws IOException thrown if the body contents cannot be serialized
+     * @throws IOException thrown if the request URL is malformed
      */
     private HttpRequest createHttpRequest(ServiceMethodParser methodParser, Object[] args) throws IOException {
         // Sometimes people pass in a full URL for the value of their PathParam annotated argument.
@@ -307,21 +418,32 @@ public final class RestProxy implements InvocationHandler {
 
         methodParser.setEncodedQueryParameters(args, urlBuilder);
 
-        final URL url = urlBuilder.toUrl();
-        final HttpRequest request = configRequest(new HttpRequest(methodParser.getHttpMethod(), url),
-                methodParser, args);
-
-        // Headers from Service method arguments always take precedence over inferred headers from body types
-        HttpHeaders httpHeaders = request.getHeaders();
-        methodParser.setHeaders(args, httpHeaders);
-
-        return request;
+        // the URL is only created if a policy or the transport requests it
+        final ParsedUrl url = ParsedUrl.parse(urlBuilder.toString());
+        if (url.getScheme() == null) {
+            throw new MalformedURLException("no protocol: " + url);
+        }
+        try {
+            return new HttpRequest(methodParser.getHttpMethod(), url);
+        } catch (IllegalArgumentException e) {
+            // an invalid port, reported as URL would
+            final MalformedURLException malformed = new MalformedURLException("invalid URL: " + url);
+            malformed.initCause(e);
+            throw malformed;
+        }
     }
 
+    /**
+     * Set the body of the provided request and the headers inferred from its type.
+     *
+     * @param request           the request to configure
+     * @param methodParser      the Service method parser to use
+     * @param bodyContentObject the body of the request, may be null
+     * @return the encoding of a body left to be serialized when the request is sent, null if the body is already set
+     */
     @SuppressWarnings("unchecked")
-    private HttpRequest configRequest(final HttpRequest request, final ServiceMethodParser methodParser,
-                                      final Object[] args) throws IOException {
-        final Object bodyContentObject = methodParser.setBody(args);
+    private SerializerEncoding configRequest(final HttpRequest request, final ServiceMethodParser methodParser,
+                                             final Object bodyContentObject) {
         if (bodyContentObject == null) {
             request.getHeaders().put("Content-Length", "0");
         } else {
@@ -354,11 +476,7 @@ public final class RestProxy implements InvocationHandler {
             }
 
             if (isJson) {
-                ByteArrayOutputStream stream = new AccessibleByteArrayOutputStream();
-                serializer.serialize(bodyContentObject, SerializerEncoding.JSON, stream);
-
-                request.setHeader("Content-Length", String.valueOf(stream.size()));
-                request.setBody(Flux.defer(() -> Flux.just(ByteBuffer.wrap(stream.toByteArray(), 0, stream.size()))));
+                return SerializerEncoding.JSON;
             } else if (FluxUtil.isFluxByteBuffer(methodParser.getBodyJavaType())) {
                 // Content-Length or Transfer-Encoding: chunked must be provided by a user-specified header when a
                 // Flowable<byte[]> is given for the body.
@@ -373,15 +491,11 @@ public final class RestProxy implements InvocationHandler {
             } else if (bodyContentObject instanceof ByteBuffer) {
                 request.setBody(Flux.just((ByteBuffer) bodyContentObject));
             } else {
-                ByteArrayOutputStream stream = new AccessibleByteArrayOutputStream();
-                serializer.serialize(bodyContentObject, SerializerEncoding.fromHeaders(request.getHeaders()), stream);
-
-                request.setHeader("Content-Length", String.valueOf(stream.size()));
-                request.setBody(Flux.defer(() -> Flux.just(ByteBuffer.wrap(stream.toByteArray(), 0, stream.size()))));
+                return SerializerEncoding.fromHeaders(request.getHeaders());
             }
         }
 
-        return request;
+        return null;
     }
 
     private Mono<HttpDecodedResponse> ensureExpectedStatus(final Mono<HttpDecodedResponse> asyncDecodedResponse,
@@ -451,72 +565,67 @@ public final class RestProxy implements InvocationHandler {
     }
 
     private Mono<?> handleRestResponseReturnType(final HttpDecodedResponse response,
-                                                 final ServiceMethodParser methodParser,
-                                                 final Type entityType) {
-        if (TypeUtil.isTypeOrSubTypeOf(entityType, Response.class)) {
-            final Type bodyType = TypeUtil.getRestResponseBodyType(entityType);
-
-            if (TypeUtil.isTypeOrSubTypeOf(bodyType, Void.class)) {
-                return response.getSourceResponse().getBody().ignoreElements()
-                        .then(createResponse(response, entityType, null));
-            } else {
-                return handleBodyReturnType(response, methodParser, bodyType)
-                        .flatMap(bodyAsObject -> createResponse(response, entityType, bodyAsObject))
-                        .switchIfEmpty(Mono.defer((Supplier<Mono<Response<?>>>) () -> createResponse(response,
-                                entityType, null)));
-            }
-        } else {
+                                                 final ReturnTypePlan returnTypePlan) {
+        if (!returnTypePlan.isResponse()) {
             // For now we're just throwing if the Maybe didn't emit a value.
-            return handleBodyReturnType(response, methodParser, entityType);
+            return handleBodyReturnType(response, returnTypePlan);
+        } else if (returnTypePlan.getBody() == ReturnTypePlan.Body.NONE) {
+            return response.getSourceResponse().getBody().ignoreElements()
+                    .then(createResponse(response, returnTypePlan, null));
+        } else {
+            return handleBodyReturnType(response, returnTypePlan)
+                    .flatMap(bodyAsObject -> createResponse(response, returnTypePlan, bodyAsObject))
+                    .switchIfEmpty(Mono.defer((Supplier<Mono<Response<?>>>) () -> createResponse(response,
+                            returnTypePlan, null)));
         }
     }
 
-    @SuppressWarnings("unchecked")
-    private Mono<Response<?>> createResponse(HttpDecodedResponse response, Type entityType, Object bodyAsObject) {
-        // determine the type of response class. If the type is the 'RestResponse' interface, we will use the
-        // 'RestResponseBase' class instead.
-        Class<? extends Response<?>> cls = (Class<? extends Response<?>>) TypeUtil.getRawClass(entityType);
-        if (cls.equals(Response.class)) {
-            cls = (Class) ResponseBase.class;
-        }
-
-        Constructor<? extends Response<?>> ctr = this.responseConstructorsCache.get(cls);
+    private Mono<Response<?>> createResponse(HttpDecodedResponse response, ReturnTypePlan returnTypePlan,
+                                             Object bodyAsObject) {
+        final ResponseConstructorsCache.ResponseConstructor ctr = returnTypePlan.getResponseConstructor();
         if (ctr != null) {
             return this.responseConstructorsCache.invoke(ctr, response, bodyAsObject);
         } else {
-            return Mono.error(new RuntimeException("Cannot find suitable constructor for class " + cls));
+            return Mono.error(new RuntimeException("Cannot find suitable constructor for class "
+                    + returnTypePlan.getResponseClass()));
         }
     }
 
-    private Mono<?> handleBodyReturnType(final HttpDecodedResponse response,
-                                         final ServiceMethodParser methodParser, final Type entityType) {
-        final int responseStatusCode = response.getSourceResponse().getStatusCode();
-        final HttpMethod httpMethod = methodParser.getHttpMethod();
-        final Type returnValueWireType = methodParser.getReturnValueWireType();
-
-        final Mono<?> asyncResult;
-        if (httpMethod == HttpMethod.HEAD
-                && (TypeUtil.isTypeOrSubTypeOf(
-                entityType, Boolean.TYPE) || TypeUtil.isTypeOrSubTypeOf(entityType, Boolean.class))) {
-            boolean isSuccess = (responseStatusCode / 100) == 2;
-            asyncResult = Mono.just(isSuccess);
-        } else if (TypeUtil.isTypeOrSubTypeOf(entityType, byte[].class)) {
-            // Mono<byte[]>
-            Mono<byte[]> responseBodyBytesAsync = response.getSourceResponse().getBodyAsByteArray();
-            if (returnValueWireType == Base64Url.class) {
+    private Mono<?> handleBodyReturnType(final HttpDecodedResponse response, final ReturnTypePlan returnTypePlan) {
+        switch (returnTypePlan.getBody()) {
+            case HEAD_STATUS:
+                return Mono.just((response.getSourceResponse().getStatusCode() / 100) == 2);
+            case BYTE_ARRAY:
+                // Mono<byte[]>
+                return response.getSourceResponse().getBodyAsByteArray();
+            case BASE64URL_BYTE_ARRAY:
                 // Mono<Base64Url>
-                responseBodyBytesAsync =
-                        responseBodyBytesAsync.map(base64UrlBytes -> new Base64Url(base64UrlBytes).decodedBytes());
-            }
-            asyncResult = responseBodyBytesAsync;
-        } else if (FluxUtil.isFluxByteBuffer(entityType)) {
-            // Mono<Flux<ByteBuffer>>
-            asyncResult = Mono.just(response.getSourceResponse().getBody());
-        } else {
-            // Mono<Object> or Mono<Page<T>>
-            asyncResult = response.getDecodedBody((byte[]) null);
+                return response.getSourceResponse().getBodyAsByteArray()
+                        .map(base64UrlBytes -> new Base64Url(base64UrlBytes).decodedBytes());
+            case FLUX_BYTE_BUFFER:
+                // Mono<Flux<ByteBuffer>>
+                return Mono.just(response.getSourceResponse().getBody());
+            default:
+                // Mono<Object> or Mono<Page<T>>
+                return response.getDecodedBody((byte[]) null);
         }
-        return asyncResult;
+    }
+
+    /**
+     * Check the status of the provided response and deserialize it, closing the response afterwards when its body
+     * was buffered so that the buffer goes back to the pipeline allocator before the result reaches the caller.
+     *
+     * @param response     the HTTP response to the original HTTP request
+     * @param methodParser the ServiceMethodParser that the request originates from
+     * @return the deserialized result
+     */
+    private Mono<?> handleDecodedResponse(final HttpDecodedResponse response, final ServiceMethodParser methodParser) {
+        final ReturnTypePlan returnTypePlan = methodParser.getReturnTypePlan();
+        final Mono<?> result = ensureExpectedStatus(response, methodParser)
+                .flatMap(expectedResponse -> handleRestResponseReturnType(expectedResponse, returnTypePlan));
+        return response.getSourceResponse() instanceof BufferedHttpResponse
+                ? result.doOnTerminate(response::close).doOnCancel(response::close)
+                : result;
     }
 
     /**
@@ -524,43 +633,38 @@ public final class RestProxy implements InvocationHandler {
      *
      * @param asyncHttpDecodedResponse the asynchronous HTTP response to the original HTTP request
      * @param methodParser             the ServiceMethodParser that the request originates from
-     * @param returnType               the type of value that will be returned
-     * @param context                  Additional context that is passed through the Http pipeline during the service call.
+     * @param returnTypePlan           how the value returned by the method is produced
      * @return the deserialized result
      */
     private Object handleRestReturnType(final Mono<HttpDecodedResponse> asyncHttpDecodedResponse,
                                         final ServiceMethodParser methodParser,
-                                        final Type returnType,
-                                        final Context context) {
+                                        final ReturnTypePlan returnTypePlan) {
         final Mono<HttpDecodedResponse> asyncExpectedResponse =
                 ensureExpectedStatus(asyncHttpDecodedResponse, methodParser);
 
-        final Object result;
-        if (TypeUtil.isTypeOrSubTypeOf(returnType, Mono.class)) {
-            final Type monoTypeParam = TypeUtil.getTypeArgument(returnType);
-            if (TypeUtil.isTypeOrSubTypeOf(monoTypeParam, Void.class)) {
+        switch (returnTypePlan.getShape()) {
+            case MONO_VOID:
                 // ProxyMethod ReturnType: Mono<Void>
-                result = asyncExpectedResponse.then();
-            } else {
+                return asyncExpectedResponse.then();
+            case MONO:
                 // ProxyMethod ReturnType: Mono<? extends RestResponseBase<?, ?>>
-                result = asyncExpectedResponse.flatMap(response ->
-                        handleRestResponseReturnType(response, methodParser, monoTypeParam));
-            }
-        } else if (FluxUtil.isFluxByteBuffer(returnType)) {
-            // ProxyMethod ReturnType: Flux<ByteBuffer>
-            result = asyncExpectedResponse.flatMapMany(ar -> ar.getSourceResponse().getBody());
-        } else if (TypeUtil.isTypeOrSubTypeOf(returnType, void.class) || TypeUtil.isTypeOrSubTypeOf(returnType,
-                Void.class)) {
-            // ProxyMethod ReturnType: Void
-            asyncExpectedResponse.block();
-            result = null;
-        } else {
-            // ProxyMethod ReturnType: T where T != async (Mono, Flux) or sync Void
-            // Block the deserialization until a value T is received
-            result = asyncExpectedResponse
-                    .flatMap(httpResponse -> handleRestResponseReturnType(httpResponse, methodParser, returnType))
-                    .block();
+                return asyncHttpDecodedResponse.flatMap(response -> handleDecodedResponse(response, methodParser));
+            case FLUX_BYTE_BUFFER:
+                // ProxyMethod ReturnType: Flux<ByteBuffer>
+                return asyncExpectedResponse.flatMapMany(ar -> ar.getSourceResponse().getBody());
+            case FLUX:
+                // ProxyMethod ReturnType: Flux<T>, each element emitted as soon as it is parsed
+                return asyncExpectedResponse.flatMapMany(HttpDecodedResponse::getDecodedElements);
+            case VOID:
+                // ProxyMethod ReturnType: Void
+                asyncExpectedResponse.block();
+                return null;
+            default:
+                // ProxyMethod ReturnType: T where T != async (Mono, Flux) or sync Void
+                // Block the deserialization until a value T is received
+                return asyncHttpDecodedResponse
+                        .flatMap(httpResponse -> handleDecodedResponse(httpResponse, methodParser))
+                        .block();
         }
-        return result;
     }
 }
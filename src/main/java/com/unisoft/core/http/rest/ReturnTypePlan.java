@@ -0,0 +1,180 @@
+package com.unisoft.core.http.rest;
+
+import com.unisoft.core.http.HttpMethod;
+import com.unisoft.core.util.Base64Url;
+import com.unisoft.core.util.FluxUtil;
+import com.unisoft.core.util.TypeUtil;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.lang.reflect.Type;
+
+/**
+ * How the value returned by a Service method is produced from its response, derived once from its return type so
+ * that {@link RestProxy} does not inspect the return type on every invocation.
+ *
+ * @author omar.H.Ajmi
+ * @since 17/10/2026
+ */
+final class ReturnTypePlan {
+    private static final ResponseConstructorsCache RESPONSE_CONSTRUCTORS = new ResponseConstructorsCache();
+
+    /**
+     * The shape of the value returned by a Service method.
+     */
+    enum Shape {
+        /**
+         * {@code Mono<Void>}, completing once the response has an expected status.
+         */
+        MONO_VOID,
+        /**
+         * {@code Mono<T>}.
+         */
+        MONO,
+        /**
+         * {@code Flux<ByteBuffer>}, the raw body.
+         */
+        FLUX_BYTE_BUFFER,
+        /**
+         * {@code Flux<T>}, the elements of the body decoded as they are parsed.
+         */
+        FLUX,
+        /**
+         * {@code void} or {@code Void}, blocking until the response has an expected status.
+         */
+        VOID,
+        /**
+         * {@code T}, blocking until the value is decoded.
+         */
+        BLOCKING
+    }
+
+    /**
+     * How the body of the response is turned into the entity, or into the body of the {@link Response} entity.
+     */
+    enum Body {
+        /**
+         * No body, {@code Response<Void>}.
+         */
+        NONE,
+        /**
+         * Whether the status of a HEAD request is 2xx.
+         */
+        HEAD_STATUS,
+        /**
+         * The body as read.
+         */
+        BYTE_ARRAY,
+        /**
+         * The body decoded from a Base64Url wire type.
+         */
+        BASE64URL_BYTE_ARRAY,
+        /**
+         * The raw body.
+         */
+        FLUX_BYTE_BUFFER,
+        /**
+         * The body deserialized.
+         */
+        DECODED
+    }
+
+    private final Shape shape;
+    private final Body body;
+    private final ResponseConstructorsCache.ResponseConstructor responseConstructor;
+    private final Class<?> responseClass;
+
+    /**
+     * Derives the plan of a Service method.
+     *
+     * @param returnType          the return type of the Service method
+     * @param httpMethod          the HTTP method of the Service method
+     * @param returnValueWireType the type the returned value is sent as, null if it is sent as the return type
+     */
+    @SuppressWarnings("unchecked")
+    ReturnTypePlan(Type returnType, HttpMethod httpMethod, Type returnValueWireType) {
+        Type entityType = returnType;
+        if (TypeUtil.isTypeOrSubTypeOf(returnType, Mono.class)) {
+            entityType = TypeUtil.getTypeArgument(returnType);
+            this.shape = TypeUtil.isTypeOrSubTypeOf(entityType, Void.class) ? Shape.MONO_VOID : Shape.MONO;
+        } else if (FluxUtil.isFluxByteBuffer(returnType)) {
+            this.shape = Shape.FLUX_BYTE_BUFFER;
+        } else if (TypeUtil.isTypeOrSubTypeOf(returnType, Flux.class)) {
+            this.shape = Shape.FLUX;
+        } else if (TypeUtil.isTypeOrSubTypeOf(returnType, void.class)
+                || TypeUtil.isTypeOrSubTypeOf(returnType, Void.class)) {
+            this.shape = Shape.VOID;
+        } else {
+            this.shape = Shape.BLOCKING;
+        }
+
+        if (this.shape != Shape.MONO && this.shape != Shape.BLOCKING) {
+            this.body = Body.NONE;
+            this.responseClass = null;
+            this.responseConstructor = null;
+            return;
+        }
+
+        Type bodyType = entityType;
+        if (TypeUtil.isTypeOrSubTypeOf(entityType, Response.class)) {
+            bodyType = TypeUtil.getRestResponseBodyType(entityType);
+            // the 'Response' interface is implemented by 'ResponseBase'
+            final Class<?> rawClass = TypeUtil.getRawClass(entityType);
+            this.responseClass = rawClass.equals(Response.class) ? ResponseBase.class : rawClass;
+            this.responseConstructor =
+                    RESPONSE_CONSTRUCTORS.get((Class<? extends Response<?>>) this.responseClass);
+        } else {
+            this.responseClass = null;
+            this.responseConstructor = null;
+        }
+
+        if (this.responseClass != null && TypeUtil.isTypeOrSubTypeOf(bodyType, Void.class)) {
+            this.body = Body.NONE;
+        } else if (httpMethod == HttpMethod.HEAD && (TypeUtil.isTypeOrSubTypeOf(bodyType, Boolean.TYPE)
+                || TypeUtil.isTypeOrSubTypeOf(bodyType, Boolean.class))) {
+            this.body = Body.HEAD_STATUS;
+        } else if (TypeUtil.isTypeOrSubTypeOf(bodyType, byte[].class)) {
+            this.body = returnValueWireType == Base64Url.class ? Body.BASE64URL_BYTE_ARRAY : Body.BYTE_ARRAY;
+        } else if (FluxUtil.isFluxByteBuffer(bodyType)) {
+            this.body = Body.FLUX_BYTE_BUFFER;
+        } else {
+            this.body = Body.DECODED;
+        }
+    }
+
+    /**
+     * @return the shape of the returned value
+     */
+    Shape getShape() {
+        return this.shape;
+    }
+
+    /**
+     * @return how the body of the response is turned into the entity, {@link Body#NONE} for the shapes without entity
+     */
+    Body getBody() {
+        return this.body;
+    }
+
+    /**
+     * @return whether the entity is a {@link Response} wrapping the body
+     */
+    boolean isResponse() {
+        return this.responseClass != null;
+    }
+
+    /**
+     * @return the class of the {@link Response} entity, null if the entity is not a response
+     */
+    Class<?> getResponseClass() {
+        return this.responseClass;
+    }
+
+    /**
+     * @return the constructor of the {@link Response} entity, null if it has no suitable one or the entity is not a
+     * response
+     */
+    ResponseConstructorsCache.ResponseConstructor getResponseConstructor() {
+        return this.responseConstructor;
+    }
+}
@@ -5,7 +5,13 @@ package com.unisoft.core.http.rest;
  * @since 16/01/2021
  */
 
+import com.unisoft.core.http.annotation.Delete;
+import com.unisoft.core.http.annotation.Get;
+import com.unisoft.core.http.annotation.Head;
 import com.unisoft.core.http.annotation.Host;
+import com.unisoft.core.http.annotation.Patch;
+import com.unisoft.core.http.annotation.Post;
+import com.unisoft.core.http.annotation.Put;
 import com.unisoft.core.http.annotation.ServiceInterface;
 import com.unisoft.core.http.serialize.SerializerAdapter;
 import com.unisoft.core.util.CoreUtil;
@@ -81,6 +87,21 @@ class ServiceInterfaceParser {
                 new ServiceMethodParser(sm, getHost(), serializer));
     }
 
+    /**
+     * Check whether a method of a Service interface sends a REST API call, that is has an HTTP method annotation.
+     *
+     * @param method the method to check
+     * @return true if the method has an HTTP method annotation, false otherwise
+     */
+    static boolean isServiceMethod(Method method) {
+        return method.isAnnotationPresent(Get.class)
+                || method.isAnnotationPresent(Put.class)
+                || method.isAnnotationPresent(Head.class)
+                || method.isAnnotationPresent(Delete.class)
+                || method.isAnnotationPresent(Post.class)
+                || method.isAnnotationPresent(Patch.class);
+    }
+
     /**
      * Get the desired host that the provided Service interface will target with its REST API
      * calls. This value is retrieved from the @Host annotation placed on the Service interface.
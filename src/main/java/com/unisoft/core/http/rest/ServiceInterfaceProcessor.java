@@ -0,0 +1,223 @@
+package com.unisoft.core.http.rest;
+
+import com.unisoft.core.http.annotation.Delete;
+import com.unisoft.core.http.annotation.Get;
+import com.unisoft.core.http.annotation.Head;
+import com.unisoft.core.http.annotation.Host;
+import com.unisoft.core.http.annotation.Patch;
+import com.unisoft.core.http.annotation.Post;
+import com.unisoft.core.http.annotation.Put;
+import com.unisoft.core.http.annotation.ResumeOperation;
+import com.unisoft.core.http.annotation.ServiceInterface;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.ExecutableType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.type.TypeVariable;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.annotation.Annotation;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Annotation processor generating an implementation of each {@link ServiceInterface} annotated interface, which
+ * {@link RestProxy#create(Class, com.unisoft.core.http.HttpPipeline, com.unisoft.core.http.serialize.SerializerAdapter)
+ * RestProxy.create} prefers to a dynamic {@link java.lang.reflect.Proxy}.
+ * <p>
+ * The generated class resolves the {@link ServiceMethodParser} of each method once when created and hands the
+ * arguments of a call straight to it, without the proxy dispatch nor the lookup of the parser by {@link
+ * java.lang.reflect.Method}. Interfaces which cannot be implemented from their package, or which are not fully
+ * annotated, are skipped with a warning and keep using the dynamic proxy, which reports their errors at runtime.
+ * <p>
+ * The URL templates, headers, body and return type handling are deliberately not generated: the parser already
+ * resolves them into plans once per method, so a call does no reflection on them, and generating them would be a
+ * second implementation of the substitution, encoding and decoding rules to keep in step with the proxy one.
+ * <p>
+ * The processor is registered as a service, so it runs whenever this library is on the compile class path.
+ *
+ * @author omar.H.Ajmi
+ * @since 17/10/2026
+ */
+@SupportedAnnotationTypes("com.unisoft.core.http.annotation.ServiceInterface")
+public final class ServiceInterfaceProcessor extends AbstractProcessor {
+    private static final List<Class<? extends Annotation>> HTTP_METHOD_ANNOTATIONS =
+            Arrays.asList(Get.class, Put.class, Head.class, Delete.class, Post.class, Patch.class);
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (Element element : roundEnv.getElementsAnnotatedWith(ServiceInterface.class)) {
+            if (element.getKind() == ElementKind.INTERFACE) {
+                final TypeElement serviceInterface = (TypeElement) element;
+                final List<ExecutableElement> methods = getServiceMethods(serviceInterface);
+                if (methods != null) {
+                    generate(serviceInterface, methods);
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return the abstract methods of the Service interface, null if it cannot be implemented
+     */
+    private List<ExecutableElement> getServiceMethods(TypeElement serviceInterface) {
+        if (!serviceInterface.getTypeParameters().isEmpty()) {
+            return skip(serviceInterface, "it declares type parameters");
+        }
+        for (Element enclosing = serviceInterface; enclosing instanceof TypeElement;
+             enclosing = enclosing.getEnclosingElement()) {
+            if (enclosing.getModifiers().contains(Modifier.PRIVATE)) {
+                return skip(serviceInterface, "it is not visible from its package");
+            }
+        }
+        final Host host = serviceInterface.getAnnotation(Host.class);
+        if (host == null || host.value().isEmpty()) {
+            return skip(serviceInterface, "it has no @Host annotation");
+        }
+
+        final List<ExecutableElement> methods = new ArrayList<>();
+        for (ExecutableElement method
+                : ElementFilter.methodsIn(processingEnv.getElementUtils().getAllMembers(serviceInterface))) {
+            if (!method.getModifiers().contains(Modifier.ABSTRACT)) {
+                continue;
+            }
+            int httpMethods = 0;
+            for (Class<? extends Annotation> annotation : HTTP_METHOD_ANNOTATIONS) {
+                if (method.getAnnotation(annotation) != null) {
+                    httpMethods++;
+                }
+            }
+            if (httpMethods != 1 && !isResumeOperation(method)) {
+                return skip(serviceInterface, "its method " + method.getSimpleName()
+                        + " does not have exactly one HTTP method annotation");
+            }
+            methods.add(method);
+        }
+        return methods;
+    }
+
+    private static boolean isResumeOperation(ExecutableElement method) {
+        return method.getAnnotation(ResumeOperation.class) != null;
+    }
+
+    private List<ExecutableElement> skip(TypeElement serviceInterface, String reason) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING, "No implementation is generated for "
+                + serviceInterface.getQualifiedName() + " as " + reason + ".", serviceInterface);
+        return null;
+    }
+
+    private void generate(TypeElement serviceInterface, List<ExecutableElement> methods) {
+        final String name = GeneratedImplementations.getName(
+                processingEnv.getElementUtils().getBinaryName(serviceInterface).toString());
+        final int packageEnd = name.lastIndexOf('.');
+        final String interfaceName = serviceInterface.getQualifiedName().toString();
+        final DeclaredType interfaceType = (DeclaredType) serviceInterface.asType();
+
+        final StringBuilder source = new StringBuilder();
+        if (packageEnd > 0) {
+            source.append("package ").append(name, 0, packageEnd).append(";\n\n");
+        }
+        source.append("@javax.annotation.processing.Generated(\"").append(getClass().getName()).append("\")\n")
+                .append("@SuppressWarnings(\"unchecked\")\n")
+                .append("public final class ").append(name.substring(packageEnd + 1))
+                .append(" implements ").append(interfaceName).append(" {\n")
+                .append("    private final ").append(RestProxy.class.getName()).append(" restProxy;\n");
+        for (int i = 0; i < methods.size(); i++) {
+            if (!isResumeOperation(methods.get(i))) {
+                source.append("    private final ").append(ServiceMethodParser.class.getName())
+                        .append(" methodParser").append(i).append(";\n");
+            }
+        }
+
+        source.append("\n    public ").append(name.substring(packageEnd + 1)).append('(')
+                .append(RestProxy.class.getName()).append(" restProxy) {\n")
+                .append("        this.restProxy = restProxy;\n");
+        for (int i = 0; i < methods.size(); i++) {
+            final ExecutableElement method = methods.get(i);
+            if (isResumeOperation(method)) {
+                continue;
+            }
+            source.append("        this.methodParser").append(i).append(" = restProxy.getMethodParser(")
+                    .append(interfaceName).append(".class, \"").append(method.getSimpleName()).append('"');
+            for (TypeMirror parameterType : ((ExecutableType) method.asType()).getParameterTypes()) {
+                source.append(", ").append(processingEnv.getTypeUtils().erasure(parameterType)).append(".class");
+            }
+            source.append(");\n");
+        }
+        source.append("    }\n");
+
+        for (int i = 0; i < methods.size(); i++) {
+            appendMethod(source, methods.get(i), (ExecutableType) processingEnv.getTypeUtils()
+                    .asMemberOf(interfaceType, methods.get(i)), i);
+        }
+        source.append("}\n");
+
+        try (Writer writer = processingEnv.getFiler().createSourceFile(name, serviceInterface).openWriter()) {
+            writer.write(source.toString());
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                    "Failed to generate " + name + ": " + e.getMessage(), serviceInterface);
+        }
+    }
+
+    private static void appendMethod(StringBuilder source, ExecutableElement method, ExecutableType type, int index) {
+        source.append("\n    @Override\n    public ");
+        final List<? extends TypeVariable> typeVariables = type.getTypeVariables();
+        if (!typeVariables.isEmpty()) {
+            source.append('<');
+            for (int i = 0; i < typeVariables.size(); i++) {
+                final TypeVariable typeVariable = typeVariables.get(i);
+                source.append(i == 0 ? "" : ", ").append(typeVariable);
+                if (!typeVariable.getUpperBound().toString().equals(Object.class.getName())) {
+                    source.append(" extends ").append(typeVariable.getUpperBound());
+                }
+            }
+            source.append("> ");
+        }
+        final TypeMirror returnType = type.getReturnType();
+        source.append(returnType).append(' ').append(method.getSimpleName()).append('(');
+        final List<? extends TypeMirror> parameterTypes = type.getParameterTypes();
+        for (int i = 0; i < parameterTypes.size(); i++) {
+            String parameterType = parameterTypes.get(i).toString();
+            if (method.isVarArgs() && i == parameterTypes.size() - 1) {
+                parameterType = parameterType.substring(0, parameterType.length() - 2) + "...";
+            }
+            source.append(i == 0 ? "" : ", ").append(parameterType).append(" p").append(i);
+        }
+        source.append(") {\n        ");
+
+        if (isResumeOperation(method)) {
+            source.append("throw reactor.core.Exceptions.propagate(")
+                    .append("new Exception(\"The resume operation isn't supported.\"));\n    }\n");
+            return;
+        }
+        if (returnType.getKind() != TypeKind.VOID) {
+            source.append("return (").append(returnType).append(") ");
+        }
+        source.append("this.restProxy.invoke(this.methodParser").append(index).append(", new Object[]{");
+        for (int i = 0; i < parameterTypes.size(); i++) {
+            source.append(i == 0 ? "" : ", ").append('p').append(i);
+        }
+        source.append("});\n    }\n");
+    }
+}
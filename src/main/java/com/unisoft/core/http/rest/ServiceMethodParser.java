@@ -1,7 +1,6 @@
 package com.unisoft.core.http.rest;
 
 import com.unisoft.core.http.ContentType;
-import com.unisoft.core.http.HttpHeader;
 import com.unisoft.core.http.HttpHeaders;
 import com.unisoft.core.http.HttpMethod;
 import com.unisoft.core.http.annotation.*;
@@ -10,6 +9,7 @@ import com.unisoft.core.http.impl.UnexpectedExceptionInformation;
 import com.unisoft.core.http.serialize.JacksonAdapter;
 import com.unisoft.core.http.serialize.SerializerAdapter;
 import com.unisoft.core.http.serialize.impl.HttpResponseDecodeData;
+import com.unisoft.core.http.serialize.impl.HttpResponseDecodePlan;
 import com.unisoft.core.http.util.UrlBuilder;
 import com.unisoft.core.util.*;
 
@@ -28,15 +28,17 @@ public class ServiceMethodParser implements HttpResponseDecodeData {
     private static final Pattern PATTERN_COLON_SLASH_SLASH = Pattern.compile("://");
 
     private final SerializerAdapter serializer;
-    private final String rawHost;
     private final String fullyQualifiedMethodName;
     private final HttpMethod httpMethod;
-    private final String relativePath;
     private final List<Substitution> hostSubstitutions = new ArrayList<>();
     private final List<Substitution> pathSubstitutions = new ArrayList<>();
     private final List<Substitution> querySubstitutions = new ArrayList<>();
     private final List<Substitution> formSubstitutions = new ArrayList<>();
     private final List<Substitution> headerSubstitutions = new ArrayList<>();
+    private final SubstitutionTemplate hostTemplate;
+    private final SubstitutionTemplate pathTemplate;
+    // the scheme and host split once when the host has no substitution
+    private final String[] constantHostParts;
     private final HttpHeaders headers = new HttpHeaders();
     private final Integer bodyContentMethodParameterIndex;
     private final String bodyContentType;
@@ -44,6 +46,9 @@ public class ServiceMethodParser implements HttpResponseDecodeData {
     private final BitSet expectedStatusCodes;
     private final Type returnType;
     private final Type returnValueWireType;
+    private final Type headersType;
+    private final ReturnTypePlan returnTypePlan;
+    private final HttpResponseDecodePlan decodePlan;
     private final UnexpectedResponseExceptionType[] unexpectedResponseExceptionTypes;
     private Map<Integer, UnexpectedExceptionInformation> exceptionMapping;
     private UnexpectedExceptionInformation defaultException;
@@ -61,30 +66,30 @@ public class ServiceMethodParser implements HttpResponseDecodeData {
 
     ServiceMethodParser(Method serviceMethod, String rawHost, SerializerAdapter serializer) {
         this.serializer = serializer;
-        this.rawHost = rawHost;
 
         final Class<?> serviceInterface = serviceMethod.getDeclaringClass();
 
         fullyQualifiedMethodName = serviceInterface.getName() + "." + serviceMethod.getName();
 
+        final String relativePath;
         if (serviceMethod.isAnnotationPresent(Get.class)) {
             this.httpMethod = HttpMethod.GET;
-            this.relativePath = serviceMethod.getAnnotation(Get.class).value();
+            relativePath = serviceMethod.getAnnotation(Get.class).value();
         } else if (serviceMethod.isAnnotationPresent(Put.class)) {
             this.httpMethod = HttpMethod.PUT;
-            this.relativePath = serviceMethod.getAnnotation(Put.class).value();
+            relativePath = serviceMethod.getAnnotation(Put.class).value();
         } else if (serviceMethod.isAnnotationPresent(Head.class)) {
             this.httpMethod = HttpMethod.HEAD;
-            this.relativePath = serviceMethod.getAnnotation(Head.class).value();
+            relativePath = serviceMethod.getAnnotation(Head.class).value();
         } else if (serviceMethod.isAnnotationPresent(Delete.class)) {
             this.httpMethod = HttpMethod.DELETE;
-            this.relativePath = serviceMethod.getAnnotation(Delete.class).value();
+            relativePath = serviceMethod.getAnnotation(Delete.class).value();
         } else if (serviceMethod.isAnnotationPresent(Post.class)) {
             this.httpMethod = HttpMethod.POST;
-            this.relativePath = serviceMethod.getAnnotation(Post.class).value();
+            relativePath = serviceMethod.getAnnotation(Post.class).value();
         } else if (serviceMethod.isAnnotationPresent(Patch.class)) {
             this.httpMethod = HttpMethod.PATCH;
-            this.relativePath = serviceMethod.getAnnotation(Patch.class).value();
+            relativePath = serviceMethod.getAnnotation(Patch.class).value();
         } else {
             throw new MissingRequiredAnnotationException(Arrays.asList(Get.class, Put.class, Head.class,
                     Delete.class, Post.class, Patch.class), serviceMethod);
@@ -109,6 +114,11 @@ public class ServiceMethodParser implements HttpResponseDecodeData {
             this.returnValueWireType = null;
         }
 
+        // derived once rather than from the return type for every invocation and response
+        this.headersType = HttpResponseDecodeData.super.getHeadersType();
+        this.returnTypePlan = new ReturnTypePlan(returnType, this.httpMethod, this.returnValueWireType);
+        this.decodePlan = HttpResponseDecodePlan.create(this);
+
         if (serviceMethod.isAnnotationPresent(Headers.class)) {
             final Headers headersAnnotation = serviceMethod.getAnnotation(Headers.class);
             final String[] headers = headersAnnotation.value();
@@ -180,9 +190,13 @@ public class ServiceMethodParser implements HttpResponseDecodeData {
         this.bodyContentMethodParameterIndex = bodyContentMethodParameterIndex;
         this.bodyContentType = bodyContentType;
         this.bodyJavaType = bodyJavaType;
+
+        this.hostTemplate = new SubstitutionTemplate(rawHost, hostSubstitutions);
+        this.pathTemplate = new SubstitutionTemplate(relativePath, pathSubstitutions);
+        this.constantHostParts = this.hostTemplate.isConstant() ? PATTERN_COLON_SLASH_SLASH.split(rawHost) : null;
     }
 
-    private static String serialize(SerializerAdapter serializer, Object value) {
+    static String serialize(SerializerAdapter serializer, Object value) {
         if (value == null) {
             return null;
         }
@@ -200,27 +214,32 @@ public class ServiceMethodParser implements HttpResponseDecodeData {
             return null;
         }
 
-        String encodedKey = UrlEscapers.FORM_ESCAPER.escape(key);
+        final StringBuilder formData = new StringBuilder();
         if (value instanceof List<?>) {
-            return ((List<?>) value).stream()
-                    .map(element -> serializeAndEncodeFormValue(serializer, element, shouldEncode))
-                    .filter(Objects::nonNull)
-                    .map(formValue -> encodedKey + "=" + formValue)
-                    .collect(Collectors.joining("&"));
+            for (Object element : (List<?>) value) {
+                if (element != null) {
+                    if (formData.length() > 0) {
+                        formData.append('&');
+                    }
+                    appendFormValue(formData, serializer, key, element, shouldEncode);
+                }
+            }
         } else {
-            return encodedKey + "=" + serializeAndEncodeFormValue(serializer, value, shouldEncode);
+            appendFormValue(formData, serializer, key, value, shouldEncode);
         }
+        return formData.toString();
     }
 
-    private static String serializeAndEncodeFormValue(SerializerAdapter serializer, Object value,
-                                                      boolean shouldEncode) {
-        if (value == null) {
-            return null;
+    private static void appendFormValue(StringBuilder formData, SerializerAdapter serializer, String key, Object value,
+                                        boolean shouldEncode) {
+        UrlEscapers.FORM_ESCAPER.escape(key, formData);
+        formData.append('=');
+        final String serializedValue = serializer.serializeRaw(value);
+        if (shouldEncode) {
+            UrlEscapers.FORM_ESCAPER.escape(serializedValue, formData);
+        } else {
+            formData.append(serializedValue);
         }
-
-        String serializedValue = serializer.serializeRaw(value);
-
-        return shouldEncode ? UrlEscapers.FORM_ESCAPER.escape(serializedValue) : serializedValue;
     }
 
     /**
@@ -248,8 +267,10 @@ public class ServiceMethodParser implements HttpResponseDecodeData {
      * @param urlBuilder             The {@link UrlBuilder} that will have its scheme and host set.
      */
     public void setSchemeAndHost(Object[] serviceMethodArguments, UrlBuilder urlBuilder) {
-        final String substitutedHost = applySubstitutions(rawHost, hostSubstitutions, serviceMethodArguments);
-        final String[] substitutedHostParts = PATTERN_COLON_SLASH_SLASH.split(substitutedHost);
+        final String substitutedHost = hostTemplate.expand(serviceMethodArguments, serializer);
+        final String[] substitutedHostParts = constantHostParts != null
+                ? constantHostParts
+                : PATTERN_COLON_SLASH_SLASH.split(substitutedHost);
 
         if (substitutedHostParts.length >= 2) {
             urlBuilder.setScheme(substitutedHostParts[0]);
@@ -269,7 +290,7 @@ public class ServiceMethodParser implements HttpResponseDecodeData {
      * @return the path value with its placeholders replaced by the matching substitutions
      */
     public String setPath(Object[] methodArguments) {
-        return applySubstitutions(relativePath, pathSubstitutions, methodArguments);
+        return pathTemplate.expand(methodArguments, serializer);
     }
 
     /**
@@ -307,9 +328,7 @@ public class ServiceMethodParser implements HttpResponseDecodeData {
      * @param httpHeaders            The {@link HttpHeaders} where the header values will be set.
      */
     public void setHeaders(Object[] serviceMethodArguments, HttpHeaders httpHeaders) {
-        for (HttpHeader header : headers) {
-            httpHeaders.put(header.getName(), header.getValue());
-        }
+        httpHeaders.putAll(headers);
 
         if (serviceMethodArguments == null) {
             return;
@@ -456,31 +475,23 @@ public class ServiceMethodParser implements HttpResponseDecodeData {
         return returnValueWireType;
     }
 
-    private String applySubstitutions(String originalValue, Iterable<Substitution> substitutions,
-                                      Object[] methodArguments) {
-        String result = originalValue;
-
-        if (methodArguments != null) {
-            for (Substitution substitution : substitutions) {
-                final int substitutionParameterIndex = substitution.getMethodParameterIndex();
-                if (0 <= substitutionParameterIndex && substitutionParameterIndex < methodArguments.length) {
-                    final Object methodArgument = methodArguments[substitutionParameterIndex];
+    @Override
+    public Type getHeadersType() {
+        return headersType;
+    }
 
-                    String substitutionValue = serialize(serializer, methodArgument);
-                    if (substitutionValue != null && !substitutionValue.isEmpty() && substitution.shouldEncode()) {
-                        substitutionValue = UrlEscapers.PATH_ESCAPER.escape(substitutionValue);
-                    }
-                    // if a parameter is null, we treat it as empty string. This is
-                    // assuming no {...} will be allowed otherwise in a path template
-                    if (substitutionValue == null) {
-                        substitutionValue = "";
-                    }
-                    result = result.replace("{" + substitution.getUrlParameterName() + "}", substitutionValue);
-                }
-            }
-        }
+    @Override
+    public HttpResponseDecodePlan getDecodePlan() {
+        return decodePlan;
+    }
 
-        return result;
+    /**
+     * Get how the value returned by this Service method is produced from its response.
+     *
+     * @return the plan of the returned value
+     */
+    ReturnTypePlan getReturnTypePlan() {
+        return returnTypePlan;
     }
 
     private Map<Integer, UnexpectedExceptionInformation> processUnexpectedResponseExceptionTypes() {
@@ -0,0 +1,108 @@
+package com.unisoft.core.http.rest;
+
+import com.unisoft.core.http.serialize.SerializerAdapter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A host or path template compiled once into its literal parts and the substitutions of its {@code {name}}
+ * placeholders, expanded in a single pass.
+ * <p>
+ * A placeholder without a substitution is kept literally, and when several substitutions share a name the first one
+ * is used. Null arguments are substituted with an empty string.
+ *
+ * @author omar.H.Ajmi
+ * @since 17/10/2026
+ */
+final class SubstitutionTemplate {
+    private static final int EXPECTED_VALUE_LENGTH = 16;
+
+    private final String template;
+    // the template is literals[0] slots[0] literals[1] ... slots[n - 1] literals[n]
+    private final String[] literals;
+    private final Substitution[] slots;
+
+    /**
+     * Compiles a template.
+     *
+     * @param template      the template with its {@code {name}} placeholders
+     * @param substitutions the substitutions of the placeholders
+     */
+    SubstitutionTemplate(String template, List<Substitution> substitutions) {
+        this.template = template;
+        final List<String> literals = new ArrayList<>();
+        final List<Substitution> slots = new ArrayList<>();
+        int literalStart = 0;
+        int open = template.indexOf('{');
+        while (open >= 0) {
+            final int close = template.indexOf('}', open + 1);
+            if (close < 0) {
+                break;
+            }
+            final Substitution substitution = find(substitutions, template, open + 1, close);
+            if (substitution != null) {
+                literals.add(template.substring(literalStart, open));
+                slots.add(substitution);
+                literalStart = close + 1;
+                open = template.indexOf('{', literalStart);
+            } else {
+                open = template.indexOf('{', open + 1);
+            }
+        }
+        literals.add(template.substring(literalStart));
+        this.literals = literals.toArray(new String[0]);
+        this.slots = slots.toArray(new Substitution[0]);
+    }
+
+    /**
+     * @return whether the template has no placeholder to substitute
+     */
+    boolean isConstant() {
+        return this.slots.length == 0;
+    }
+
+    /**
+     * Expands the template.
+     *
+     * @param methodArguments the arguments of the Service method, the template is returned as is when null
+     * @param serializer      the serializer of non-String arguments
+     * @return the template with its placeholders replaced by the matching arguments
+     */
+    String expand(Object[] methodArguments, SerializerAdapter serializer) {
+        if (this.slots.length == 0 || methodArguments == null) {
+            return this.template;
+        }
+
+        final StringBuilder builder =
+                new StringBuilder(this.template.length() + this.slots.length * EXPECTED_VALUE_LENGTH);
+        builder.append(this.literals[0]);
+        for (int i = 0; i < this.slots.length; i++) {
+            final Substitution substitution = this.slots[i];
+            final int parameterIndex = substitution.getMethodParameterIndex();
+            if (parameterIndex < methodArguments.length) {
+                final String value = ServiceMethodParser.serialize(serializer, methodArguments[parameterIndex]);
+                if (value != null && substitution.shouldEncode()) {
+                    UrlEscapers.PATH_ESCAPER.escape(value, builder);
+                } else if (value != null) {
+                    builder.append(value);
+                }
+            } else {
+                builder.append('{').append(substitution.getUrlParameterName()).append('}');
+            }
+            builder.append(this.literals[i + 1]);
+        }
+        return builder.toString();
+    }
+
+    private static Substitution find(List<Substitution> substitutions, String template, int nameStart, int nameEnd) {
+        final int nameLength = nameEnd - nameStart;
+        for (Substitution substitution : substitutions) {
+            final String name = substitution.getUrlParameterName();
+            if (name.length() == nameLength && template.startsWith(name, nameStart)) {
+                return substitution;
+            }
+        }
+        return null;
+    }
+}
@@ -1,7 +1,5 @@
 package com.unisoft.core.http.rest;
 
-import com.google.common.net.PercentEscaper;
-
 /**
  * Collection of useful URL escapers.
  *
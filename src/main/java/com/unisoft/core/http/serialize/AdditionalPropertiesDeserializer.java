@@ -1,19 +1,22 @@
 package com.unisoft.core.http.serialize;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
-import com.fasterxml.jackson.core.JsonFactory;
 import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.*;
 import com.fasterxml.jackson.databind.deser.BeanDeserializerModifier;
 import com.fasterxml.jackson.databind.deser.ResolvableDeserializer;
 import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
 import com.fasterxml.jackson.databind.module.SimpleModule;
-import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
 import com.unisoft.core.http.annotation.JsonFlatten;
 import com.unisoft.core.util.TypeUtil;
 
 import java.io.IOException;
 import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.HashSet;
+import java.util.Set;
 
 /**
  * Custom serializer for deserializing complex types with additional properties.
@@ -33,32 +36,29 @@ final class AdditionalPropertiesDeserializer extends StdDeserializer<Object> imp
     private final JsonDeserializer<?> defaultDeserializer;
 
     /**
-     * The object mapper for default deserializations.
+     * The top level keys of the properties of the type on the wire, the other keys being additional properties.
      */
-    private final ObjectMapper mapper;
+    private final transient Set<String> propertyKeys;
 
     /**
      * Creates FlatteningDeserializer.
      *
      * @param vc                  handled type
      * @param defaultDeserializer the default JSON mapperAdapter
-     * @param mapper              the object mapper for default deserializations
      */
-    protected AdditionalPropertiesDeserializer(Class<?> vc, JsonDeserializer<?> defaultDeserializer,
-                                               ObjectMapper mapper) {
+    protected AdditionalPropertiesDeserializer(Class<?> vc, JsonDeserializer<?> defaultDeserializer) {
         super(vc);
         this.defaultDeserializer = defaultDeserializer;
-        this.mapper = mapper;
+        this.propertyKeys = compilePropertyKeys(defaultDeserializer.handledType());
     }
 
     /**
      * Gets a module wrapping this serializer as an adapter for the Jackson
      * ObjectMapper.
      *
-     * @param mapper the object mapper for default deserializations
      * @return a simple module to be plugged onto Jackson ObjectMapper.
      */
-    public static SimpleModule getModule(final ObjectMapper mapper) {
+    public static SimpleModule getModule() {
         SimpleModule module = new SimpleModule();
         module.setDeserializerModifier(new BeanDeserializerModifier() {
             @Override
@@ -70,8 +70,7 @@ final class AdditionalPropertiesDeserializer extends StdDeserializer<Object> imp
                         if ("additionalProperties".equalsIgnoreCase(field.getName())) {
                             JsonProperty property = field.getAnnotation(JsonProperty.class);
                             if (property != null && property.value().isEmpty()) {
-                                return new AdditionalPropertiesDeserializer(beanDesc.getBeanClass(), deserializer,
-                                        mapper);
+                                return new AdditionalPropertiesDeserializer(beanDesc.getBeanClass(), deserializer);
                             }
                         }
                     }
@@ -82,39 +81,56 @@ final class AdditionalPropertiesDeserializer extends StdDeserializer<Object> imp
         return module;
     }
 
-    @SuppressWarnings("unchecked")
-    @Override
-    public Object deserialize(JsonParser jp, DeserializationContext ctxt) throws IOException {
-        ObjectNode root = mapper.readTree(jp);
-        ObjectNode copy = root.deepCopy();
-
-        // compare top level fields and keep only missing fields
-        final Class<?> tClass = this.defaultDeserializer.handledType();
-        boolean isJsonFlatten = (tClass.getAnnotation(JsonFlatten.class) != null);
-        for (Class<?> c : TypeUtil.getAllClasses(tClass)) {
+    private static Set<String> compilePropertyKeys(Class<?> type) {
+        final Set<String> keys = new HashSet<>();
+        final boolean isJsonFlatten = type.getAnnotation(JsonFlatten.class) != null;
+        for (Class<?> c : TypeUtil.getAllClasses(type)) {
             Field[] fields = c.getDeclaredFields();
             for (Field field : fields) {
                 // JaCoCo adds synthetic fields for instrumentation.
                 // It's recommended to skip fields that are marked synthetic.
                 // https://www.eclemma.org/jacoco/trunk/doc/faq.html
                 // https://github.com/jacoco/jacoco/issues/168
-                if (field.isSynthetic()) {
+                if (field.isSynthetic() || Modifier.isStatic(field.getModifiers())) {
                     continue;
                 }
                 JsonProperty property = field.getAnnotation(JsonProperty.class);
-                String key = isJsonFlatten ? property.value().split("((?<!\\\\))\\.")[0] : property.value();
-                if (!key.isEmpty()) {
-                    if (copy.has(key)) {
-                        copy.remove(key);
-                    }
+                if (property == null) {
+                    keys.add(field.getName());
+                } else if (!property.value().isEmpty()) {
+                    keys.add(isJsonFlatten ? FlatteningSerializer.splitKey(property.value())[0] : property.value());
                 }
             }
         }
+        return keys;
+    }
+
+    @Override
+    public Object deserialize(JsonParser jp, DeserializationContext ctxt) throws IOException {
+        // the properties and the additional ones are split in a single pass over the object
+        final TokenBuffer properties = new TokenBuffer(jp, ctxt);
+        final TokenBuffer additionalProperties = new TokenBuffer(jp, ctxt);
+        properties.writeStartObject();
+        additionalProperties.writeStartObject();
+        JsonToken token = jp.currentToken();
+        if (token == JsonToken.START_OBJECT) {
+            token = jp.nextToken();
+        }
+        for (; token == JsonToken.FIELD_NAME; token = jp.nextToken()) {
+            final String name = jp.getCurrentName();
+            final TokenBuffer target = this.propertyKeys.contains(name) ? properties : additionalProperties;
+            jp.nextToken();
+            target.writeFieldName(name);
+            target.copyCurrentStructure(jp);
+        }
+        additionalProperties.writeEndObject();
 
         // put into additional properties
-        root.put("additionalProperties", copy);
+        properties.writeFieldName("additionalProperties");
+        additionalProperties.serialize(properties);
+        properties.writeEndObject();
 
-        JsonParser parser = new JsonFactory().createParser(root.toString());
+        JsonParser parser = properties.asParser(jp);
         parser.nextToken();
         return defaultDeserializer.deserialize(parser, ctxt);
     }
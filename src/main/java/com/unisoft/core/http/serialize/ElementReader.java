@@ -0,0 +1,37 @@
+package com.unisoft.core.http.serialize;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.List;
+
+/**
+ * Binds the elements of a document fed in chunks as soon as each of them is parsed, see
+ * {@link JacksonAdapter#deserializeElements}. Not thread safe, chunks are fed in order by a single subscriber.
+ *
+ * @author omar.H.Ajmi
+ * @since 17/10/2026
+ */
+interface ElementReader {
+    /**
+     * Parses the remaining bytes of a chunk, moving its position to its limit.
+     *
+     * @param chunk the next chunk of the document
+     * @throws IOException if the document is malformed, or an element cannot be bound
+     */
+    void feed(ByteBuffer chunk) throws IOException;
+
+    /**
+     * Takes the elements bound since the previous call. Null elements are skipped.
+     *
+     * @return the elements bound so far, in document order
+     */
+    List<Object> takeElements();
+
+    /**
+     * Ends the document and takes the elements bound since the previous call.
+     *
+     * @return the last elements of the document
+     * @throws IOException if the document is malformed or truncated, or the last elements cannot be bound
+     */
+    List<Object> finishElements() throws IOException;
+}
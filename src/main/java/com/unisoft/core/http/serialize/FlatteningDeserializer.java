@@ -2,26 +2,31 @@ package com.unisoft.core.http.serialize;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonTypeInfo;
-import com.fasterxml.jackson.core.JsonFactory;
 import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.*;
 import com.fasterxml.jackson.databind.deser.BeanDeserializerModifier;
 import com.fasterxml.jackson.databind.deser.ResolvableDeserializer;
 import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
 import com.fasterxml.jackson.databind.jsontype.TypeDeserializer;
 import com.fasterxml.jackson.databind.module.SimpleModule;
-import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
 import com.unisoft.core.http.annotation.JsonFlatten;
-import com.unisoft.core.util.CoreUtil;
 import com.unisoft.core.util.TypeUtil;
 
 import java.io.IOException;
 import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.HashMap;
+import java.util.Map;
 
 /**
  * Custom serializer for deserializing complex types with wrapped properties.
  * For example, a property with annotation @JsonProperty(value = "properties.name")
  * will be mapped to a top level "name" property in the POJO model.
+ * <p>
+ * The wire keys of the properties are compiled once per type, the object is then read in a single pass into a token
+ * buffer holding the nested properties under their flattened names, for the default deserializer to read.
  *
  * @author omar.H.Ajmi
  * @since 19/10/2020
@@ -35,31 +40,35 @@ class FlatteningDeserializer extends StdDeserializer<Object> implements Resolvab
     private final JsonDeserializer<?> defaultDeserializer;
 
     /**
-     * The object mapper for default deserializations.
+     * The properties of the type by their top level key on the wire, null when none is nested or escaped.
      */
-    private final ObjectMapper mapper;
+    private final transient Map<String, Key> keys;
+
+    /**
+     * The type id property by its key on the wire, null when it isn't escaped.
+     */
+    private final transient Map<String, Key> typeIdKeys;
 
     /**
      * Creates an instance of FlatteningDeserializer.
      *
      * @param vc                  handled type
      * @param defaultDeserializer the default JSON mapperAdapter
-     * @param mapper              the object mapper for default deserializations
      */
-    protected FlatteningDeserializer(Class<?> vc, JsonDeserializer<?> defaultDeserializer, ObjectMapper mapper) {
+    protected FlatteningDeserializer(Class<?> vc, JsonDeserializer<?> defaultDeserializer) {
         super(vc);
         this.defaultDeserializer = defaultDeserializer;
-        this.mapper = mapper;
+        this.keys = compileKeys(defaultDeserializer.handledType());
+        this.typeIdKeys = compileTypeIdKeys(defaultDeserializer.handledType());
     }
 
     /**
      * Gets a module wrapping this serializer as an adapter for the Jackson
      * ObjectMapper.
      *
-     * @param mapper the object mapper for default deserializations
      * @return a simple module to be plugged onto Jackson ObjectMapper.
      */
-    public static SimpleModule getModule(final ObjectMapper mapper) {
+    public static SimpleModule getModule() {
         SimpleModule module = new SimpleModule();
         module.setDeserializerModifier(new BeanDeserializerModifier() {
             @Override
@@ -69,7 +78,7 @@ class FlatteningDeserializer extends StdDeserializer<Object> implements Resolvab
                 if (beanDesc.getBeanClass().getAnnotation(JsonFlatten.class) != null) {
                     // Register 'FlatteningDeserializer' for complex type so that 'deserializeWithType'
                     // will get called for complex types and it can analyze typeId discriminator.
-                    return new FlatteningDeserializer(beanDesc.getBeanClass(), deserializer, mapper);
+                    return new FlatteningDeserializer(beanDesc.getBeanClass(), deserializer);
                 } else {
                     return deserializer;
                 }
@@ -79,111 +88,133 @@ class FlatteningDeserializer extends StdDeserializer<Object> implements Resolvab
     }
 
     /**
-     * Given a field of a POJO class and JsonNode corresponds to the same POJO class,
-     * check field's {@link JsonProperty} has flattening dots in it if so
-     * flatten the nested child JsonNode corresponds to the field in the given JsonNode.
+     * Compiles the {@link JsonProperty} values of the fields of a type into the keys leading to them on the wire.
      *
-     * @param classField the field in a POJO class
-     * @param jsonNode   the json node corresponds to POJO class that field belongs to
+     * @param type the type
+     * @return the keys by their name on the top level, null if every property is read under its own name
      */
-    @SuppressWarnings("unchecked")
-    private static void handleFlatteningForField(Field classField, JsonNode jsonNode) {
-        final JsonProperty jsonProperty = classField.getAnnotation(JsonProperty.class);
-        if (jsonProperty != null) {
-            final String jsonPropValue = jsonProperty.value();
-            if (jsonNode.has(jsonPropValue)) {
-                // There is an additional property with it's key conflicting with the
-                // JsonProperty value, escape this additional property's key.
-                final String escapedJsonPropValue = jsonPropValue.replace(".", "\\.");
-                ((ObjectNode) jsonNode).set(escapedJsonPropValue, jsonNode.get(jsonPropValue));
-            }
-            if (containsFlatteningDots(jsonPropValue)) {
-                // The jsonProperty value contains flattening dots, uplift the nested
-                // json node that this value resolving to the current level.
-                JsonNode childJsonNode = findNestedNode(jsonNode, jsonPropValue);
-                ((ObjectNode) jsonNode).set(jsonPropValue, childJsonNode);
+    private static Map<String, Key> compileKeys(Class<?> type) {
+        final Map<String, Key> keys = new HashMap<>();
+        boolean renamed = false;
+        for (Class<?> c : TypeUtil.getAllClasses(type)) {
+            for (Field classField : c.getDeclaredFields()) {
+                final JsonProperty jsonProperty = classField.getAnnotation(JsonProperty.class);
+                if (jsonProperty == null || jsonProperty.value().isEmpty()
+                        || Modifier.isStatic(classField.getModifiers())) {
+                    continue;
+                }
+                final String[] path = FlatteningSerializer.splitKey(jsonProperty.value());
+                renamed |= path.length > 1 || !path[0].equals(jsonProperty.value());
+                Map<String, Key> level = keys;
+                for (int i = 0; i < path.length - 1; i++) {
+                    final Key key = level.computeIfAbsent(path[i], name -> new Key(null));
+                    if (key.nested == null) {
+                        key.nested = new HashMap<>();
+                    }
+                    level = key.nested;
+                }
+                final Key key = level.computeIfAbsent(path[path.length - 1], name -> new Key(null));
+                key.property = jsonProperty.value();
             }
         }
+        return renamed ? keys : null;
     }
 
     /**
-     * Checks whether the given key has flattening dots in it.
-     * Flattening dots are dot '.' characters those are not preceded by slash '\'
+     * Compiles the type id property of a type, as the type deserializer looks it up under its escaped name.
      *
-     * @param key the key
-     * @return true if the key has flattening dots, false otherwise.
+     * @param type the type
+     * @return the type id property by its name on the wire, null if it isn't escaped
      */
-    private static boolean containsFlatteningDots(String key) {
-        return key.matches(".+[^\\\\]\\..+");
-    }
-
-    /**
-     * Given a json node, find a nested node in it identified by the given composed key.
-     *
-     * @param jsonNode    the parent json node
-     * @param composedKey a key combines multiple keys using flattening dots.
-     *                    Flattening dots are dot character '.' those are not preceded by slash '\'
-     *                    Each flattening dot represents a level with following key as field key in that level
-     * @return nested json node located using given composed key
-     */
-    private static JsonNode findNestedNode(JsonNode jsonNode, String composedKey) {
-        String[] jsonNodeKeys = splitKeyByFlatteningDots(composedKey);
-        for (String jsonNodeKey : jsonNodeKeys) {
-            jsonNode = jsonNode.get(unescapeEscapedDots(jsonNodeKey));
-            if (jsonNode == null) {
-                return null;
+    private static Map<String, Key> compileTypeIdKeys(Class<?> type) {
+        for (Class<?> c : TypeUtil.getAllClasses(type)) {
+            final JsonTypeInfo typeInfo = c.getAnnotation(JsonTypeInfo.class);
+            if (typeInfo != null) {
+                final String typeId = typeInfo.property();
+                final String typeIdOnWire = typeId.replace("\\.", ".");
+                if (!typeIdOnWire.equals(typeId)) {
+                    final Map<String, Key> keys = new HashMap<>();
+                    keys.put(typeIdOnWire, new Key(typeId));
+                    return keys;
+                }
             }
         }
-        return jsonNode;
+        return null;
     }
 
     /**
-     * Split the key by flattening dots.
-     * Flattening dots are dot character '.' those are not preceded by slash '\'
+     * Reads the object the parser is on into a token buffer, the properties the keys lead to being renamed.
      *
-     * @param key the key to split
-     * @return the array of sub keys
+     * @param jp   the parser, on the start of the object or its first field
+     * @param cxt  the deserialization context
+     * @param keys the keys by their name on the top level
+     * @return a parser on the start of the buffered object
+     * @throws IOException if the parser fails to read the object
      */
-    private static String[] splitKeyByFlatteningDots(String key) {
-        return key.split("((?<!\\\\))\\.");
-    }
-
-    /**
-     * Unescape the escaped dots in the key.
-     * Escaped dots are non-flattening dots those are preceded by slash '\'
-     *
-     * @param key the key unescape
-     * @return unescaped key
-     */
-    private static String unescapeEscapedDots(String key) {
-        // Replace '\.' with '.'
-        return key.replace("\\.", ".");
-    }
-
-    /**
-     * Checks the given string contains 0 or more dots.
-     *
-     * @param str the string to check
-     * @return true if at least one dot found
-     */
-    private static boolean containsDot(String str) {
-        return !CoreUtil.isNullOrEmpty(str) && str.contains(".");
+    private static JsonParser bufferObject(JsonParser jp, DeserializationContext cxt, Map<String, Key> keys)
+            throws IOException {
+        final TokenBuffer buffer = new TokenBuffer(jp, cxt);
+        buffer.writeStartObject();
+        JsonToken token = jp.currentToken();
+        if (token == JsonToken.START_OBJECT) {
+            jp.nextToken();
+        }
+        // a null object is read as an empty one
+        if (token != JsonToken.VALUE_NULL) {
+            copyFields(jp, buffer, keys, true);
+        }
+        buffer.writeEndObject();
+        final JsonParser parser = buffer.asParser(jp);
+        parser.nextToken();
+        return parser;
     }
 
     /**
-     * Create a JsonParser for a given json node.
+     * Copies the fields of an object, from the current one to the end of the object.
      *
-     * @param jsonNode the json node
-     * @return the json parser
-     * @throws IOException if underlying reader fails to read the json string
+     * @param jp       the parser, on a field name or the end of the object
+     * @param buffer   the buffer to copy to
+     * @param keys     the keys of the object
+     * @param topLevel whether the fields are on the top level, where the fields no key leads to are kept
+     * @throws IOException if the parser fails to read the object
      */
-    private static JsonParser newJsonParserForNode(JsonNode jsonNode) throws IOException {
-        JsonParser parser = new JsonFactory().createParser(jsonNode.toString());
-        parser.nextToken();
-        return parser;
+    private static void copyFields(JsonParser jp, TokenBuffer buffer, Map<String, Key> keys, boolean topLevel)
+            throws IOException {
+        for (JsonToken token = jp.currentToken(); token == JsonToken.FIELD_NAME; token = jp.nextToken()) {
+            final String name = jp.getCurrentName();
+            final Key key = keys.get(name);
+            jp.nextToken();
+            if (key == null) {
+                if (topLevel) {
+                    buffer.writeFieldName(name);
+                    buffer.copyCurrentStructure(jp);
+                } else {
+                    jp.skipChildren();
+                }
+            } else if (key.nested == null || jp.currentToken() != JsonToken.START_OBJECT) {
+                if (key.property != null) {
+                    buffer.writeFieldName(key.property);
+                    buffer.copyCurrentStructure(jp);
+                } else {
+                    jp.skipChildren();
+                }
+            } else if (key.property == null) {
+                jp.nextToken();
+                copyFields(jp, buffer, key.nested, false);
+            } else {
+                // both a property and the level of nested ones, read twice
+                final TokenBuffer value = new TokenBuffer(jp, null);
+                value.copyCurrentStructure(jp);
+                buffer.writeFieldName(key.property);
+                value.serialize(buffer);
+                final JsonParser nested = value.asParser(jp);
+                nested.nextToken();
+                nested.nextToken();
+                copyFields(nested, buffer, key.nested, false);
+            }
+        }
     }
 
-    @SuppressWarnings("unchecked")
     @Override
     public Object deserializeWithType(JsonParser jp,
                                       DeserializationContext cxt,
@@ -194,22 +225,10 @@ class FlatteningDeserializer extends StdDeserializer<Object> implements Resolvab
         //
         // The parameter 'jp' is the reader to read "Json object with TypeId"
         //
-        JsonNode currentJsonNode = mapper.readTree(jp);
-        final Class<?> tClass = this.defaultDeserializer.handledType();
-        for (Class<?> c : TypeUtil.getAllClasses(tClass)) {
-            final JsonTypeInfo typeInfo = c.getAnnotation(com.fasterxml.jackson.annotation.JsonTypeInfo.class);
-            if (typeInfo != null) {
-                String typeId = typeInfo.property();
-                if (containsDot(typeId)) {
-                    final String typeIdOnWire = unescapeEscapedDots(typeId);
-                    JsonNode typeIdValue = ((ObjectNode) currentJsonNode).remove(typeIdOnWire);
-                    if (typeIdValue != null) {
-                        ((ObjectNode) currentJsonNode).put(typeId, typeIdValue);
-                    }
-                }
-            }
+        if (this.typeIdKeys == null) {
+            return tDeserializer.deserializeTypedFromAny(jp, cxt);
         }
-        return tDeserializer.deserializeTypedFromAny(newJsonParserForNode(currentJsonNode), cxt);
+        return tDeserializer.deserializeTypedFromAny(bufferObject(jp, cxt, this.typeIdKeys), cxt);
     }
 
     @Override
@@ -219,25 +238,29 @@ class FlatteningDeserializer extends StdDeserializer<Object> implements Resolvab
         //
         // The parameter 'jp' is the reader to read "Json object with TypeId"
         //
-        JsonNode currentJsonNode = mapper.readTree(jp);
-        if (currentJsonNode.isNull()) {
-            currentJsonNode = mapper.getNodeFactory().objectNode();
-        }
-        final Class<?> tClass = this.defaultDeserializer.handledType();
-        for (Class<?> c : TypeUtil.getAllClasses(tClass)) {
-            if (c.isAssignableFrom(Object.class)) {
-                continue;
-            } else {
-                for (Field classField : c.getDeclaredFields()) {
-                    handleFlatteningForField(classField, currentJsonNode);
-                }
-            }
+        if (this.keys == null && jp.currentToken() != JsonToken.VALUE_NULL) {
+            return this.defaultDeserializer.deserialize(jp, cxt);
         }
-        return this.defaultDeserializer.deserialize(newJsonParserForNode(currentJsonNode), cxt);
+        return this.defaultDeserializer.deserialize(bufferObject(jp, cxt, this.keys == null ? Map.of() : this.keys),
+                cxt);
     }
 
     @Override
     public void resolve(DeserializationContext cxt) throws JsonMappingException {
         ((ResolvableDeserializer) this.defaultDeserializer).resolve(cxt);
     }
+
+    /**
+     * A key on the wire: the property read from it, the keys nested in it, or both.
+     */
+    private static final class Key {
+        // the property name the value of the key is read as, null if it is only a level
+        private String property;
+        // the keys nested in the key, null if it isn't a level
+        private Map<String, Key> nested;
+
+        private Key(String property) {
+            this.property = property;
+        }
+    }
 }
@@ -1,40 +1,41 @@
 package com.unisoft.core.http.serialize;
 
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
 import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.core.type.WritableTypeId;
 import com.fasterxml.jackson.databind.*;
 import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
 import com.fasterxml.jackson.databind.module.SimpleModule;
-import com.fasterxml.jackson.databind.node.ArrayNode;
-import com.fasterxml.jackson.databind.node.JsonNodeFactory;
-import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.ser.BeanPropertyWriter;
 import com.fasterxml.jackson.databind.ser.BeanSerializerModifier;
+import com.fasterxml.jackson.databind.ser.PropertyWriter;
 import com.fasterxml.jackson.databind.ser.ResolvableSerializer;
 import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.fasterxml.jackson.databind.util.NameTransformer;
 import com.unisoft.core.http.annotation.JsonFlatten;
-import com.unisoft.core.util.log.LogUtil;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
-import java.lang.reflect.Field;
-import java.lang.reflect.Modifier;
-import java.time.Duration;
-import java.time.OffsetDateTime;
-import java.util.*;
-import java.util.concurrent.LinkedBlockingQueue;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
 
 /**
  * Custom serializer for serializing types with wrapped properties.
  * For example, a property with annotation @JsonProperty(value = "properties.name")
  * will be mapped from a top level "name" property in the POJO model to
  * {'properties' : { 'name' : 'my_name' }} in the serialized payload.
+ * <p>
+ * The properties of the type are compiled once into a plan nesting them as they are written on the wire, the
+ * properties then being written straight to the generator.
  *
  * @author omar.H.Ajmi
  * @since 19/10/2020
  */
 class FlatteningSerializer extends StdSerializer<Object> implements ResolvableSerializer {
 
-    private static final Logger log = LoggerFactory.getLogger(FlatteningSerializer.class);
     private static final long serialVersionUID = -6130180289951110573L;
 
     /**
@@ -43,38 +44,36 @@ class FlatteningSerializer extends StdSerializer<Object> implements ResolvableSe
     private final JsonSerializer<?> defaultSerializer;
 
     /**
-     * The object mapper for default serializations.
+     * The plan for writing the type without and with a type id property, compiled on first use.
      */
-    private final ObjectMapper mapper;
+    private transient volatile Plan plan;
+    private transient volatile Plan typedPlan;
 
     /**
      * Creates an instance of FlatteningSerializer.
      *
      * @param vc                handled type
      * @param defaultSerializer the default JSON serializer
-     * @param mapper            the object mapper for default serializations
      */
-    protected FlatteningSerializer(Class<?> vc, JsonSerializer<?> defaultSerializer, ObjectMapper mapper) {
+    protected FlatteningSerializer(Class<?> vc, JsonSerializer<?> defaultSerializer) {
         super(vc, false);
         this.defaultSerializer = defaultSerializer;
-        this.mapper = mapper;
     }
 
     /**
      * Gets a module wrapping this serializer as an adapter for the Jackson
      * ObjectMapper.
      *
-     * @param mapper the object mapper for default serializations
      * @return a simple module to be plugged onto Jackson ObjectMapper.
      */
-    public static SimpleModule getModule(final ObjectMapper mapper) {
+    public static SimpleModule getModule() {
         SimpleModule module = new SimpleModule();
         module.setSerializerModifier(new BeanSerializerModifier() {
             @Override
             public JsonSerializer<?> modifySerializer(SerializationConfig config, BeanDescription beanDesc,
                                                       JsonSerializer<?> serializer) {
                 if (beanDesc.getBeanClass().getAnnotation(JsonFlatten.class) != null) {
-                    return new FlatteningSerializer(beanDesc.getBeanClass(), serializer, mapper);
+                    return new FlatteningSerializer(beanDesc.getBeanClass(), serializer);
                 }
                 return serializer;
             }
@@ -82,149 +81,201 @@ class FlatteningSerializer extends StdSerializer<Object> implements ResolvableSe
         return module;
     }
 
-    private List<Field> getAllDeclaredFields(Class<?> clazz) {
-        List<Field> fields = new ArrayList<>();
-        while (clazz != null && !clazz.equals(Object.class)) {
-            for (Field f : clazz.getDeclaredFields()) {
-                int mod = f.getModifiers();
-                if (!Modifier.isFinal(mod) && !Modifier.isStatic(mod)) {
-                    fields.add(f);
-                }
+    /**
+     * Splits a property name by its flattening dots, the dots not preceded by a slash '\' nor starting or ending the
+     * name, unescaping the escaped dots of each key.
+     *
+     * @param name the property name
+     * @return the keys nesting the property on the wire
+     */
+    static String[] splitKey(String name) {
+        final List<String> keys = new ArrayList<>(2);
+        final StringBuilder key = new StringBuilder(name.length());
+        for (int i = 0; i < name.length(); i++) {
+            final char c = name.charAt(i);
+            if (c == '\\' && i + 1 < name.length() && name.charAt(i + 1) == '.') {
+                key.append('.');
+                i++;
+            } else if (c == '.' && i > 0 && i < name.length() - 1) {
+                keys.add(key.toString());
+                key.setLength(0);
+            } else {
+                key.append(c);
             }
-            clazz = clazz.getSuperclass();
         }
-        return fields;
+        keys.add(key.toString());
+        return keys.toArray(new String[0]);
     }
 
-    @SuppressWarnings("unchecked")
-    private void escapeMapKeys(Object value) {
+    @Override
+    public void serialize(Object value, JsonGenerator jgen, SerializerProvider provider) throws IOException {
         if (value == null) {
+            jgen.writeNull();
             return;
         }
+        jgen.writeStartObject(value);
+        this.writeNodes(value, this.getPlan(null).nodes, null, jgen, provider);
+        jgen.writeEndObject();
+    }
 
-        if (value.getClass().isPrimitive()
-                || value.getClass().isEnum()
-                || value instanceof OffsetDateTime
-                || value instanceof Duration
-                || value instanceof String) {
-            return;
-        }
+    @Override
+    public void resolve(SerializerProvider provider) throws JsonMappingException {
+        ((ResolvableSerializer) defaultSerializer).resolve(provider);
+    }
 
-        int mod = value.getClass().getModifiers();
-        if (Modifier.isFinal(mod) || Modifier.isStatic(mod)) {
+    @Override
+    public void serializeWithType(Object value, JsonGenerator gen, SerializerProvider provider,
+                                  TypeSerializer typeSerializer) throws IOException {
+        if (typeSerializer.getTypeInclusion() != JsonTypeInfo.As.PROPERTY) {
+            final WritableTypeId typeId = typeSerializer.writeTypePrefix(gen,
+                    typeSerializer.typeId(value, JsonToken.START_OBJECT));
+            this.writeNodes(value, this.getPlan(null).nodes, null, gen, provider);
+            typeSerializer.writeTypeSuffix(gen, typeId);
             return;
         }
+        // the type id property may be flattened as any other property
+        gen.writeStartObject(value);
+        this.writeNodes(value, this.getPlan(typeSerializer.getPropertyName()).nodes,
+                typeSerializer.getTypeIdResolver().idFromValue(value), gen, provider);
+        gen.writeEndObject();
+    }
 
-        if (value instanceof List<?>) {
-            for (Object val : ((List<?>) value)) {
-                escapeMapKeys(val);
+    private Plan getPlan(String typeProperty) {
+        Plan plan = typeProperty == null ? this.plan : this.typedPlan;
+        if (plan == null || !Objects.equals(plan.typeProperty, typeProperty)) {
+            // the writers are only complete once the default serializer is resolved, hence compiled on first use
+            plan = new Plan(typeProperty, this.defaultSerializer.properties());
+            if (typeProperty == null) {
+                this.plan = plan;
+            } else {
+                this.typedPlan = plan;
             }
-            return;
         }
+        return plan;
+    }
 
-        if (value instanceof Map<?, ?>) {
-            for (String key : new HashSet<>(((Map<String, Object>) value).keySet())) {
-                if (key.contains(".")) {
-                    String newKey = key.replaceAll("((?<!\\\\))\\.", "\\\\.");
-                    Object val = ((Map<String, Object>) value).remove(key);
-                    ((Map<String, Object>) value).put(newKey, val);
+    private void writeNodes(Object bean, Node[] nodes, String typeId, JsonGenerator gen, SerializerProvider provider)
+            throws IOException {
+        for (Node node : nodes) {
+            try {
+                if (node.property != null) {
+                    node.property.serializeAsField(bean, gen, provider);
+                } else if (node.children == null) {
+                    if (typeId != null) {
+                        gen.writeFieldName(node.name);
+                        gen.writeString(typeId);
+                    }
+                } else if (node.hasValue(bean, typeId)) {
+                    gen.writeFieldName(node.name);
+                    gen.writeStartObject();
+                    this.writeNodes(bean, node.children, typeId, gen, provider);
+                    gen.writeEndObject();
                 }
+            } catch (Exception e) {
+                wrapAndThrow(provider, e, bean, node.name.getValue());
             }
-            for (Object val : ((Map<?, ?>) value).values()) {
-                escapeMapKeys(val);
-            }
-            return;
         }
+    }
 
-        for (Field f : getAllDeclaredFields(value.getClass())) {
-            f.setAccessible(true);
-            try {
-                escapeMapKeys(f.get(value));
-            } catch (IllegalAccessException e) {
-                LogUtil.logExceptionAsError(log, () -> {
-                    throw new RuntimeException(e);
-                });
+    /**
+     * The properties of a type nested as they are written on the wire.
+     */
+    private static final class Plan {
+        private final String typeProperty;
+        private final Node[] nodes;
+
+        private Plan(String typeProperty, Iterator<PropertyWriter> properties) {
+            this.typeProperty = typeProperty;
+            final Node root = new Node(null, null);
+            root.children = new Node[0];
+            if (typeProperty != null) {
+                root.add(splitKey(typeProperty), 0, null);
+            }
+            while (properties.hasNext()) {
+                final PropertyWriter property = properties.next();
+                if (property instanceof BeanPropertyWriter) {
+                    root.add(splitKey(property.getName()), 0, (BeanPropertyWriter) property);
+                }
             }
+            this.nodes = root.children;
         }
     }
 
-    @Override
-    public void serialize(Object value, JsonGenerator jgen, SerializerProvider provider) throws IOException {
-        if (value == null) {
-            jgen.writeNull();
-            return;
+    /**
+     * A key on the wire: a property of the type, the type id or a level nesting other keys.
+     */
+    private static final class Node {
+        private final SerializedString name;
+        // the property written under the key, null for the type id or a level
+        private final BeanPropertyWriter property;
+        // the keys nested in a level, null otherwise
+        private Node[] children;
+
+        private Node(String name, BeanPropertyWriter property) {
+            this.name = name == null ? null : new SerializedString(name);
+            this.property = property;
         }
-        escapeMapKeys(value);
-        // BFS for all collapsed properties
-        ObjectNode root = mapper.valueToTree(value);
-        ObjectNode res = root.deepCopy();
-        Queue<ObjectNode> source = new LinkedBlockingQueue<ObjectNode>();
-        Queue<ObjectNode> target = new LinkedBlockingQueue<ObjectNode>();
-        source.add(root);
-        target.add(res);
-        while (!source.isEmpty()) {
-            ObjectNode current = source.poll();
-            ObjectNode resCurrent = target.poll();
-            Iterator<Map.Entry<String, JsonNode>> fields = current.fields();
-            while (fields.hasNext()) {
-                Map.Entry<String, JsonNode> field = fields.next();
-                ObjectNode node = resCurrent;
-                String key = field.getKey();
-                JsonNode outNode = resCurrent.get(key);
-                if (key.matches(".+[^\\\\]\\..+")) {
-                    // Handle flattening properties
-                    //
-                    String[] values = key.split("((?<!\\\\))\\.");
-                    for (int i = 0; i < values.length; ++i) {
-                        values[i] = values[i].replace("\\.", ".");
-                        if (i == values.length - 1) {
-                            break;
-                        }
-                        String val = values[i];
-                        if (node.has(val)) {
-                            node = (ObjectNode) node.get(val);
-                        } else {
-                            ObjectNode child = new ObjectNode(JsonNodeFactory.instance);
-                            node.put(val, child);
-                            node = child;
-                        }
-                    }
-                    node.set(values[values.length - 1], resCurrent.get(key));
-                    resCurrent.remove(key);
-                    outNode = node.get(values[values.length - 1]);
-                } else if (key.matches(".*[^\\\\]\\\\..+")) {
-                    // Handle escaped map key
-                    //
-                    String originalKey = key.replaceAll("\\\\.", ".");
-                    resCurrent.remove(key);
-                    resCurrent.put(originalKey, outNode);
+
+        private void add(String[] keys, int index, BeanPropertyWriter property) {
+            if (index == keys.length - 1) {
+                this.append(new Node(keys[index], rename(property, keys[index])));
+                return;
+            }
+            Node level = null;
+            for (Node child : this.children) {
+                if (child.children != null && child.name.getValue().equals(keys[index])) {
+                    level = child;
+                    break;
                 }
-                if (field.getValue() instanceof ObjectNode) {
-                    source.add((ObjectNode) field.getValue());
-                    target.add((ObjectNode) outNode);
-                } else if (field.getValue() instanceof ArrayNode
-                        && (field.getValue()).size() > 0
-                        && (field.getValue()).get(0) instanceof ObjectNode) {
-                    Iterator<JsonNode> sourceIt = field.getValue().elements();
-                    Iterator<JsonNode> targetIt = outNode.elements();
-                    while (sourceIt.hasNext()) {
-                        source.add((ObjectNode) sourceIt.next());
-                        target.add((ObjectNode) targetIt.next());
+            }
+            if (level == null) {
+                level = new Node(keys[index], null);
+                level.children = new Node[0];
+                this.append(level);
+            }
+            level.add(keys, index + 1, property);
+        }
+
+        private void append(Node child) {
+            final Node[] children = this.children == null ? new Node[1] : new Node[this.children.length + 1];
+            if (this.children != null) {
+                System.arraycopy(this.children, 0, children, 0, this.children.length);
+            }
+            children[children.length - 1] = child;
+            this.children = children;
+        }
+
+        /**
+         * @return whether any key nested in this level may be written, for it not to be written empty
+         */
+        private boolean hasValue(Object bean, String typeId) throws Exception {
+            for (Node child : this.children) {
+                if (child.property != null) {
+                    if (!child.property.willSuppressNulls() || child.property.get(bean) != null) {
+                        return true;
                     }
+                } else if (child.children == null ? typeId != null : child.hasValue(bean, typeId)) {
+                    return true;
                 }
             }
+            return false;
         }
-        jgen.writeTree(res);
-    }
 
-    @Override
-    public void resolve(SerializerProvider provider) throws JsonMappingException {
-        ((ResolvableSerializer) defaultSerializer).resolve(provider);
-    }
+        private static BeanPropertyWriter rename(BeanPropertyWriter property, String name) {
+            if (property == null || property.getName().equals(name)) {
+                return property;
+            }
+            return property.rename(new NameTransformer() {
+                @Override
+                public String transform(String original) {
+                    return name;
+                }
 
-    @Override
-    public void serializeWithType(Object value, JsonGenerator gen, SerializerProvider provider,
-                                  TypeSerializer typeSerializer) throws IOException {
-        serialize(value, gen, provider);
+                @Override
+                public String reverse(String transformed) {
+                    return null;
+                }
+            });
+        }
     }
 }
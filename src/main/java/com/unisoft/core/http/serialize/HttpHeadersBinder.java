@@ -0,0 +1,315 @@
+package com.unisoft.core.http.serialize;
+
+import com.fasterxml.jackson.annotation.JacksonAnnotation;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.node.TextNode;
+import com.unisoft.core.http.HttpHeader;
+import com.unisoft.core.http.HttpHeaders;
+import com.unisoft.core.http.annotation.HeaderCollection;
+import com.unisoft.core.util.TypeUtil;
+
+import java.io.IOException;
+import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.AccessibleObject;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Executable;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Type;
+import java.security.AccessController;
+import java.security.PrivilegedAction;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Binds response headers to a headers type, as {@link JacksonAdapter#deserialize(HttpHeaders, Type)} reads them,
+ * without writing them to JSON first.
+ * <p>
+ * The fields of the type are compiled once into a setter per header name and a codec converting the header value to
+ * the type of the field, and the fields annotated with {@link HeaderCollection} into the prefix of the headers they
+ * collect. The headers are then bound in a single pass. The types Jackson would read differently than by their fields,
+ * being annotated with any other Jackson annotation or having no constructor without parameters, aren't compiled.
+ *
+ * @author omar.H.Ajmi
+ * @since 17/10/2026
+ */
+final class HttpHeadersBinder {
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+    private final Class<?> type;
+    private final MethodHandle constructor;
+    // the fields by the lower case name of the header they are bound to
+    private final Map<String, Property> properties;
+    private final CollectionField[] collections;
+
+    private HttpHeadersBinder(Class<?> type, MethodHandle constructor, Map<String, Property> properties,
+                              CollectionField[] collections) {
+        this.type = type;
+        this.constructor = constructor;
+        this.properties = properties;
+        this.collections = collections;
+    }
+
+    /**
+     * Compiles the binder of a headers type.
+     *
+     * @param javaType     the resolved headers type
+     * @param headerMapper the mapper reading the values of the types without a codec of their own
+     * @return the binder, null if the type has to be read by Jackson
+     */
+    static HttpHeadersBinder compile(JavaType javaType, ObjectMapper headerMapper) {
+        final Class<?> type = javaType.getRawClass();
+        if (javaType.containedTypeCount() > 0 || type.isInterface() || type.isArray() || type.isPrimitive()
+                || type.isEnum() || Modifier.isAbstract(type.getModifiers())
+                || (type.isMemberClass() && !Modifier.isStatic(type.getModifiers()))
+                || type.getName().startsWith("java.")) {
+            return null;
+        }
+        try {
+            final Constructor<?> declaredConstructor = type.getDeclaredConstructor();
+            final List<Class<?>> classes = TypeUtil.getAllClasses(type);
+            for (Class<?> c : classes) {
+                if (hasJacksonAnnotation(c.getDeclaredAnnotations()) || hasJacksonAnnotation(c.getDeclaredMethods())
+                        || hasJacksonAnnotation(c.getDeclaredConstructors())) {
+                    return null;
+                }
+            }
+            final MethodHandles.Lookup lookup = MethodHandles.lookup();
+            final MethodHandle constructor = lookup.unreflectConstructor(makeAccessible(declaredConstructor))
+                    .asType(MethodType.methodType(Object.class));
+            final Map<String, Property> properties = new HashMap<>();
+            final List<CollectionField> collections = new ArrayList<>();
+            for (Class<?> c : classes) {
+                if (c == Object.class) {
+                    continue;
+                }
+                for (Field field : c.getDeclaredFields()) {
+                    final int modifiers = field.getModifiers();
+                    if (Modifier.isStatic(modifiers) || field.isSynthetic()) {
+                        continue;
+                    }
+                    final JsonProperty jsonProperty = field.getAnnotation(JsonProperty.class);
+                    for (Annotation annotation : field.getDeclaredAnnotations()) {
+                        if (!(annotation instanceof JsonProperty) && !(annotation instanceof JsonIgnore)
+                                && isJacksonAnnotation(annotation)) {
+                            return null;
+                        }
+                    }
+                    final String collectionPrefix = collectionPrefix(field);
+                    if (collectionPrefix != null) {
+                        collections.add(new CollectionField(collectionPrefix, setter(lookup, field)));
+                        continue;
+                    }
+                    if ((Modifier.isTransient(modifiers) && jsonProperty == null)
+                            || field.isAnnotationPresent(JsonIgnore.class)
+                            || (jsonProperty != null && jsonProperty.access() == JsonProperty.Access.READ_ONLY)) {
+                        continue;
+                    }
+                    final String name = jsonProperty == null || jsonProperty.value().isEmpty()
+                            ? field.getName() : jsonProperty.value();
+                    final JavaType fieldType = headerMapper.getTypeFactory().constructType(field.getGenericType(),
+                            javaType.findSuperType(c).getBindings());
+                    properties.putIfAbsent(name.toLowerCase(Locale.ROOT), new Property(setter(lookup, field),
+                            field.getType().isPrimitive(), codec(fieldType, headerMapper.readerFor(fieldType))));
+                }
+            }
+            return new HttpHeadersBinder(type, constructor, properties, collections.toArray(new CollectionField[0]));
+        } catch (NoSuchMethodException | IllegalAccessException | RuntimeException e) {
+            // Jackson reads the type, reporting why it cannot if it doesn't
+            return null;
+        }
+    }
+
+    /**
+     * Binds headers to a new instance of the headers type.
+     *
+     * @param headers the headers
+     * @return the instance
+     * @throws IOException if a header value cannot be converted to the type of its field
+     */
+    Object bind(HttpHeaders headers) throws IOException {
+        final Object bean;
+        try {
+            bean = this.constructor.invokeExact();
+        } catch (Throwable e) {
+            throw new IOException("Failed to create the headers of type " + this.type.getName(), e);
+        }
+        final List<Map<String, String>> collected = new ArrayList<>(this.collections.length);
+        for (int i = 0; i < this.collections.length; i++) {
+            collected.add(new HashMap<>());
+        }
+        for (HttpHeader header : headers) {
+            final String name = header.getName();
+            final String lowerCaseName = name.toLowerCase(Locale.ROOT);
+            final Property property = this.properties.get(lowerCaseName);
+            if (property != null) {
+                property.set(bean, header.getValue());
+            }
+            for (int i = 0; i < this.collections.length; i++) {
+                final String prefix = this.collections[i].prefix;
+                if (lowerCaseName.startsWith(prefix)) {
+                    collected.get(i).put(name.substring(prefix.length()), header.getValue());
+                }
+            }
+        }
+        for (int i = 0; i < this.collections.length; i++) {
+            set(this.collections[i].setter, bean, collected.get(i));
+        }
+        return bean;
+    }
+
+    /**
+     * @return the lower case prefix of the headers a field collects, null if it isn't a header collection
+     */
+    private static String collectionPrefix(Field field) {
+        final HeaderCollection headerCollection = field.getAnnotation(HeaderCollection.class);
+        if (headerCollection == null || headerCollection.value().isEmpty()
+                || !TypeUtil.isTypeOrSubTypeOf(field.getType(), Map.class)) {
+            return null;
+        }
+        final Type[] typeArguments = TypeUtil.getTypeArguments(field.getGenericType());
+        if (typeArguments.length != 2 || typeArguments[0] != String.class || typeArguments[1] != String.class) {
+            return null;
+        }
+        return headerCollection.value().toLowerCase(Locale.ROOT);
+    }
+
+    private static boolean isJacksonAnnotation(Annotation annotation) {
+        return annotation.annotationType().isAnnotationPresent(JacksonAnnotation.class);
+    }
+
+    private static boolean hasJacksonAnnotation(Annotation[] annotations) {
+        for (Annotation annotation : annotations) {
+            if (isJacksonAnnotation(annotation)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean hasJacksonAnnotation(Executable[] executables) {
+        for (Executable executable : executables) {
+            if (hasJacksonAnnotation(executable.getDeclaredAnnotations())) {
+                return true;
+            }
+            for (Annotation[] parameterAnnotations : executable.getParameterAnnotations()) {
+                if (hasJacksonAnnotation(parameterAnnotations)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static <T extends AccessibleObject> T makeAccessible(T member) {
+        AccessController.doPrivileged((PrivilegedAction<Object>) () -> {
+            member.setAccessible(true);
+            return null;
+        });
+        return member;
+    }
+
+    private static MethodHandle setter(MethodHandles.Lookup lookup, Field field) throws IllegalAccessException {
+        return lookup.unreflectSetter(makeAccessible(field)).asType(SETTER_TYPE);
+    }
+
+    private static void set(MethodHandle setter, Object bean, Object value) throws IOException {
+        try {
+            setter.invokeExact(bean, value);
+        } catch (Throwable e) {
+            throw new IOException("Failed to set a header value: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Gets the codec converting header values to a type, the strings, integers, longs and booleans being converted
+     * directly, the values of the other types, and the values these conversions reject, being read by the reader.
+     */
+    private static Codec codec(JavaType type, ObjectReader reader) {
+        final Codec read = value -> reader.readValue(TextNode.valueOf(value));
+        final Class<?> rawType = type.getRawClass();
+        if (rawType == String.class) {
+            return value -> value;
+        } else if (rawType == int.class || rawType == Integer.class) {
+            return value -> {
+                try {
+                    return Integer.parseInt(value.trim());
+                } catch (NumberFormatException e) {
+                    return read.decode(value);
+                }
+            };
+        } else if (rawType == long.class || rawType == Long.class) {
+            return value -> {
+                try {
+                    return Long.parseLong(value.trim());
+                } catch (NumberFormatException e) {
+                    return read.decode(value);
+                }
+            };
+        } else if (rawType == boolean.class || rawType == Boolean.class) {
+            return value -> {
+                if ("true".equals(value) || "True".equals(value)) {
+                    return Boolean.TRUE;
+                } else if ("false".equals(value) || "False".equals(value)) {
+                    return Boolean.FALSE;
+                }
+                return read.decode(value);
+            };
+        }
+        return read;
+    }
+
+    /**
+     * Converts a header value to the type of a field.
+     */
+    @FunctionalInterface
+    private interface Codec {
+        Object decode(String value) throws IOException;
+    }
+
+    /**
+     * A field bound to a header.
+     */
+    private static final class Property {
+        private final MethodHandle setter;
+        private final boolean primitive;
+        private final Codec codec;
+
+        private Property(MethodHandle setter, boolean primitive, Codec codec) {
+            this.setter = setter;
+            this.primitive = primitive;
+            this.codec = codec;
+        }
+
+        private void set(Object bean, String value) throws IOException {
+            final Object converted = this.codec.decode(value);
+            // a primitive field keeps its value rather than being set to null
+            if (converted != null || !this.primitive) {
+                HttpHeadersBinder.set(this.setter, bean, converted);
+            }
+        }
+    }
+
+    /**
+     * A field collecting the headers with a prefix, by their name without it.
+     */
+    private static final class CollectionField {
+        private final String prefix;
+        private final MethodHandle setter;
+
+        private CollectionField(String prefix, MethodHandle setter) {
+            this.prefix = prefix;
+            this.setter = setter;
+        }
+    }
+}
@@ -4,6 +4,7 @@ import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.JsonSerializer;
 import com.fasterxml.jackson.databind.SerializerProvider;
 import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.unisoft.core.http.HttpHeader;
 import com.unisoft.core.http.HttpHeaders;
 
 import java.io.IOException;
@@ -29,6 +30,10 @@ final class HttpHeadersSerializer extends JsonSerializer<HttpHeaders> {
 
     @Override
     public void serialize(HttpHeaders value, JsonGenerator jgen, SerializerProvider provider) throws IOException {
-        jgen.writeObject(value.toMap());
+        jgen.writeStartObject();
+        for (HttpHeader header : value) {
+            jgen.writeStringField(header.getName(), header.getValue());
+        }
+        jgen.writeEndObject();
     }
 }
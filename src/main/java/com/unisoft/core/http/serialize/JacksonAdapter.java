@@ -16,6 +16,9 @@ import com.unisoft.core.util.CoreUtil;
 import com.unisoft.core.util.TypeUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SynchronousSink;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
@@ -24,11 +27,12 @@ import java.io.OutputStream;
 import java.lang.reflect.Field;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import java.security.AccessController;
 import java.security.PrivilegedAction;
 import java.util.*;
-import java.util.regex.Pattern;
+import java.util.concurrent.Callable;
 
 /**
  * @author omar.H.Ajmi
@@ -37,7 +41,6 @@ import java.util.regex.Pattern;
 public class JacksonAdapter implements SerializerAdapter {
     private static final Logger log = LoggerFactory.getLogger(JacksonAdapter.class);
 
-    private static final Pattern PATTERN = Pattern.compile("^\"*|\"*$");
     /*
      * The lazily-created serializer for this ServiceClient.
      */
@@ -52,6 +55,9 @@ public class JacksonAdapter implements SerializerAdapter {
     private final ObjectMapper simpleMapper;
     private final ObjectMapper xmlMapper;
     private final ObjectMapper headerMapper;
+    private final ObjectWriter headersWriter;
+    private final JacksonTypeCache typeCache;
+    private final RawValueEncoder rawValueEncoder = new RawValueEncoder(this::serializeJson);
 
     /**
      * Creates a new JacksonAdapter instance with default mapper settings.
@@ -64,19 +70,30 @@ public class JacksonAdapter implements SerializerAdapter {
                 .configure(ToXmlGenerator.Feature.WRITE_XML_DECLARATION, true);
 
         ObjectMapper flatteningMapper = initializeObjectMapper(new ObjectMapper())
-                .registerModule(FlatteningDeserializer.getModule(simpleMapper()))
-                .registerModule(FlatteningDeserializer.getModule(simpleMapper()));
+                .registerModule(FlatteningDeserializer.getModule())
+                .registerModule(FlatteningDeserializer.getModule());
 
         mapper = initializeObjectMapper(new ObjectMapper())
                 // Order matters: must register in reverse order of hierarchy
                 .registerModule(AdditionalPropertiesSerializer.getModule(flatteningMapper))
-                .registerModule(AdditionalPropertiesDeserializer.getModule(flatteningMapper))
-                .registerModule(FlatteningSerializer.getModule(simpleMapper()))
-                .registerModule(FlatteningDeserializer.getModule(simpleMapper()));
+                .registerModule(AdditionalPropertiesDeserializer.getModule())
+                .registerModule(FlatteningSerializer.getModule())
+                .registerModule(FlatteningDeserializer.getModule());
 
         headerMapper = simpleMapper
                 .copy()
                 .configure(MapperFeature.ACCEPT_CASE_INSENSITIVE_PROPERTIES, true);
+        headersWriter = headerMapper.writerFor(HttpHeaders.class);
+
+        typeCache = new JacksonTypeCache(JacksonTypeCache.maximumSizeFromSystemProperty(), this::createJavaType,
+                mapper, xmlMapper, headerMapper);
+    }
+
+    /**
+     * @return the cache of the types resolved by this adapter
+     */
+    JacksonTypeCache getTypeCache() {
+        return typeCache;
     }
 
     /**
@@ -155,20 +172,17 @@ public class JacksonAdapter implements SerializerAdapter {
             return;
         }
 
-        if ((encoding == SerializerEncoding.XML)) {
-            xmlMapper.writeValue(outputStream, object);
-        } else {
-            serializer().writeValue(outputStream, object);
-        }
+        typeCache.get(object.getClass()).writer(encoding).writeValue(outputStream, object);
     }
 
     @Override
     public String serializeRaw(Object object) {
-        if (object == null) {
-            return null;
-        }
+        return rawValueEncoder.encode(object);
+    }
+
+    private String serializeJson(Object object) {
         try {
-            return PATTERN.matcher(serialize(object, SerializerEncoding.JSON)).replaceAll("");
+            return serialize(object, SerializerEncoding.JSON);
         } catch (IOException ex) {
             log.warn("Failed to serialize {} to JSON.", object.getClass(), ex);
             return null;
@@ -195,13 +209,8 @@ public class JacksonAdapter implements SerializerAdapter {
             return null;
         }
 
-        final JavaType javaType = createJavaType(type);
         try {
-            if (encoding == SerializerEncoding.XML) {
-                return xmlMapper.readValue(value, javaType);
-            } else {
-                return serializer().readValue(value, javaType);
-            }
+            return typeCache.get(type).reader(encoding).readValue(value);
         } catch (JsonParseException jpe) {
             throw new MalformedValueException(jpe.getMessage(), jpe);
         }
@@ -215,27 +224,100 @@ public class JacksonAdapter implements SerializerAdapter {
             return null;
         }
 
-        final JavaType javaType = createJavaType(type);
         try {
-            if (encoding == SerializerEncoding.XML) {
-                return xmlMapper.readValue(inputStream, javaType);
-            } else {
-                return serializer().readValue(inputStream, javaType);
-            }
+            return typeCache.get(type).reader(encoding).readValue(inputStream);
         } catch (JsonParseException jpe) {
             throw new MalformedValueException(jpe.getMessage(), jpe);
         }
     }
 
+    /**
+     * Deserializes the chunks of a JSON body as they arrive with a non-blocking parser, XML bodies are collected first.
+     */
+    @Override
+    public <T> Mono<T> deserialize(Flux<ByteBuffer> body, Type type, SerializerEncoding encoding) {
+        if (encoding == SerializerEncoding.XML) {
+            return SerializerAdapter.super.deserialize(body, type, encoding);
+        }
+
+        final ObjectReader reader = typeCache.get(type).reader(encoding);
+        return Mono.defer(() -> {
+            final NonBlockingJsonReader jsonReader;
+            try {
+                jsonReader = new NonBlockingJsonReader(serializer());
+            } catch (IOException e) {
+                return Mono.error(e);
+            }
+            return body.handle((ByteBuffer chunk, SynchronousSink<T> sink) -> {
+                try {
+                    jsonReader.feed(chunk);
+                } catch (IOException e) {
+                    sink.error(e);
+                }
+            }).then(Mono.fromCallable(() -> jsonReader.<T>finish(reader)));
+        }).onErrorMap(JsonParseException.class, jpe -> new MalformedValueException(jpe.getMessage(), jpe));
+    }
+
+    /**
+     * Emits the elements of a JSON array, the values of a newline delimited JSON body or the child elements of the
+     * root of an XML body as soon as each of them is parsed, requesting the next chunk only once the elements of the
+     * previous one are consumed.
+     */
+    @Override
+    public <T> Flux<T> deserializeElements(Flux<ByteBuffer> body, Type elementType, SerializerEncoding encoding) {
+        if (encoding == SerializerEncoding.XML) {
+            // keyed by a type equal to the one of the previous calls rather than a new parameterized type each time
+            final JavaType listType = mapper.getTypeFactory()
+                    .constructCollectionType(List.class, createJavaType(elementType));
+            final ObjectReader listReader = typeCache.get(listType).reader(encoding);
+            return streamElements(body, () -> new NonBlockingXmlReader(listReader));
+        }
+
+        final ObjectReader elementReader = typeCache.get(elementType).reader(encoding);
+        return streamElements(body,
+                () -> new NonBlockingJsonReader(serializer(), elementReader, encoding != SerializerEncoding.NDJSON));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> Flux<T> streamElements(Flux<ByteBuffer> body, Callable<ElementReader> readerFactory) {
+        return Flux.defer(() -> {
+            final ElementReader reader;
+            try {
+                reader = readerFactory.call();
+            } catch (Exception e) {
+                return Flux.error(e);
+            }
+            return body.handle((ByteBuffer chunk, SynchronousSink<List<Object>> sink) -> {
+                try {
+                    reader.feed(chunk);
+                    final List<Object> elements = reader.takeElements();
+                    if (!elements.isEmpty()) {
+                        sink.next(elements);
+                    }
+                } catch (IOException e) {
+                    sink.error(e);
+                }
+            }).concatWith(Mono.fromCallable(reader::finishElements))
+                    .concatMapIterable(elements -> (List<T>) elements, 1);
+        }).onErrorMap(JsonParseException.class, jpe -> new MalformedValueException(jpe.getMessage(), jpe));
+    }
+
     @Override
     public <T> T deserialize(HttpHeaders headers, Type deserializedHeadersType) throws IOException {
         if (deserializedHeadersType == null) {
             return null;
         }
 
-        final String headersJsonString = headerMapper.writeValueAsString(headers);
-        T deserializedHeaders =
-                headerMapper.readValue(headersJsonString, createJavaType(deserializedHeadersType));
+        final JacksonTypeCache.TypePlan plan = typeCache.get(deserializedHeadersType);
+        final HttpHeadersBinder binder = plan.headersBinder();
+        if (binder != null) {
+            @SuppressWarnings("unchecked")
+            final T bound = (T) binder.bind(headers);
+            return bound;
+        }
+
+        final String headersJsonString = headersWriter.writeValueAsString(headers);
+        T deserializedHeaders = plan.headerReader().readValue(headersJsonString);
 
         final Class<?> deserializedHeadersClass = TypeUtil.getRawClass(deserializedHeadersType);
         final Field[] declaredFields = deserializedHeadersClass.getDeclaredFields();
@@ -290,12 +372,45 @@ public class JacksonAdapter implements SerializerAdapter {
         return deserializedHeaders;
     }
 
+    /**
+     * Resolves a type and prepares its JSON deserializer, so that the first response of that type doesn't pay for it.
+     *
+     * @param type the type to prepare the deserialization of
+     */
+    @Override
+    public void warmUp(Type type) {
+        if (type != null) {
+            typeCache.get(type).reader(SerializerEncoding.JSON);
+        }
+    }
+
+    /**
+     * Resolves the lists and maps of the elements sent as a wire type to a type reading the elements straight from
+     * the wire type, its reader being cached as the reader of any other type.
+     *
+     * @param resultType the type the body is returned as
+     * @param wireType   the type the entities in the body are sent as
+     * @return the type to deserialize the body to, null if the body is read as the wire type
+     */
+    @Override
+    public Type resolveWireResponseType(Type resultType, Type wireType) {
+        if (resultType == null || wireType == null
+                || WireTypeDeserializer.withWireType(createJavaType(resultType), wireType) == null) {
+            return null;
+        }
+        return new WireResponseType(resultType, wireType);
+    }
+
     private JavaType createJavaType(Type type) {
         JavaType result;
         if (type == null) {
             result = null;
         } else if (type instanceof JavaType) {
             result = (JavaType) type;
+        } else if (type instanceof WireResponseType) {
+            final WireResponseType wireResponseType = (WireResponseType) type;
+            result = WireTypeDeserializer.withWireType(createJavaType(wireResponseType.resultType),
+                    wireResponseType.wireType);
         } else if (type instanceof ParameterizedType) {
             final ParameterizedType parameterizedType = (ParameterizedType) type;
             final Type[] actualTypeArguments = parameterizedType.getActualTypeArguments();
@@ -311,4 +426,44 @@ public class JacksonAdapter implements SerializerAdapter {
         }
         return result;
     }
+
+    /**
+     * A type returned with a wire type, resolved to the result type reading its elements from the wire type.
+     */
+    private static final class WireResponseType implements Type {
+        private final Type resultType;
+        private final Type wireType;
+
+        private WireResponseType(Type resultType, Type wireType) {
+            this.resultType = resultType;
+            this.wireType = wireType;
+        }
+
+        @Override
+        public String getTypeName() {
+            return this.resultType.getTypeName() + " sent as " + this.wireType.getTypeName();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof WireResponseType)) {
+                return false;
+            }
+            final WireResponseType that = (WireResponseType) o;
+            return this.resultType.equals(that.resultType) && this.wireType.equals(that.wireType);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * this.resultType.hashCode() + this.wireType.hashCode();
+        }
+
+        @Override
+        public String toString() {
+            return getTypeName();
+        }
+    }
 }
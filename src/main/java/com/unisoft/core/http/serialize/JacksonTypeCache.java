@@ -0,0 +1,333 @@
+package com.unisoft.core.http.serialize;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.WildcardType;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * The types resolved by a {@link JacksonAdapter}, each with the readers and writers bound to it, so that a type is
+ * resolved and its deserializers and serializers are looked up once rather than on every value read or written.
+ * <p>
+ * The cache holds at most {@value #DEFAULT_MAXIMUM_SIZE} types, or the size set by the {@value #MAXIMUM_SIZE_PROPERTY}
+ * system property, 0 disabling it. The types are spread over segments each evicting its least recently used type once
+ * full. The parameterized, array and wildcard types that are only equal to themselves, as the parameterized types
+ * created for each call, are looked up by their structure so that they are found again without being resolved.
+ *
+ * @author omar.H.Ajmi
+ * @since 17/10/2026
+ */
+final class JacksonTypeCache {
+    static final String MAXIMUM_SIZE_PROPERTY = "unisoft.http.serialize.typeCacheSize";
+    static final int DEFAULT_MAXIMUM_SIZE = 1024;
+    private static final int MAXIMUM_SEGMENTS = 16;
+    // whether the instances of a Type implementation are compared by value
+    private static final ClassValue<Boolean> VALUE_EQUALITY = new ClassValue<Boolean>() {
+        @Override
+        protected Boolean computeValue(Class<?> type) {
+            try {
+                return type.getMethod("equals", Object.class).getDeclaringClass() != Object.class;
+            } catch (NoSuchMethodException e) {
+                return false;
+            }
+        }
+    };
+
+    private final int maximumSize;
+    private final Segment[] segments;
+    private final Function<Type, JavaType> resolver;
+    private final ObjectMapper mapper;
+    private final ObjectMapper xmlMapper;
+    private final ObjectMapper headerMapper;
+
+    /**
+     * Creates a cache.
+     *
+     * @param maximumSize  the maximum number of types held
+     * @param resolver     resolves a type
+     * @param mapper       the mapper reading and writing JSON
+     * @param xmlMapper    the mapper reading and writing XML
+     * @param headerMapper the mapper reading headers
+     */
+    JacksonTypeCache(int maximumSize, Function<Type, JavaType> resolver, ObjectMapper mapper, ObjectMapper xmlMapper,
+                     ObjectMapper headerMapper) {
+        this.maximumSize = Math.max(0, maximumSize);
+        // a power of two segments each holding at least 16 types
+        final int segmentCount = Math.min(MAXIMUM_SEGMENTS,
+                Integer.highestOneBit(Math.max(1, this.maximumSize / 16)));
+        this.segments = new Segment[segmentCount];
+        for (int i = 0; i < segmentCount; i++) {
+            // the sizes of the segments add up to the maximum size
+            this.segments[i] = new Segment(this.maximumSize / segmentCount
+                    + (i < this.maximumSize % segmentCount ? 1 : 0));
+        }
+        this.resolver = resolver;
+        this.mapper = mapper;
+        this.xmlMapper = xmlMapper;
+        this.headerMapper = headerMapper;
+    }
+
+    static int maximumSizeFromSystemProperty() {
+        final String maximumSize = System.getProperty(MAXIMUM_SIZE_PROPERTY);
+        if (maximumSize != null) {
+            try {
+                return Integer.parseInt(maximumSize.trim());
+            } catch (NumberFormatException ignored) {
+                // the default size applies
+            }
+        }
+        return DEFAULT_MAXIMUM_SIZE;
+    }
+
+    /**
+     * Gets the plan of a type, resolving it if it isn't cached.
+     *
+     * @param type the type
+     * @return the plan of the type
+     */
+    TypePlan get(Type type) {
+        if (this.maximumSize == 0) {
+            return new TypePlan(this.resolver.apply(type), false);
+        }
+        // classes are unique, the other types are looked up by value or by structure when only equal to themselves
+        final Object key = type instanceof Class || VALUE_EQUALITY.get(type.getClass())
+                ? type
+                : new StructuralKey(type);
+        final Segment segment = this.segments[spread(key.hashCode()) & (this.segments.length - 1)];
+        TypePlan plan = segment.get(key);
+        if (plan != null) {
+            return plan;
+        }
+        // resolved outside the segment lock, racing resolutions of the same type keep the first one cached
+        plan = new TypePlan(this.resolver.apply(type), true);
+        final TypePlan cached = segment.putIfAbsent(key, plan);
+        return cached == null ? plan : cached;
+    }
+
+    /**
+     * @return the number of types held
+     */
+    int size() {
+        int size = 0;
+        for (Segment segment : this.segments) {
+            size += segment.size();
+        }
+        return size;
+    }
+
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+
+    private static final class Segment {
+        // in access order, the eldest plan being the least recently used one
+        private final LinkedHashMap<Object, TypePlan> plans;
+
+        private Segment(int capacity) {
+            this.plans = new LinkedHashMap<Object, TypePlan>(16, 0.75f, true) {
+                private static final long serialVersionUID = 1L;
+
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Object, TypePlan> eldest) {
+                    return size() > capacity;
+                }
+            };
+        }
+
+        private synchronized TypePlan get(Object key) {
+            return this.plans.get(key);
+        }
+
+        private synchronized TypePlan putIfAbsent(Object key, TypePlan plan) {
+            return this.plans.putIfAbsent(key, plan);
+        }
+
+        private synchronized int size() {
+            return this.plans.size();
+        }
+    }
+
+    /**
+     * Key of a type only equal to itself, equal to the keys of the types with the same structure.
+     */
+    private static final class StructuralKey {
+        private final Type type;
+        private final int hashCode;
+
+        private StructuralKey(Type type) {
+            this.type = type;
+            this.hashCode = hash(type);
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof StructuralKey && equal(this.type, ((StructuralKey) other).type);
+        }
+
+        @Override
+        public int hashCode() {
+            return this.hashCode;
+        }
+
+        private static boolean equal(Type a, Type b) {
+            if (a == b) {
+                return true;
+            }
+            if (a instanceof ParameterizedType && b instanceof ParameterizedType) {
+                final ParameterizedType pa = (ParameterizedType) a;
+                final ParameterizedType pb = (ParameterizedType) b;
+                return equal(pa.getRawType(), pb.getRawType()) && equal(pa.getOwnerType(), pb.getOwnerType())
+                        && equal(pa.getActualTypeArguments(), pb.getActualTypeArguments());
+            }
+            if (a instanceof GenericArrayType && b instanceof GenericArrayType) {
+                return equal(((GenericArrayType) a).getGenericComponentType(),
+                        ((GenericArrayType) b).getGenericComponentType());
+            }
+            if (a instanceof WildcardType && b instanceof WildcardType) {
+                return equal(((WildcardType) a).getUpperBounds(), ((WildcardType) b).getUpperBounds())
+                        && equal(((WildcardType) a).getLowerBounds(), ((WildcardType) b).getLowerBounds());
+            }
+            return Objects.equals(a, b);
+        }
+
+        private static boolean equal(Type[] a, Type[] b) {
+            if (a.length != b.length) {
+                return false;
+            }
+            for (int i = 0; i < a.length; i++) {
+                if (!equal(a[i], b[i])) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private static int hash(Type type) {
+            if (type instanceof ParameterizedType) {
+                return 31 * hash(((ParameterizedType) type).getRawType())
+                        + hash(((ParameterizedType) type).getActualTypeArguments());
+            }
+            if (type instanceof GenericArrayType) {
+                return 31 * hash(((GenericArrayType) type).getGenericComponentType()) + 1;
+            }
+            if (type instanceof WildcardType) {
+                return 31 * hash(((WildcardType) type).getUpperBounds())
+                        + hash(((WildcardType) type).getLowerBounds());
+            }
+            return Objects.hashCode(type);
+        }
+
+        private static int hash(Type[] types) {
+            int hash = 1;
+            for (Type type : types) {
+                hash = 31 * hash + hash(type);
+            }
+            return hash;
+        }
+    }
+
+    /**
+     * A resolved type and the readers and writers bound to it, each created on first use. Racing threads may create
+     * the same reader or writer, the readers and writers being immutable either of them is kept.
+     */
+    final class TypePlan {
+        private final JavaType javaType;
+        private final boolean cached;
+        private ObjectReader jsonReader;
+        private ObjectReader xmlReader;
+        private ObjectReader headerReader;
+        private ObjectWriter jsonWriter;
+        private ObjectWriter xmlWriter;
+        private Optional<HttpHeadersBinder> headersBinder;
+
+        private TypePlan(JavaType javaType, boolean cached) {
+            this.javaType = javaType;
+            this.cached = cached;
+        }
+
+        /**
+         * @return the resolved type
+         */
+        JavaType getJavaType() {
+            return this.javaType;
+        }
+
+        /**
+         * @return the reader of the type in the encoding
+         */
+        ObjectReader reader(SerializerEncoding encoding) {
+            if (encoding == SerializerEncoding.XML) {
+                ObjectReader reader = this.xmlReader;
+                if (reader == null) {
+                    reader = xmlMapper.readerFor(this.javaType);
+                    this.xmlReader = reader;
+                }
+                return reader;
+            }
+            ObjectReader reader = this.jsonReader;
+            if (reader == null) {
+                reader = mapper.readerFor(this.javaType);
+                this.jsonReader = reader;
+            }
+            return reader;
+        }
+
+        /**
+         * @return the reader of the type from headers
+         */
+        ObjectReader headerReader() {
+            ObjectReader reader = this.headerReader;
+            if (reader == null) {
+                reader = headerMapper.readerFor(this.javaType);
+                this.headerReader = reader;
+            }
+            return reader;
+        }
+
+        /**
+         * @return the binder of headers to the type, null if the headers are read by the header reader, as they are
+         * when the cache is disabled rather than compiling a binder for a single use
+         */
+        HttpHeadersBinder headersBinder() {
+            if (!this.cached) {
+                return null;
+            }
+            Optional<HttpHeadersBinder> binder = this.headersBinder;
+            if (binder == null) {
+                binder = Optional.ofNullable(HttpHeadersBinder.compile(this.javaType, headerMapper));
+                this.headersBinder = binder;
+            }
+            return binder.orElse(null);
+        }
+
+        /**
+         * @return the writer of the type in the encoding
+         */
+        ObjectWriter writer(SerializerEncoding encoding) {
+            if (encoding == SerializerEncoding.XML) {
+                ObjectWriter writer = this.xmlWriter;
+                if (writer == null) {
+                    writer = xmlMapper.writerFor(this.javaType);
+                    this.xmlWriter = writer;
+                }
+                return writer;
+            }
+            ObjectWriter writer = this.jsonWriter;
+            if (writer == null) {
+                writer = mapper.writerFor(this.javaType);
+                this.jsonWriter = writer;
+            }
+            return writer;
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package com.unisoft.core.http.serialize;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteArrayFeeder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Parses a JSON document fed in chunks with Jackson's non-blocking parser, recording its tokens so that values are
+ * bound once they end without the document ever being held in a single array.
+ * <p>
+ * A reader either binds the root value, ignoring any content following it as when reading a value from a stream, or
+ * binds elements as soon as each of them ends: the elements of a root array when unwrapping arrays, each root value
+ * otherwise, as in newline delimited JSON. Not thread safe, chunks are fed in order by a single subscriber.
+ *
+ * @author omar.H.Ajmi
+ * @since 17/10/2026
+ */
+final class NonBlockingJsonReader implements ElementReader {
+    private static final int COPY_BUFFER_SIZE = 8 * 1024;
+
+    private final ObjectMapper mapper;
+    private final JsonParser parser;
+    private final ByteArrayFeeder feeder;
+    private final ObjectReader elementReader;
+    private final boolean unwrapArray;
+    private List<Object> elements;
+    private TokenBuffer tokens;
+    private byte[] copyBuffer;
+    private int depth;
+    private int elementDepth;
+    private boolean started;
+    private boolean complete;
+
+    /**
+     * Creates a reader binding the root value.
+     *
+     * @param mapper the mapper creating the parser
+     * @throws IOException if the parser cannot be created
+     */
+    NonBlockingJsonReader(ObjectMapper mapper) throws IOException {
+        this(mapper, null, false);
+    }
+
+    /**
+     * Creates a reader binding elements as they end.
+     *
+     * @param mapper        the mapper creating the parser
+     * @param elementReader the reader binding the elements
+     * @param unwrapArray   whether the elements of a root array are read rather than the array itself
+     * @throws IOException if the parser cannot be created
+     */
+    NonBlockingJsonReader(ObjectMapper mapper, ObjectReader elementReader, boolean unwrapArray) throws IOException {
+        this.mapper = mapper;
+        this.parser = mapper.getFactory().createNonBlockingByteArrayParser();
+        this.feeder = (ByteArrayFeeder) this.parser.getNonBlockingInputFeeder();
+        this.elementReader = elementReader;
+        this.unwrapArray = unwrapArray;
+        this.tokens = elementReader == null ? new TokenBuffer(this.parser) : null;
+    }
+
+    @Override
+    public void feed(ByteBuffer chunk) throws IOException {
+        while (chunk.hasRemaining() && !this.complete) {
+            if (chunk.hasArray()) {
+                final int start = chunk.arrayOffset() + chunk.position();
+                this.feeder.feedInput(chunk.array(), start, start + chunk.remaining());
+                chunk.position(chunk.limit());
+            } else {
+                if (this.copyBuffer == null) {
+                    this.copyBuffer = new byte[COPY_BUFFER_SIZE];
+                }
+                final int length = Math.min(chunk.remaining(), this.copyBuffer.length);
+                chunk.get(this.copyBuffer, 0, length);
+                this.feeder.feedInput(this.copyBuffer, 0, length);
+            }
+            parseAvailable();
+        }
+        chunk.position(chunk.limit());
+    }
+
+    @Override
+    public List<Object> takeElements() {
+        final List<Object> taken = this.elements;
+        this.elements = null;
+        return taken == null ? Collections.emptyList() : taken;
+    }
+
+    /**
+     * Ends the document and binds its root value.
+     *
+     * @param reader the reader binding the root value
+     * @param <T>    the type of the value
+     * @return the value, null if the document is empty
+     * @throws IOException if the document is malformed or truncated, or cannot be bound by the reader
+     */
+    <T> T finish(ObjectReader reader) throws IOException {
+        if (!this.complete) {
+            // a root scalar only ends with the input
+            this.feeder.endOfInput();
+            parseAvailable();
+        }
+        try {
+            if (!this.complete) {
+                if (this.started) {
+                    throw new JsonParseException(this.parser, "Unexpected end-of-input within the root value.");
+                }
+                return null;
+            }
+            try (JsonParser replay = this.tokens.asParser(this.mapper)) {
+                return reader.readValue(replay);
+            }
+        } finally {
+            this.parser.close();
+        }
+    }
+
+    @Override
+    public List<Object> finishElements() throws IOException {
+        try {
+            if (!this.complete) {
+                this.feeder.endOfInput();
+                parseAvailable();
+                if (this.depth > 0 || this.tokens != null) {
+                    throw new JsonParseException(this.parser, "Unexpected end-of-input within an element.");
+                }
+            }
+            return takeElements();
+        } finally {
+            this.parser.close();
+        }
+    }
+
+    private void parseAvailable() throws IOException {
+        JsonToken token;
+        while (!this.complete && (token = this.parser.nextToken()) != null && token != JsonToken.NOT_AVAILABLE) {
+            if (this.elementReader == null) {
+                this.started = true;
+                this.tokens.copyCurrentEvent(this.parser);
+                this.depth += depthChange(token);
+                this.complete = this.depth == 0;
+            } else {
+                parseElementToken(token);
+            }
+        }
+    }
+
+    private void parseElementToken(JsonToken token) throws IOException {
+        if (!this.started && this.unwrapArray && token == JsonToken.START_ARRAY) {
+            // the root array only encloses the elements
+            this.started = true;
+            this.depth = 1;
+            this.elementDepth = 1;
+            return;
+        }
+        this.started = true;
+        if (this.tokens == null && token == JsonToken.END_ARRAY && this.depth == this.elementDepth) {
+            // end of the root array, any following content is ignored
+            this.depth--;
+            this.complete = true;
+            return;
+        }
+        if (this.tokens == null) {
+            this.tokens = new TokenBuffer(this.parser);
+        }
+        this.tokens.copyCurrentEvent(this.parser);
+        this.depth += depthChange(token);
+        if (this.depth == this.elementDepth) {
+            final Object element;
+            try (JsonParser replay = this.tokens.asParser(this.mapper)) {
+                element = this.elementReader.readValue(replay);
+            }
+            this.tokens = null;
+            if (element != null) {
+                if (this.elements == null) {
+                    this.elements = new ArrayList<>();
+                }
+                this.elements.add(element);
+            }
+        }
+    }
+
+    private static int depthChange(JsonToken token) {
+        return token.isStructStart() ? 1 : token.isStructEnd() ? -1 : 0;
+    }
+}
@@ -0,0 +1,364 @@
+package com.unisoft.core.http.serialize;
+
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.unisoft.core.http.serialize.impl.MalformedValueException;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Splits an XML document fed in chunks into the child elements of its root, binding each of them as soon as it ends
+ * so that a listing of any length is read holding a single element at a time.
+ * <p>
+ * The markup is scanned byte by byte without a parser, which is enough to find where the elements start and end:
+ * tags, quoted attribute values, comments, CDATA sections, processing instructions and declarations. Each element is
+ * then bound by a list reader within the prolog and the start tag of the root, as the whole document would be, so that
+ * the namespaces and entities it declares still apply, the other attributes of the root being dropped. Documents
+ * starting with a UTF-16 or UTF-32 byte order mark, or with a NUL byte as big endian ones without a mark do, aren't
+ * made of single byte markup and are collected and bound whole. Not thread safe, chunks are fed in order by a single
+ * subscriber.
+ *
+ * @author omar.H.Ajmi
+ * @since 17/10/2026
+ */
+final class NonBlockingXmlReader implements ElementReader {
+    private static final int COPY_BUFFER_SIZE = 8 * 1024;
+
+    private static final int TEXT = 0;
+    private static final int MARKUP = 1;
+    private static final int START_TAG = 2;
+    private static final int QUOTED = 3;
+    private static final int END_TAG = 4;
+    private static final int INSTRUCTION = 5;
+    private static final int BANG = 6;
+    private static final int COMMENT = 7;
+    private static final int CDATA = 8;
+    private static final int DECLARATION = 9;
+
+    private final ObjectReader listReader;
+    // the prolog and start tag of the root, followed by the element being read
+    private final Bytes element = new Bytes();
+    private byte[] rootEndTag;
+    private int prefixLength;
+    private List<Object> elements;
+    private byte[] copyBuffer;
+    private Bytes document;
+    private Bytes capture;
+    private int state = TEXT;
+    private int depth;
+    private int quote;
+    private int previous;
+    private int beforePrevious;
+    private int declarationDepth;
+    private boolean scanned;
+    private boolean started;
+    private boolean complete;
+
+    /**
+     * Creates a reader.
+     *
+     * @param listReader the reader binding a list of the elements
+     */
+    NonBlockingXmlReader(ObjectReader listReader) {
+        this.listReader = listReader;
+        this.capture = this.element;
+    }
+
+    @Override
+    public void feed(ByteBuffer chunk) throws IOException {
+        while (chunk.hasRemaining() && !this.complete) {
+            if (chunk.hasArray()) {
+                final int start = chunk.arrayOffset() + chunk.position();
+                scan(chunk.array(), start, start + chunk.remaining());
+                chunk.position(chunk.limit());
+            } else {
+                if (this.copyBuffer == null) {
+                    this.copyBuffer = new byte[COPY_BUFFER_SIZE];
+                }
+                final int length = Math.min(chunk.remaining(), this.copyBuffer.length);
+                chunk.get(this.copyBuffer, 0, length);
+                scan(this.copyBuffer, 0, length);
+            }
+        }
+        chunk.position(chunk.limit());
+    }
+
+    @Override
+    public List<Object> takeElements() {
+        final List<Object> taken = this.elements;
+        this.elements = null;
+        return taken == null ? Collections.emptyList() : taken;
+    }
+
+    @Override
+    public List<Object> finishElements() throws IOException {
+        if (this.document != null) {
+            if (this.document.length > 0) {
+                bind(this.document);
+            }
+        } else if (!this.complete && this.started) {
+            throw new MalformedValueException("Unexpected end-of-input within the XML document.");
+        }
+        return takeElements();
+    }
+
+    private void scan(byte[] bytes, int offset, int end) throws IOException {
+        if (!this.scanned) {
+            this.scanned = true;
+            final int first = bytes[offset] & 0xFF;
+            if (first == 0xFE || first == 0xFF || first == 0x00) {
+                // FE FF, FF FE and 00 00 FE FF start the UTF-16 and UTF-32 byte order marks
+                this.document = new Bytes();
+            }
+        }
+        if (this.document != null) {
+            this.document.append(bytes, offset, end - offset);
+            return;
+        }
+        int captureStart = offset;
+        for (int i = offset; i < end && !this.complete; i++) {
+            final int b = bytes[i];
+            switch (this.state) {
+                case TEXT:
+                    if (b == '<') {
+                        this.state = MARKUP;
+                        this.started = true;
+                        if (this.depth == 1) {
+                            // a child of the root, unless it turns out to be the end of the root, a comment or an
+                            // instruction, which aren't captured
+                            this.capture = this.element;
+                            this.element.length = this.prefixLength;
+                            captureStart = i;
+                        }
+                    } else if (this.depth == 0 && !isWhitespace(b)) {
+                        // text before the root, only read to be reported
+                        this.started = true;
+                    }
+                    break;
+                case MARKUP:
+                    if (b == '/') {
+                        this.state = END_TAG;
+                        if (this.depth == 1) {
+                            this.capture = null;
+                        }
+                    } else if (b == '?' || b == '!') {
+                        this.state = b == '?' ? INSTRUCTION : BANG;
+                        this.declarationDepth = 0;
+                        this.previous = 0;
+                        this.beforePrevious = 0;
+                        if (this.depth == 1) {
+                            this.capture = null;
+                        }
+                    } else {
+                        this.state = START_TAG;
+                        this.previous = b;
+                    }
+                    break;
+                case START_TAG:
+                    if (b == '"' || b == '\'') {
+                        this.state = QUOTED;
+                        this.quote = b;
+                    } else if (b == '>') {
+                        this.state = TEXT;
+                        final boolean empty = this.previous == '/';
+                        if (this.depth == 0) {
+                            captureStart = endRootStartTag(bytes, captureStart, i, empty);
+                        } else if (empty && this.depth == 1) {
+                            captureStart = endElement(bytes, captureStart, i);
+                        } else if (!empty) {
+                            this.depth++;
+                        }
+                    }
+                    this.previous = b;
+                    break;
+                case QUOTED:
+                    if (b == this.quote) {
+                        this.state = START_TAG;
+                    }
+                    break;
+                case END_TAG:
+                    if (b == '>') {
+                        this.state = TEXT;
+                        this.depth--;
+                        if (this.depth == 1) {
+                            captureStart = endElement(bytes, captureStart, i);
+                        } else if (this.depth <= 0) {
+                            this.complete = true;
+                        }
+                    }
+                    break;
+                case INSTRUCTION:
+                    if (b == '>' && this.previous == '?') {
+                        this.state = TEXT;
+                    }
+                    this.previous = b;
+                    break;
+                case BANG:
+                    if (b == '-') {
+                        this.state = COMMENT;
+                    } else if (b == '[') {
+                        this.state = CDATA;
+                    } else {
+                        this.state = DECLARATION;
+                        this.declarationDepth = 0;
+                        this.previous = b;
+                    }
+                    break;
+                case COMMENT:
+                case CDATA:
+                    final int closing = this.state == COMMENT ? '-' : ']';
+                    if (b == '>' && this.previous == closing && this.beforePrevious == closing) {
+                        this.state = TEXT;
+                    }
+                    this.beforePrevious = this.previous;
+                    this.previous = b;
+                    break;
+                default:
+                    if (b == '[') {
+                        this.declarationDepth++;
+                    } else if (b == ']') {
+                        this.declarationDepth--;
+                    } else if (b == '>' && this.declarationDepth <= 0) {
+                        this.state = TEXT;
+                    }
+                    break;
+            }
+        }
+        if (this.capture != null && !this.complete) {
+            this.capture.append(bytes, captureStart, end - captureStart);
+        }
+    }
+
+    /**
+     * Ends the prolog and the start tag of the root, the prefix of every element bound.
+     *
+     * @return the start of the bytes captured next
+     */
+    private int endRootStartTag(byte[] bytes, int captureStart, int end, boolean empty) {
+        if (empty) {
+            // an empty root has no element
+            this.complete = true;
+            this.capture = null;
+            return end + 1;
+        }
+        this.element.append(bytes, captureStart, end + 1 - captureStart);
+        this.rootEndTag = trimRootStartTag(this.element);
+        this.prefixLength = this.element.length;
+        this.depth = 1;
+        this.capture = null;
+        return end + 1;
+    }
+
+    /**
+     * Ends and binds the element being captured.
+     *
+     * @return the start of the bytes captured next
+     */
+    private int endElement(byte[] bytes, int captureStart, int end) throws IOException {
+        this.element.append(bytes, captureStart, end + 1 - captureStart);
+        this.element.append(this.rootEndTag, 0, this.rootEndTag.length);
+        bind(this.element);
+        this.element.length = this.prefixLength;
+        this.capture = null;
+        return end + 1;
+    }
+
+    private void bind(Bytes bytes) throws IOException {
+        final List<?> bound = this.listReader.readValue(new ByteArrayInputStream(bytes.array, 0, bytes.length));
+        if (bound == null) {
+            return;
+        }
+        for (Object value : bound) {
+            if (value != null) {
+                if (this.elements == null) {
+                    this.elements = new ArrayList<>();
+                }
+                this.elements.add(value);
+            }
+        }
+    }
+
+    /**
+     * Drops the attributes of the root start tag ending the prefix but its namespace declarations, the attributes of a
+     * list being read as elements of their own that would be repeated with each element.
+     *
+     * @param prefix the prolog and start tag of the root
+     * @return the end tag of the root
+     */
+    private static byte[] trimRootStartTag(Bytes prefix) {
+        int start = prefix.length - 1;
+        while (start > 0 && !(prefix.array[start] == '<' && isNameStart(prefix.array[start + 1]))) {
+            start--;
+        }
+        int nameEnd = start + 1;
+        while (nameEnd < prefix.length && !isNameEnd(prefix.array[nameEnd])) {
+            nameEnd++;
+        }
+        final String name = new String(prefix.array, start + 1, nameEnd - start - 1, StandardCharsets.UTF_8);
+        final StringBuilder tag = new StringBuilder("<").append(name);
+        final String attributes = new String(prefix.array, nameEnd, prefix.length - nameEnd, StandardCharsets.UTF_8);
+        int i = 0;
+        while (i < attributes.length()) {
+            final int equals = attributes.indexOf('=', i);
+            if (equals < 0) {
+                break;
+            }
+            int open = equals + 1;
+            while (open < attributes.length() && isWhitespace(attributes.charAt(open))) {
+                open++;
+            }
+            final int close = open < attributes.length()
+                    ? attributes.indexOf(attributes.charAt(open), open + 1)
+                    : -1;
+            if (close < 0) {
+                break;
+            }
+            final String attributeName = attributes.substring(i, equals).trim();
+            if (attributeName.equals("xmlns") || attributeName.startsWith("xmlns:")) {
+                tag.append(' ').append(attributeName).append('=').append(attributes, open, close + 1);
+            }
+            i = close + 1;
+        }
+        prefix.length = start;
+        final byte[] startTag = tag.append('>').toString().getBytes(StandardCharsets.UTF_8);
+        prefix.append(startTag, 0, startTag.length);
+        return ("</" + name + ">").getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static boolean isNameStart(byte b) {
+        return b != '/' && b != '?' && b != '!';
+    }
+
+    private static boolean isNameEnd(byte b) {
+        return isWhitespace(b) || b == '/' || b == '>';
+    }
+
+    private static boolean isWhitespace(int b) {
+        return b == ' ' || b == '\t' || b == '\r' || b == '\n';
+    }
+
+    /**
+     * A growable array of bytes.
+     */
+    private static final class Bytes {
+        private byte[] array = new byte[256];
+        private int length;
+
+        private void append(byte[] bytes, int offset, int count) {
+            if (count <= 0) {
+                return;
+            }
+            if (this.length + count > this.array.length) {
+                this.array = Arrays.copyOf(this.array, Math.max(this.array.length * 2, this.length + count));
+            }
+            System.arraycopy(bytes, offset, this.array, this.length, count);
+            this.length += count;
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.unisoft.core.http.serialize;
+
+import com.unisoft.core.util.Base64Url;
+import com.unisoft.core.util.DateTimeRfc1123;
+import com.unisoft.core.util.UnixTime;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Encodes the raw values of query, path, header and form parameters as {@link JacksonAdapter#serializeRaw(Object)}
+ * does: serialized to JSON and stripped of their quotes.
+ * <p>
+ * The types parameters commonly have are encoded directly into the string their serializer writes, the values of an
+ * enum are serialized once and looked up by their ordinal, any other value is serialized by the fallback.
+ *
+ * @author omar.H.Ajmi
+ * @since 17/10/2026
+ */
+final class RawValueEncoder {
+    private final Function<Object, String> fallback;
+    // the raw values of the constants of the enums encoded so far, by their ordinal
+    private final Map<Class<?>, String[]> enumValues = new ConcurrentHashMap<>();
+
+    /**
+     * Creates an encoder.
+     *
+     * @param fallback serializes the values of the other types to JSON
+     */
+    RawValueEncoder(Function<Object, String> fallback) {
+        this.fallback = fallback;
+    }
+
+    /**
+     * Encodes a raw value.
+     *
+     * @param value the value
+     * @return the raw value, null if the value is null or cannot be serialized
+     */
+    String encode(Object value) {
+        if (value == null) {
+            return null;
+        }
+        final Class<?> type = value.getClass();
+        if (type == Integer.class || type == Long.class || type == Boolean.class || type == Double.class
+                || type == Float.class || type == Short.class || type == Byte.class || type == BigDecimal.class
+                || type == BigInteger.class || type == UUID.class) {
+            return value.toString();
+        } else if (value instanceof Enum<?>) {
+            final Enum<?> constant = (Enum<?>) value;
+            return this.enumValues.computeIfAbsent(constant.getDeclaringClass(), this::encodeConstants)
+                    [constant.ordinal()];
+        } else if (type == OffsetDateTime.class) {
+            return DateTimeSerializer.toString((OffsetDateTime) value);
+        } else if (type == Duration.class) {
+            return DurationSerializer.toString((Duration) value);
+        } else if (type == DateTimeRfc1123.class || type == Base64Url.class || type == UnixTime.class) {
+            // their serializers write their string form
+            return value.toString();
+        }
+        return stripQuotes(this.fallback.apply(value));
+    }
+
+    private String[] encodeConstants(Class<?> enumType) {
+        final Object[] constants = enumType.getEnumConstants();
+        final String[] values = new String[constants.length];
+        for (int i = 0; i < constants.length; i++) {
+            values[i] = stripQuotes(this.fallback.apply(constants[i]));
+        }
+        return values;
+    }
+
+    /**
+     * @return the JSON value without its leading and trailing quotes, null if it is
+     */
+    static String stripQuotes(String json) {
+        if (json == null) {
+            return null;
+        }
+        int start = 0;
+        int end = json.length();
+        while (start < end && json.charAt(start) == '"') {
+            start++;
+        }
+        while (end > start && json.charAt(end - 1) == '"') {
+            end--;
+        }
+        return json.substring(start, end);
+    }
+}
@@ -2,14 +2,24 @@ package com.unisoft.core.http.serialize;
 
 import com.unisoft.core.http.HttpHeaders;
 import com.unisoft.core.http.annotation.HeaderCollection;
+import com.unisoft.core.util.FluxUtil;
+import com.unisoft.core.util.TypeUtil;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
+import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.lang.reflect.Type;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
 
 /**
  * An interface defining the behaviors of a serializer.
@@ -109,6 +119,66 @@ public interface SerializerAdapter {
         return deserialize(converterStream.toString(StandardCharsets.UTF_8), type, encoding);
     }
 
+    /**
+     * Deserializes the chunks of a body into a {@code T} object.
+     * <p>
+     * The default implementation collects the body before deserializing it, implementations may parse the chunks as
+     * they arrive.
+     *
+     * @param body     The chunks of the serialized object data to deserialize.
+     * @param type     The type to deserialize.
+     * @param encoding The encoding used to serialize value.
+     * @param <T>      The type of the deserialized object.
+     * @return A {@link Mono} emitting the deserialized object, or completing empty for an empty body.
+     */
+    default <T> Mono<T> deserialize(final Flux<ByteBuffer> body, final Type type, final SerializerEncoding encoding) {
+        return FluxUtil.collectBytesInByteBufferStream(body).flatMap(bytes -> {
+            try {
+                final T value = deserialize(bytes.length == 0 ? null : new ByteArrayInputStream(bytes), type, encoding);
+                return Mono.justOrEmpty(value);
+            } catch (IOException e) {
+                return Mono.error(e);
+            }
+        });
+    }
+
+    /**
+     * Deserializes the chunks of a body into a sequence of {@code T} elements: the elements of a list, or each value of
+     * a {@link SerializerEncoding#NDJSON newline delimited JSON} body.
+     * <p>
+     * The default implementation collects the body and deserializes it as a {@link List}, or line by line, before
+     * emitting the elements; implementations may emit each element as soon as it is parsed. Null elements are skipped.
+     *
+     * @param body        The chunks of the serialized elements to deserialize.
+     * @param elementType The type to deserialize the elements to.
+     * @param encoding    The encoding used to serialize the elements.
+     * @param <T>         The type of the deserialized elements.
+     * @return A {@link Flux} emitting the deserialized elements in order.
+     */
+    default <T> Flux<T> deserializeElements(final Flux<ByteBuffer> body, final Type elementType,
+                                            final SerializerEncoding encoding) {
+        if (encoding != SerializerEncoding.NDJSON) {
+            final Type listType = TypeUtil.createParameterizedType(List.class, elementType);
+            return this.<List<T>>deserialize(body, listType, encoding)
+                    .flatMapIterable(Function.identity())
+                    .filter(Objects::nonNull);
+        }
+        return FluxUtil.collectBytesInByteBufferStream(body).flatMapIterable(bytes -> {
+            final List<T> elements = new ArrayList<>();
+            for (String line : new String(bytes, StandardCharsets.UTF_8).split("\n")) {
+                try {
+                    final T element = deserialize(line.trim(), elementType, SerializerEncoding.JSON);
+                    if (element != null) {
+                        elements.add(element);
+                    }
+                } catch (IOException e) {
+                    throw Exceptions.propagate(e);
+                }
+            }
+            return elements;
+        });
+    }
+
     /**
      * Deserialize the provided headers returned from a REST API to an entity instance declared as the model to hold
      * 'Matching' headers.
@@ -144,4 +214,26 @@ public interface SerializerAdapter {
      * @throws IOException If an I/O error occurs
      */
     <T> T deserialize(HttpHeaders headers, Type type) throws IOException;
+
+    /**
+     * Prepares the deserialization of a type ahead of its first use, such as for the return types of the Service
+     * methods when their proxy is created. Does nothing by default.
+     *
+     * @param type the type to prepare the deserialization of
+     */
+    default void warmUp(Type type) {
+    }
+
+    /**
+     * Resolves a type the deserialize methods read a body sent as {@code wireType} straight into {@code resultType}
+     * with, rather than reading it as the wire type and converting it afterwards. Returns null by default, the body
+     * then being read as the wire type.
+     *
+     * @param resultType the type the body is returned as
+     * @param wireType   the type the entities in the body are sent as
+     * @return the type to deserialize the body to, null if the body is read as the wire type
+     */
+    default Type resolveWireResponseType(Type resultType, Type wireType) {
+        return null;
+    }
 }
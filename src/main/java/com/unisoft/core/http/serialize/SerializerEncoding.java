@@ -20,7 +20,12 @@ public enum SerializerEncoding {
     /**
      * Extensible Markup Language.
      */
-    XML;
+    XML,
+
+    /**
+     * Newline delimited JSON, a sequence of JSON values each on its own line.
+     */
+    NDJSON;
 
 
     private static final Logger log = LoggerFactory.getLogger(SerializerEncoding.class);
@@ -37,6 +42,8 @@ public enum SerializerEncoding {
         SUPPORTED_MIME_TYPES.put("text/xml", XML);
         SUPPORTED_MIME_TYPES.put("application/xml", XML);
         SUPPORTED_MIME_TYPES.put("application/json", JSON);
+        SUPPORTED_MIME_TYPES.put("application/x-ndjson", NDJSON);
+        SUPPORTED_MIME_TYPES.put("application/ndjson", NDJSON);
 
         SUPPORTED_SUFFIXES = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
         SUPPORTED_SUFFIXES.put("xml", XML);
@@ -0,0 +1,108 @@
+package com.unisoft.core.http.serialize;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.BeanProperty;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.deser.ContextualDeserializer;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.unisoft.core.util.Base64Url;
+import com.unisoft.core.util.DateTimeRfc1123;
+import com.unisoft.core.util.UnixTime;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Deserializer reading a value sent as a wire type, such as a {@link DateTimeRfc1123} or a {@link UnixTime}, straight
+ * into the type it is returned as, the deserializer of the wire type being looked up once when contextualized.
+ * <p>
+ * It is set as the value handler of the elements of the lists and the values of the maps returned with a
+ * {@link com.unisoft.core.http.annotation.ReturnValueWireType}, for these to be converted as they are read rather
+ * than in a second pass over the deserialized wire types.
+ *
+ * @author omar.H.Ajmi
+ * @since 17/10/2026
+ */
+final class WireTypeDeserializer extends StdDeserializer<Object> implements ContextualDeserializer {
+    private static final long serialVersionUID = 2427935486046218717L;
+
+    private final Class<?> wireType;
+    private final transient Function<Object, Object> converter;
+    private final transient JsonDeserializer<Object> wireDeserializer;
+
+    private WireTypeDeserializer(Class<?> resultType, Class<?> wireType, Function<Object, Object> converter,
+                                 JsonDeserializer<Object> wireDeserializer) {
+        super(resultType);
+        this.wireType = wireType;
+        this.converter = converter;
+        this.wireDeserializer = wireDeserializer;
+    }
+
+    /**
+     * Gets the deserializer converting a wire type to a result type.
+     *
+     * @param resultType the type the value is returned as
+     * @param wireType   the type the value is sent as
+     * @return the deserializer, null if the value isn't converted
+     */
+    static WireTypeDeserializer of(Type resultType, Type wireType) {
+        if (resultType == byte[].class && wireType == Base64Url.class) {
+            return new WireTypeDeserializer(byte[].class, Base64Url.class,
+                    value -> ((Base64Url) value).decodedBytes(), null);
+        } else if (resultType == OffsetDateTime.class && wireType == DateTimeRfc1123.class) {
+            return new WireTypeDeserializer(OffsetDateTime.class, DateTimeRfc1123.class,
+                    value -> ((DateTimeRfc1123) value).getDateTime(), null);
+        } else if (resultType == OffsetDateTime.class && wireType == UnixTime.class) {
+            return new WireTypeDeserializer(OffsetDateTime.class, UnixTime.class,
+                    value -> ((UnixTime) value).getDateTime(), null);
+        }
+        return null;
+    }
+
+    /**
+     * Sets the deserializer of a wire type as the value handler of the elements of the lists, and values of the maps,
+     * nested in a result type.
+     *
+     * @param resultType the resolved type returned
+     * @param wireType   the type the elements are sent as
+     * @return the type with its elements read from the wire type, null if none of them is converted
+     */
+    static JavaType withWireType(JavaType resultType, Type wireType) {
+        if (resultType.isTypeOrSubTypeOf(List.class) || resultType.isTypeOrSubTypeOf(Map.class)) {
+            final JavaType contentType = resultType.getContentType();
+            if (contentType == null) {
+                return null;
+            }
+            final WireTypeDeserializer deserializer = of(contentType.getRawClass(), wireType);
+            if (deserializer != null) {
+                return resultType.withContentValueHandler(deserializer);
+            }
+            final JavaType nestedType = withWireType(contentType, wireType);
+            return nestedType == null ? null : resultType.withContentType(nestedType);
+        }
+        return null;
+    }
+
+    @Override
+    public JsonDeserializer<?> createContextual(DeserializationContext ctxt, BeanProperty property)
+            throws JsonMappingException {
+        if (this.wireDeserializer != null) {
+            return this;
+        }
+        return new WireTypeDeserializer(handledType(), this.wireType, this.converter,
+                ctxt.findContextualValueDeserializer(ctxt.constructType(this.wireType), property));
+    }
+
+    @Override
+    public Object deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+        final Object value = this.wireDeserializer.deserialize(p, ctxt);
+        return value == null ? null : this.converter.apply(value);
+    }
+}
@@ -12,6 +12,7 @@ import com.unisoft.core.util.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.slf4j.impl.SimpleLoggerFactory;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.io.ByteArrayInputStream;
@@ -65,12 +66,14 @@ public final class HttpResponseBodyDecoder {
 
         return Mono.defer(() -> {
             if (isErrorStatus(httpResponse, decodeData)) {
-                Mono<byte[]> bodyMono = body == null ? httpResponse.getBodyAsByteArray() : Mono.just(body);
-                return bodyMono.flatMap(bodyAsByteArray -> {
+                Mono<InputStream> bodyMono = body == null
+                        ? httpResponse.getBodyAsInputStream()
+                        : Mono.just(new ByteArrayInputStream(body));
+                return bodyMono.flatMap(bodyAsStream -> {
                     try {
-                        final Object decodedErrorEntity = deserializeBody(bodyAsByteArray,
+                        final Object decodedErrorEntity = deserializeBody(bodyAsStream,
                                 decodeData.getUnexpectedException(httpResponse.getStatusCode()).getExceptionBodyType(),
-                                null, serializer, SerializerEncoding.fromHeaders(httpResponse.getHeaders()));
+                                null, null, serializer, SerializerEncoding.fromHeaders(httpResponse.getHeaders()));
 
                         return Mono.justOrEmpty(decodedErrorEntity);
                     } catch (IOException | MalformedValueException ex) {
@@ -84,26 +87,77 @@ public final class HttpResponseBodyDecoder {
                 // RFC: A response to a HEAD method should not have a body. If so, it must be ignored
                 return Mono.empty();
             } else {
-                if (!isReturnTypeDecodable(decodeData.getReturnType())) {
+                final HttpResponseDecodePlan plan = HttpResponseDecodePlan.of(decodeData);
+                if (!plan.isReturnTypeDecodable()) {
                     return Mono.empty();
                 }
 
-                Mono<byte[]> bodyMono = body == null ? httpResponse.getBodyAsByteArray() : Mono.just(body);
-                return bodyMono.flatMap(bodyAsByteArray -> {
-                    try {
-                        final Object decodedSuccessEntity = deserializeBody(bodyAsByteArray,
-                                extractEntityTypeFromReturnType(decodeData), decodeData.getReturnValueWireType(),
-                                serializer, SerializerEncoding.fromHeaders(httpResponse.getHeaders()));
-
-                        return Mono.justOrEmpty(decodedSuccessEntity);
-                    } catch (MalformedValueException e) {
-                        return Mono.error(new HttpResponseException("HTTP response has a malformed body.",
-                                httpResponse, e));
-                    } catch (IOException e) {
-                        return Mono.error(new HttpResponseException("Deserialization Failed.", httpResponse, e));
-                    }
-                });
+                final Type resultType = plan.getEntityType();
+                // a body the serializer reads straight into the result type isn't converted afterwards
+                final Type directWireResponseType = plan.getDirectWireResponseType(serializer);
+                final Type wireType = directWireResponseType == null ? plan.getWireType() : null;
+                final Type wireResponseType = directWireResponseType == null
+                        ? plan.getWireResponseType()
+                        : directWireResponseType;
+                final SerializerEncoding encoding = SerializerEncoding.fromHeaders(httpResponse.getHeaders());
+                final Mono<Object> decodedSuccessEntity;
+                if (body == null) {
+                    // parsed as the body arrives, without collecting it first
+                    decodedSuccessEntity = serializer.deserialize(httpResponse.getBody(), wireResponseType, encoding)
+                            .map(wireResponse -> wireType == null
+                                    ? wireResponse
+                                    : convertToResultType(wireResponse, resultType, wireType));
+                } else {
+                    decodedSuccessEntity = Mono.fromCallable(() -> deserializeBody(new ByteArrayInputStream(body),
+                            resultType, wireType, wireResponseType, serializer, encoding));
+                }
+
+                return decodedSuccessEntity
+                        .onErrorMap(MalformedValueException.class, e ->
+                                new HttpResponseException("HTTP response has a malformed body.", httpResponse, e))
+                        .onErrorMap(IOException.class, e ->
+                                new HttpResponseException("Deserialization Failed.", httpResponse, e));
+            }
+        });
+    }
+
+    /**
+     * Decodes the body of a http response with an expected status into the elements of a {@code Flux<T>} return type.
+     * <p>
+     * The elements are emitted as soon as they are parsed, the body being read as they are requested.
+     *
+     * @param httpResponse the response containing the body to be decoded
+     * @param serializer   the adapter to use for decoding
+     * @param decodeData   the necessary data required to decode a Http response
+     * @return publisher that emits the decoded elements of the response body upon subscription
+     */
+    static Flux<Object> decodeElements(final HttpResponse httpResponse,
+                                       final SerializerAdapter serializer,
+                                       final HttpResponseDecodeData decodeData) {
+        ensureRequestSet(httpResponse);
+
+        return Flux.defer(() -> {
+            if (httpResponse.getRequest().getHttpMethod() == HttpMethod.HEAD) {
+                // RFC: A response to a HEAD method should not have a body. If so, it must be ignored
+                return Flux.empty();
             }
+
+            final HttpResponseDecodePlan plan = HttpResponseDecodePlan.of(decodeData);
+            final Type elementType = plan.getEntityType();
+            final Type directWireElementType = plan.getDirectWireResponseType(serializer);
+            final Type wireType = directWireElementType == null ? plan.getWireType() : null;
+            final Type wireElementType = directWireElementType == null
+                    ? plan.getWireResponseType()
+                    : directWireElementType;
+            return serializer.deserializeElements(httpResponse.getBody(), wireElementType,
+                    SerializerEncoding.fromHeaders(httpResponse.getHeaders()))
+                    .map(wireElement -> wireType == null
+                            ? wireElement
+                            : convertToResultType(wireElement, elementType, wireType))
+                    .onErrorMap(MalformedValueException.class, e ->
+                            new HttpResponseException("HTTP response has a malformed body.", httpResponse, e))
+                    .onErrorMap(IOException.class, e ->
+                            new HttpResponseException("Deserialization Failed.", httpResponse, e));
         });
     }
 
@@ -121,9 +175,8 @@ public final class HttpResponseBodyDecoder {
             // RFC: A response to a HEAD method should not have a body. If so, it must be ignored
             return null;
         } else {
-            return isReturnTypeDecodable(decodeData.getReturnType())
-                    ? extractEntityTypeFromReturnType(decodeData)
-                    : null;
+            final HttpResponseDecodePlan plan = HttpResponseDecodePlan.of(decodeData);
+            return plan.isReturnTypeDecodable() ? plan.getEntityType() : null;
         }
     }
 
@@ -143,24 +196,27 @@ public final class HttpResponseBodyDecoder {
      * <p>
      * the returned object is converted back to its {@param resultType}.
      *
-     * @param value      the string value to deserialize
+     * @param value      the content to deserialize
      * @param resultType the return type of the java proxy method
      * @param wireType   value of optional {@link ReturnValueWireType} annotation present in java proxy method indicating
      *                   'entity type' (wireType) of REST API wire response body
+     * @param wireResponseType the type the content is deserialized to before being converted to {@code resultType},
+     *                   or read straight into it when there's no {@code wireType}, null to deserialize it as is
      * @param encoding   the encoding format of value
      * @return Deserialized object
      * @throws IOException When the body cannot be deserialized
      */
-    private static Object deserializeBody(final byte[] value, final Type resultType, final Type wireType,
-                                          final SerializerAdapter serializer, final SerializerEncoding encoding) throws IOException {
-        InputStream inputStream = (value == null || value.length == 0)
+    private static Object deserializeBody(final InputStream value, final Type resultType, final Type wireType,
+                                          final Type wireResponseType, final SerializerAdapter serializer,
+                                          final SerializerEncoding encoding) throws IOException {
+        InputStream inputStream = (value == null || value.available() == 0)
                 ? null
-                : new ByteArrayInputStream(value);
+                : value;
 
         if (wireType == null) {
-            return serializer.deserialize(inputStream, resultType, encoding);
+            return serializer.deserialize(inputStream, wireResponseType == null ? resultType : wireResponseType,
+                    encoding);
         } else {
-            final Type wireResponseType = constructWireResponseType(resultType, wireType);
             final Object wireResponse = serializer.deserialize(inputStream, wireResponseType, encoding);
 
             return convertToResultType(wireResponse, resultType, wireType);
@@ -179,7 +235,7 @@ public final class HttpResponseBodyDecoder {
      * @param wireType   the {@code java.lang.reflect.Type} of entity in REST API response body
      * @return the {@code java.lang.reflect.Type} of REST API response body
      */
-    private static Type constructWireResponseType(Type resultType, Type wireType) {
+    static Type constructWireResponseType(Type resultType, Type wireType) {
         Objects.requireNonNull(wireType);
 
         if (resultType == byte[].class) {
@@ -284,12 +340,13 @@ public final class HttpResponseBodyDecoder {
      * e.g. {@code Mono<RestResponseBase<headers, Foo>> getFoo(args);} {@code Flux<RestResponseBase<headers, Foo>>
      * getFoos(args);} where Foo is the REST API return entity.
      *
+     * @param returnType the return type of the java proxy method
      * @return the entity type.
      */
-    private static Type extractEntityTypeFromReturnType(HttpResponseDecodeData decodeData) {
-        Type token = decodeData.getReturnType();
+    static Type extractEntityTypeFromReturnType(Type returnType) {
+        Type token = returnType;
 
-        if (TypeUtil.isTypeOrSubTypeOf(token, Mono.class)) {
+        if (TypeUtil.isTypeOrSubTypeOf(token, Mono.class) || TypeUtil.isTypeOrSubTypeOf(token, Flux.class)) {
             token = TypeUtil.getTypeArgument(token);
         }
 
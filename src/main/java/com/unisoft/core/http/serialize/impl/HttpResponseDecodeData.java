@@ -73,6 +73,15 @@ public interface HttpResponseDecodeData {
         return null;
     }
 
+    /**
+     * Get the decoding of the responses derived once from this data, see {@link HttpResponseDecodePlan#create}.
+     *
+     * @return the decoding of the responses, null to derive it from this data for each response
+     */
+    default HttpResponseDecodePlan getDecodePlan() {
+        return null;
+    }
+
     /**
      * Get the {@link UnexpectedExceptionInformation} that will be used to generate a RestException if the HTTP response
      * status code is not one of the expected status codes.
@@ -0,0 +1,115 @@
+package com.unisoft.core.http.serialize.impl;
+
+import com.unisoft.core.http.serialize.SerializerAdapter;
+
+import java.lang.reflect.Type;
+
+/**
+ * The types used to decode the responses of a Service method, derived once from its {@link HttpResponseDecodeData}
+ * rather than from its return type for every response.
+ *
+ * @author omar.H.Ajmi
+ * @since 17/10/2026
+ */
+public final class HttpResponseDecodePlan {
+    private final boolean returnTypeDecodable;
+    private final Type entityType;
+    private final Type wireType;
+    private final Type wireResponseType;
+    private final Type headersType;
+    // the direct wire response type last resolved, along with the serializer resolving it
+    private volatile DirectWireResponseType directWireResponseType;
+
+    private HttpResponseDecodePlan(HttpResponseDecodeData decodeData) {
+        this.returnTypeDecodable = HttpResponseBodyDecoder.isReturnTypeDecodable(decodeData.getReturnType());
+        this.entityType = HttpResponseBodyDecoder.extractEntityTypeFromReturnType(decodeData.getReturnType());
+        this.wireType = decodeData.getReturnValueWireType();
+        this.wireResponseType = this.wireType == null
+                ? this.entityType
+                : HttpResponseBodyDecoder.constructWireResponseType(this.entityType, this.wireType);
+        this.headersType = decodeData.getHeadersType();
+    }
+
+    /**
+     * Derives the decoding of the responses of a Service method.
+     *
+     * @param decodeData the data describing the Service method
+     * @return the decoding of its responses
+     */
+    public static HttpResponseDecodePlan create(HttpResponseDecodeData decodeData) {
+        return new HttpResponseDecodePlan(decodeData);
+    }
+
+    /**
+     * @return the plan of the decode data, derived again when it does not provide one
+     */
+    static HttpResponseDecodePlan of(HttpResponseDecodeData decodeData) {
+        final HttpResponseDecodePlan plan = decodeData.getDecodePlan();
+        return plan != null ? plan : create(decodeData);
+    }
+
+    /**
+     * @return whether the body of an expected response is decoded
+     */
+    public boolean isReturnTypeDecodable() {
+        return this.returnTypeDecodable;
+    }
+
+    /**
+     * @return the type of the entity, the return type unwrapped from its publisher and {@code Response}
+     */
+    public Type getEntityType() {
+        return this.entityType;
+    }
+
+    /**
+     * @return the type the entity is sent as, null if it is sent as the entity type
+     */
+    public Type getWireType() {
+        return this.wireType;
+    }
+
+    /**
+     * @return the type the body is deserialized to before being converted to the entity type
+     */
+    public Type getWireResponseType() {
+        return this.wireResponseType;
+    }
+
+    /**
+     * Gets the type a serializer reads the body straight into the entity type with, see
+     * {@link SerializerAdapter#resolveWireResponseType(Type, Type)}, resolved once per serializer.
+     *
+     * @param serializer the serializer deserializing the body
+     * @return the type to deserialize the body to, null if it is deserialized to the wire response type and converted
+     */
+    public Type getDirectWireResponseType(SerializerAdapter serializer) {
+        if (this.wireType == null) {
+            return null;
+        }
+        DirectWireResponseType resolved = this.directWireResponseType;
+        if (resolved == null || resolved.serializer != serializer) {
+            resolved = new DirectWireResponseType(serializer,
+                    serializer.resolveWireResponseType(this.entityType, this.wireType));
+            this.directWireResponseType = resolved;
+        }
+        return resolved.type;
+    }
+
+    /**
+     * @return the type of the entity the headers are deserialized to, null if they are not
+     */
+    public Type getHeadersType() {
+        return this.headersType;
+    }
+
+    private static final class DirectWireResponseType {
+        private final SerializerAdapter serializer;
+        private final Type type;
+
+        private DirectWireResponseType(SerializerAdapter serializer, Type type) {
+            this.serializer = serializer;
+            this.type = type;
+        }
+    }
+}
@@ -2,6 +2,7 @@ package com.unisoft.core.http.serialize.impl;
 
 import com.unisoft.core.http.HttpResponse;
 import com.unisoft.core.http.serialize.SerializerAdapter;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.io.Closeable;
@@ -94,6 +95,16 @@ public final class HttpResponseDecoder {
             return this.bodyCached;
         }
 
+        /**
+         * Gets the publisher when subscribed the http content gets read and its elements decoded and emitted as they
+         * are parsed, for {@code Flux<T>} return types.
+         *
+         * @return publisher that emits the decoded elements of the http content
+         */
+        public Flux<Object> getDecodedElements() {
+            return HttpResponseBodyDecoder.decodeElements(this.response, this.serializer, this.decodeData);
+        }
+
         /**
          * Gets the publisher when subscribed the http header gets decoded and emitted.
          * {@code Mono.empty()} gets emitted if the headers are not decodable.
@@ -0,0 +1,297 @@
+package com.unisoft.core.http.util;
+
+/**
+ * A URL string parsed in a single pass into the offsets of its scheme, host, port, path and query.
+ * <p>
+ * Nothing is copied out of the URL string while parsing, each component is only created when it is first requested,
+ * so that the host, port and path of a URL can be handed to a transport without going through {@link java.net.URL}.
+ * A component the URL doesn't have is null, one the URL has with no characters, as the port of
+ * {@code http://host:/path}, is empty.
+ *
+ * @author omar.H.Ajmi
+ * @since 17/10/2026
+ */
+public final class ParsedUrl {
+    private static final int ABSENT = -1;
+
+    private final String url;
+    private int schemeStart = ABSENT;
+    private int schemeEnd;
+    private int hostStart = ABSENT;
+    private int hostEnd;
+    private int portStart = ABSENT;
+    private int portEnd;
+    private int pathStart = ABSENT;
+    private int pathEnd;
+    private int queryStart = ABSENT;
+
+    // the components, created on first request
+    private String scheme;
+    private String host;
+    private String port;
+    private String path;
+    private String query;
+
+    private ParsedUrl(String url) {
+        this.url = url;
+    }
+
+    /**
+     * Parses a URL string.
+     *
+     * @param url the URL string, such as {@code https://host:8080/path?query}
+     * @return the parsed URL
+     */
+    public static ParsedUrl parse(String url) {
+        return parse(url, UrlTokenizerState.SCHEME_OR_HOST);
+    }
+
+    /**
+     * Parses a part of a URL string.
+     *
+     * @param text  the part of the URL string
+     * @param state the component the part starts with
+     * @return the parsed part
+     */
+    static ParsedUrl parse(String text, UrlTokenizerState state) {
+        final ParsedUrl parsed = new ParsedUrl(text == null ? "" : text);
+        final String url = parsed.url;
+        final int length = url.length();
+        int index = 0;
+        while (index < length) {
+            final int end;
+            switch (state) {
+                case SCHEME:
+                    end = indexOfNotLetterOrDigit(url, index);
+                    parsed.schemeStart = index;
+                    parsed.schemeEnd = end;
+                    state = end < length ? UrlTokenizerState.HOST : UrlTokenizerState.DONE;
+                    break;
+
+                case SCHEME_OR_HOST:
+                    end = indexOfAny(url, index, ':', '/', '?');
+                    if (url.startsWith("://", end)) {
+                        parsed.schemeStart = index;
+                        parsed.schemeEnd = end;
+                        state = UrlTokenizerState.HOST;
+                    } else {
+                        parsed.hostStart = index;
+                        parsed.hostEnd = end;
+                        state = next(url, end);
+                    }
+                    break;
+
+                case HOST:
+                    if (url.startsWith("://", index)) {
+                        index += 3;
+                    }
+                    end = indexOfAny(url, index, ':', '/', '?');
+                    parsed.hostStart = index;
+                    parsed.hostEnd = end;
+                    state = next(url, end);
+                    break;
+
+                case PORT:
+                    if (url.charAt(index) == ':') {
+                        index++;
+                    }
+                    end = indexOfAny(url, index, '/', '?');
+                    parsed.portStart = index;
+                    parsed.portEnd = end;
+                    state = next(url, end);
+                    break;
+
+                case PATH:
+                    final int question = url.indexOf('?', index);
+                    end = question < 0 ? length : question;
+                    parsed.pathStart = index;
+                    parsed.pathEnd = end;
+                    state = UrlTokenizerState.QUERY;
+                    break;
+
+                case QUERY:
+                    if (url.charAt(index) == '?') {
+                        index++;
+                    }
+                    end = length;
+                    parsed.queryStart = index;
+                    state = UrlTokenizerState.DONE;
+                    break;
+
+                default:
+                    end = length;
+                    break;
+            }
+            index = end;
+        }
+        return parsed;
+    }
+
+    /**
+     * @return the state reading the component starting at the delimiter
+     */
+    private static UrlTokenizerState next(String url, int delimiter) {
+        if (delimiter == url.length()) {
+            return UrlTokenizerState.DONE;
+        }
+        switch (url.charAt(delimiter)) {
+            case ':':
+                return UrlTokenizerState.PORT;
+            case '/':
+                return UrlTokenizerState.PATH;
+            default:
+                return UrlTokenizerState.QUERY;
+        }
+    }
+
+    private static int indexOfAny(String url, int from, char first, char second, char third) {
+        for (int i = from; i < url.length(); i++) {
+            final char c = url.charAt(i);
+            if (c == first || c == second || c == third) {
+                return i;
+            }
+        }
+        return url.length();
+    }
+
+    private static int indexOfAny(String url, int from, char first, char second) {
+        for (int i = from; i < url.length(); i++) {
+            final char c = url.charAt(i);
+            if (c == first || c == second) {
+                return i;
+            }
+        }
+        return url.length();
+    }
+
+    private static int indexOfNotLetterOrDigit(String url, int from) {
+        for (int i = from; i < url.length(); i++) {
+            if (!Character.isLetterOrDigit(url.charAt(i))) {
+                return i;
+            }
+        }
+        return url.length();
+    }
+
+    /**
+     * Gets the scheme of the URL.
+     *
+     * @return the scheme, such as {@code https}, null if the URL has none
+     */
+    public String getScheme() {
+        if (this.scheme == null && this.schemeStart != ABSENT) {
+            this.scheme = this.url.substring(this.schemeStart, this.schemeEnd);
+        }
+        return this.scheme;
+    }
+
+    /**
+     * Gets the host of the URL.
+     *
+     * @return the host, null if the URL has none
+     */
+    public String getHost() {
+        if (this.host == null && this.hostStart != ABSENT) {
+            this.host = this.url.substring(this.hostStart, this.hostEnd);
+        }
+        return this.host;
+    }
+
+    /**
+     * Gets the port of the URL.
+     *
+     * @return the port as written in the URL, null if the URL has none
+     */
+    public String getPort() {
+        if (this.port == null && this.portStart != ABSENT) {
+            this.port = this.url.substring(this.portStart, this.portEnd);
+        }
+        return this.port;
+    }
+
+    /**
+     * Gets the port number of the URL, without creating its string.
+     *
+     * @return the port number, -1 if the URL has none or it is not a number from 0 to 65535
+     */
+    public int getPortNumber() {
+        if (this.portStart == ABSENT || this.portStart == this.portEnd || this.portEnd - this.portStart > 5) {
+            return -1;
+        }
+        int port = 0;
+        for (int i = this.portStart; i < this.portEnd; i++) {
+            final char c = this.url.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            port = port * 10 + (c - '0');
+        }
+        return port > 65535 ? -1 : port;
+    }
+
+    /**
+     * Gets the path of the URL.
+     *
+     * @return the path, starting with a {@code /} when the URL has a host, null if the URL has none
+     */
+    public String getPath() {
+        if (this.path == null && this.pathStart != ABSENT) {
+            this.path = this.url.substring(this.pathStart, this.pathEnd);
+        }
+        return this.path;
+    }
+
+    /**
+     * Gets the query of the URL.
+     *
+     * @return the encoded query, without the {@code ?}, null if the URL has none
+     */
+    public String getQuery() {
+        if (this.query == null && this.queryStart != ABSENT) {
+            this.query = this.url.substring(this.queryStart);
+        }
+        return this.query;
+    }
+
+    /**
+     * Gets the target of a request to the URL: its path and query, without any fragment.
+     *
+     * @return the path and query, {@code /} when the URL has neither
+     */
+    public String getPathAndQuery() {
+        int start = this.pathStart;
+        boolean rootPath = false;
+        if (start == ABSENT) {
+            start = this.queryStart;
+            if (start == ABSENT) {
+                return "/";
+            }
+            if (start > 0 && this.url.charAt(start - 1) == '?') {
+                start--;
+            }
+            // a query without a path is the query of the root
+            rootPath = true;
+        }
+        int end = this.url.indexOf('#', start);
+        if (end < 0) {
+            end = this.url.length();
+        }
+        if (end == start) {
+            return "/";
+        }
+        if (rootPath) {
+            return "/" + this.url.substring(start, end);
+        }
+        return start == 0 && end == this.url.length() ? this.url : this.url.substring(start, end);
+    }
+
+    /**
+     * Gets the URL string that was parsed.
+     *
+     * @return the URL string
+     */
+    @Override
+    public String toString() {
+        return this.url;
+    }
+}
@@ -4,7 +4,6 @@ import java.net.MalformedURLException;
 import java.net.URL;
 import java.util.LinkedHashMap;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * A builder class that is used to create URLs.
@@ -13,7 +12,7 @@ import java.util.concurrent.ConcurrentHashMap;
  * @since 18/10/2020
  */
 public final class UrlBuilder {
-    private static final Map<String, UrlBuilder> PARSED_URLS = new ConcurrentHashMap<>();
+    private static final UrlParseCache PARSED_URLS = UrlParseCache.fromSystemProperty();
     // LinkedHashMap preserves insertion order
     private final Map<String, String> query = new LinkedHashMap<>();
     private String scheme;
@@ -31,13 +30,30 @@ public final class UrlBuilder {
         /*
          * Parsing the URL string into a UrlBuilder is a non-trivial operation and many calls into RestProxy will use
          * the same root URL string. To save CPU costs we retain a parsed version of the URL string in memory. Given
-         * that UrlBuilder is mutable we must return a cloned version of the cached UrlBuilder.
+         * that UrlBuilder is mutable we must return a cloned version of the cached UrlBuilder. Paging links and
+         * signed URLs make most query strings unique, only the part before them is cached.
          */
-        // ConcurrentHashMap doesn't allow for null keys, coerce it into an empty string.
-        String concurrentSafeUrl = (url == null) ? "" : url;
+        if (url == null) {
+            url = "";
+        }
+        final int queryStart = url.indexOf('?');
+        final String prefix = queryStart < 0 ? url : url.substring(0, queryStart);
 
-        return PARSED_URLS.computeIfAbsent(concurrentSafeUrl, u ->
+        final UrlBuilder result = PARSED_URLS.get(prefix, u ->
                 new UrlBuilder().with(u, UrlTokenizerState.SCHEME_OR_HOST)).copy();
+        if (queryStart >= 0 && queryStart + 1 < url.length()) {
+            result.with(url.substring(queryStart + 1), UrlTokenizerState.QUERY);
+        }
+        return result;
+    }
+
+    /**
+     * Gets the cache of the URLs parsed by {@link #parse(String)}, to monitor its efficiency.
+     *
+     * @return the cache of the parsed URLs
+     */
+    public static UrlParseCache getParseCache() {
+        return PARSED_URLS;
     }
 
     /**
@@ -249,58 +265,63 @@ public final class UrlBuilder {
     }
 
     private UrlBuilder with(String text, UrlTokenizerState startState) {
-        final UrlTokenizer tokenizer = new UrlTokenizer(text, startState);
-
-        while (tokenizer.next()) {
-            final UrlToken token = tokenizer.current();
-            final String tokenText = token.text();
-            final UrlTokenType tokenType = token.type();
-            switch (tokenType) {
-                case SCHEME:
-                    scheme = emptyToNull(tokenText);
-                    break;
-
-                case HOST:
-                    host = emptyToNull(tokenText);
-                    break;
-
-                case PORT:
-                    port = emptyToNull(tokenText);
-                    break;
-
-                case PATH:
-                    final String tokenPath = emptyToNull(tokenText);
-                    if (path == null || path.equals("/") || !"/".equals(tokenPath)) {
-                        path = tokenPath;
-                    }
-                    break;
-
-                case QUERY:
-                    String queryString = emptyToNull(tokenText);
-                    if (queryString != null) {
-                        if (queryString.startsWith("?")) {
-                            queryString = queryString.substring(1);
-                        }
-
-                        for (String entry : queryString.split("&")) {
-                            String[] nameValue = entry.split("=");
-                            if (nameValue.length == 2) {
-                                setQueryParameter(nameValue[0], nameValue[1]);
-                            } else {
-                                setQueryParameter(nameValue[0], "");
-                            }
-                        }
-                    }
-
-                    break;
-
-                default:
-                    break;
+        final ParsedUrl parsed = ParsedUrl.parse(text, startState);
+
+        if (parsed.getScheme() != null) {
+            scheme = emptyToNull(parsed.getScheme());
+        }
+        if (parsed.getHost() != null) {
+            host = emptyToNull(parsed.getHost());
+        }
+        if (parsed.getPort() != null) {
+            port = emptyToNull(parsed.getPort());
+        }
+        if (parsed.getPath() != null) {
+            final String tokenPath = emptyToNull(parsed.getPath());
+            if (path == null || path.equals("/") || !"/".equals(tokenPath)) {
+                path = tokenPath;
             }
         }
+        final String queryString = parsed.getQuery();
+        if (queryString != null && !queryString.isEmpty()) {
+            withQuery(queryString.startsWith("?") ? queryString.substring(1) : queryString);
+        }
         return this;
     }
 
+    /**
+     * Sets the parameters of a query string, splitting it as {@code split("&")} then {@code split("=")} would.
+     */
+    private void withQuery(String queryString) {
+        // trailing empty parameters are dropped
+        int end = queryString.length();
+        while (end > 0 && queryString.charAt(end - 1) == '&') {
+            end--;
+        }
+        int start = 0;
+        while (start < end) {
+            int entryEnd = queryString.indexOf('&', start);
+            if (entryEnd < 0 || entryEnd > end) {
+                entryEnd = end;
+            }
+            final int equals = queryString.indexOf('=', start);
+            if (equals < 0 || equals >= entryEnd) {
+                setQueryParameter(queryString.substring(start, entryEnd), "");
+            } else {
+                // trailing empty values are dropped, a parameter with more than one value is set empty
+                int valueEnd = entryEnd;
+                while (valueEnd > equals + 1 && queryString.charAt(valueEnd - 1) == '=') {
+                    valueEnd--;
+                }
+                final int secondEquals = queryString.indexOf('=', equals + 1);
+                final boolean singleValue = secondEquals < 0 || secondEquals >= valueEnd;
+                setQueryParameter(queryString.substring(start, equals),
+                        singleValue ? queryString.substring(equals + 1, valueEnd) : "");
+            }
+            start = entryEnd + 1;
+        }
+    }
+
     /**
      * Get the URL that is being built.
      *
@@ -0,0 +1,191 @@
+package com.unisoft.core.http.util;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * The bounded cache of the URLs parsed by {@link UrlBuilder#parse(String)}, keyed by their scheme, host, port and path
+ * so that URLs only differing by their query share an entry.
+ * <p>
+ * The entries are spread over segments each evicting as a segmented LRU: an entry first enters the probation part of
+ * its segment and is promoted to the protected part when it is requested again, so that URLs requested once don't
+ * evict the ones requested repeatedly. The size of the cache is read from the {@value #MAXIMUM_SIZE_PROPERTY} system
+ * property, {@value #DEFAULT_MAXIMUM_SIZE} by default, 0 disabling it.
+ *
+ * @author omar.H.Ajmi
+ * @since 17/10/2026
+ */
+public final class UrlParseCache {
+    static final String MAXIMUM_SIZE_PROPERTY = "unisoft.http.url.parseCacheSize";
+    static final int DEFAULT_MAXIMUM_SIZE = 1024;
+    private static final int MAXIMUM_SEGMENTS = 16;
+
+    private final int maximumSize;
+    private final Segment[] segments;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    UrlParseCache(int maximumSize) {
+        this.maximumSize = Math.max(0, maximumSize);
+        // a power of two segments each holding at least 16 entries
+        final int segmentCount = Math.min(MAXIMUM_SEGMENTS,
+                Integer.highestOneBit(Math.max(1, this.maximumSize / 16)));
+        this.segments = new Segment[segmentCount];
+        for (int i = 0; i < segmentCount; i++) {
+            // the sizes of the segments add up to the maximum size
+            this.segments[i] = new Segment(this.maximumSize / segmentCount
+                    + (i < this.maximumSize % segmentCount ? 1 : 0));
+        }
+    }
+
+    static UrlParseCache fromSystemProperty() {
+        final String maximumSize = System.getProperty(MAXIMUM_SIZE_PROPERTY);
+        if (maximumSize != null) {
+            try {
+                return new UrlParseCache(Integer.parseInt(maximumSize.trim()));
+            } catch (NumberFormatException ignored) {
+                // the default size applies
+            }
+        }
+        return new UrlParseCache(DEFAULT_MAXIMUM_SIZE);
+    }
+
+    /**
+     * Gets the cached parsed URL, parsing and caching it if it isn't cached.
+     *
+     * @param key   the scheme, host, port and path of the URL
+     * @param parse parses the key
+     * @return the cached parsed URL, which must not be changed
+     */
+    UrlBuilder get(String key, Function<String, UrlBuilder> parse) {
+        if (this.maximumSize == 0) {
+            this.misses.increment();
+            return parse.apply(key);
+        }
+        final Segment segment = this.segments[spread(key.hashCode()) & (this.segments.length - 1)];
+        UrlBuilder value = segment.get(key);
+        if (value != null) {
+            this.hits.increment();
+            return value;
+        }
+        this.misses.increment();
+        // parsed outside the segment lock, racing parses of the same key keep the first one cached
+        value = parse.apply(key);
+        final UrlBuilder cached = segment.putIfAbsent(key, value, this.evictions);
+        return cached == null ? value : cached;
+    }
+
+    /**
+     * Gets the number of times a parsed URL was found in the cache.
+     *
+     * @return the number of cache hits
+     */
+    public long getHitCount() {
+        return this.hits.sum();
+    }
+
+    /**
+     * Gets the number of times a URL had to be parsed.
+     *
+     * @return the number of cache misses
+     */
+    public long getMissCount() {
+        return this.misses.sum();
+    }
+
+    /**
+     * Gets the number of parsed URLs evicted to keep the cache within its maximum size.
+     *
+     * @return the number of evictions
+     */
+    public long getEvictionCount() {
+        return this.evictions.sum();
+    }
+
+    /**
+     * Gets the maximum number of parsed URLs the cache holds.
+     *
+     * @return the maximum size of the cache, 0 when it is disabled
+     */
+    public int getMaximumSize() {
+        return this.maximumSize;
+    }
+
+    /**
+     * Gets the number of parsed URLs the cache holds.
+     *
+     * @return the size of the cache
+     */
+    public int getSize() {
+        int size = 0;
+        for (Segment segment : this.segments) {
+            size += segment.size();
+        }
+        return size;
+    }
+
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+
+    private static final class Segment {
+        private final int capacity;
+        private final int protectedCapacity;
+        // both in access order, their eldest entry being the least recently used one
+        private final LinkedHashMap<String, UrlBuilder> probation = new LinkedHashMap<>(16, 0.75f, true);
+        private final LinkedHashMap<String, UrlBuilder> protectedEntries = new LinkedHashMap<>(16, 0.75f, true);
+
+        private Segment(int capacity) {
+            this.capacity = capacity;
+            this.protectedCapacity = capacity * 4 / 5;
+        }
+
+        private synchronized UrlBuilder get(String key) {
+            UrlBuilder value = this.protectedEntries.get(key);
+            if (value != null) {
+                return value;
+            }
+            value = this.probation.remove(key);
+            if (value != null) {
+                // requested again, promoted, the least recently used protected entry going back to probation
+                this.protectedEntries.put(key, value);
+                if (this.protectedEntries.size() > this.protectedCapacity) {
+                    final Map.Entry<String, UrlBuilder> demoted = removeEldest(this.protectedEntries);
+                    this.probation.put(demoted.getKey(), demoted.getValue());
+                }
+            }
+            return value;
+        }
+
+        private synchronized UrlBuilder putIfAbsent(String key, UrlBuilder value, LongAdder evictions) {
+            UrlBuilder existing = this.protectedEntries.get(key);
+            if (existing == null) {
+                existing = this.probation.get(key);
+            }
+            if (existing != null) {
+                return existing;
+            }
+            this.probation.put(key, value);
+            if (this.probation.size() + this.protectedEntries.size() > this.capacity) {
+                removeEldest(this.probation);
+                evictions.increment();
+            }
+            return null;
+        }
+
+        private synchronized int size() {
+            return this.probation.size() + this.protectedEntries.size();
+        }
+
+        private static Map.Entry<String, UrlBuilder> removeEldest(LinkedHashMap<String, UrlBuilder> entries) {
+            final Iterator<Map.Entry<String, UrlBuilder>> iterator = entries.entrySet().iterator();
+            final Map.Entry<String, UrlBuilder> eldest = iterator.next();
+            iterator.remove();
+            return eldest;
+        }
+    }
+}
@@ -1,17 +0,0 @@
-package com.unisoft.core.http.util;
-
-/**
- * @author omar.H.Ajmi
- * @since 18/10/2020
- */
-enum UrlTokenType {
-    SCHEME,
-
-    HOST,
-
-    PORT,
-
-    PATH,
-
-    QUERY,
-}
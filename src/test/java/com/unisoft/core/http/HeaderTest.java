@@ -5,6 +5,7 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
 
+import java.util.Arrays;
 import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -62,4 +63,30 @@ class HeaderTest {
         // Assert
         assertArrayEquals(values, header.getValues());
     }
-}
\ No newline at end of file
+
+    @Test
+    void testSplitValues() {
+        // Arrange
+        final Header header = new Header("a", "b,,c,,");
+
+        // Act & Assert
+        assertArrayEquals("b,,c,,".split(","), header.getValues());
+        assertEquals(Arrays.asList("b", "", "c"), header.getValuesList());
+        assertArrayEquals(new String[0], new Header("a", ",").getValues());
+        assertNull(new Header("a", null).getValuesList());
+    }
+
+    @Test
+    void testAddValueAfterSplit() {
+        // Arrange
+        final Header header = new Header("a", "b,c");
+        header.getValuesList();
+
+        // Act
+        header.addValue("d");
+
+        // Assert
+        assertEquals("b,c,d", header.getValue());
+        assertEquals(Arrays.asList("b", "c", "d"), header.getValuesList());
+    }
+}
@@ -2,8 +2,16 @@ package com.unisoft.core.http;
 
 import org.junit.jupiter.api.Test;
 
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.stream.Collectors;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 class HttpHeadersTest {
 
@@ -38,4 +46,143 @@ class HttpHeadersTest {
 
         assertEquals("key1=value1, key2=value2, key3=value3", headers.toString());
     }
-}
\ No newline at end of file
+
+    @Test
+    void caseInsensitiveNames() {
+        final HttpHeaders headers = new HttpHeaders();
+        headers.put("Content-Type", "application/json");
+        headers.put("CONTENT-TYPE", "text/plain");
+
+        assertEquals(1, headers.getSize());
+        assertEquals("text/plain", headers.getValue("content-type"));
+        assertEquals("CONTENT-TYPE", headers.get("Content-type").getName());
+    }
+
+    @Test
+    void addValues() {
+        final HttpHeaders headers = new HttpHeaders();
+        headers.add("Set-Cookie", "a=1");
+        headers.add("set-cookie", "b=2");
+
+        assertEquals(1, headers.getSize());
+        assertEquals("a=1,b=2", headers.getValue("Set-Cookie"));
+        assertEquals(Arrays.asList("a=1", "b=2"), headers.get("SET-COOKIE").getValuesList());
+    }
+
+    @Test
+    void removeKeepsInsertionOrder() {
+        final HttpHeaders headers = new HttpHeaders();
+        for (int i = 0; i < 40; i++) {
+            headers.put("key" + i, "value" + i);
+        }
+
+        assertEquals("value20", headers.remove("KEY20").getValue());
+        assertNull(headers.remove("key20"));
+        assertNull(headers.get("key20"));
+        assertEquals(39, headers.getSize());
+        assertEquals("value39", headers.getValue("key39"));
+        assertEquals("key19,key21", headers.stream().skip(19).limit(2).map(HttpHeader::getName)
+                .collect(Collectors.joining(",")));
+    }
+
+    @Test
+    void iteratorFailsOnModification() {
+        final HttpHeaders headers = new HttpHeaders().put("a", "b");
+        final Iterator<HttpHeader> iterator = headers.iterator();
+        headers.put("c", "d");
+
+        assertThrows(ConcurrentModificationException.class, iterator::next);
+    }
+
+    @Test
+    void iteratorRemove() {
+        final HttpHeaders headers = new HttpHeaders().put("a", "1").put("b", "2").put("c", "3");
+        final HttpHeaders copy = headers.copy();
+        final Iterator<HttpHeader> iterator = copy.iterator();
+
+        assertThrows(IllegalStateException.class, iterator::remove);
+        iterator.next();
+        iterator.next();
+        iterator.remove();
+        assertThrows(IllegalStateException.class, iterator::remove);
+        assertEquals("c", iterator.next().getName());
+
+        assertEquals("a=1, c=3", copy.toString());
+        assertNull(copy.get("b"));
+        assertEquals("a=1, b=2, c=3", headers.toString());
+        for (Iterator<HttpHeader> all = copy.iterator(); all.hasNext(); ) {
+            all.next();
+            all.remove();
+        }
+        assertEquals(0, copy.getSize());
+    }
+
+    @Test
+    void internWellKnownNames() {
+        final byte[] bytes = "xContent-Typex content-type CONTENT-TYPE".getBytes(StandardCharsets.ISO_8859_1);
+
+        assertSame(HttpHeaderNames.CONTENT_TYPE, HttpHeaderNames.intern(bytes, 1, 13));
+        assertEquals("content-type", HttpHeaderNames.intern(bytes, 15, 27));
+        assertSame(HttpHeaderNames.intern(bytes, 15, 27), HttpHeaderNames.intern(bytes, 15, 27));
+        assertNull(HttpHeaderNames.intern(bytes, 28, 40));
+        assertNull(HttpHeaderNames.intern(bytes, 1, 12));
+    }
+
+    @Test
+    void copyIsIndependent() {
+        final HttpHeaders headers = new HttpHeaders().put("a", "1").put("b", "2");
+        final HttpHeaders copy = headers.copy();
+
+        copy.put("a", "3").add("b", "4").put("c", "5");
+        headers.remove("b");
+
+        assertEquals("a=1", headers.toString());
+        assertEquals("a=3, b=2,4, c=5", copy.toString());
+        assertEquals("2", headers.copy().put("b", "2").get("b").getValue());
+    }
+
+    @Test
+    void putAll() {
+        final HttpHeaders defaults = new HttpHeaders().put("a", "1").put("b", "2");
+        final HttpHeaders empty = new HttpHeaders().putAll(defaults);
+        final HttpHeaders headers = new HttpHeaders().put("B", "3").put("c", "4").putAll(defaults);
+
+        empty.add("a", "5");
+        headers.add("a", "6");
+
+        assertEquals("a=1, b=2", defaults.toString());
+        assertEquals("a=1,5, b=2", empty.toString());
+        assertEquals("b=2, c=4, a=1,6", headers.toString());
+    }
+
+    @Test
+    void returnedHeadersAreNotShared() {
+        final HttpHeaders headers = new HttpHeaders().put("x", "a");
+        final HttpHeaders copy = headers.copy();
+        final HttpHeaders target = new HttpHeaders().put("y", "b").putAll(headers);
+
+        copy.get("x").addValue("b");
+        target.get("X").addValue("c");
+        target.iterator().next().addValue("d");
+
+        assertEquals("a", headers.getValue("x"));
+        assertEquals("a,b", copy.getValue("x"));
+        assertEquals("a,c", target.getValue("x"));
+        assertEquals("b,d", target.getValue("y"));
+        headers.get("x").addValue("e");
+        assertEquals("a,b", copy.getValue("x"));
+        assertEquals("a,c", target.getValue("x"));
+        assertSame(headers.get("x"), headers.get("x"));
+    }
+
+    @Test
+    void putAllIsIndependentOfItsSource() {
+        final HttpHeaders source = new HttpHeaders().put("X", "a");
+        final HttpHeaders target = new HttpHeaders().put("Y", "b").putAll(source);
+
+        source.add("X", "b");
+
+        assertEquals("a", target.getValue("X"));
+        assertEquals("a,b", source.getValue("X"));
+    }
+}
@@ -1,5 +1,6 @@
 package com.unisoft.core.http;
 
+import com.unisoft.core.http.util.ParsedUrl;
 import org.junit.jupiter.api.Test;
 import reactor.core.publisher.Flux;
 
@@ -46,6 +47,73 @@ class HttpRequestTest {
             assertEquals(clonedHeader.getValue(), request.getHeaders().getValue(clonedHeader.getName()));
         }
 
+        request.copy().getHeaders().get("my-header").addValue("copied-value");
+        assertEquals("my-value", request.getHeaders().getValue("my-header"));
+
+        bufferedRequest.setHeader("my-header", "other-value");
+        bufferedRequest.getHeaders().add("other-header", "more-value");
+        request.getHeaders().remove("other-header");
+        assertEquals("my-value", request.getHeaders().getValue("my-header"));
+        assertEquals("other-value,more-value", bufferedRequest.getHeaders().getValue("other-header"));
+
         assertSame(request.getBody(), bufferedRequest.getBody());
     }
-}
\ No newline at end of file
+
+    @Test
+    void parsedTarget() throws MalformedURLException {
+        final HttpRequest request = new HttpRequest(HttpMethod.GET,
+                ParsedUrl.parse("https://user@request.url:8443/a/b?c=d#fragment"));
+
+        assertEquals("https", request.getScheme());
+        assertEquals("request.url", request.getHost());
+        assertEquals(8443, request.getPort());
+        assertEquals("/a/b?c=d", request.getPathAndQuery());
+        assertEquals(new URL("https://request.url:8443/a/b?c=d#fragment"), request.getUrl());
+    }
+
+    @Test
+    void parsedTargetWithUserInfo() throws MalformedURLException {
+        final HttpRequest request = new HttpRequest(HttpMethod.GET,
+                ParsedUrl.parse("http://user:pw@example.com:8080/p"));
+
+        assertEquals("http", request.getScheme());
+        assertEquals("example.com", request.getHost());
+        assertEquals(8080, request.getPort());
+        assertEquals("/p", request.getPathAndQuery());
+        assertEquals(new URL("http://user:pw@example.com:8080/p"), request.getUrl());
+    }
+
+    @Test
+    void parsedTargetWithInvalidPort() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new HttpRequest(HttpMethod.GET, ParsedUrl.parse("http://example.com:abc/p")));
+        assertThrows(IllegalArgumentException.class,
+                () -> new HttpRequest(HttpMethod.GET, ParsedUrl.parse("http://example.com:99999/p")));
+        assertThrows(IllegalArgumentException.class,
+                () -> new HttpRequest(HttpMethod.GET, ParsedUrl.parse("http://user@example.com:99999/p")));
+        assertEquals(-1, new HttpRequest(HttpMethod.GET, ParsedUrl.parse("http://example.com:/p")).getPort());
+    }
+
+    @Test
+    void changeTarget() throws MalformedURLException {
+        final HttpRequest request = new HttpRequest(HttpMethod.GET, new URL("http://request.url/a?b=c"));
+        final HttpRequest copy = request.copy();
+
+        request.setScheme("https://").setHost("other.url").setPort(8080).setPath("d").setQuery(null);
+
+        assertEquals("/d", request.getPathAndQuery());
+        assertEquals(new URL("https://other.url:8080/d"), request.getUrl());
+        assertEquals(new URL("http://request.url/a?b=c"), copy.getUrl());
+        assertEquals("/a?b=c", copy.getPathAndQuery());
+        assertEquals(-1, copy.getPort());
+        assertThrows(IllegalArgumentException.class, () -> request.setPort(-2));
+        assertThrows(IllegalArgumentException.class, () -> request.setScheme("not a protocol"));
+        assertThrows(IllegalArgumentException.class, () -> request.setHost("other.url/path"));
+        assertThrows(IllegalArgumentException.class, () -> request.setHost("[::1"));
+        assertEquals(new URL("https://[::1]:8080/d"), request.setHost("[::1]").getUrl());
+
+        request.setUrl(new URL("http://request.url"));
+        assertEquals("/", request.getPathAndQuery());
+        assertEquals("", request.getPath());
+    }
+}
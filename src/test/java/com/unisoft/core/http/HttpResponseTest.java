@@ -1,14 +1,18 @@
 package com.unisoft.core.http;
 
+import com.unisoft.core.http.buffer.PooledByteBufferAllocator;
 import org.junit.jupiter.api.Test;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 import reactor.util.function.Tuple2;
 
+import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 
 class HttpResponseTest {
@@ -31,6 +35,39 @@ class HttpResponseTest {
                 .verifyComplete();
     }
 
+    @Test
+    void testPooledBufferedResponseReleasesOnClose() throws IOException {
+        PooledByteBufferAllocator allocator = new PooledByteBufferAllocator(4096, 64 * 1024, true);
+        HttpResponse response = new SelfDisposedHttpResponse().buffer(allocator);
+
+        StepVerifier.create(response.getBody())
+                .assertNext(buffer -> assertEquals("long_long_content", StandardCharsets.UTF_8.decode(buffer).toString()))
+                .verifyComplete();
+        assertEquals(17, response.getBodyAsInputStream().block().available());
+        assertEquals(1, allocator.getOutstandingBuffers());
+
+        response.close();
+        allocator.checkLeaks();
+        StepVerifier.create(response.getBody())
+                .verifyError(IllegalStateException.class);
+    }
+
+    @Test
+    void testPooledBufferedResponseKeepsByteArrayAfterClose() {
+        PooledByteBufferAllocator allocator = new PooledByteBufferAllocator(4096, 64 * 1024, true);
+        HttpResponse response = new SelfDisposedHttpResponse().buffer(allocator);
+
+        StepVerifier.create(response.getBodyAsString(StandardCharsets.UTF_8))
+                .expectNext("long_long_content")
+                .verifyComplete();
+        response.close();
+        allocator.checkLeaks();
+
+        StepVerifier.create(response.getBodyAsString(StandardCharsets.UTF_8))
+                .expectNext("long_long_content")
+                .verifyComplete();
+    }
+
     // A Type to mimic Response with body content released/disposed as it consumed
     private static class SelfDisposedHttpResponse extends HttpResponse {
         private final Mono<ByteBuffer> contentMono;
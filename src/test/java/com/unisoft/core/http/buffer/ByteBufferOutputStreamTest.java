@@ -0,0 +1,61 @@
+package com.unisoft.core.http.buffer;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ByteBufferOutputStreamTest {
+
+    @Test
+    void growsThroughTheAllocator() throws IOException {
+        final PooledByteBufferAllocator allocator = new PooledByteBufferAllocator(1024 * 1024, 1024 * 1024, true);
+        final ByteBufferOutputStream stream = new ByteBufferOutputStream(allocator, 16);
+        final byte[] expected = new byte[10_000];
+        for (int i = 0; i < expected.length; i++) {
+            expected[i] = (byte) i;
+        }
+
+        stream.write(expected, 0, 5000);
+        stream.write(ByteBuffer.wrap(expected, 5000, 4999));
+        stream.write(expected[9999]);
+
+        assertEquals(10_000, stream.size());
+        assertEquals(1, allocator.getOutstandingBuffers());
+        assertArrayEquals(expected, stream.toByteArray());
+        final ByteBuffer view = stream.toByteBuffer();
+        assertTrue(view.isReadOnly());
+        assertEquals(10_000, view.remaining());
+
+        stream.close();
+        assertEquals(10_000, stream.toByteBuffer().remaining());
+
+        stream.release();
+        stream.release();
+        allocator.checkLeaks();
+        assertThrows(IllegalStateException.class, stream::toByteBuffer);
+        assertThrows(IllegalStateException.class, () -> stream.write(1));
+    }
+
+    @Test
+    void readsBackThroughAnInputStream() throws IOException {
+        final ByteBufferOutputStream stream = new ByteBufferOutputStream(ByteBufferAllocator.unpooled());
+        stream.write("hello world".getBytes(StandardCharsets.UTF_8));
+
+        final ByteBufferInputStream input = new ByteBufferInputStream(stream.toByteBuffer());
+        assertEquals(11, input.available());
+        assertEquals('h', input.read());
+        assertEquals(5, input.skip(5));
+        final byte[] rest = new byte[10];
+        assertEquals(5, input.read(rest, 0, rest.length));
+        assertEquals("world", new String(rest, 0, 5, StandardCharsets.UTF_8));
+        assertEquals(-1, input.read());
+        assertEquals(-1, input.read(rest, 0, rest.length));
+    }
+}
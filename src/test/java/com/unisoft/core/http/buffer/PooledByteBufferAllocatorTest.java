@@ -0,0 +1,112 @@
+package com.unisoft.core.http.buffer;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PooledByteBufferAllocatorTest {
+
+    @Test
+    void roundsUpToSizeClasses() {
+        final PooledByteBufferAllocator allocator = new PooledByteBufferAllocator(4096, 64 * 1024, true);
+
+        final ByteBuffer small = allocator.allocate(10);
+        final ByteBuffer medium = allocator.allocate(1025);
+        final ByteBuffer empty = allocator.allocateDirect(0);
+
+        assertEquals(0, small.position());
+        assertEquals(10, small.limit());
+        assertEquals(256, small.capacity());
+        assertEquals(2048, medium.capacity());
+        assertTrue(empty.isDirect());
+        assertEquals(0, empty.limit());
+        assertEquals(3, allocator.getOutstandingBuffers());
+
+        allocator.release(small);
+        allocator.release(medium);
+        allocator.release(empty);
+        allocator.checkLeaks();
+    }
+
+    @Test
+    void reusesReleasedBuffers() {
+        final PooledByteBufferAllocator allocator = new PooledByteBufferAllocator(4096, 64 * 1024, false);
+
+        final ByteBuffer first = allocator.allocate(300);
+        first.put((byte) 1);
+        allocator.release(first);
+        assertEquals(1, allocator.getCachedBuffers());
+
+        final ByteBuffer second = allocator.allocate(400);
+        assertSame(first, second);
+        assertEquals(0, second.position());
+        assertEquals(400, second.limit());
+        assertEquals(0, allocator.getCachedBuffers());
+
+        // heap and direct buffers are pooled apart
+        allocator.release(second);
+        final ByteBuffer direct = allocator.allocateDirect(300);
+        assertNotSame(first, direct);
+        assertTrue(direct.isDirect());
+        allocator.release(direct);
+        assertEquals(2, allocator.getCachedBuffers());
+    }
+
+    @Test
+    void boundsCachedBytesPerSizeClass() {
+        final PooledByteBufferAllocator allocator = new PooledByteBufferAllocator(4096, 1024, false);
+
+        final ByteBuffer[] buffers = new ByteBuffer[6];
+        for (int i = 0; i < buffers.length; i++) {
+            buffers[i] = allocator.allocate(256);
+        }
+        for (ByteBuffer buffer : buffers) {
+            allocator.release(buffer);
+        }
+
+        assertEquals(4, allocator.getCachedBuffers());
+        assertEquals(0, allocator.getOutstandingBuffers());
+    }
+
+    @Test
+    void allocatesLargeBuffersUnpooled() {
+        final PooledByteBufferAllocator allocator = new PooledByteBufferAllocator(4096, 64 * 1024, true);
+
+        final ByteBuffer large = allocator.allocate(5000);
+        assertEquals(5000, large.capacity());
+        allocator.release(large);
+
+        assertEquals(0, allocator.getCachedBuffers());
+        assertNotSame(large, allocator.allocate(5000));
+    }
+
+    @Test
+    void detectsLeaksAndDoubleReleases() {
+        final PooledByteBufferAllocator allocator = new PooledByteBufferAllocator(4096, 64 * 1024, true);
+
+        final ByteBuffer buffer = allocator.allocate(100);
+        final IllegalStateException leak = assertThrows(IllegalStateException.class, allocator::checkLeaks);
+        assertEquals("1 buffer(s) allocated and never released.", leak.getMessage());
+        assertEquals("Allocation of a 100 bytes buffer", leak.getCause().getMessage());
+
+        allocator.release(buffer);
+        allocator.checkLeaks();
+        assertThrows(IllegalStateException.class, () -> allocator.release(buffer));
+        assertThrows(IllegalStateException.class, () -> allocator.release(ByteBuffer.allocate(256)));
+        assertEquals(1, allocator.getCachedBuffers());
+    }
+
+    @Test
+    void rejectsInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new PooledByteBufferAllocator(0, 1024, false));
+        assertThrows(IllegalArgumentException.class, () -> new PooledByteBufferAllocator(4096, -1, false));
+        assertThrows(IllegalArgumentException.class, () -> new PooledByteBufferAllocator().allocate(-1));
+        assertThrows(IllegalArgumentException.class, () -> ByteBufferAllocator.unpooled().allocate(-1));
+    }
+}
@@ -0,0 +1,37 @@
+package com.unisoft.core.http.impl;
+
+import com.unisoft.core.http.HttpClientProvider;
+import com.unisoft.core.http.jdk.JdkHttpClientProvider;
+import com.unisoft.core.http.nio.NioHttpClientProvider;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class HttpClientProvidersTest {
+
+    @Test
+    void selectsTheShippedNioProviderWhateverTheOrder() {
+        final HttpClientProvider nio = new NioHttpClientProvider();
+        final HttpClientProvider jdk = new JdkHttpClientProvider();
+
+        assertSame(nio, HttpClientProviders.select(Arrays.asList(nio, jdk)));
+        assertSame(nio, HttpClientProviders.select(Arrays.asList(jdk, nio)));
+    }
+
+    @Test
+    void selectsOtherProvidersFirst() {
+        final HttpClientProvider other = () -> null;
+        final HttpClientProvider first = () -> null;
+
+        assertEquals(0, other.getPriority());
+        assertSame(other, HttpClientProviders.select(
+                Arrays.asList(new NioHttpClientProvider(), other, new JdkHttpClientProvider())));
+        assertSame(first, HttpClientProviders.select(Arrays.asList(first, other)));
+        assertNull(HttpClientProviders.select(Collections.emptyList()));
+    }
+}
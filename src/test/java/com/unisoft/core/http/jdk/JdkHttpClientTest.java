@@ -0,0 +1,117 @@
+package com.unisoft.core.http.jdk;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import com.unisoft.core.http.HttpMethod;
+import com.unisoft.core.http.HttpRequest;
+import com.unisoft.core.http.HttpResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class JdkHttpClientTest {
+    private static final byte[] LARGE_BODY = new byte[512 * 1024];
+
+    static {
+        for (int i = 0; i < LARGE_BODY.length; i++) {
+            LARGE_BODY[i] = (byte) i;
+        }
+    }
+
+    private HttpServer server;
+
+    @BeforeEach
+    void setup() throws IOException {
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        this.server.createContext("/hello", exchange -> {
+            exchange.getResponseHeaders().add("Content-Type", "text/plain");
+            exchange.getResponseHeaders().add("X-Values", "a");
+            exchange.getResponseHeaders().add("X-Values", "b");
+            respond(exchange, "hello".getBytes(StandardCharsets.UTF_8));
+        });
+        this.server.createContext("/echo", exchange -> respond(exchange, exchange.getRequestBody().readAllBytes()));
+        this.server.createContext("/large", exchange -> respond(exchange, LARGE_BODY));
+        this.server.start();
+    }
+
+    @AfterEach
+    void teardown() {
+        this.server.stop(0);
+    }
+
+    @Test
+    void sendGet() {
+        final HttpResponse response = new JdkHttpClientBuilder().build()
+                .send(new HttpRequest(HttpMethod.GET, url("/hello")))
+                .block(Duration.ofSeconds(10));
+
+        assertEquals(200, response.getStatusCode());
+        assertEquals("text/plain", response.getHeaderValue("content-type"));
+        assertEquals("a,b", response.getHeaderValue("X-Values"));
+        assertEquals("hello", response.getBodyAsString().block(Duration.ofSeconds(10)));
+    }
+
+    @Test
+    void sendStreamedBody() {
+        final HttpRequest request = new HttpRequest(HttpMethod.POST, url("/echo"))
+                .setBody(Flux.just("first,", "second").map(s -> ByteBuffer.wrap(s.getBytes(StandardCharsets.UTF_8))));
+
+        assertEquals("first,second", new JdkHttpClientBuilder().preferHttp2(false).build()
+                .send(request)
+                .flatMap(HttpResponse::getBodyAsString)
+                .block(Duration.ofSeconds(10)));
+    }
+
+    @Test
+    void sendFixedLengthBodyWithRestrictedHeaders() {
+        final HttpRequest request = new HttpRequest(HttpMethod.PUT, url("/echo"))
+                .setHeader("Date", "Sat, 17 Oct 2026 00:00:00 GMT")
+                .setHeader("Connection", "keep-alive")
+                .setBody("payload");
+
+        assertEquals("payload", new JdkHttpClientBuilder().build()
+                .send(request)
+                .flatMap(HttpResponse::getBodyAsString)
+                .block(Duration.ofSeconds(10)));
+    }
+
+    @Test
+    void receiveLargeBody() {
+        final byte[] body = new JdkHttpClientBuilder().connectTimeout(Duration.ofSeconds(5)).build()
+                .send(new HttpRequest(HttpMethod.GET, url("/large")))
+                .flatMap(HttpResponse::getBodyAsByteArray)
+                .block(Duration.ofSeconds(10));
+
+        assertArrayEquals(LARGE_BODY, body);
+    }
+
+    @Test
+    void invalidConfiguration() {
+        assertThrows(IllegalArgumentException.class, () -> new JdkHttpClientBuilder().connectTimeout(Duration.ZERO));
+        assertThrows(NullPointerException.class, () -> new JdkHttpClientBuilder().executor(null));
+    }
+
+    private String url(String path) {
+        return "http://localhost:" + this.server.getAddress().getPort() + path;
+    }
+
+    private static void respond(HttpExchange exchange, byte[] body) throws IOException {
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.unisoft.core.http.nio;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Decoding examples from RFC 7541 appendix C.
+ */
+class HpackTest {
+
+    @Test
+    void decodeRequestsWithoutHuffman() throws IOException {
+        final HpackDecoder decoder = new HpackDecoder(4096);
+
+        assertEquals(Arrays.asList(":method", "GET", ":scheme", "http", ":path", "/", ":authority", "www.example.com"),
+                decoder.decode(hex("828684410f7777772e6578616d706c652e636f6d")));
+        assertEquals(57, decoder.getTableSize());
+        assertEquals(Arrays.asList(":method", "GET", ":scheme", "http", ":path", "/", ":authority", "www.example.com",
+                "cache-control", "no-cache"),
+                decoder.decode(hex("828684be58086e6f2d6361636865")));
+        assertEquals(110, decoder.getTableSize());
+        assertEquals(Arrays.asList(":method", "GET", ":scheme", "https", ":path", "/index.html", ":authority",
+                "www.example.com", "custom-key", "custom-value"),
+                decoder.decode(hex("828785bf400a637573746f6d2d6b65790c637573746f6d2d76616c7565")));
+        assertEquals(164, decoder.getTableSize());
+    }
+
+    @Test
+    void decodeRequestsWithHuffman() throws IOException {
+        final HpackDecoder decoder = new HpackDecoder(4096);
+
+        assertEquals(Arrays.asList(":method", "GET", ":scheme", "http", ":path", "/", ":authority", "www.example.com"),
+                decoder.decode(hex("828684418cf1e3c2e5f23a6ba0ab90f4ff")));
+        assertEquals(Arrays.asList(":method", "GET", ":scheme", "http", ":path", "/", ":authority", "www.example.com",
+                "cache-control", "no-cache"),
+                decoder.decode(hex("828684be5886a8eb10649cbf")));
+        assertEquals(Arrays.asList(":method", "GET", ":scheme", "https", ":path", "/index.html", ":authority",
+                "www.example.com", "custom-key", "custom-value"),
+                decoder.decode(hex("828785bf408825a849e95ba97d7f8925a849e95bb8e8b4bf")));
+        assertEquals(164, decoder.getTableSize());
+    }
+
+    @Test
+    void huffmanEncode() {
+        final byte[] encoded = new byte[Hpack.huffmanLength("www.example.com")];
+        Hpack.huffmanEncode("www.example.com", encoded, 0);
+
+        assertArrayEquals(bytes("f1e3c2e5f23a6ba0ab90f4ff"), encoded);
+    }
+
+    @Test
+    void roundTrip() throws IOException {
+        final HpackEncoder encoder = new HpackEncoder();
+        final List<String> fields = Arrays.asList(":method", "POST", ":scheme", "https", ":authority", "example.com",
+                ":path", "/items?id=1", "content-type", "application/json", "authorization", "Bearer secret",
+                "x-custom", "café", "accept-encoding", "gzip, deflate", "x-empty", "");
+        encoder.reset();
+        for (int i = 0; i < fields.size(); i += 2) {
+            encoder.encode(fields.get(i), fields.get(i + 1));
+        }
+
+        assertEquals(fields, new HpackDecoder(4096).decode(ByteBuffer.wrap(encoder.array(), 0, encoder.size())));
+    }
+
+    @Test
+    void evictsWhenTableIsFull() throws IOException {
+        final HpackDecoder decoder = new HpackDecoder(4096);
+        // size update to 60 bytes, then two incrementally indexed fields of 32 + 10 bytes each
+        decoder.decode(hex("3f1d" + "4005" + "6e616d6531" + "0576616c7531" + "4005" + "6e616d6532" + "0576616c7532"));
+
+        assertEquals(42, decoder.getTableSize());
+        assertEquals(Arrays.asList("name2", "valu2"), decoder.decode(hex("be")));
+        assertThrows(IOException.class, () -> decoder.decode(hex("bf")));
+    }
+
+    @Test
+    void rejectsMalformedBlocks() {
+        final HpackDecoder decoder = new HpackDecoder(4096);
+
+        assertThrows(IOException.class, () -> decoder.decode(hex("80")));
+        assertThrows(IOException.class, () -> decoder.decode(hex("3fe21f")));
+        assertThrows(IOException.class, () -> decoder.decode(hex("0003616263")));
+        assertThrows(IOException.class, () -> decoder.decode(hex("ffffffffff0f")));
+        // padding longer than 7 bits
+        assertThrows(IOException.class, () -> decoder.decode(hex("000161" + "82" + "1fff")));
+    }
+
+    private static ByteBuffer hex(String hex) {
+        return ByteBuffer.wrap(bytes(hex));
+    }
+
+    private static byte[] bytes(String hex) {
+        final byte[] bytes = new byte[hex.length() / 2];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = (byte) Integer.parseInt(hex.substring(2 * i, 2 * i + 2), 16);
+        }
+        return bytes;
+    }
+}
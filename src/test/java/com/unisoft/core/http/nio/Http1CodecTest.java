@@ -0,0 +1,269 @@
+package com.unisoft.core.http.nio;
+
+import com.unisoft.core.http.HttpHeaders;
+import com.unisoft.core.http.HttpMethod;
+import com.unisoft.core.http.HttpRequest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class Http1CodecTest {
+    private static final String CHUNKED_RESPONSE = "HTTP/1.1 200 OK\r\n"
+            + "Content-Type: application/json\r\n"
+            + "Transfer-Encoding: chunked\r\n"
+            + "Set-Cookie: a=1\r\n"
+            + "set-cookie: b=2\r\n"
+            + "\r\n"
+            + "5;name=value\r\nhello\r\n"
+            + "1\r\n \r\n"
+            + "a\r\n0123456789\r\n"
+            + "0\r\nX-Trailer: done\r\n\r\n";
+
+    @Test
+    void encodeHead() {
+        final HttpRequest request = new HttpRequest(HttpMethod.POST, "http://localhost:8080/path?q=1")
+                .setHeader("Accept", "application/json");
+
+        assertEquals("POST /path?q=1 HTTP/1.1\r\nHost: localhost:8080\r\nAccept: application/json\r\n"
+                + "Content-Length: 0\r\n\r\n", ascii(new Http1RequestEncoder().encodeHead(request, false)));
+    }
+
+    @Test
+    void encodeChunkedHeadReusesBuffer() {
+        final Http1RequestEncoder encoder = new Http1RequestEncoder();
+        final HttpRequest request = new HttpRequest(HttpMethod.PUT, "https://example.com");
+        final ByteBuffer first = encoder.encodeHead(request, true);
+        ascii(first);
+        final ByteBuffer second = encoder.encodeHead(request, true);
+
+        assertTrue(first == second);
+        assertEquals("PUT / HTTP/1.1\r\nHost: example.com\r\nTransfer-Encoding: chunked\r\n\r\n", ascii(second));
+    }
+
+    @Test
+    void encodeLargeHead() {
+        final StringBuilder value = new StringBuilder();
+        for (int i = 0; i < 5000; i++) {
+            value.append('v');
+        }
+        final HttpRequest request = new HttpRequest(HttpMethod.GET, "http://localhost/")
+                .setHeader("X-Large", value.toString());
+
+        assertTrue(ascii(new Http1RequestEncoder().encodeHead(request, false))
+                .contains("X-Large: " + value + "\r\n"));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {0, 1, 15, 16, 255, 4096, Integer.MAX_VALUE})
+    void encodeChunkSize(int size) {
+        assertEquals(Integer.toHexString(size) + "\r\n", ascii(new Http1RequestEncoder().encodeChunkSize(size)));
+    }
+
+    @Test
+    void parseHeadLazily() throws IOException {
+        final ByteBuffer buffer = ByteBuffer.wrap(CHUNKED_RESPONSE.getBytes(StandardCharsets.US_ASCII));
+        final Http1ResponseHead head = Http1ResponseHead.parse(buffer);
+
+        assertNotNull(head);
+        assertEquals(200, head.getStatusCode());
+        assertTrue(head.isHttp11());
+        assertTrue(head.isKeepAlive());
+        assertEquals(Long.MIN_VALUE, head.contentLength());
+        assertEquals("application/json", head.getHeaderValue("content-type"));
+        assertEquals("a=1,b=2", head.getHeaderValue("SET-COOKIE"));
+        assertNull(head.getHeaderValue("Content-Length"));
+        assertEquals('5', buffer.get(buffer.position()));
+
+        final HttpHeaders headers = head.getHeaders();
+        assertEquals(3, headers.getSize());
+        assertEquals("a=1,b=2", headers.getValue("Set-Cookie"));
+        assertEquals(Arrays.asList("a=1", "b=2"), headers.get("Set-Cookie").getValuesList());
+    }
+
+    @Test
+    void parseIncompleteHeadLeavesBufferUntouched() throws IOException {
+        final ByteBuffer buffer = ByteBuffer.wrap("HTTP/1.1 200 OK\r\nContent-Length: 5\r\n"
+                .getBytes(StandardCharsets.US_ASCII));
+
+        assertNull(Http1ResponseHead.parse(buffer));
+        assertEquals(0, buffer.position());
+    }
+
+    @Test
+    void parseHttp10Head() throws IOException {
+        final Http1ResponseHead head = Http1ResponseHead.parse(ByteBuffer.wrap(
+                "HTTP/1.0 404\nContent-Length: 12\n\n".getBytes(StandardCharsets.US_ASCII)));
+
+        assertEquals(404, head.getStatusCode());
+        assertFalse(head.isHttp11());
+        assertFalse(head.isKeepAlive());
+        assertEquals(12, head.contentLength());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+        "HTTP/2 200 OK\r\n\r\n",
+        "HTTP/1.1 20 OK\r\n\r\n",
+        "HTTP/1.1 2000 OK\r\n\r\n",
+        "HTTP/1.1 200 OK\r\nNo-Colon\r\n\r\n",
+        "HTTP/1.1 200 OK\r\n: empty-name\r\n\r\n",
+        "HTTP/1.1 200 OK\r\nBad Name: value\r\n\r\n",
+        "HTTP/1.1 200 OK\r\n folded\r\n\r\n"
+    })
+    void rejectMalformedHead(String head) {
+        assertThrows(IOException.class,
+                () -> Http1ResponseHead.parse(ByteBuffer.wrap(head.getBytes(StandardCharsets.US_ASCII))));
+    }
+
+    @Test
+    void rejectInvalidContentLength() throws IOException {
+        final Http1ResponseHead head = Http1ResponseHead.parse(ByteBuffer.wrap(
+                "HTTP/1.1 200 OK\r\nContent-Length: -1\r\n\r\n".getBytes(StandardCharsets.US_ASCII)));
+
+        assertThrows(IOException.class, head::contentLength);
+    }
+
+    @Test
+    void decodeContentLengthBody() throws IOException {
+        final Http1BodyDecoder decoder = Http1BodyDecoder.of(5);
+        final ByteBuffer in = ByteBuffer.wrap("helloNEXT".getBytes(StandardCharsets.US_ASCII));
+
+        assertEquals("hello", ascii(decoder.decode(in)));
+        assertTrue(decoder.isComplete());
+        assertNull(decoder.decode(in));
+        assertEquals(4, in.remaining());
+    }
+
+    @Test
+    void decodeUntilCloseBody() throws IOException {
+        final Http1BodyDecoder decoder = Http1BodyDecoder.of(-1);
+
+        assertEquals("abc", ascii(decoder.decode(ByteBuffer.wrap(new byte[]{'a', 'b', 'c'}))));
+        assertFalse(decoder.isComplete());
+        decoder.onEndOfStream();
+        assertTrue(decoder.isComplete());
+        assertFalse(decoder.isReusable());
+    }
+
+    @Test
+    void prematureEndOfChunkedBody() {
+        final Http1BodyDecoder decoder = Http1BodyDecoder.of(Long.MIN_VALUE);
+
+        assertThrows(IOException.class, decoder::onEndOfStream);
+    }
+
+    /**
+     * Feeds the same response split at random points and checks the decoded body never depends on the split.
+     */
+    @Test
+    void fuzzSplitResponse() throws IOException {
+        final byte[] response = CHUNKED_RESPONSE.getBytes(StandardCharsets.US_ASCII);
+        final Random random = new Random(42);
+        for (int iteration = 0; iteration < 2000; iteration++) {
+            final ByteBuffer in = ByteBuffer.allocate(response.length);
+            in.flip();
+            final ByteArrayOutputStream body = new ByteArrayOutputStream();
+            Http1ResponseHead head = null;
+            Http1BodyDecoder decoder = null;
+            int offset = 0;
+            while (decoder == null || !decoder.isComplete()) {
+                assertTrue(offset < response.length, "decoder did not complete");
+                final int length = 1 + random.nextInt(Math.min(16, response.length - offset));
+                in.compact();
+                in.put(response, offset, length);
+                in.flip();
+                offset += length;
+
+                if (head == null) {
+                    head = Http1ResponseHead.parse(in);
+                    if (head == null) {
+                        continue;
+                    }
+                    decoder = Http1BodyDecoder.of(head.contentLength());
+                }
+                ByteBuffer slice;
+                while ((slice = decoder.decode(in)) != null) {
+                    final byte[] bytes = new byte[slice.remaining()];
+                    slice.get(bytes);
+                    body.write(bytes);
+                }
+            }
+
+            assertEquals(response.length, offset);
+            assertEquals("hello 0123456789", body.toString(StandardCharsets.US_ASCII));
+        }
+    }
+
+    /**
+     * Random input must either parse or fail with an {@link IOException}, never with another exception.
+     */
+    @Test
+    void fuzzRandomInput() {
+        final Random random = new Random(7);
+        final byte[] alphabet = "HTTP/1.1 200\r\n:;abcdef0123456789 \t,chunked".getBytes(StandardCharsets.US_ASCII);
+        for (int iteration = 0; iteration < 5000; iteration++) {
+            final byte[] input = new byte[random.nextInt(128)];
+            for (int i = 0; i < input.length; i++) {
+                input[i] = random.nextInt(4) == 0 ? (byte) random.nextInt(256) : alphabet[random.nextInt(alphabet.length)];
+            }
+            final byte[] prefixed = random.nextBoolean()
+                    ? ("HTTP/1.1 200 OK\r\n" + new String(input, StandardCharsets.ISO_8859_1))
+                    .getBytes(StandardCharsets.ISO_8859_1)
+                    : input;
+            try {
+                final ByteBuffer in = ByteBuffer.wrap(prefixed);
+                final Http1ResponseHead head = Http1ResponseHead.parse(in);
+                if (head != null) {
+                    head.getHeaders();
+                    final Http1BodyDecoder decoder = Http1BodyDecoder.of(head.contentLength());
+                    while (decoder.decode(in) != null) {
+                        // drain
+                    }
+                }
+                final Http1BodyDecoder chunked = Http1BodyDecoder.of(Long.MIN_VALUE);
+                final ByteBuffer raw = ByteBuffer.wrap(input);
+                while (chunked.decode(raw) != null) {
+                    // drain
+                }
+            } catch (IOException expected) {
+                // malformed input
+            }
+        }
+    }
+
+    @Test
+    void decodeChunkedBodyInOneBuffer() throws IOException {
+        final Http1BodyDecoder decoder = Http1BodyDecoder.of(Long.MIN_VALUE);
+        final ByteBuffer in = ByteBuffer.wrap("3\r\nabc\r\n0\r\n\r\n".getBytes(StandardCharsets.US_ASCII));
+
+        assertArrayEquals("abc".getBytes(StandardCharsets.US_ASCII), bytes(decoder.decode(in)));
+        assertNull(decoder.decode(in));
+        assertTrue(decoder.isComplete());
+        assertFalse(in.hasRemaining());
+    }
+
+    private static String ascii(ByteBuffer buffer) {
+        return new String(bytes(buffer), StandardCharsets.ISO_8859_1);
+    }
+
+    private static byte[] bytes(ByteBuffer buffer) {
+        final byte[] bytes = new byte[buffer.remaining()];
+        buffer.duplicate().get(bytes);
+        return bytes;
+    }
+}
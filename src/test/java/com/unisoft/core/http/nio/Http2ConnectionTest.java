@@ -0,0 +1,412 @@
+package com.unisoft.core.http.nio;
+
+import com.unisoft.core.http.HttpMethod;
+import com.unisoft.core.http.HttpRequest;
+import com.unisoft.core.http.HttpResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class Http2ConnectionTest {
+    private H2Server server;
+    private NioHttpClient client;
+
+    @AfterEach
+    void teardown() throws IOException {
+        if (this.client != null) {
+            this.client.close();
+        }
+        if (this.server != null) {
+            this.server.close();
+        }
+    }
+
+    @Test
+    void sendGetWithPriorKnowledge() throws IOException {
+        this.server = new H2Server(100);
+        this.client = new NioHttpClientBuilder().http2PriorKnowledge(true).build();
+        final HttpResponse response = this.client.send(get("/hello")).block(Duration.ofSeconds(10));
+
+        assertEquals(200, response.getStatusCode());
+        assertEquals("text/plain", response.getHeaderValue("Content-Type"));
+        assertEquals("hello", response.getBodyAsString().block(Duration.ofSeconds(10)));
+
+        final List<NioConnectionMetrics> metrics = this.client.getConnectionMetrics();
+        assertEquals(1, metrics.size());
+        assertEquals(Http2Connection.PROTOCOL, metrics.get(0).getProtocol());
+        assertEquals(100, metrics.get(0).getMaxConcurrentStreams());
+    }
+
+    @Test
+    void multiplexesOverASingleConnection() throws IOException {
+        this.server = new H2Server(100);
+        this.client = new NioHttpClientBuilder().http2PriorKnowledge(true).build();
+        final List<String> bodies = Flux.range(0, 10)
+                .flatMap(i -> this.client.send(get("/slow")).flatMap(HttpResponse::getBodyAsString))
+                .collectList()
+                .block(Duration.ofSeconds(30));
+
+        assertEquals(10, bodies.size());
+        assertEquals(1, this.server.connections.get());
+        assertTrue(this.server.maxConcurrent.get() > 1);
+    }
+
+    @Test
+    void honoursMaxConcurrentStreams() throws IOException {
+        this.server = new H2Server(2);
+        this.client = new NioHttpClientBuilder().http2PriorKnowledge(true).maxConnectionsPerHost(1).build();
+        final List<String> bodies = Flux.range(0, 6)
+                .flatMap(i -> this.client.send(get("/slow")).flatMap(HttpResponse::getBodyAsString))
+                .collectList()
+                .block(Duration.ofSeconds(30));
+
+        assertEquals(6, bodies.size());
+        assertEquals(1, this.server.connections.get());
+        assertEquals(2, this.server.maxConcurrent.get());
+        assertEquals(2, this.client.getConnectionMetrics().get(0).getMaxConcurrentStreams());
+    }
+
+    @Test
+    void flowControlsUnconsumedBody() throws Exception {
+        this.server = new H2Server(100);
+        this.client = new NioHttpClientBuilder().http2PriorKnowledge(true).build();
+        final HttpResponse response = this.client.send(get("/large")).block(Duration.ofSeconds(10));
+
+        // nothing consumed, the server is held back by the stream window
+        Thread.sleep(300);
+        assertTrue(this.server.dataSent.get() <= Http2Connection.STREAM_WINDOW_SIZE,
+                "sent " + this.server.dataSent.get());
+
+        assertArrayEquals(H2Server.LARGE_BODY, response.getBodyAsByteArray().block(Duration.ofSeconds(30)));
+    }
+
+    @Test
+    void sendsRequestBody() throws IOException {
+        this.server = new H2Server(100);
+        this.client = new NioHttpClientBuilder().http2PriorKnowledge(true).build();
+        final byte[] large = new byte[200 * 1024];
+        Arrays.fill(large, (byte) 'x');
+        final HttpRequest request = new HttpRequest(HttpMethod.POST, this.server.url("/echo"))
+                .setBody(Flux.just("first,", "second,", new String(large, StandardCharsets.US_ASCII))
+                        .map(s -> ByteBuffer.wrap(s.getBytes(StandardCharsets.UTF_8))));
+
+        final String body = this.client.send(request)
+                .flatMap(HttpResponse::getBodyAsString)
+                .block(Duration.ofSeconds(10));
+
+        assertEquals("first,second," + new String(large, StandardCharsets.US_ASCII), body);
+    }
+
+    @Test
+    void keepsIdleConnectionAliveWithPings() throws Exception {
+        this.server = new H2Server(100);
+        this.client = new NioHttpClientBuilder().http2PriorKnowledge(true)
+                .pingInterval(Duration.ofMillis(100))
+                .build();
+        assertEquals("hello", this.client.send(get("/hello"))
+                .flatMap(HttpResponse::getBodyAsString)
+                .block(Duration.ofSeconds(10)));
+
+        Thread.sleep(500);
+
+        assertTrue(this.server.pings.get() > 0);
+        assertEquals("hello", this.client.send(get("/hello"))
+                .flatMap(HttpResponse::getBodyAsString)
+                .block(Duration.ofSeconds(10)));
+        assertEquals(1, this.server.connections.get());
+    }
+
+    private HttpRequest get(String path) {
+        return new HttpRequest(HttpMethod.GET, this.server.url(path));
+    }
+
+    /**
+     * Minimal blocking h2c server speaking HTTP/2 with prior knowledge, with flow control on the data it sends.
+     */
+    private static final class H2Server implements Closeable {
+        static final byte[] LARGE_BODY = new byte[1024 * 1024];
+
+        static {
+            for (int i = 0; i < LARGE_BODY.length; i++) {
+                LARGE_BODY[i] = (byte) ('a' + i % 26);
+            }
+        }
+
+        private final ServerSocket serverSocket;
+        private final int maxConcurrentStreams;
+        private final List<Socket> sockets = new CopyOnWriteArrayList<>();
+        final AtomicInteger connections = new AtomicInteger();
+        final AtomicInteger maxConcurrent = new AtomicInteger();
+        final AtomicInteger pings = new AtomicInteger();
+        final AtomicLong dataSent = new AtomicLong();
+
+        H2Server(int maxConcurrentStreams) throws IOException {
+            this.maxConcurrentStreams = maxConcurrentStreams;
+            this.serverSocket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+            final Thread acceptor = new Thread(() -> {
+                while (!this.serverSocket.isClosed()) {
+                    try {
+                        final Socket socket = this.serverSocket.accept();
+                        this.sockets.add(socket);
+                        this.connections.incrementAndGet();
+                        final Thread connection = new Thread(() -> new ServerConnection(socket).run());
+                        connection.setDaemon(true);
+                        connection.start();
+                    } catch (IOException e) {
+                        return;
+                    }
+                }
+            });
+            acceptor.setDaemon(true);
+            acceptor.start();
+        }
+
+        String url(String path) {
+            return "http://localhost:" + this.serverSocket.getLocalPort() + path;
+        }
+
+        @Override
+        public void close() throws IOException {
+            this.serverSocket.close();
+            for (Socket socket : this.sockets) {
+                socket.close();
+            }
+        }
+
+        private final class ServerConnection {
+            private final Socket socket;
+            private final HpackDecoder decoder = new HpackDecoder(Http2Connection.HEADER_TABLE_SIZE);
+            private final HpackEncoder encoder = new HpackEncoder();
+            private final Map<Integer, ByteBuffer> requestBodies = new HashMap<>();
+            private final Map<Integer, String> requestPaths = new HashMap<>();
+            private final Map<Integer, Long> streamWindows = new HashMap<>();
+            private final AtomicInteger active = new AtomicInteger();
+            private final Object windowLock = new Object();
+            private OutputStream out;
+            private long connectionWindow = Http2Connection.DEFAULT_WINDOW_SIZE;
+            private long initialWindow = Http2Connection.DEFAULT_WINDOW_SIZE;
+
+            ServerConnection(Socket socket) {
+                this.socket = socket;
+            }
+
+            void run() {
+                try {
+                    final DataInputStream in = new DataInputStream(this.socket.getInputStream());
+                    this.out = this.socket.getOutputStream();
+                    final byte[] preface = new byte[Http2Connection.PREFACE.length];
+                    in.readFully(preface);
+                    if (!Arrays.equals(Http2Connection.PREFACE, preface)) {
+                        throw new IOException("Bad preface");
+                    }
+                    final ByteBuffer settings = ByteBuffer.allocate(6);
+                    settings.putShort((short) Http2Connection.SETTINGS_MAX_CONCURRENT_STREAMS)
+                            .putInt(H2Server.this.maxConcurrentStreams);
+                    writeFrame(Http2Connection.TYPE_SETTINGS, 0, 0, settings.array());
+
+                    ByteBuffer headerBlock = null;
+                    while (true) {
+                        final byte[] header = new byte[Http2Connection.FRAME_HEADER_SIZE];
+                        in.readFully(header);
+                        final ByteBuffer frame = ByteBuffer.wrap(header);
+                        final int length = (frame.get() & 0xFF) << 16 | (frame.get() & 0xFF) << 8 | (frame.get() & 0xFF);
+                        final int type = frame.get();
+                        final int flags = frame.get();
+                        final int streamId = frame.getInt() & 0x7FFFFFFF;
+                        final byte[] payload = new byte[length];
+                        in.readFully(payload);
+
+                        switch (type) {
+                            case Http2Connection.TYPE_SETTINGS:
+                                if ((flags & Http2Connection.FLAG_ACK) == 0) {
+                                    onSettings(ByteBuffer.wrap(payload));
+                                    writeFrame(Http2Connection.TYPE_SETTINGS, Http2Connection.FLAG_ACK, 0, new byte[0]);
+                                }
+                                break;
+                            case Http2Connection.TYPE_PING:
+                                if ((flags & Http2Connection.FLAG_ACK) == 0) {
+                                    H2Server.this.pings.incrementAndGet();
+                                    writeFrame(Http2Connection.TYPE_PING, Http2Connection.FLAG_ACK, 0, payload);
+                                }
+                                break;
+                            case Http2Connection.TYPE_WINDOW_UPDATE:
+                                onWindowUpdate(streamId, ByteBuffer.wrap(payload).getInt());
+                                break;
+                            case Http2Connection.TYPE_HEADERS:
+                            case Http2Connection.TYPE_CONTINUATION:
+                                if (headerBlock == null) {
+                                    headerBlock = ByteBuffer.allocate(64 * 1024);
+                                    onStreamOpened(streamId);
+                                }
+                                headerBlock.put(payload);
+                                if ((flags & Http2Connection.FLAG_END_HEADERS) != 0) {
+                                    headerBlock.flip();
+                                    final List<String> fields = this.decoder.decode(headerBlock);
+                                    headerBlock = null;
+                                    this.requestPaths.put(streamId, fields.get(fields.indexOf(":path") + 1));
+                                }
+                                if (type == Http2Connection.TYPE_HEADERS
+                                        && (flags & Http2Connection.FLAG_END_STREAM) != 0) {
+                                    onRequest(streamId);
+                                }
+                                break;
+                            case Http2Connection.TYPE_DATA:
+                                this.requestBodies.computeIfAbsent(streamId, id -> ByteBuffer.allocate(1024 * 1024))
+                                        .put(payload);
+                                if (length > 0) {
+                                    // credit the data straight back
+                                    final byte[] increment = ByteBuffer.allocate(4).putInt(length).array();
+                                    writeFrame(Http2Connection.TYPE_WINDOW_UPDATE, 0, 0, increment);
+                                    writeFrame(Http2Connection.TYPE_WINDOW_UPDATE, 0, streamId, increment);
+                                }
+                                if ((flags & Http2Connection.FLAG_END_STREAM) != 0) {
+                                    onRequest(streamId);
+                                }
+                                break;
+                            default:
+                                break;
+                        }
+                    }
+                } catch (EOFException e) {
+                    // client closed the connection
+                } catch (IOException e) {
+                    // closing
+                } finally {
+                    try {
+                        this.socket.close();
+                    } catch (IOException ignored) {
+                        // closing
+                    }
+                }
+            }
+
+            private void onSettings(ByteBuffer payload) {
+                synchronized (this.windowLock) {
+                    while (payload.hasRemaining()) {
+                        final int identifier = payload.getShort();
+                        final int value = payload.getInt();
+                        if (identifier == Http2Connection.SETTINGS_INITIAL_WINDOW_SIZE) {
+                            final long delta = value - this.initialWindow;
+                            this.initialWindow = value;
+                            this.streamWindows.replaceAll((id, window) -> window + delta);
+                        }
+                    }
+                    this.windowLock.notifyAll();
+                }
+            }
+
+            private void onWindowUpdate(int streamId, int increment) {
+                synchronized (this.windowLock) {
+                    if (streamId == 0) {
+                        this.connectionWindow += increment;
+                    } else {
+                        this.streamWindows.merge(streamId, (long) increment, Long::sum);
+                    }
+                    this.windowLock.notifyAll();
+                }
+            }
+
+            private void onStreamOpened(int streamId) {
+                synchronized (this.windowLock) {
+                    this.streamWindows.put(streamId, this.initialWindow);
+                }
+                final int concurrent = this.active.incrementAndGet();
+                H2Server.this.maxConcurrent.accumulateAndGet(concurrent, Math::max);
+            }
+
+            private void onRequest(int streamId) {
+                final String path = this.requestPaths.get(streamId);
+                final ByteBuffer requestBody = this.requestBodies.remove(streamId);
+                final Thread handler = new Thread(() -> {
+                    try {
+                        final byte[] body;
+                        if ("/slow".equals(path)) {
+                            Thread.sleep(200);
+                            body = "slow".getBytes(StandardCharsets.US_ASCII);
+                        } else if ("/large".equals(path)) {
+                            body = LARGE_BODY;
+                        } else if ("/echo".equals(path)) {
+                            requestBody.flip();
+                            body = new byte[requestBody.remaining()];
+                            requestBody.get(body);
+                        } else {
+                            body = "hello".getBytes(StandardCharsets.US_ASCII);
+                        }
+                        respond(streamId, body);
+                    } catch (IOException | InterruptedException e) {
+                        // closing
+                    }
+                });
+                handler.setDaemon(true);
+                handler.start();
+            }
+
+            private void respond(int streamId, byte[] body) throws IOException, InterruptedException {
+                final byte[] block;
+                synchronized (this.encoder) {
+                    this.encoder.reset();
+                    this.encoder.encode(":status", "200");
+                    this.encoder.encode("content-type", "text/plain");
+                    this.encoder.encode("content-length", String.valueOf(body.length));
+                    block = Arrays.copyOf(this.encoder.array(), this.encoder.size());
+                }
+                writeFrame(Http2Connection.TYPE_HEADERS, Http2Connection.FLAG_END_HEADERS, streamId, block);
+                int offset = 0;
+                while (offset < body.length) {
+                    final int length;
+                    synchronized (this.windowLock) {
+                        while (Math.min(this.connectionWindow, this.streamWindows.get(streamId)) <= 0) {
+                            this.windowLock.wait();
+                        }
+                        length = (int) Math.min(Math.min(body.length - offset, Http2Connection.DEFAULT_MAX_FRAME_SIZE),
+                                Math.min(this.connectionWindow, this.streamWindows.get(streamId)));
+                        this.connectionWindow -= length;
+                        this.streamWindows.merge(streamId, (long) -length, Long::sum);
+                    }
+                    final boolean last = offset + length == body.length;
+                    if (last) {
+                        // the client may open the next stream as soon as it reads this frame
+                        this.active.decrementAndGet();
+                    }
+                    writeFrame(Http2Connection.TYPE_DATA, last ? Http2Connection.FLAG_END_STREAM : 0, streamId,
+                            Arrays.copyOfRange(body, offset, offset + length));
+                    H2Server.this.dataSent.addAndGet(length);
+                    offset += length;
+                }
+            }
+
+            private void writeFrame(int type, int flags, int streamId, byte[] payload) throws IOException {
+                final ByteBuffer frame = ByteBuffer.allocate(Http2Connection.FRAME_HEADER_SIZE + payload.length);
+                Http2Connection.putFrameHeader(frame, payload.length, type, flags, streamId);
+                frame.put(payload);
+                synchronized (this) {
+                    this.out.write(frame.array());
+                    this.out.flush();
+                }
+            }
+        }
+    }
+}
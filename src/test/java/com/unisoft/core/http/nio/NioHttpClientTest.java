@@ -0,0 +1,335 @@
+package com.unisoft.core.http.nio;
+
+import com.unisoft.core.http.HttpClient;
+import com.unisoft.core.http.HttpMethod;
+import com.unisoft.core.http.HttpRequest;
+import com.unisoft.core.http.HttpResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class NioHttpClientTest {
+    private TestServer server;
+    private NioHttpClient client;
+
+    @BeforeEach
+    void setup() throws IOException {
+        this.server = new TestServer();
+    }
+
+    @AfterEach
+    void teardown() throws IOException {
+        if (this.client != null) {
+            this.client.close();
+        }
+        this.server.close();
+    }
+
+    @Test
+    void sendGet() {
+        this.client = new NioHttpClientBuilder().build();
+        final HttpResponse response = this.client.send(get("/hello")).block(Duration.ofSeconds(10));
+
+        assertEquals(200, response.getStatusCode());
+        assertEquals("text/plain", response.getHeaderValue("content-type"));
+        assertEquals("hello", response.getBodyAsString().block(Duration.ofSeconds(10)));
+    }
+
+    @Test
+    void reusesConnections() {
+        this.client = new NioHttpClientBuilder().build();
+        for (int i = 0; i < 5; i++) {
+            assertEquals("hello", this.client.send(get("/hello"))
+                    .flatMap(HttpResponse::getBodyAsString)
+                    .block(Duration.ofSeconds(10)));
+        }
+
+        assertEquals(1, this.server.connections.get());
+    }
+
+    @Test
+    void limitsConnectionsPerHost() {
+        this.client = new NioHttpClientBuilder().maxConnectionsPerHost(2).build();
+        final List<String> bodies = Flux.range(0, 10)
+                .flatMap(i -> this.client.send(get("/slow")).flatMap(HttpResponse::getBodyAsString))
+                .collectList()
+                .block(Duration.ofSeconds(30));
+
+        assertEquals(10, bodies.size());
+        assertTrue(this.server.connections.get() <= 2);
+        assertTrue(this.server.maxConcurrent.get() <= 2);
+    }
+
+    @Test
+    void sendsChunkedRequestBody() {
+        this.client = new NioHttpClientBuilder().build();
+        final HttpRequest request = new HttpRequest(HttpMethod.POST, this.server.url("/echo"))
+                .setBody(Flux.just("first,", "second,", "third").map(s -> ByteBuffer.wrap(s.getBytes(StandardCharsets.UTF_8))));
+
+        final String body = this.client.send(request)
+                .flatMap(HttpResponse::getBodyAsString)
+                .block(Duration.ofSeconds(10));
+
+        assertEquals("first,second,third", body);
+    }
+
+    @Test
+    void sendsFixedLengthRequestBody() {
+        this.client = new NioHttpClientBuilder().build();
+        final HttpRequest request = new HttpRequest(HttpMethod.PUT, this.server.url("/echo")).setBody("payload");
+
+        assertEquals("payload", this.client.send(request)
+                .flatMap(HttpResponse::getBodyAsString)
+                .block(Duration.ofSeconds(10)));
+    }
+
+    @Test
+    void streamsLargeResponse() {
+        this.client = new NioHttpClientBuilder().readBufferSize(1024).build();
+        final byte[] body = this.client.send(get("/large"))
+                .flatMap(HttpResponse::getBodyAsByteArray)
+                .block(Duration.ofSeconds(30));
+
+        assertArrayEquals(TestServer.LARGE_BODY, body);
+        // the connection is reusable once the body was consumed
+        assertEquals("hello", this.client.send(get("/hello"))
+                .flatMap(HttpResponse::getBodyAsString)
+                .block(Duration.ofSeconds(10)));
+        assertEquals(1, this.server.connections.get());
+    }
+
+    @Test
+    void decodesChunkedResponse() {
+        this.client = new NioHttpClientBuilder().build();
+
+        assertEquals("chunked response body", this.client.send(get("/chunked"))
+                .flatMap(HttpResponse::getBodyAsString)
+                .block(Duration.ofSeconds(10)));
+    }
+
+    @Test
+    void closingUnreadResponseClosesConnection() {
+        this.client = new NioHttpClientBuilder().build();
+        final HttpResponse response = this.client.send(get("/large")).block(Duration.ofSeconds(10));
+        response.close();
+
+        assertEquals("hello", this.client.send(get("/hello"))
+                .flatMap(HttpResponse::getBodyAsString)
+                .block(Duration.ofSeconds(10)));
+        assertEquals(2, this.server.connections.get());
+    }
+
+    @Test
+    void evictsIdleConnections() throws InterruptedException {
+        this.client = new NioHttpClientBuilder().idleTimeout(Duration.ofMillis(100)).build();
+        this.client.send(get("/hello")).flatMap(HttpResponse::getBodyAsString).block(Duration.ofSeconds(10));
+        Thread.sleep(500);
+        this.client.send(get("/hello")).flatMap(HttpResponse::getBodyAsString).block(Duration.ofSeconds(10));
+
+        assertEquals(2, this.server.connections.get());
+    }
+
+    @Test
+    void failsOnConnectionRefused() throws IOException {
+        this.client = new NioHttpClientBuilder().build();
+        final String url = this.server.url("/hello");
+        this.server.close();
+
+        final Mono<HttpResponse> response = this.client.send(new HttpRequest(HttpMethod.GET, url));
+        assertTrue(response.map(r -> false).onErrorReturn(true).block(Duration.ofSeconds(10)));
+    }
+
+    @Test
+    void rejectsLineBreaksInHead() {
+        this.client = new NioHttpClientBuilder().build();
+        final HttpRequest value = get("/hello").setHeader("X-Value", "a\r\nInjected: b");
+        final HttpRequest name = get("/hello").setHeader("X-Name\n", "a");
+        final HttpRequest nul = get("/hello").setHeader("X-Nul", "a\0b");
+
+        for (HttpRequest request : List.of(value, name, nul)) {
+            assertThrows(IllegalArgumentException.class, () -> this.client.send(request).block(Duration.ofSeconds(10)));
+        }
+        assertEquals(0, this.server.connections.get());
+    }
+
+    @Test
+    void failsAfterClose() throws InterruptedException {
+        this.client = new NioHttpClientBuilder().build();
+        this.client.close();
+        final IllegalStateException early = assertThrows(IllegalStateException.class,
+                () -> this.client.send(get("/hello")).block(Duration.ofSeconds(10)));
+
+        // once the loop thread has stopped, sends fail without queuing anything
+        Thread.sleep(200);
+        final IllegalStateException late = assertThrows(IllegalStateException.class,
+                () -> this.client.send(get("/hello")).block(Duration.ofSeconds(10)));
+        this.client.close();
+
+        assertEquals("The NioHttpClient is closed.", early.getMessage());
+        assertEquals("The NioHttpClient is closed.", late.getMessage());
+    }
+
+    @Test
+    void defaultClientIsNio() {
+        assertTrue(HttpClient.createDefault() instanceof NioHttpClient);
+    }
+
+    private HttpRequest get(String path) {
+        return new HttpRequest(HttpMethod.GET, this.server.url(path));
+    }
+
+    /**
+     * Minimal blocking HTTP/1.1 server counting the connections it accepts.
+     */
+    private static final class TestServer implements AutoCloseable {
+        static final byte[] LARGE_BODY = new byte[1024 * 1024];
+
+        static {
+            for (int i = 0; i < LARGE_BODY.length; i++) {
+                LARGE_BODY[i] = (byte) i;
+            }
+        }
+
+        private final ServerSocket serverSocket;
+        private final AtomicInteger connections = new AtomicInteger();
+        private final AtomicInteger concurrent = new AtomicInteger();
+        private final AtomicInteger maxConcurrent = new AtomicInteger();
+
+        TestServer() throws IOException {
+            this.serverSocket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+            final Thread acceptor = new Thread(this::accept, "test-server-acceptor");
+            acceptor.setDaemon(true);
+            acceptor.start();
+        }
+
+        String url(String path) {
+            return "http://localhost:" + this.serverSocket.getLocalPort() + path;
+        }
+
+        private void accept() {
+            while (!this.serverSocket.isClosed()) {
+                try {
+                    final Socket socket = this.serverSocket.accept();
+                    this.connections.incrementAndGet();
+                    final Thread handler = new Thread(() -> handle(socket), "test-server-handler");
+                    handler.setDaemon(true);
+                    handler.start();
+                } catch (IOException ignored) {
+                    return;
+                }
+            }
+        }
+
+        private void handle(Socket socket) {
+            try (Socket s = socket) {
+                final InputStream in = s.getInputStream();
+                final OutputStream out = s.getOutputStream();
+                String requestLine;
+                while ((requestLine = readLine(in)) != null && !requestLine.isEmpty()) {
+                    final Map<String, String> headers = new HashMap<>();
+                    String line;
+                    while (!(line = readLine(in)).isEmpty()) {
+                        final int colon = line.indexOf(':');
+                        headers.put(line.substring(0, colon).trim().toLowerCase(Locale.ROOT),
+                                line.substring(colon + 1).trim());
+                    }
+                    final byte[] body = readBody(in, headers);
+                    final String path = requestLine.split(" ")[1];
+                    respond(out, path, body);
+                }
+            } catch (IOException | InterruptedException ignored) {
+                // client went away
+            }
+        }
+
+        private void respond(OutputStream out, String path, byte[] body) throws IOException, InterruptedException {
+            switch (path) {
+                case "/slow":
+                    final int current = this.concurrent.incrementAndGet();
+                    this.maxConcurrent.accumulateAndGet(current, Math::max);
+                    Thread.sleep(50);
+                    this.concurrent.decrementAndGet();
+                    write(out, "slow".getBytes(StandardCharsets.UTF_8));
+                    break;
+                case "/echo":
+                    write(out, body);
+                    break;
+                case "/large":
+                    write(out, LARGE_BODY);
+                    break;
+                case "/chunked":
+                    out.write(("HTTP/1.1 200 OK\r\nTransfer-Encoding: chunked\r\n\r\n"
+                            + "8;ext=1\r\nchunked \r\n" + "d\r\nresponse body\r\n" + "0\r\nX-Trailer: t\r\n\r\n")
+                            .getBytes(StandardCharsets.US_ASCII));
+                    out.flush();
+                    break;
+                default:
+                    write(out, "hello".getBytes(StandardCharsets.UTF_8));
+                    break;
+            }
+        }
+
+        private static void write(OutputStream out, byte[] body) throws IOException {
+            out.write(("HTTP/1.1 200 OK\r\nContent-Type: text/plain\r\nContent-Length: " + body.length + "\r\n\r\n")
+                    .getBytes(StandardCharsets.US_ASCII));
+            out.write(body);
+            out.flush();
+        }
+
+        private static byte[] readBody(InputStream in, Map<String, String> headers) throws IOException {
+            final ByteArrayOutputStream body = new ByteArrayOutputStream();
+            if (headers.containsKey("content-length")) {
+                body.write(in.readNBytes(Integer.parseInt(headers.get("content-length"))));
+            } else if ("chunked".equalsIgnoreCase(headers.get("transfer-encoding"))) {
+                int size;
+                while ((size = Integer.parseInt(readLine(in), 16)) > 0) {
+                    body.write(in.readNBytes(size));
+                    readLine(in);
+                }
+                readLine(in);
+            }
+            return body.toByteArray();
+        }
+
+        private static String readLine(InputStream in) throws IOException {
+            final StringBuilder line = new StringBuilder();
+            int b;
+            while ((b = in.read()) != -1) {
+                if (b == '\n') {
+                    return line.toString();
+                } else if (b != '\r') {
+                    line.append((char) b);
+                }
+            }
+            return line.length() == 0 ? null : line.toString();
+        }
+
+        @Override
+        public void close() throws IOException {
+            this.serverSocket.close();
+        }
+    }
+}
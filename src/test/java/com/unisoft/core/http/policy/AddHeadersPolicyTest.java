@@ -27,4 +27,25 @@ class AddHeadersPolicyTest {
 
         httpPipeline.send(new HttpRequest(HttpMethod.GET, "http://www.test.com")).block();
     }
-}
\ No newline at end of file
+
+    @Test
+    void changingRequestHeadersLeavesPolicyHeadersUnchanged() {
+        final HttpHeaders headers = new HttpHeaders().put("x", "a");
+        final HttpPipeline httpPipeline = new HttpPipelineBuilder()
+                .httpClient(new NoOpHttpClient() {
+                    @Override
+                    public Mono<HttpResponse> send(HttpRequest request) {
+                        assertEquals("a", request.getHeaders().getValue("x"));
+                        request.getHeaders().get("x").addValue("z");
+                        return Mono.empty();
+                    }
+                })
+                .policies(new AddHeadersPolicy(headers))
+                .build();
+
+        httpPipeline.send(new HttpRequest(HttpMethod.GET, "http://www.test.com")).block();
+        httpPipeline.send(new HttpRequest(HttpMethod.GET, "http://www.test.com").setHeader("y", "b")).block();
+
+        assertEquals("a", headers.getValue("x"));
+    }
+}
@@ -2,6 +2,7 @@ package com.unisoft.core.http.policy;
 
 import com.unisoft.core.http.*;
 import org.junit.jupiter.api.Test;
+import reactor.test.StepVerifier;
 
 import java.net.MalformedURLException;
 import java.net.URL;
@@ -35,4 +36,14 @@ class HostPolicyTest {
         final HttpPipeline pipeline = createPipeline("localhost", "ftp://localhost:1234");
         pipeline.send(createHttpRequest("ftp://www.example.com:1234"));
     }
-}
\ No newline at end of file
+
+    @Test
+    void withInvalidHost() throws MalformedURLException {
+        final HttpPipeline pipeline = createPipeline("www.exa mple.com", "ftp://www.example.com");
+        StepVerifier.create(pipeline.send(createHttpRequest("ftp://www.example.com")))
+                .verifyErrorSatisfies(throwable -> {
+                    assertEquals("Host URL 'www.exa mple.com' is invalid.", throwable.getMessage());
+                    assertEquals(IllegalArgumentException.class, throwable.getCause().getClass());
+                });
+    }
+}
@@ -2,6 +2,7 @@ package com.unisoft.core.http.policy;
 
 import com.unisoft.core.http.*;
 import org.junit.jupiter.api.Test;
+import reactor.test.StepVerifier;
 
 import java.net.MalformedURLException;
 import java.net.URL;
@@ -46,4 +47,14 @@ class ProtocolPolicyTest {
         final HttpPipeline pipeline = createPipeline("ftp", false, "https://www.bing.com");
         pipeline.send(createHttpRequest("https://www.bing.com"));
     }
-}
\ No newline at end of file
+
+    @Test
+    void withInvalidProtocol() throws MalformedURLException {
+        final HttpPipeline pipeline = createPipeline("unknown", "https://www.bing.com");
+        StepVerifier.create(pipeline.send(createHttpRequest("https://www.bing.com")))
+                .verifyErrorSatisfies(throwable -> {
+                    assertEquals("Failed to set the HTTP request protocol to unknown.", throwable.getMessage());
+                    assertEquals(IllegalArgumentException.class, throwable.getCause().getClass());
+                });
+    }
+}
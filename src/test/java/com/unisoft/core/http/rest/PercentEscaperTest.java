@@ -5,9 +5,12 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
 
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 class PercentEscaperTest {
@@ -68,4 +71,37 @@ class PercentEscaperTest {
     public void invalidEscape(String original) {
         assertThrows(IllegalStateException.class, () -> new PercentEscaper(null, false).escape(original));
     }
-}
\ No newline at end of file
+
+    /**
+     * Tests that a string with nothing to escape is returned as is.
+     */
+    @Test
+    public void escapeReturnsSafeStringAsIs() {
+        final String original = "abc123XYZ";
+
+        assertSame(original, new PercentEscaper(null, false).escape(original));
+    }
+
+    /**
+     * Tests that escaping appends to the given builder, keeping what it already holds.
+     */
+    @Test
+    public void escapeToBuilder() {
+        final StringBuilder builder = new StringBuilder("key=");
+        new PercentEscaper(null, true).escape("a b/€", builder);
+
+        assertEquals("key=a+b%2F%E2%82%AC", builder.toString());
+    }
+
+    /**
+     * Tests that escaping writes the escaped bytes to the given buffer, safe non-ASCII characters in UTF-8.
+     */
+    @Test
+    public void escapeToBuffer() {
+        final ByteBuffer buffer = ByteBuffer.allocate(64);
+        new PercentEscaper("ह", false).escape("aह €", buffer);
+        buffer.flip();
+
+        assertEquals("aह%20%E2%82%AC", StandardCharsets.UTF_8.decode(buffer).toString());
+    }
+}
@@ -0,0 +1,175 @@
+package com.unisoft.core.http.rest;
+
+import com.unisoft.core.http.buffer.PooledByteBufferAllocator;
+import com.unisoft.core.http.serialize.JacksonAdapter;
+import com.unisoft.core.http.serialize.SerializerEncoding;
+import com.unisoft.core.util.FluxUtil;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RequestBodySerializerTest {
+    private final JacksonAdapter serializer = new JacksonAdapter();
+
+    @Test
+    void sendsBodiesFittingInAChunkWhole() {
+        final PooledByteBufferAllocator allocator = new PooledByteBufferAllocator(4096, 64 * 1024, true);
+        final RequestBodySerializer bodySerializer = new RequestBodySerializer(serializer, allocator, 64);
+
+        final RequestBodySerializer.SerializedBody serialized = bodySerializer.serialize(
+                Collections.singletonMap("name", "value"), SerializerEncoding.JSON).block();
+
+        assertEquals(16, serialized.getLength());
+        for (int i = 0; i < 2; i++) {
+            StepVerifier.create(FluxUtil.collectBytesInByteBufferStream(serialized.getContent()))
+                    .assertNext(bytes -> assertEquals("{\"name\":\"value\"}",
+                            new String(bytes, StandardCharsets.UTF_8)))
+                    .verifyComplete();
+        }
+        assertEquals(-1, bodySerializer.serialize(items(10), SerializerEncoding.JSON).block().getLength());
+        allocator.checkLeaks();
+    }
+
+    @Test
+    void serializesLargerBodiesOnce() throws IOException {
+        final AtomicInteger serializations = new AtomicInteger();
+        final RequestBodySerializer bodySerializer = new RequestBodySerializer(new JacksonAdapter() {
+            @Override
+            public void serialize(Object object, SerializerEncoding encoding, OutputStream outputStream)
+                    throws IOException {
+                serializations.incrementAndGet();
+                super.serialize(object, encoding, outputStream);
+            }
+        }, new PooledByteBufferAllocator(), 64);
+        final List<String> body = items(100);
+        final String expected = serializer.serialize(body, SerializerEncoding.JSON);
+
+        final RequestBodySerializer.SerializedBody serialized = bodySerializer.serialize(body, SerializerEncoding.JSON)
+                .block();
+
+        assertEquals(-1, serialized.getLength());
+        StepVerifier.create(FluxUtil.collectBytesInByteBufferStream(serialized.getContent()))
+                .assertNext(bytes -> assertEquals(expected, new String(bytes, StandardCharsets.UTF_8)))
+                .verifyComplete();
+        assertEquals(1, serializations.get());
+        // a retry serializes the body again
+        StepVerifier.create(FluxUtil.collectBytesInByteBufferStream(serialized.getContent()))
+                .assertNext(bytes -> assertEquals(expected, new String(bytes, StandardCharsets.UTF_8)))
+                .verifyComplete();
+        assertEquals(2, serializations.get());
+    }
+
+    @Test
+    void stopsSerializingBodiesNeverConsumed() throws InterruptedException {
+        final AtomicInteger written = new AtomicInteger();
+        final RequestBodySerializer bodySerializer = new RequestBodySerializer(new JacksonAdapter() {
+            @Override
+            public void serialize(Object object, SerializerEncoding encoding, OutputStream outputStream)
+                    throws IOException {
+                for (int i = 0; i < 100; i++) {
+                    outputStream.write(new byte[64]);
+                    written.incrementAndGet();
+                }
+            }
+        }, new PooledByteBufferAllocator(), 64);
+
+        final RequestBodySerializer.SerializedBody serialized = bodySerializer.serialize("ignored",
+                SerializerEncoding.JSON).block();
+        serialized.dispose();
+        Thread.sleep(100);
+
+        assertTrue(written.get() <= 2, "serializer kept going: " + written.get());
+        StepVerifier.create(serialized.getContent())
+                .verifyError(IllegalStateException.class);
+    }
+
+    @Test
+    void streamsLargerBodiesInChunks() throws IOException {
+        final RequestBodySerializer bodySerializer = new RequestBodySerializer(serializer,
+                new PooledByteBufferAllocator(), 64);
+        final List<String> body = items(100);
+        final byte[] expected = serializer.serialize(body, SerializerEncoding.JSON).getBytes(StandardCharsets.UTF_8);
+
+        final List<ByteBuffer> chunks = bodySerializer.serializeStreaming(body, SerializerEncoding.JSON)
+                .map(chunk -> {
+                    assertTrue(chunk.remaining() <= 64);
+                    return chunk;
+                })
+                .collectList()
+                .block();
+
+        assertEquals((expected.length + 63) / 64, chunks.size());
+        StepVerifier.create(FluxUtil.collectBytesInByteBufferStream(Flux.fromIterable(chunks)))
+                .assertNext(bytes -> assertEquals(new String(expected, StandardCharsets.UTF_8),
+                        new String(bytes, StandardCharsets.UTF_8)))
+                .verifyComplete();
+    }
+
+    @Test
+    void serializesAsChunksAreRequested() {
+        final AtomicInteger written = new AtomicInteger();
+        final RequestBodySerializer bodySerializer = new RequestBodySerializer(new JacksonAdapter() {
+            @Override
+            public void serialize(Object object, SerializerEncoding encoding, OutputStream outputStream)
+                    throws IOException {
+                for (int i = 0; i < 100; i++) {
+                    outputStream.write(new byte[16]);
+                    written.addAndGet(16);
+                }
+            }
+        }, new PooledByteBufferAllocator(), 64);
+
+        StepVerifier.create(bodySerializer.serializeStreaming("ignored", SerializerEncoding.JSON), 2)
+                .expectNextCount(2)
+                .expectNoEvent(Duration.ofMillis(200))
+                .then(() -> assertTrue(written.get() <= 3 * 64, "serializer ran ahead: " + written.get()))
+                .thenRequest(Long.MAX_VALUE)
+                .expectNextCount(23)
+                .verifyComplete();
+        assertEquals(1600, written.get());
+    }
+
+    @Test
+    void stopsSerializingOnCancel() throws InterruptedException {
+        final AtomicInteger written = new AtomicInteger();
+        final RequestBodySerializer bodySerializer = new RequestBodySerializer(new JacksonAdapter() {
+            @Override
+            public void serialize(Object object, SerializerEncoding encoding, OutputStream outputStream)
+                    throws IOException {
+                for (int i = 0; i < 100; i++) {
+                    outputStream.write(new byte[64]);
+                    written.incrementAndGet();
+                }
+            }
+        }, new PooledByteBufferAllocator(), 64);
+
+        StepVerifier.create(bodySerializer.serializeStreaming("ignored", SerializerEncoding.JSON), 1)
+                .expectNextCount(1)
+                .thenCancel()
+                .verify();
+        Thread.sleep(100);
+
+        assertTrue(written.get() <= 2, "serializer kept going: " + written.get());
+    }
+
+    private static List<String> items(int count) {
+        final List<String> items = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            items.add("item-" + i);
+        }
+        return items;
+    }
+}
@@ -0,0 +1,168 @@
+package com.unisoft.core.http.rest;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.unisoft.core.http.HttpHeaders;
+import com.unisoft.core.http.HttpMethod;
+import com.unisoft.core.http.HttpRequest;
+import com.unisoft.core.http.HttpResponse;
+import com.unisoft.core.http.MockHttpResponse;
+import com.unisoft.core.http.annotation.Get;
+import com.unisoft.core.http.exception.HttpResponseException;
+import com.unisoft.core.http.exception.ResourceNotFoundException;
+import com.unisoft.core.http.impl.UnexpectedExceptionInformation;
+import com.unisoft.core.http.serialize.JacksonAdapter;
+import com.unisoft.core.http.serialize.impl.HttpResponseDecoder;
+import com.unisoft.core.http.serialize.impl.HttpResponseDecoder.HttpDecodedResponse;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResponseConstructorsCacheTest {
+    private static final HttpRequest REQUEST = new HttpRequest(HttpMethod.GET, "http://localhost/test");
+
+    @Test
+    public void headersConstructor() throws NoSuchMethodException {
+        Response<?> response = invoke(HeadersResponse.class, "headersResponse", "ignored");
+
+        assertEquals(HeadersResponse.class, response.getClass());
+        assertSame(REQUEST, response.getRequest());
+        assertEquals(200, response.getStatusCode());
+        assertEquals("value", response.getHeaders().getValue("x-name"));
+        assertNull(response.getValue());
+    }
+
+    @Test
+    public void bodyConstructor() throws NoSuchMethodException {
+        Response<?> response = invoke(SimpleResponse.class, "simpleResponse", "body");
+
+        assertEquals(SimpleResponse.class, response.getClass());
+        assertEquals("value", response.getHeaders().getValue("x-name"));
+        assertEquals("body", response.getValue());
+    }
+
+    @Test
+    public void decodedHeadersConstructor() throws NoSuchMethodException {
+        ResponseBase<?, ?> response = (ResponseBase<?, ?>) invoke(ResponseBase.class, "responseBase", "body");
+
+        assertEquals("value", response.getHeaders().getValue("x-name"));
+        assertEquals("value", ((TestHeaders) response.getDeserializedHeaders()).getName());
+        assertEquals("body", response.getValue());
+    }
+
+    @Test
+    public void inaccessibleConstructor() throws NoSuchMethodException {
+        Response<?> response = invoke(HiddenResponse.class, "hiddenResponse", "body");
+
+        assertEquals(HiddenResponse.class, response.getClass());
+        assertEquals("body", response.getValue());
+    }
+
+    @Test
+    public void primitiveBodyConstructor() throws NoSuchMethodException {
+        Response<?> response = invoke(CountResponse.class, "countResponse", 42);
+
+        assertEquals(CountResponse.class, response.getClass());
+        assertEquals(42, response.getValue());
+    }
+
+    @Test
+    public void constructorFailure() {
+        assertThrows(RuntimeException.class, () -> invoke(FailingResponse.class, "failingResponse", "body"));
+    }
+
+    @Test
+    public void exceptionConstructors() throws NoSuchMethodException {
+        ExceptionConstructorsCache cache = new ExceptionConstructorsCache();
+        MockHttpResponse httpResponse = new MockHttpResponse(REQUEST, 404);
+
+        HttpResponseException exception = cache.get(new UnexpectedExceptionInformation(HttpResponseException.class))
+                .create("message", httpResponse, "value");
+        assertEquals(HttpResponseException.class, exception.getClass());
+        assertEquals("message", exception.getMessage());
+        assertSame(httpResponse, exception.getResponse());
+        assertEquals("value", exception.getValue());
+
+        assertEquals(ResourceNotFoundException.class,
+                cache.get(new UnexpectedExceptionInformation(ResourceNotFoundException.class))
+                        .create("message", httpResponse, null).getClass());
+        assertThrows(NoSuchMethodException.class,
+                () -> cache.get(new UnexpectedExceptionInformation(NoValueException.class)));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Response<?> invoke(Class<?> responseClass, String methodName, Object body)
+            throws NoSuchMethodException {
+        ServiceMethodParser methodParser = new ServiceMethodParser(
+                ResponseMethods.class.getDeclaredMethod(methodName), "http://localhost");
+        HttpDecodedResponse decodedResponse = new HttpResponseDecoder(JacksonAdapter.createDefaultSerializerAdapter())
+                .decode(Mono.just(new MockHttpResponse(REQUEST, 200, new HttpHeaders().put("x-name", "value"))),
+                        methodParser)
+                .block();
+        ResponseConstructorsCache cache = new ResponseConstructorsCache();
+
+        return cache.invoke(cache.get((Class<? extends Response<?>>) responseClass), decodedResponse, body).block();
+    }
+
+    interface ResponseMethods {
+        @Get("test")
+        Mono<HeadersResponse> headersResponse();
+
+        @Get("test")
+        Mono<SimpleResponse<String>> simpleResponse();
+
+        @Get("test")
+        Mono<ResponseBase<TestHeaders, String>> responseBase();
+
+        @Get("test")
+        Mono<HiddenResponse> hiddenResponse();
+
+        @Get("test")
+        Mono<CountResponse> countResponse();
+
+        @Get("test")
+        Mono<FailingResponse> failingResponse();
+    }
+
+    public static final class TestHeaders {
+        @JsonProperty("x-name")
+        private String name;
+
+        public String getName() {
+            return name;
+        }
+    }
+
+    public static final class HeadersResponse extends SimpleResponse<Void> {
+        public HeadersResponse(HttpRequest request, int statusCode, HttpHeaders headers) {
+            super(request, statusCode, headers, null);
+        }
+    }
+
+    private static final class HiddenResponse extends SimpleResponse<String> {
+        private HiddenResponse(HttpRequest request, int statusCode, HttpHeaders headers, String value) {
+            super(request, statusCode, headers, value);
+        }
+    }
+
+    public static final class CountResponse extends SimpleResponse<Integer> {
+        public CountResponse(HttpRequest request, int statusCode, HttpHeaders headers, int value) {
+            super(request, statusCode, headers, value);
+        }
+    }
+
+    public static final class FailingResponse extends SimpleResponse<String> {
+        public FailingResponse(HttpRequest request, int statusCode, HttpHeaders headers, String value) {
+            super(request, statusCode, headers, value);
+            throw new IllegalStateException("failing");
+        }
+    }
+
+    public static final class NoValueException extends HttpResponseException {
+        private static final long serialVersionUID = 1L;
+
+        public NoValueException(String message, HttpResponse response) {
+            super(message, response);
+        }
+    }
+}
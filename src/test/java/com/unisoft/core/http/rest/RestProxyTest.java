@@ -1,15 +1,36 @@
 package com.unisoft.core.http.rest;
 
+import com.unisoft.core.http.HttpHeaders;
 import com.unisoft.core.http.HttpMethod;
+import com.unisoft.core.http.HttpPipelineBuilder;
 import com.unisoft.core.http.HttpRequest;
+import com.unisoft.core.http.MockHttpResponse;
+import com.unisoft.core.http.annotation.BodyParam;
+import com.unisoft.core.http.annotation.ExpectedResponses;
+import com.unisoft.core.http.annotation.Get;
+import com.unisoft.core.http.annotation.Host;
+import com.unisoft.core.http.annotation.PathParam;
+import com.unisoft.core.http.annotation.Post;
+import com.unisoft.core.http.annotation.ServiceInterface;
+import com.unisoft.core.http.buffer.PooledByteBufferAllocator;
+import com.unisoft.core.http.exception.HttpResponseException;
 import com.unisoft.core.http.exception.UnexpectedLengthException;
 import com.unisoft.core.util.FluxUtil;
 import org.junit.jupiter.api.Test;
+import reactor.core.Exceptions;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
+import java.net.MalformedURLException;
 import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -73,4 +94,155 @@ class RestProxyTest {
                 .assertNext(bytes -> assertArrayEquals(EXPECTED, bytes))
                 .verifyComplete();
     }
-}
\ No newline at end of file
+
+    @Test
+    public void pooledBodiesAreReleased() {
+        final PooledByteBufferAllocator allocator = new PooledByteBufferAllocator(64 * 1024, 1024 * 1024, true);
+        final EchoService service = RestProxy.create(EchoService.class, new HttpPipelineBuilder()
+                .httpClient(request -> FluxUtil.collectBytesInByteBufferStream(request.getBody())
+                        .map(body -> new MockHttpResponse(request, 200,
+                                new HttpHeaders().put("Content-Type", "application/json"), body)))
+                .byteBufferAllocator(allocator)
+                .build());
+        final Map<String, Object> body = Collections.singletonMap("name", "value");
+
+        assertEquals(RestProxyTest_EchoServiceImpl.class, service.getClass());
+        assertEquals(body, service.echo(body));
+        final Mono<Map<String, Object>> echo = service.echoAsync(body);
+        StepVerifier.create(echo).expectNext(body).verifyComplete();
+        StepVerifier.create(echo).expectNext(body).verifyComplete();
+        final HttpResponseException error = assertThrows(HttpResponseException.class, () -> service.created(body));
+        assertEquals("{\"name\":\"value\"}", error.getResponse().getBodyAsString().block());
+
+        allocator.checkLeaks();
+        assertTrue(allocator.getCachedBuffers() > 0);
+    }
+
+    @Test
+    public void bodiesOutliveTheirResponse() {
+        final List<Flux<ByteBuffer>> bodies = new ArrayList<>();
+        final EchoService service = RestProxy.create(EchoService.class, new HttpPipelineBuilder()
+                .httpClient(request -> {
+                    // the body is written after the response is received, as a client sending it on its event loop
+                    bodies.add(request.getBody());
+                    return Mono.just(new MockHttpResponse(request, 200,
+                            new HttpHeaders().put("Content-Type", "application/json"),
+                            "{}".getBytes(StandardCharsets.UTF_8)));
+                })
+                .byteBufferAllocator(new PooledByteBufferAllocator(64 * 1024, 1024 * 1024, true))
+                .build());
+
+        service.echo(Collections.singletonMap("name", "first"));
+        service.echo(Collections.singletonMap("name", "other"));
+
+        StepVerifier.create(FluxUtil.collectBytesInByteBufferStream(bodies.get(0)))
+                .assertNext(bytes -> assertEquals("{\"name\":\"first\"}", new String(bytes, StandardCharsets.UTF_8)))
+                .verifyComplete();
+    }
+
+    @Test
+    public void largeBodiesAreStreamed() {
+        final PooledByteBufferAllocator allocator = new PooledByteBufferAllocator(64 * 1024, 1024 * 1024, true);
+        final AtomicInteger chunks = new AtomicInteger();
+        final EchoService service = RestProxy.create(EchoService.class, new HttpPipelineBuilder()
+                .httpClient(request -> {
+                    assertNull(request.getHeaders().getValue("Content-Length"));
+                    return FluxUtil.collectBytesInByteBufferStream(request.getBody()
+                            .doOnNext(chunk -> chunks.incrementAndGet()))
+                            .map(body -> new MockHttpResponse(request, 200,
+                                    new HttpHeaders().put("Content-Type", "application/json"), body));
+                })
+                .byteBufferAllocator(allocator)
+                .build());
+        final Map<String, Object> body = new HashMap<>();
+        for (int i = 0; i < 10_000; i++) {
+            body.put("key-" + i, "value-" + i);
+        }
+
+        assertEquals(body, service.echo(body));
+        assertTrue(chunks.get() > 1);
+        allocator.checkLeaks();
+    }
+
+    @Test
+    public void elementsAreStreamed() {
+        final AtomicInteger chunks = new AtomicInteger();
+        final ExportService service = RestProxy.create(ExportService.class, new HttpPipelineBuilder()
+                .httpClient(request -> Mono.just(new MockHttpResponse(request, 200, new HttpHeaders()
+                        .put("Content-Type", request.getUrl().getPath().endsWith("ndjson")
+                                ? "application/x-ndjson"
+                                : "application/json")) {
+                    @Override
+                    public Flux<ByteBuffer> getBody() {
+                        final boolean array = !getHeaderValue("Content-Type").endsWith("ndjson");
+                        return Flux.range(0, 1_000_000)
+                                .map(i -> (array ? (i == 0 ? "[" : ",") : "") + "{\"id\":" + i + "}\n")
+                                .concatWith(Mono.just(array ? "]" : ""))
+                                .map(element -> ByteBuffer.wrap(element.getBytes(StandardCharsets.UTF_8)))
+                                .doOnNext(chunk -> chunks.incrementAndGet());
+                    }
+                }))
+                .build());
+
+        StepVerifier.create(service.export().map(element -> element.get("id")).take(3))
+                .expectNext(0, 1, 2)
+                .verifyComplete();
+        assertTrue(chunks.get() < 100);
+
+        StepVerifier.create(service.exportLines().map(element -> element.get("id")).skip(999_999))
+                .expectNext(999_999)
+                .verifyComplete();
+    }
+
+    @Test
+    public void fullUrlTargets() {
+        final LinkService service = RestProxy.create(LinkService.class, new HttpPipelineBuilder()
+                .httpClient(request -> Mono.just(new MockHttpResponse(request, 200,
+                        new HttpHeaders().put("Content-Type", "application/json"),
+                        ("{\"target\":\"" + request.getHost() + ':' + request.getPort()
+                                + request.getPathAndQuery() + "\"}").getBytes(StandardCharsets.UTF_8))))
+                .build());
+
+        assertEquals("example.com:8080/p", service.get("http://user:pw@example.com:8080/p").get("target"));
+        for (String url : List.of("http://example.com:abc/p", "http://example.com:99999/p")) {
+            final RuntimeException error = assertThrows(RuntimeException.class, () -> service.get(url));
+            assertTrue(Exceptions.unwrap(error) instanceof MalformedURLException);
+        }
+    }
+
+    @Host("http://localhost")
+    @ServiceInterface(name = "echo")
+    interface EchoService {
+        @Post("echo")
+        @ExpectedResponses({200})
+        Map<String, Object> echo(@BodyParam("application/json") Map<String, Object> body);
+
+        @Post("echo")
+        @ExpectedResponses({200})
+        Mono<Map<String, Object>> echoAsync(@BodyParam("application/json") Map<String, Object> body);
+
+        @Post("echo")
+        @ExpectedResponses({201})
+        Map<String, Object> created(@BodyParam("application/json") Map<String, Object> body);
+    }
+
+    @Host("http://localhost")
+    @ServiceInterface(name = "link")
+    interface LinkService {
+        @Get("{nextLink}")
+        @ExpectedResponses({200})
+        Map<String, Object> get(@PathParam(value = "nextLink", encoded = true) String nextLink);
+    }
+
+    @Host("http://localhost")
+    @ServiceInterface(name = "export")
+    interface ExportService {
+        @Get("export.json")
+        @ExpectedResponses({200})
+        Flux<Map<String, Object>> export();
+
+        @Get("export.ndjson")
+        @ExpectedResponses({200})
+        Flux<Map<String, Object>> exportLines();
+    }
+}
@@ -0,0 +1,127 @@
+package com.unisoft.core.http.rest;
+
+import com.unisoft.core.http.annotation.*;
+import com.unisoft.core.http.rest.ReturnTypePlan.Body;
+import com.unisoft.core.http.rest.ReturnTypePlan.Shape;
+import com.unisoft.core.http.serialize.impl.HttpResponseDecodePlan;
+import com.unisoft.core.util.Base64Url;
+import com.unisoft.core.util.TypeUtil;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReturnTypePlanTest {
+    private static Stream<Arguments> planSupplier() throws NoSuchMethodException {
+        Class<ReturnTypeMethods> clazz = ReturnTypeMethods.class;
+
+        return Stream.of(
+                Arguments.of(clazz.getDeclaredMethod("monoVoid"), Shape.MONO_VOID, Body.NONE, null),
+                Arguments.of(clazz.getDeclaredMethod("monoString"), Shape.MONO, Body.DECODED, null),
+                Arguments.of(clazz.getDeclaredMethod("fluxByteBuffer"), Shape.FLUX_BYTE_BUFFER, Body.NONE, null),
+                Arguments.of(clazz.getDeclaredMethod("fluxString"), Shape.FLUX, Body.NONE, null),
+                Arguments.of(clazz.getDeclaredMethod("voidMethod"), Shape.VOID, Body.NONE, null),
+                Arguments.of(clazz.getDeclaredMethod("exists"), Shape.BLOCKING, Body.HEAD_STATUS, null),
+                Arguments.of(clazz.getDeclaredMethod("bytes"), Shape.BLOCKING, Body.BYTE_ARRAY, null),
+                Arguments.of(clazz.getDeclaredMethod("base64UrlBytes"), Shape.MONO, Body.BASE64URL_BYTE_ARRAY, null),
+                Arguments.of(clazz.getDeclaredMethod("responseVoid"), Shape.MONO, Body.NONE, ResponseBase.class),
+                Arguments.of(clazz.getDeclaredMethod("simpleResponse"), Shape.MONO, Body.DECODED,
+                        SimpleResponse.class),
+                Arguments.of(clazz.getDeclaredMethod("streamResponse"), Shape.MONO, Body.FLUX_BYTE_BUFFER,
+                        StreamResponse.class)
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource("planSupplier")
+    public void plan(Method method, Shape shape, Body body, Class<?> responseClass) {
+        ReturnTypePlan plan = new ServiceMethodParser(method, "https://unisoft.com").getReturnTypePlan();
+
+        assertEquals(shape, plan.getShape());
+        assertEquals(body, plan.getBody());
+        assertEquals(responseClass != null, plan.isResponse());
+        assertEquals(responseClass, plan.getResponseClass());
+        assertEquals(responseClass != null, plan.getResponseConstructor() != null);
+    }
+
+    @Test
+    public void decodePlan() throws NoSuchMethodException {
+        ServiceMethodParser parser = new ServiceMethodParser(
+                ReturnTypeMethods.class.getDeclaredMethod("base64UrlList"), "https://unisoft.com");
+        HttpResponseDecodePlan plan = parser.getDecodePlan();
+
+        assertTrue(plan.isReturnTypeDecodable());
+        assertEquals(Shape.MONO, parser.getReturnTypePlan().getShape());
+        assertEquals("java.util.List<byte[]>", plan.getEntityType().getTypeName());
+        assertEquals(Base64Url.class, plan.getWireType());
+        assertEquals(Base64Url.class, TypeUtil.getTypeArgument(plan.getWireResponseType()));
+        assertNull(plan.getHeadersType());
+    }
+
+    @Test
+    public void serviceMethods() {
+        assertEquals(Arrays.asList("base64UrlBytes", "base64UrlList", "bytes", "exists", "fluxByteBuffer",
+                "fluxString", "monoString", "monoVoid", "responseVoid", "simpleResponse", "streamResponse",
+                "voidMethod"),
+                Arrays.stream(ReturnTypeMethods.class.getDeclaredMethods())
+                        .filter(ServiceInterfaceParser::isServiceMethod)
+                        .map(Method::getName)
+                        .sorted()
+                        .collect(Collectors.toList()));
+    }
+
+    interface ReturnTypeMethods {
+        @Delete("test")
+        Mono<Void> monoVoid();
+
+        @Get("test")
+        Mono<String> monoString();
+
+        @Get("test")
+        Flux<ByteBuffer> fluxByteBuffer();
+
+        @Get("test")
+        Flux<String> fluxString();
+
+        @Put("test")
+        void voidMethod();
+
+        @Head("test")
+        boolean exists();
+
+        @Get("test")
+        byte[] bytes();
+
+        @Get("test")
+        @ReturnValueWireType(Base64Url.class)
+        Mono<byte[]> base64UrlBytes();
+
+        @Get("test")
+        @ReturnValueWireType(Base64Url.class)
+        Mono<List<byte[]>> base64UrlList();
+
+        @Delete("test")
+        Mono<Response<Void>> responseVoid();
+
+        @Get("test")
+        Mono<SimpleResponse<String>> simpleResponse();
+
+        @Get("test")
+        Mono<StreamResponse> streamResponse();
+
+        default String notAServiceMethod() {
+            return "test";
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.unisoft.core.http.rest;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.ToolProvider;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ServiceInterfaceProcessorTest {
+    private static final String IMPORTS = "import com.unisoft.core.http.annotation.*;\n"
+            + "import reactor.core.publisher.Mono;\n"
+            + "import java.util.List;\n";
+
+    @Test
+    public void generatesImplementation(@TempDir Path output) throws IOException {
+        final List<Diagnostic<? extends JavaFileObject>> diagnostics = compile(output, "sample.Outer",
+                "package sample;\n" + IMPORTS
+                        + "public class Outer {\n"
+                        + "    interface Base {\n"
+                        + "        @Get(\"items/{id}\")\n"
+                        + "        Mono<List<String>> get(@PathParam(\"id\") String id);\n"
+                        + "    }\n"
+                        + "    @Host(\"http://localhost\")\n"
+                        + "    @ServiceInterface(name = \"items\")\n"
+                        + "    interface Items extends Base {\n"
+                        + "        @Head(\"items\")\n"
+                        + "        boolean exists(@QueryParam(\"ids\") int... ids);\n"
+                        + "        @Delete(\"items\")\n"
+                        + "        void delete();\n"
+                        + "        @ResumeOperation\n"
+                        + "        void resume();\n"
+                        + "        default String name() { return \"items\"; }\n"
+                        + "    }\n"
+                        + "}\n");
+
+        assertEquals(Collections.emptyList(), diagnostics);
+        final String source = new String(Files.readAllBytes(output.resolve("sample/Outer_ItemsImpl.java")),
+                StandardCharsets.UTF_8);
+        assertTrue(source.contains("public final class Outer_ItemsImpl implements sample.Outer.Items"));
+        assertTrue(source.contains("restProxy.getMethodParser(sample.Outer.Items.class, \"exists\", int[].class)"));
+        assertTrue(source.contains("public boolean exists(int... p0)"));
+        assertTrue(source.contains("reactor.core.publisher.Mono<java.util.List<java.lang.String>> get("));
+        assertFalse(source.contains("\"resume\""));
+        assertFalse(source.contains(" name()"));
+        assertTrue(Files.exists(output.resolve("sample/Outer_ItemsImpl.class")));
+    }
+
+    @Test
+    public void skipsIncompleteInterfaces(@TempDir Path output) throws IOException {
+        final List<Diagnostic<? extends JavaFileObject>> diagnostics = compile(output, "sample.Incomplete",
+                "package sample;\n" + IMPORTS
+                        + "public class Incomplete {\n"
+                        + "    @ServiceInterface(name = \"noHost\")\n"
+                        + "    interface NoHost {\n"
+                        + "        @Get(\"items\")\n"
+                        + "        void get();\n"
+                        + "    }\n"
+                        + "    @Host(\"http://localhost\")\n"
+                        + "    @ServiceInterface(name = \"noMethod\")\n"
+                        + "    interface NoHttpMethod {\n"
+                        + "        void get();\n"
+                        + "    }\n"
+                        + "    @Host(\"http://localhost\")\n"
+                        + "    @ServiceInterface(name = \"private\")\n"
+                        + "    private interface Hidden {\n"
+                        + "    }\n"
+                        + "}\n");
+
+        assertEquals(Arrays.asList(
+                "No implementation is generated for sample.Incomplete.NoHost as it has no @Host annotation.",
+                "No implementation is generated for sample.Incomplete.NoHttpMethod as its method get does not have "
+                        + "exactly one HTTP method annotation.",
+                "No implementation is generated for sample.Incomplete.Hidden as it is not visible from its package."),
+                diagnostics.stream().map(diagnostic -> diagnostic.getMessage(null)).collect(Collectors.toList()));
+        try (Stream<Path> files = Files.walk(output)) {
+            assertTrue(files.noneMatch(file -> file.getFileName().toString().endsWith("Impl.java")));
+        }
+    }
+
+    private static List<Diagnostic<? extends JavaFileObject>> compile(Path output, String className, String source) {
+        final JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        final DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        final JavaFileObject file = new SimpleJavaFileObject(
+                URI.create("string:///" + className.replace('.', '/') + ".java"), JavaFileObject.Kind.SOURCE) {
+            @Override
+            public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+                return source;
+            }
+        };
+        final List<String> options = Arrays.asList("-d", output.toString(), "-s", output.toString(),
+                "-classpath", System.getProperty("java.class.path"),
+                "-processor", ServiceInterfaceProcessor.class.getName());
+
+        assertTrue(compiler.getTask(null, null, diagnostics, options, null, Collections.singletonList(file)).call(),
+                () -> diagnostics.getDiagnostics().toString());
+        return diagnostics.getDiagnostics();
+    }
+}
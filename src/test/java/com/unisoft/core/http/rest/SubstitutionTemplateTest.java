@@ -0,0 +1,45 @@
+package com.unisoft.core.http.rest;
+
+import com.unisoft.core.http.serialize.JacksonAdapter;
+import com.unisoft.core.http.serialize.SerializerAdapter;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class SubstitutionTemplateTest {
+    private static final SerializerAdapter SERIALIZER = JacksonAdapter.createDefaultSerializerAdapter();
+
+    private static Stream<Arguments> expandSupplier() {
+        final List<Substitution> substitutions = Arrays.asList(
+                new Substitution("a", 0, true),
+                new Substitution("b", 1, false),
+                new Substitution("a", 1, false),
+                new Substitution("c", 5, true));
+        final Object[] arguments = new Object[]{"x y", "1/2"};
+
+        return Stream.of(
+                Arguments.of("no/placeholders", substitutions, arguments, "no/placeholders"),
+                Arguments.of("{a}/{b}/{a}", substitutions, arguments, "x%20y/1/2/x%20y"),
+                Arguments.of("{a}{b}", substitutions, arguments, "x%20y1/2"),
+                Arguments.of("{{a}}/{unknown}/{b", substitutions, arguments, "{x%20y}/{unknown}/{b"),
+                Arguments.of("{c}/{a}", substitutions, arguments, "{c}/x%20y"),
+                Arguments.of("{a}/{b}", substitutions, new Object[]{null, 42}, "/42"),
+                Arguments.of("{a}/{b}", substitutions, null, "{a}/{b}"),
+                Arguments.of("{a}", Collections.emptyList(), arguments, "{a}"),
+                Arguments.of("", substitutions, arguments, "")
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource("expandSupplier")
+    public void expand(String template, List<Substitution> substitutions, Object[] arguments, String expected) {
+        assertEquals(expected, new SubstitutionTemplate(template, substitutions).expand(arguments, SERIALIZER));
+    }
+}
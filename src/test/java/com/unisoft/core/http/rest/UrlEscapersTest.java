@@ -1,6 +1,5 @@
 package com.unisoft.core.http.rest;
 
-import com.google.common.net.PercentEscaper;
 import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
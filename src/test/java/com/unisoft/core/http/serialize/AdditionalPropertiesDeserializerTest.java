@@ -0,0 +1,62 @@
+package com.unisoft.core.http.serialize;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.unisoft.core.http.annotation.JsonFlatten;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class AdditionalPropertiesDeserializerTest {
+    @Test
+    void collectAdditionalProperties() throws IOException {
+        final Model model = deserialize("{\"name\":\"a\",\"size\":1,\"tags\":[\"x\"],\"nested\":{\"b\":true}}",
+                Model.class);
+
+        assertEquals("a", model.name);
+        assertEquals(1, model.size);
+        assertEquals(Map.of("tags", List.of("x"), "nested", Map.of("b", true)), model.additionalProperties);
+    }
+
+    @Test
+    void emptyAdditionalProperties() throws IOException {
+        final Model model = deserialize("{\"name\":\"a\"}", Model.class);
+
+        assertEquals(Map.of(), model.additionalProperties);
+    }
+
+    @Test
+    void collectAdditionalPropertiesOfFlattenedType() throws IOException {
+        final FlattenedModel model = deserialize("{\"properties\":{\"name\":\"a\"},\"odata.etag\":\"e\",\"extra\":1}",
+                FlattenedModel.class);
+
+        assertEquals("a", model.name);
+        assertEquals("e", model.etag);
+        assertEquals(Map.of("extra", 1), model.additionalProperties);
+    }
+
+    private static <T> T deserialize(String json, Class<T> type) throws IOException {
+        return new JacksonAdapter().deserialize(json, type, SerializerEncoding.JSON);
+    }
+
+    static class Model {
+        @JsonProperty("name")
+        String name;
+        Integer size;
+        @JsonProperty("")
+        Map<String, Object> additionalProperties;
+    }
+
+    @JsonFlatten
+    static class FlattenedModel {
+        @JsonProperty("properties.name")
+        String name;
+        @JsonProperty("odata\\.etag")
+        String etag;
+        @JsonProperty("")
+        Map<String, Object> additionalProperties;
+    }
+}
@@ -0,0 +1,116 @@
+package com.unisoft.core.http.serialize;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonSubTypes;
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.annotation.JsonTypeName;
+import com.unisoft.core.http.annotation.JsonFlatten;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FlatteningDeserializerTest {
+    @Test
+    void unflattenProperties() throws IOException {
+        final Resource resource = deserialize("{\"id\":\"1\",\"properties\":{\"name\":\"name\",\"unknown\":[1,2],"
+                + "\"tags\":{\"count\":5}},\"odata.etag\":\"etag\",\"labels\":{\"a.b\":\"c\"}}", Resource.class);
+
+        assertEquals("1", resource.id);
+        assertEquals("name", resource.name);
+        assertNull(resource.size);
+        assertEquals(5, resource.count);
+        assertEquals("etag", resource.etag);
+        assertEquals(Map.of("a.b", "c"), resource.labels);
+    }
+
+    @Test
+    void ignoreLevelsOfOtherTypes() throws IOException {
+        final Resource resource = deserialize("{\"properties\":\"text\",\"children\":[{\"properties\":{\"name\":\"a\"}},"
+                + "{\"properties\":null}]}", Resource.class);
+
+        assertNull(resource.name);
+        assertEquals(2, resource.children.size());
+        assertEquals("a", resource.children.get(0).name);
+        assertNull(resource.children.get(1).name);
+    }
+
+    @Test
+    void unflattenPropertyNamedAsLevel() throws IOException {
+        final Container container = deserialize("{\"properties\":{\"name\":\"a\",\"size\":1}}", Container.class);
+
+        assertEquals("a", container.name);
+        assertEquals(Map.of("name", "a", "size", 1), container.properties);
+    }
+
+    @Test
+    void readTypeId() throws IOException {
+        final Pet pet = deserialize("{\"properties\":{\"name\":\"tom\"},\"odata.type\":\"cat\"}", Pet.class);
+
+        assertTrue(pet instanceof Cat);
+        assertEquals("tom", pet.name);
+    }
+
+    @Test
+    void roundTrip() throws IOException {
+        final Resource resource = new Resource();
+        resource.name = "name";
+        resource.count = 2;
+        resource.etag = "etag";
+
+        final Resource copy = deserialize(new JacksonAdapter().serialize(resource, SerializerEncoding.JSON),
+                Resource.class);
+
+        assertEquals("name", copy.name);
+        assertEquals(2, copy.count);
+        assertEquals("etag", copy.etag);
+    }
+
+    private static <T> T deserialize(String json, Class<T> type) throws IOException {
+        return new JacksonAdapter().deserialize(json, type, SerializerEncoding.JSON);
+    }
+
+    @JsonFlatten
+    static class Resource {
+        @JsonProperty("id")
+        String id;
+        @JsonProperty("properties.name")
+        String name;
+        @JsonProperty("properties.size")
+        Integer size;
+        @JsonProperty("properties.tags.count")
+        Integer count;
+        @JsonProperty("odata\\.etag")
+        String etag;
+        @JsonProperty("labels")
+        Map<String, String> labels;
+        @JsonProperty("children")
+        List<Resource> children;
+    }
+
+    @JsonFlatten
+    static class Container {
+        @JsonProperty("properties")
+        Map<String, Object> properties;
+        @JsonProperty("properties.name")
+        String name;
+    }
+
+    @JsonTypeInfo(use = JsonTypeInfo.Id.NAME, property = "odata\\.type")
+    @JsonSubTypes(@JsonSubTypes.Type(Cat.class))
+    @JsonFlatten
+    static class Pet {
+        @JsonProperty("properties.name")
+        String name;
+    }
+
+    @JsonTypeName("cat")
+    @JsonFlatten
+    static class Cat extends Pet {
+    }
+}
@@ -0,0 +1,131 @@
+package com.unisoft.core.http.serialize;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonSubTypes;
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.annotation.JsonTypeName;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.unisoft.core.http.annotation.JsonFlatten;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class FlatteningSerializerTest {
+    private static final ObjectMapper TREE_MAPPER = new ObjectMapper();
+
+    @Test
+    void flattenProperties() throws IOException {
+        final Resource resource = new Resource();
+        resource.id = "1";
+        resource.name = "name";
+        resource.size = 3;
+        resource.count = 5;
+        resource.etag = "etag";
+
+        assertJsonEquals("{\"id\":\"1\",\"odata.etag\":\"etag\","
+                        + "\"properties\":{\"name\":\"name\",\"size\":3,\"tags\":{\"count\":5}}}",
+                serialize(resource));
+    }
+
+    @Test
+    void skipLevelWithoutValues() throws IOException {
+        final Resource resource = new Resource();
+        resource.id = "1";
+
+        assertJsonEquals("{\"id\":\"1\"}", serialize(resource));
+    }
+
+    @Test
+    void keepMapKeysWithDots() throws IOException {
+        final Resource resource = new Resource();
+        resource.labels = Collections.singletonMap("a.b", "c");
+
+        assertJsonEquals("{\"labels\":{\"a.b\":\"c\"}}", serialize(resource));
+        assertEquals(Collections.singletonMap("a.b", "c"), resource.labels);
+    }
+
+    @Test
+    void flattenNestedFlattenedTypes() throws IOException {
+        final Resource child = new Resource();
+        child.name = "child";
+        final Resource resource = new Resource();
+        resource.children = Arrays.asList(child, null);
+
+        assertJsonEquals("{\"children\":[{\"properties\":{\"name\":\"child\"}},null]}", serialize(resource));
+    }
+
+    @Test
+    void writeTypeId() throws IOException {
+        final Cat cat = new Cat();
+        cat.name = "tom";
+
+        assertJsonEquals("{\"odata.type\":\"cat\",\"properties\":{\"name\":\"tom\"}}", serialize(cat));
+        assertJsonEquals("{\"pets\":[{\"odata.type\":\"cat\",\"properties\":{\"name\":\"tom\"}}]}",
+                serialize(new Owner(cat)));
+    }
+
+    @Test
+    void splitKey() {
+        assertArrayEquals(new String[]{"a", "b", "c"}, FlatteningSerializer.splitKey("a.b.c"));
+        assertArrayEquals(new String[]{"a.b", "c"}, FlatteningSerializer.splitKey("a\\.b.c"));
+        assertArrayEquals(new String[]{"a.b"}, FlatteningSerializer.splitKey("a\\.b"));
+        assertArrayEquals(new String[]{".a"}, FlatteningSerializer.splitKey(".a"));
+        assertArrayEquals(new String[]{"a."}, FlatteningSerializer.splitKey("a."));
+        assertArrayEquals(new String[]{"a", "", "b"}, FlatteningSerializer.splitKey("a..b"));
+    }
+
+    private static String serialize(Object value) throws IOException {
+        return new JacksonAdapter().serialize(value, SerializerEncoding.JSON);
+    }
+
+    private static void assertJsonEquals(String expected, String actual) throws IOException {
+        assertEquals(TREE_MAPPER.readTree(expected), TREE_MAPPER.readTree(actual), actual);
+    }
+
+    @JsonFlatten
+    static class Resource {
+        @JsonProperty("id")
+        String id;
+        @JsonProperty("properties.name")
+        String name;
+        @JsonProperty("properties.size")
+        Integer size;
+        @JsonProperty("properties.tags.count")
+        Integer count;
+        @JsonProperty("odata\\.etag")
+        String etag;
+        @JsonProperty("labels")
+        Map<String, String> labels;
+        @JsonProperty("children")
+        List<Resource> children;
+    }
+
+    @JsonTypeInfo(use = JsonTypeInfo.Id.NAME, property = "odata\\.type")
+    @JsonSubTypes(@JsonSubTypes.Type(Cat.class))
+    @JsonFlatten
+    static class Pet {
+        @JsonProperty("properties.name")
+        String name;
+    }
+
+    @JsonTypeName("cat")
+    @JsonFlatten
+    static class Cat extends Pet {
+    }
+
+    static class Owner {
+        @JsonProperty("pets")
+        final List<Pet> pets;
+
+        Owner(Pet pet) {
+            this.pets = Collections.singletonList(pet);
+        }
+    }
+}
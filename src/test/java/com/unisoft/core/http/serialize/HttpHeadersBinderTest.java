@@ -0,0 +1,117 @@
+package com.unisoft.core.http.serialize;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.unisoft.core.http.HttpHeaders;
+import com.unisoft.core.http.annotation.HeaderCollection;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Collections;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HttpHeadersBinderTest {
+    private final ObjectMapper mapper = new ObjectMapper().registerModule(new JavaTimeModule());
+    private final JacksonAdapter adapter = new JacksonAdapter();
+
+    @Test
+    void bindTypedHeaders() throws IOException {
+        final HttpHeaders headers = new HttpHeaders()
+                .put("etag", "\"0x8D\"")
+                .put("Content-Length", " 42 ")
+                .put("x-request-count", "7")
+                .put("x-deleted", "True")
+                .put("last-modified", "2026-10-17T10:15:30Z")
+                .put("ignored", "value");
+
+        final MockHeaders actual = this.adapter.deserialize(headers, MockHeaders.class);
+
+        assertEquals("\"0x8D\"", actual.eTag);
+        assertEquals(42, actual.contentLength);
+        assertEquals(7L, actual.requestCount);
+        assertTrue(actual.deleted);
+        assertEquals(OffsetDateTime.of(2026, 10, 17, 10, 15, 30, 0, ZoneOffset.UTC),
+                actual.lastModified.withOffsetSameInstant(ZoneOffset.UTC));
+        assertNull(actual.ignored);
+        assertEquals(Collections.emptyMap(), actual.metadata);
+    }
+
+    @Test
+    void bindHeaderCollections() throws IOException {
+        final HttpHeaders headers = new HttpHeaders()
+                .put("X-Meta-Owner", "omar")
+                .put("x-meta-Color", "blue")
+                .put("x-other", "other");
+
+        final MockHeaders actual = this.adapter.deserialize(headers, MockHeaders.class);
+
+        assertEquals(Map.of("Owner", "omar", "Color", "blue"), actual.metadata);
+        assertEquals(0, actual.contentLength);
+    }
+
+    @Test
+    void malformedValueFails() {
+        final HttpHeaders headers = new HttpHeaders().put("Content-Length", "forty two");
+
+        assertThrows(IOException.class, () -> this.adapter.deserialize(headers, MockHeaders.class));
+    }
+
+    @Test
+    void compileFieldTypesOnly() {
+        assertNotNull(HttpHeadersBinder.compile(this.mapper.constructType(MockHeaders.class), this.mapper));
+        assertNull(HttpHeadersBinder.compile(this.mapper.constructType(CreatorHeaders.class), this.mapper));
+        assertNull(HttpHeadersBinder.compile(this.mapper.constructType(Map.class), this.mapper));
+    }
+
+    @Test
+    void typesNotCompiledAreReadByJackson() throws IOException {
+        final HttpHeaders headers = new HttpHeaders().put("etag", "tag").put("x-meta-a", "a");
+
+        final CreatorHeaders actual = this.adapter.deserialize(headers, CreatorHeaders.class);
+
+        assertEquals("tag", actual.eTag);
+        assertEquals(Collections.singletonMap("a", "a"), actual.metadata);
+        final CreatorHeaders empty = this.adapter.deserialize(new HttpHeaders(), CreatorHeaders.class);
+        assertNull(empty.eTag);
+        assertEquals(Collections.emptyMap(), empty.metadata);
+    }
+
+    static final class MockHeaders {
+        @JsonProperty("ETag")
+        private String eTag;
+        @JsonProperty("Content-Length")
+        private int contentLength;
+        @JsonProperty("x-request-count")
+        private Long requestCount;
+        @JsonProperty("x-deleted")
+        private boolean deleted;
+        @JsonProperty("Last-Modified")
+        private OffsetDateTime lastModified;
+        @JsonIgnore
+        private String ignored;
+        @HeaderCollection("x-meta-")
+        private Map<String, String> metadata;
+    }
+
+    static final class CreatorHeaders {
+        private final String eTag;
+        @HeaderCollection("x-meta-")
+        private Map<String, String> metadata;
+
+        @JsonCreator
+        CreatorHeaders(@JsonProperty("etag") String eTag) {
+            this.eTag = eTag;
+        }
+    }
+}
@@ -3,19 +3,31 @@ package com.unisoft.core.http.serialize;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.dataformat.xml.annotation.JacksonXmlRootElement;
+import com.unisoft.core.http.serialize.impl.MalformedValueException;
+import com.unisoft.core.util.TypeUtil;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class JacksonAdapterTest {
 
@@ -105,6 +117,178 @@ class JacksonAdapterTest {
         assertEquals(expected, wrapper.getOffsetDateTime());
     }
 
+    @ParameterizedTest
+    @MethodSource("deserializeJsonSupplier")
+    public void deserializeJsonChunks(String json, OffsetDateTime expected) {
+        final byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        // every split of the document in two chunks, the second one direct
+        for (int split = 0; split <= bytes.length; split++) {
+            final ByteBuffer second = ByteBuffer.allocateDirect(bytes.length - split);
+            second.put(bytes, split, bytes.length - split).flip();
+            final Flux<ByteBuffer> body = Flux.just(ByteBuffer.wrap(bytes, 0, split), second);
+
+            StepVerifier.create(JacksonAdapter.createDefaultSerializerAdapter()
+                    .<DateTimeWrapper>deserialize(body, DateTimeWrapper.class, SerializerEncoding.JSON))
+                    .assertNext(wrapper -> assertEquals(expected, wrapper.getOffsetDateTime()))
+                    .verifyComplete();
+        }
+    }
+
+    @Test
+    public void deserializeJsonChunksOfEachByte() {
+        final List<String> expected = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            expected.add("item-\u00e9-" + i);
+        }
+        final byte[] bytes = ("  [\"" + String.join("\", \"", expected) + "\"] trailing")
+                .getBytes(StandardCharsets.UTF_8);
+        final Flux<ByteBuffer> body = Flux.range(0, bytes.length).map(i -> ByteBuffer.wrap(bytes, i, 1));
+
+        StepVerifier.create(new JacksonAdapter().deserialize(body,
+                TypeUtil.createParameterizedType(List.class, String.class), SerializerEncoding.JSON))
+                .expectNext(expected)
+                .verifyComplete();
+    }
+
+    @Test
+    public void deserializeJsonChunksEdgeCases() {
+        final JacksonAdapter serializer = new JacksonAdapter();
+
+        StepVerifier.create(serializer.deserialize(Flux.empty(), String.class, SerializerEncoding.JSON))
+                .verifyComplete();
+        StepVerifier.create(serializer.deserialize(chunks(" 4", "2 "), Integer.class, SerializerEncoding.JSON))
+                .expectNext(42)
+                .verifyComplete();
+        StepVerifier.create(serializer.deserialize(chunks("{\"a\":", "1"), Map.class, SerializerEncoding.JSON))
+                .verifyError(MalformedValueException.class);
+        StepVerifier.create(serializer.deserialize(chunks("{\"a\" 1}"), Map.class, SerializerEncoding.JSON))
+                .verifyError(MalformedValueException.class);
+        StepVerifier.create(serializer.deserialize(chunks("<XmlString><Value>", "hello</Value></XmlString>"),
+                XmlString.class, SerializerEncoding.XML))
+                .assertNext(xml -> assertEquals("hello", ((XmlString) xml).getValue()))
+                .verifyComplete();
+    }
+
+    @Test
+    public void deserializeElements() {
+        final JacksonAdapter serializer = new JacksonAdapter();
+        final byte[] array = "[{\"a\":[1,{\"b\":2}]}, null, {}, {\"c\":\"]\"}] [{}]".getBytes(StandardCharsets.UTF_8);
+        final Flux<ByteBuffer> arrayBytes = Flux.range(0, array.length).map(i -> ByteBuffer.wrap(array, i, 1));
+
+        StepVerifier.create(serializer.<Map<String, Object>>deserializeElements(arrayBytes, Map.class,
+                SerializerEncoding.JSON))
+                .assertNext(element -> assertEquals("{a=[1, {b=2}]}", element.toString()))
+                .assertNext(element -> assertTrue(element.isEmpty()))
+                .assertNext(element -> assertEquals("]", element.get("c")))
+                .verifyComplete();
+        StepVerifier.create(serializer.deserializeElements(chunks("{\"a\":1}\n[1", ",2]\n\n3\n"), Object.class,
+                SerializerEncoding.NDJSON))
+                .expectNext(Collections.singletonMap("a", 1), Arrays.asList(1, 2), 3)
+                .verifyComplete();
+        StepVerifier.create(serializer.deserializeElements(Flux.empty(), Integer.class, SerializerEncoding.JSON))
+                .verifyComplete();
+        StepVerifier.create(serializer.deserializeElements(chunks("[1,", "2,", "{"), Integer.class,
+                SerializerEncoding.JSON))
+                .expectNext(1, 2)
+                .verifyError(MalformedValueException.class);
+        StepVerifier.create(serializer.deserializeElements(chunks("<XmlStrings><XmlString><Value>hello</Value>"
+                + "</XmlString></XmlStrings>"), XmlString.class, SerializerEncoding.XML))
+                .assertNext(xml -> assertEquals("hello", ((XmlString) xml).getValue()))
+                .verifyComplete();
+    }
+
+    @Test
+    public void deserializeXmlElements() throws IOException {
+        final JacksonAdapter serializer = new JacksonAdapter();
+        final String xml = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n<!-- <XmlString> -->\n"
+                + "<x:XmlStrings xmlns:x=\"urn:x\" a=\"/>\">\n"
+                + "  <x:XmlString b='>'><Value>hello</Value></x:XmlString>\n"
+                + "  <!-- <XmlString><Value>skipped</Value></XmlString> -->\n"
+                + "  <?skipped <XmlString>?>\n"
+                + "  <XmlString><Value><![CDATA[</XmlString>]]></Value></XmlString>\n"
+                + "  <XmlString><Value>a &amp; b</Value><Other><Value>nested</Value></Other></XmlString>\n"
+                + "</x:XmlStrings>\n<XmlString><Value>ignored</Value></XmlString>";
+        final byte[] bytes = xml.getBytes(StandardCharsets.UTF_8);
+        final Flux<ByteBuffer> byteChunks = Flux.range(0, bytes.length).map(i -> ByteBuffer.wrap(bytes, i, 1));
+
+        StepVerifier.create(serializer.deserializeElements(byteChunks, XmlString.class, SerializerEncoding.XML)
+                .map(element -> ((XmlString) element).getValue()))
+                .expectNext("hello", "</XmlString>", "a & b")
+                .verifyComplete();
+        final String document = xml.substring(0, xml.lastIndexOf("<XmlString>")).replace(" a=\"/>\"", "");
+        final List<XmlString> collected = serializer.deserialize(document,
+                TypeUtil.createParameterizedType(List.class, XmlString.class), SerializerEncoding.XML);
+        assertEquals(3, collected.size());
+        assertEquals("a & b", collected.get(2).getValue());
+    }
+
+    @Test
+    public void deserializeXmlElementsEdgeCases() {
+        final JacksonAdapter serializer = new JacksonAdapter();
+
+        StepVerifier.create(serializer.deserializeElements(Flux.empty(), XmlString.class, SerializerEncoding.XML))
+                .verifyComplete();
+        StepVerifier.create(serializer.deserializeElements(chunks("<?xml version=\"1.0\"?>", "<XmlStrings/>"),
+                XmlString.class, SerializerEncoding.XML))
+                .verifyComplete();
+        StepVerifier.create(serializer.deserializeElements(chunks("<XmlStrings><XmlString><Value>a</Value>",
+                "</XmlString><XmlString><Value>"), XmlString.class, SerializerEncoding.XML)
+                .map(element -> ((XmlString) element).getValue()))
+                .expectNext("a")
+                .verifyError(MalformedValueException.class);
+        StepVerifier.create(serializer.deserializeElements(
+                Flux.just(ByteBuffer.wrap("<XmlStrings><XmlString><Value>utf16</Value></XmlString></XmlStrings>"
+                        .getBytes(StandardCharsets.UTF_16))), XmlString.class, SerializerEncoding.XML)
+                .map(element -> ((XmlString) element).getValue()))
+                .expectNext("utf16")
+                .verifyComplete();
+    }
+
+    @Test
+    public void deserializeXmlElementsWithByteOrderMark() {
+        final JacksonAdapter serializer = new JacksonAdapter();
+        final String xml = "<XmlStrings><XmlString><Value>a</Value></XmlString>"
+                + "<XmlString><Value>b</Value></XmlString></XmlStrings>";
+
+        StepVerifier.create(serializer.deserializeElements(chunks("\uFEFF" + xml.substring(0, 30), xml.substring(30)),
+                XmlString.class, SerializerEncoding.XML)
+                .map(element -> ((XmlString) element).getValue()))
+                .expectNext("a", "b")
+                .verifyComplete();
+        for (String charset : new String[]{"UTF-16BE", "UTF-16LE", "UTF-32BE", "UTF-32LE"}) {
+            final byte[] bytes = ("\uFEFF" + xml).getBytes(Charset.forName(charset));
+            final Flux<ByteBuffer> body = Flux.just(ByteBuffer.wrap(bytes, 0, 3),
+                    ByteBuffer.wrap(bytes, 3, bytes.length - 3));
+
+            StepVerifier.create(serializer.deserializeElements(body, XmlString.class, SerializerEncoding.XML)
+                    .map(element -> ((XmlString) element).getValue()))
+                    .expectNext("a", "b")
+                    .verifyComplete();
+        }
+    }
+
+    @Test
+    public void deserializeXmlElementsReusesItsListType() {
+        final JacksonAdapter serializer = new JacksonAdapter();
+        final String xml = "<XmlStrings><XmlString><Value>a</Value></XmlString></XmlStrings>";
+
+        StepVerifier.create(serializer.deserializeElements(chunks(xml), XmlString.class, SerializerEncoding.XML))
+                .expectNextCount(1)
+                .verifyComplete();
+        final int size = serializer.getTypeCache().size();
+        for (int i = 0; i < 3; i++) {
+            StepVerifier.create(serializer.deserializeElements(chunks(xml), XmlString.class, SerializerEncoding.XML))
+                    .expectNextCount(1)
+                    .verifyComplete();
+        }
+
+        assertEquals(size, serializer.getTypeCache().size());
+    }
+
+    private static Flux<ByteBuffer> chunks(String... chunks) {
+        return Flux.fromArray(chunks).map(chunk -> ByteBuffer.wrap(chunk.getBytes(StandardCharsets.UTF_8)));
+    }
+
     private static class MapHolder {
         @JsonInclude(content = JsonInclude.Include.ALWAYS)
         private Map<String, String> map = new HashMap<>();
@@ -0,0 +1,106 @@
+package com.unisoft.core.http.serialize;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.xml.XmlMapper;
+import com.unisoft.core.util.TypeUtil;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class JacksonTypeCacheTest {
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final AtomicInteger resolved = new AtomicInteger();
+
+    @Test
+    void resolveOnce() {
+        final JacksonTypeCache cache = cache(16);
+        final Type listType = this.mapper.getTypeFactory().constructCollectionType(List.class, String.class);
+
+        final JacksonTypeCache.TypePlan plan = cache.get(listType);
+
+        assertSame(plan, cache.get(this.mapper.getTypeFactory().constructCollectionType(List.class, String.class)));
+        assertEquals(1, this.resolved.get());
+        assertEquals(listType, plan.getJavaType());
+    }
+
+    @Test
+    void reuseReadersAndWriters() {
+        final JacksonTypeCache.TypePlan plan = cache(16).get(Map.class);
+
+        assertSame(plan.reader(SerializerEncoding.JSON), plan.reader(SerializerEncoding.NDJSON));
+        assertNotSame(plan.reader(SerializerEncoding.JSON), plan.reader(SerializerEncoding.XML));
+        assertSame(plan.reader(SerializerEncoding.XML), plan.reader(SerializerEncoding.XML));
+        assertSame(plan.headerReader(), plan.headerReader());
+        assertSame(plan.writer(SerializerEncoding.JSON), plan.writer(SerializerEncoding.JSON));
+        assertNotSame(plan.writer(SerializerEncoding.JSON), plan.writer(SerializerEncoding.XML));
+    }
+
+    @Test
+    void evictLeastRecentlyUsedTypes() {
+        final JacksonTypeCache cache = cache(2);
+        cache.get(String.class);
+        cache.get(Integer.class);
+        cache.get(String.class);
+        cache.get(Long.class);
+
+        assertEquals(2, cache.size());
+        assertEquals(3, this.resolved.get());
+        cache.get(String.class);
+        assertEquals(3, this.resolved.get());
+        assertEquals(Integer.class, cache.get(Integer.class).getJavaType().getRawClass());
+        assertEquals(4, this.resolved.get());
+    }
+
+    @Test
+    void disabledCache() {
+        final JacksonTypeCache cache = cache(0);
+        cache.get(String.class);
+        cache.get(String.class);
+
+        assertEquals(0, cache.size());
+        assertEquals(2, this.resolved.get());
+    }
+
+    @Test
+    void lookUpIdentityTypesByTheirStructure() {
+        final JacksonTypeCache cache = cache(16);
+
+        final JacksonTypeCache.TypePlan plan = cache.get(TypeUtil.createParameterizedType(List.class, String.class));
+
+        for (int i = 0; i < 3; i++) {
+            assertSame(plan, cache.get(TypeUtil.createParameterizedType(List.class, String.class)));
+        }
+        assertNotSame(plan, cache.get(TypeUtil.createParameterizedType(List.class, Integer.class)));
+        assertEquals(2, cache.size());
+        assertEquals(2, this.resolved.get());
+    }
+
+    @Test
+    void compileHeadersBindersOfCachedTypesOnly() {
+        assertNull(cache(0).get(MockHeaders.class).headersBinder());
+        assertNotNull(cache(1).get(MockHeaders.class).headersBinder());
+    }
+
+    private JacksonTypeCache cache(int maximumSize) {
+        return new JacksonTypeCache(maximumSize, this::resolve, this.mapper, new XmlMapper(), this.mapper.copy());
+    }
+
+    private JavaType resolve(Type type) {
+        this.resolved.incrementAndGet();
+        return this.mapper.getTypeFactory().constructType(type);
+    }
+
+    static final class MockHeaders {
+        private String etag;
+    }
+}
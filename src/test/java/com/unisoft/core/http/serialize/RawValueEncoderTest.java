@@ -0,0 +1,98 @@
+package com.unisoft.core.http.serialize;
+
+import com.fasterxml.jackson.annotation.JsonValue;
+import com.unisoft.core.util.Base64Url;
+import com.unisoft.core.util.DateTimeRfc1123;
+import com.unisoft.core.util.UnixTime;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class RawValueEncoderTest {
+    private static final JacksonAdapter ADAPTER = new JacksonAdapter();
+
+    private static Stream<Arguments> rawValueSupplier() {
+        final OffsetDateTime dateTime = OffsetDateTime.of(2020, 10, 19, 8, 30, 15, 120_000_000, ZoneOffset.ofHours(2));
+        return Stream.of(
+                Arguments.of(42), Arguments.of(-7L), Arguments.of(true), Arguments.of((short) 3),
+                Arguments.of((byte) 1), Arguments.of(1.5d), Arguments.of(1.0E10d), Arguments.of(Double.NaN),
+                Arguments.of(0.25f), Arguments.of(new BigDecimal("1.50")),
+                Arguments.of(new BigInteger("123456789012345678901")),
+                Arguments.of(UUID.fromString("123e4567-e89b-12d3-a456-426614174000")),
+                Arguments.of(dateTime), Arguments.of(Duration.ofSeconds(3725, 5_000_000)), Arguments.of(Duration.ZERO),
+                Arguments.of(new DateTimeRfc1123(dateTime)), Arguments.of(Base64Url.encode(new byte[]{1, 2, 3, -1})),
+                Arguments.of(new UnixTime(1_600_000_000L)), Arguments.of(Color.RED), Arguments.of(Color.BLUE),
+                Arguments.of(Size.LARGE), Arguments.of(Arrays.asList("a", 1)), Arguments.of("quoted \"text\"")
+        );
+    }
+
+    /**
+     * Tests that every value is encoded as it is serialized to JSON, stripped of its quotes.
+     */
+    @ParameterizedTest
+    @MethodSource("rawValueSupplier")
+    void encodeAsJson(Object value) throws IOException {
+        assertEquals(ADAPTER.serialize(value, SerializerEncoding.JSON).replaceAll("^\"*|\"*$", ""),
+                ADAPTER.serializeRaw(value));
+    }
+
+    @Test
+    void serializeEnumConstantsOnce() {
+        final AtomicInteger serialized = new AtomicInteger();
+        final RawValueEncoder encoder = new RawValueEncoder(value -> {
+            serialized.incrementAndGet();
+            return "\"" + ((Enum<?>) value).name() + "\"";
+        });
+
+        assertEquals("RED", encoder.encode(Color.RED));
+        assertEquals("BLUE", encoder.encode(Color.BLUE));
+        assertEquals(3, serialized.get());
+    }
+
+    @Test
+    void stripQuotes() {
+        assertEquals("a\"b", RawValueEncoder.stripQuotes("\"\"a\"b\""));
+        assertEquals("", RawValueEncoder.stripQuotes("\"\"\""));
+        assertEquals("12", RawValueEncoder.stripQuotes("12"));
+        assertNull(RawValueEncoder.stripQuotes(null));
+    }
+
+    enum Color {
+        RED, GREEN, BLUE {
+            @Override
+            public String toString() {
+                return "blue";
+            }
+        }
+    }
+
+    enum Size {
+        LARGE("large \"XL\"");
+
+        private final String value;
+
+        Size(String value) {
+            this.value = value;
+        }
+
+        @JsonValue
+        String getValue() {
+            return this.value;
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.unisoft.core.http.serialize;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.unisoft.core.util.Base64Url;
+import com.unisoft.core.util.DateTimeRfc1123;
+import com.unisoft.core.util.TypeUtil;
+import com.unisoft.core.util.UnixTime;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class WireTypeDeserializerTest {
+    private static final OffsetDateTime DATE_TIME = OffsetDateTime.of(2026, 10, 17, 10, 15, 30, 0, ZoneOffset.UTC);
+
+    private final JacksonAdapter adapter = new JacksonAdapter();
+
+    @Test
+    void readListOfDateTimeRfc1123() throws IOException {
+        final Type type = this.adapter.resolveWireResponseType(
+                TypeUtil.createParameterizedType(List.class, OffsetDateTime.class), DateTimeRfc1123.class);
+        final String json = "[\"" + new DateTimeRfc1123(DATE_TIME) + "\",null]";
+
+        final List<OffsetDateTime> actual = this.adapter.deserialize(json, type, SerializerEncoding.JSON);
+
+        assertEquals(Arrays.asList(DATE_TIME, null), actual);
+    }
+
+    @Test
+    void readMapOfUnixTime() throws IOException {
+        final Type type = this.adapter.resolveWireResponseType(
+                TypeUtil.createParameterizedType(Map.class, String.class, OffsetDateTime.class), UnixTime.class);
+        final String json = "{\"created\":" + DATE_TIME.toEpochSecond() + "}";
+
+        final Map<String, OffsetDateTime> actual = this.adapter.deserialize(json, type, SerializerEncoding.JSON);
+
+        assertEquals(Map.of("created", DATE_TIME), actual);
+    }
+
+    @Test
+    void readNestedListsOfBase64Url() throws IOException {
+        final Type type = this.adapter.resolveWireResponseType(TypeUtil.createParameterizedType(List.class,
+                TypeUtil.createParameterizedType(List.class, byte[].class)), Base64Url.class);
+        final Base64Url value = Base64Url.encode(new byte[]{1, 2, 3});
+
+        final List<List<byte[]>> actual = this.adapter.deserialize("[[\"" + value + "\"]]", type,
+                SerializerEncoding.JSON);
+
+        assertEquals(1, actual.size());
+        assertArrayEquals(value.decodedBytes(), actual.get(0).get(0));
+    }
+
+    @Test
+    void resolveContainersOfConvertedTypesOnly() {
+        final ObjectMapper mapper = new ObjectMapper();
+        final JavaType dateTimes = mapper.getTypeFactory().constructCollectionType(List.class, OffsetDateTime.class);
+
+        assertNotNull(WireTypeDeserializer.withWireType(dateTimes, UnixTime.class));
+        assertNull(WireTypeDeserializer.withWireType(dateTimes, Base64Url.class));
+        assertNull(WireTypeDeserializer.withWireType(mapper.constructType(OffsetDateTime.class), UnixTime.class));
+        assertNull(this.adapter.resolveWireResponseType(OffsetDateTime.class, UnixTime.class));
+        assertNull(this.adapter.resolveWireResponseType(
+                TypeUtil.createParameterizedType(List.class, String.class), String.class));
+    }
+}
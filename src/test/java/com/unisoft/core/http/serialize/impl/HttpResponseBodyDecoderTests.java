@@ -19,6 +19,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
+import org.mockito.ArgumentMatchers;
 import org.mockito.Mockito;
 import org.mockito.MockitoAnnotations;
 import reactor.core.publisher.Flux;
@@ -342,6 +343,27 @@ class HttpResponseBodyDecoderTests {
                 }).verifyComplete();
     }
 
+    @Test
+    void decodeListDateTimeRfc1123Response() {
+        ParameterizedType parameterizedType = mockParameterizedType(List.class, OffsetDateTime.class);
+        HttpResponseDecodeData decodeData = mock(HttpResponseDecodeData.class);
+        when(decodeData.getReturnType()).thenReturn(parameterizedType);
+        when(decodeData.getReturnValueWireType()).thenReturn(DateTimeRfc1123.class);
+        when(decodeData.isExpectedResponseStatusCode(200)).thenReturn(true);
+
+        OffsetDateTime dateTime = OffsetDateTime.of(2026, 10, 17, 10, 15, 30, 0, ZoneOffset.UTC);
+        List<DateTimeRfc1123> dateTimes = Collections.singletonList(new DateTimeRfc1123(dateTime));
+        HttpResponse response = new MockHttpResponse(GET_REQUEST, 200, dateTimes);
+
+        StepVerifier.create(HttpResponseBodyDecoder.decode(null, response, new JacksonAdapter(), decodeData))
+                .assertNext(actual -> assertEquals(Collections.singletonList(dateTime), actual))
+                .verifyComplete();
+        StepVerifier.create(HttpResponseBodyDecoder.decode("[\"" + dateTimes.get(0) + "\"]", response,
+                new JacksonAdapter(), decodeData))
+                .assertNext(actual -> assertEquals(Collections.singletonList(dateTime), actual))
+                .verifyComplete();
+    }
+
     @Test
     void malformedBodyReturnsError() {
         HttpResponse response = new MockHttpResponse(GET_REQUEST, 200, (Object) null);
@@ -366,7 +388,8 @@ class HttpResponseBodyDecoderTests {
         when(decodeData.isExpectedResponseStatusCode(200)).thenReturn(true);
 
         SerializerAdapter serializer = mock(SerializerAdapter.class);
-        when(serializer.deserialize((InputStream) any(), any(), any())).thenThrow(IOException.class);
+        when(serializer.deserialize(ArgumentMatchers.<Flux<ByteBuffer>>any(), any(), any()))
+                .thenReturn(Mono.error(new IOException()));
 
         StepVerifier.create(HttpResponseBodyDecoder.decode(null, response, serializer, decodeData))
                 .verifyError(HttpResponseException.class);
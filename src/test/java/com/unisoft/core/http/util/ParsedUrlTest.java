@@ -0,0 +1,168 @@
+package com.unisoft.core.http.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ParsedUrlTest {
+
+    private static void parseTest(String text, String scheme, String host, String port, String path, String query) {
+        final ParsedUrl parsed = ParsedUrl.parse(text);
+        assertEquals(scheme, parsed.getScheme());
+        assertEquals(host, parsed.getHost());
+        assertEquals(port, parsed.getPort());
+        assertEquals(path, parsed.getPath());
+        assertEquals(query, parsed.getQuery());
+        assertEquals(text == null ? "" : text, parsed.toString());
+    }
+
+    @Test
+    void parseWithNullText() {
+        parseTest(null, null, null, null, null, null);
+    }
+
+    @Test
+    void parseWithEmptyText() {
+        parseTest("", null, null, null, null, null);
+    }
+
+    @Test
+    void parseWithSchemeButNoSeparator() {
+        parseTest("http", null, "http", null, null, null);
+    }
+
+    @Test
+    void parseWithSchemeAndColon() {
+        parseTest("http:", null, "http", "", null, null);
+    }
+
+    @Test
+    void parseWithSchemeAndColonAndForwardSlash() {
+        parseTest("http:/", null, "http", "", "/", null);
+    }
+
+    @Test
+    void parseWithSchemeAndColonAndTwoForwardSlashes() {
+        parseTest("http://", "http", "", null, null, null);
+    }
+
+    @Test
+    void parseWithSchemeAndHost() {
+        parseTest("https://www.example.com", "https", "www.example.com", null, null, null);
+    }
+
+    @Test
+    void parseWithSchemeAndHostAndColon() {
+        parseTest("https://www.example.com:", "https", "www.example.com", "", null, null);
+    }
+
+    @Test
+    void parseWithSchemeAndHostAndPort() {
+        parseTest("https://www.example.com:8080", "https", "www.example.com", "8080", null, null);
+    }
+
+    @Test
+    void parseWithSchemeAndHostAndPortAndForwardSlash() {
+        parseTest("ftp://www.bing.com:123/", "ftp", "www.bing.com", "123", "/", null);
+    }
+
+    @Test
+    void parseWithSchemeAndHostAndPortAndPath() {
+        parseTest("ftp://www.bing.com:123/a/b/c.txt", "ftp", "www.bing.com", "123", "/a/b/c.txt", null);
+    }
+
+    @Test
+    void parseWithSchemeAndHostAndPortAndQuestionMark() {
+        parseTest("ftp://www.bing.com:123?", "ftp", "www.bing.com", "123", null, "");
+    }
+
+    @Test
+    void parseWithSchemeAndHostAndPortAndQuery() {
+        parseTest("ftp://www.bing.com:123?a=b&c=d", "ftp", "www.bing.com", "123", null, "a=b&c=d");
+    }
+
+    @Test
+    void parseWithSchemeAndHostAndForwardSlash() {
+        parseTest("https://www.example.com/", "https", "www.example.com", null, "/", null);
+    }
+
+    @Test
+    void parseWithSchemeAndHostAndPath() {
+        parseTest("https://www.example.com/index.html", "https", "www.example.com", null, "/index.html", null);
+    }
+
+    @Test
+    void parseWithSchemeAndHostAndPathAndQuestionMark() {
+        parseTest("https://www.example.com/index.html?", "https", "www.example.com", null, "/index.html", "");
+    }
+
+    @Test
+    void parseWithSchemeAndHostAndPathAndQuery() {
+        parseTest("https://www.example.com/index.html?alpha=beta", "https", "www.example.com", null, "/index.html", "alpha=beta");
+    }
+
+    @Test
+    void parseWithSchemeAndHostAndQuestionMark() {
+        parseTest("https://www.example.com?", "https", "www.example.com", null, null, "");
+    }
+
+    @Test
+    void parseWithSchemeAndHostAndQuery() {
+        parseTest("https://www.example.com?a=b", "https", "www.example.com", null, null, "a=b");
+    }
+
+    @Test
+    void parseWithHostAndForwardSlash() {
+        parseTest("www.test.com/", null, "www.test.com", null, "/", null);
+    }
+
+    @Test
+    void parseWithHostAndQuestionMark() {
+        parseTest("www.test.com?", null, "www.test.com", null, null, "");
+    }
+
+    @Test
+    void parseWithPath() {
+        parseTest("folder/index.html", null, "folder", null, "/index.html", null);
+    }
+
+    @Test
+    void parseWithForwardSlashAndPath() {
+        parseTest("/folder/index.html", null, "", null, "/folder/index.html", null);
+    }
+
+    @Test
+    void parseWithState() {
+        final ParsedUrl parsed = ParsedUrl.parse(":8080/path?a=b", UrlTokenizerState.PORT);
+        assertNull(parsed.getHost());
+        assertEquals("8080", parsed.getPort());
+        assertEquals("/path", parsed.getPath());
+        assertEquals("a=b", parsed.getQuery());
+
+        assertEquals("http", ParsedUrl.parse("http://", UrlTokenizerState.SCHEME).getScheme());
+        assertEquals("a=b", ParsedUrl.parse("?a=b", UrlTokenizerState.QUERY).getQuery());
+    }
+
+    @Test
+    void portNumber() {
+        assertEquals(8080, ParsedUrl.parse("http://host:8080/path").getPortNumber());
+        assertEquals(-1, ParsedUrl.parse("http://host/path").getPortNumber());
+        assertEquals(-1, ParsedUrl.parse("http://host:/path").getPortNumber());
+        assertEquals(-1, ParsedUrl.parse("http://host:80a/path").getPortNumber());
+        assertEquals(65535, ParsedUrl.parse("http://host:65535/path").getPortNumber());
+        assertEquals(-1, ParsedUrl.parse("http://host:65536/path").getPortNumber());
+        assertEquals(-1, ParsedUrl.parse("http://host:99999/path").getPortNumber());
+    }
+
+    @Test
+    void pathAndQuery() {
+        assertEquals("/", ParsedUrl.parse("https://host").getPathAndQuery());
+        assertEquals("/", ParsedUrl.parse("https://host:443").getPathAndQuery());
+        assertEquals("/a/b?c=d", ParsedUrl.parse("https://host/a/b?c=d").getPathAndQuery());
+        assertEquals("/?c=d", ParsedUrl.parse("https://host?c=d").getPathAndQuery());
+        assertEquals("/?x=1", ParsedUrl.parse("http://example.com:8080?x=1#fragment").getPathAndQuery());
+        assertEquals("/?", ParsedUrl.parse("https://host?").getPathAndQuery());
+        assertEquals("/a", ParsedUrl.parse("https://host/a#fragment").getPathAndQuery());
+        assertEquals("/a?b", ParsedUrl.parse("https://host/a?b#fragment").getPathAndQuery());
+    }
+}
@@ -770,4 +770,17 @@ class UrlBuilderTest {
                 .assertNext(count -> assertEquals(100000, count))
                 .verifyComplete();
     }
-}
\ No newline at end of file
+
+    @Test
+    void parseQuerySplitsAsBefore() {
+        final UrlBuilder builder = UrlBuilder.parse("https://www.bing.com/path?a=1&b=&c&d=1=2&e=3=&=4&&");
+
+        assertEquals("1", builder.getQuery().get("a"));
+        assertEquals("", builder.getQuery().get("b"));
+        assertEquals("", builder.getQuery().get("c"));
+        assertEquals("", builder.getQuery().get("d"));
+        assertEquals("3", builder.getQuery().get("e"));
+        assertEquals("4", builder.getQuery().get(""));
+        assertEquals("?a=1&b=&c=&d=&e=3&=4", builder.getQueryString());
+    }
+}
@@ -0,0 +1,84 @@
+package com.unisoft.core.http.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UrlParseCacheTest {
+    private final AtomicInteger parses = new AtomicInteger();
+    private final Function<String, UrlBuilder> parse = url -> {
+        this.parses.incrementAndGet();
+        return new UrlBuilder().setHost(url);
+    };
+
+    @Test
+    void hitsAndMisses() {
+        final UrlParseCache cache = new UrlParseCache(16);
+
+        final UrlBuilder first = cache.get("a", this.parse);
+        assertSame(first, cache.get("a", this.parse));
+        cache.get("b", this.parse);
+
+        assertEquals(2, this.parses.get());
+        assertEquals(1, cache.getHitCount());
+        assertEquals(2, cache.getMissCount());
+        assertEquals(0, cache.getEvictionCount());
+        assertEquals(2, cache.getSize());
+    }
+
+    @Test
+    void bounded() {
+        final UrlParseCache cache = new UrlParseCache(64);
+
+        for (int i = 0; i < 1000; i++) {
+            cache.get("host" + i, this.parse);
+        }
+
+        assertTrue(cache.getSize() <= 64);
+        assertEquals(1000 - cache.getSize(), cache.getEvictionCount());
+    }
+
+    @Test
+    void repeatedUrlsSurviveOneTimeUrls() {
+        final UrlParseCache cache = new UrlParseCache(16);
+        cache.get("repeated", this.parse);
+        cache.get("repeated", this.parse);
+
+        for (int i = 0; i < 100; i++) {
+            cache.get("once" + i, this.parse);
+        }
+        this.parses.set(0);
+        cache.get("repeated", this.parse);
+
+        assertEquals(0, this.parses.get());
+    }
+
+    @Test
+    void disabled() {
+        final UrlParseCache cache = new UrlParseCache(0);
+
+        cache.get("a", this.parse);
+        cache.get("a", this.parse);
+
+        assertEquals(2, this.parses.get());
+        assertEquals(2, cache.getMissCount());
+        assertEquals(0, cache.getSize());
+    }
+
+    @Test
+    void queryIsNotCached() {
+        final UrlParseCache cache = UrlBuilder.getParseCache();
+        final long misses = cache.getMissCount();
+
+        final UrlBuilder first = UrlBuilder.parse("https://cache.test.com/items?page=1&size=10");
+        final UrlBuilder second = UrlBuilder.parse("https://cache.test.com/items?page=2");
+
+        assertEquals(misses + 1, cache.getMissCount());
+        assertEquals("https://cache.test.com/items?page=1&size=10", first.toString());
+        assertEquals("https://cache.test.com/items?page=2", second.toString());
+        assertEquals("https://cache.test.com/items", UrlBuilder.parse("https://cache.test.com/items?").toString());
+    }
+}